@@ -1,17 +1,22 @@
 package de.davelee.trams.drivers;
 
 import com.google.common.base.Predicate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.service.ApiInfo;
 import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spring.web.plugins.Docket;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static com.google.common.base.Predicates.or;
 import static springfox.documentation.builders.PathSelectors.regex;
 
@@ -23,6 +28,7 @@ import static springfox.documentation.builders.PathSelectors.regex;
 @EnableSwagger2
 @ComponentScan
 @EnableJpaRepositories("de.davelee.trams.drivers.repository")
+@EnableScheduling
 public class TramsDriversApplication {
 
     /**
@@ -47,6 +53,35 @@ public class TramsDriversApplication {
                 .build();
     }
 
+    @Bean
+    /**
+     * Create the executor which runs payroll jobs. Both the number of threads and the number of waiting jobs are
+     * bounded so that payroll jobs cannot exhaust the database connections or the memory of the application.
+     * @param threads a <code>int</code> containing the number of payroll jobs which can run at the same time.
+     * @param queueCapacity a <code>int</code> containing the number of payroll jobs which can wait for a thread.
+     * @return a <code>ThreadPoolTaskExecutor</code> object containing the configured executor.
+     */
+    public ThreadPoolTaskExecutor payrollExecutor(@Value("${driver.payroll.threads}") final int threads,
+                                                  @Value("${driver.payroll.queueCapacity}") final int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payroll-");
+        return executor;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    /**
+     * Create the fork/join pool which pays the drivers of several companies in parallel. Each thread of the pool can
+     * hold a database connection, so the parallelism must stay below the size of the connection pool.
+     * @param parallelism a <code>int</code> containing the number of ranges of drivers which can be paid at the same time.
+     * @return a <code>ForkJoinPool</code> object containing the configured pool.
+     */
+    public ForkJoinPool payrollForkJoinPool(@Value("${driver.payroll.parallelism}") final int parallelism) {
+        return new ForkJoinPool(parallelism);
+    }
+
     /**
      * Only map urls starting with driver.
      * @return a <code>Predicate</code> object containing the configuration of limited urls.
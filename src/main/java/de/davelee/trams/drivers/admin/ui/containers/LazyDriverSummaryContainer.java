@@ -0,0 +1,413 @@
+package de.davelee.trams.drivers.admin.ui.containers;
+
+import com.vaadin.data.Container;
+import com.vaadin.data.Item;
+import com.vaadin.data.Property;
+import com.vaadin.data.util.AbstractContainer;
+import com.vaadin.data.util.BeanItem;
+import de.davelee.trams.drivers.data.DriverSummary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * This container supplies driver summaries to a grid by loading them from the database one page at a time.
+ * Only the number of drivers and the most recently used pages are held in memory so the memory needed per
+ * session depends on the visible rows rather than on the number of drivers. Sorting is performed by the database.
+ * Items are identified by their row index.
+ * @author Dave Lee
+ */
+public class LazyDriverSummaryContainer extends AbstractContainer implements Container.Indexed, Container.Sortable,
+        Container.ItemSetChangeNotifier {
+
+    private static final int MAX_CACHED_PAGES = 4;
+
+    private static final Map<String, Class<?>> PROPERTY_TYPES = new LinkedHashMap<>();
+
+    static {
+        PROPERTY_TYPES.put("id", Long.class);
+        PROPERTY_TYPES.put("name", String.class);
+        PROPERTY_TYPES.put("company", String.class);
+        PROPERTY_TYPES.put("dateOfBirth", LocalDate.class);
+        PROPERTY_TYPES.put("hourlyWage", BigDecimal.class);
+        PROPERTY_TYPES.put("startDate", LocalDate.class);
+    }
+
+    private final Function<Pageable, List<DriverSummary>> pageLoader;
+    private final LongSupplier countLoader;
+    private final int pageSize;
+
+    private final Map<Integer, List<DriverSummary>> cachedPages = new LinkedHashMap<Integer, List<DriverSummary>>(MAX_CACHED_PAGES + 1, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Integer, List<DriverSummary>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    private Sort sort;
+    private int size = -1;
+
+    /**
+     * Create a new lazy container by supplying the queries which load a page of driver summaries and count them.
+     * @param pageLoader a <code>Function</code> which loads the driver summaries for the supplied page.
+     * @param countLoader a <code>LongSupplier</code> which counts all driver summaries that can be loaded.
+     * @param pageSize a <code>int</code> containing the number of driver summaries to load at once.
+     */
+    public LazyDriverSummaryContainer(final Function<Pageable, List<DriverSummary>> pageLoader, final LongSupplier countLoader, final int pageSize) {
+        this.pageLoader = pageLoader;
+        this.countLoader = countLoader;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Return the driver summary shown in the supplied row, loading its page if necessary.
+     * @param itemId a <code>Object</code> containing the row index of the driver summary.
+     * @return a <code>DriverSummary</code> object or null if the row does not exist.
+     */
+    public DriverSummary getDriverSummary(final Object itemId) {
+        if ( !containsId(itemId) ) {
+            return null;
+        }
+        int index = (Integer) itemId;
+        int page = index / pageSize;
+        List<DriverSummary> driverSummaries = cachedPages.get(page);
+        if ( driverSummaries == null ) {
+            driverSummaries = pageLoader.apply(new PageRequest(page, pageSize, sort));
+            cachedPages.put(page, driverSummaries);
+        }
+        int indexInPage = index % pageSize;
+        return indexInPage < driverSummaries.size() ? driverSummaries.get(indexInPage) : null;
+    }
+
+    /**
+     * Discard all loaded driver summaries and the number of drivers so that they are loaded again when needed.
+     */
+    public void refresh() {
+        cachedPages.clear();
+        size = -1;
+        fireItemSetChange();
+    }
+
+    @Override
+    /**
+     * Return the item for the driver summary shown in the supplied row.
+     * @param itemId a <code>Object</code> containing the row index.
+     * @return a <code>Item</code> object wrapping the driver summary or null if the row does not exist.
+     */
+    public Item getItem(final Object itemId) {
+        DriverSummary driverSummary = getDriverSummary(itemId);
+        return driverSummary != null ? new BeanItem<>(driverSummary, PROPERTY_TYPES.keySet()) : null;
+    }
+
+    @Override
+    /**
+     * Return the properties of driver summaries which can be shown.
+     * @return a <code>Collection</code> containing the property ids.
+     */
+    public Collection<?> getContainerPropertyIds() {
+        return Collections.unmodifiableSet(PROPERTY_TYPES.keySet());
+    }
+
+    @Override
+    /**
+     * Return the row indexes of all driver summaries without loading the summaries.
+     * @return a <code>Collection</code> containing the row indexes.
+     */
+    public Collection<?> getItemIds() {
+        return getItemIds(0, size());
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    /**
+     * Return a property of the driver summary shown in the supplied row.
+     * @param itemId a <code>Object</code> containing the row index.
+     * @param propertyId a <code>Object</code> containing the property id.
+     * @return a <code>Property</code> object or null if the row does not exist.
+     */
+    public Property getContainerProperty(final Object itemId, final Object propertyId) {
+        Item item = getItem(itemId);
+        return item != null ? item.getItemProperty(propertyId) : null;
+    }
+
+    @Override
+    /**
+     * Return the type of a property of driver summaries.
+     * @param propertyId a <code>Object</code> containing the property id.
+     * @return a <code>Class</code> representing the type of the property.
+     */
+    public Class<?> getType(final Object propertyId) {
+        return PROPERTY_TYPES.get(propertyId);
+    }
+
+    @Override
+    /**
+     * Return the number of driver summaries which is counted once until the container is refreshed.
+     * @return a <code>int</code> containing the number of driver summaries.
+     */
+    public int size() {
+        if ( size < 0 ) {
+            size = (int) countLoader.getAsLong();
+        }
+        return size;
+    }
+
+    @Override
+    /**
+     * Check if the supplied row exists.
+     * @param itemId a <code>Object</code> containing the row index.
+     * @return a <code>boolean</code> which is true iff the row exists.
+     */
+    public boolean containsId(final Object itemId) {
+        return itemId instanceof Integer && (Integer) itemId >= 0 && (Integer) itemId < size();
+    }
+
+    @Override
+    /**
+     * Return the index of the supplied row.
+     * @param itemId a <code>Object</code> containing the row index.
+     * @return a <code>int</code> containing the index or -1 if the row does not exist.
+     */
+    public int indexOfId(final Object itemId) {
+        return containsId(itemId) ? (Integer) itemId : -1;
+    }
+
+    @Override
+    /**
+     * Return the item id of the supplied index which is the index itself.
+     * @param index a <code>int</code> containing the index.
+     * @return a <code>Object</code> containing the item id.
+     */
+    public Object getIdByIndex(final int index) {
+        return index;
+    }
+
+    @Override
+    /**
+     * Return the row indexes of a range of driver summaries without loading the summaries.
+     * @param startIndex a <code>int</code> containing the first row index.
+     * @param numberOfItems a <code>int</code> containing the number of rows.
+     * @return a <code>List</code> containing the row indexes.
+     */
+    public List<?> getItemIds(final int startIndex, final int numberOfItems) {
+        final int endIndex = Math.min(startIndex + numberOfItems, size());
+        return new AbstractList<Integer>() {
+            @Override
+            public Integer get(final int index) {
+                return startIndex + index;
+            }
+
+            @Override
+            public int size() {
+                return Math.max(0, endIndex - startIndex);
+            }
+        };
+    }
+
+    @Override
+    /**
+     * Return the row after the supplied row.
+     * @param itemId a <code>Object</code> containing the row index.
+     * @return a <code>Object</code> containing the next row index or null if this is the last row.
+     */
+    public Object nextItemId(final Object itemId) {
+        return containsId(itemId) && (Integer) itemId + 1 < size() ? (Integer) itemId + 1 : null;
+    }
+
+    @Override
+    /**
+     * Return the row before the supplied row.
+     * @param itemId a <code>Object</code> containing the row index.
+     * @return a <code>Object</code> containing the previous row index or null if this is the first row.
+     */
+    public Object prevItemId(final Object itemId) {
+        return containsId(itemId) && (Integer) itemId > 0 ? (Integer) itemId - 1 : null;
+    }
+
+    @Override
+    /**
+     * Return the first row.
+     * @return a <code>Object</code> containing the first row index or null if there are no rows.
+     */
+    public Object firstItemId() {
+        return size() > 0 ? 0 : null;
+    }
+
+    @Override
+    /**
+     * Return the last row.
+     * @return a <code>Object</code> containing the last row index or null if there are no rows.
+     */
+    public Object lastItemId() {
+        return size() > 0 ? size() - 1 : null;
+    }
+
+    @Override
+    /**
+     * Check if the supplied row is the first row.
+     * @param itemId a <code>Object</code> containing the row index.
+     * @return a <code>boolean</code> which is true iff the row is the first row.
+     */
+    public boolean isFirstId(final Object itemId) {
+        return containsId(itemId) && (Integer) itemId == 0;
+    }
+
+    @Override
+    /**
+     * Check if the supplied row is the last row.
+     * @param itemId a <code>Object</code> containing the row index.
+     * @return a <code>boolean</code> which is true iff the row is the last row.
+     */
+    public boolean isLastId(final Object itemId) {
+        return containsId(itemId) && (Integer) itemId == size() - 1;
+    }
+
+    @Override
+    /**
+     * Sort the driver summaries in the database by the supplied properties and reload them.
+     * @param propertyIds a <code>Object</code> array containing the properties to sort by.
+     * @param ascending a <code>boolean</code> array which is true for each property which should be sorted ascending.
+     */
+    public void sort(final Object[] propertyIds, final boolean[] ascending) {
+        List<Sort.Order> orders = new ArrayList<>(propertyIds.length);
+        for ( int i = 0; i < propertyIds.length; i++ ) {
+            orders.add(new Sort.Order(ascending[i] ? Sort.Direction.ASC : Sort.Direction.DESC, propertyIds[i].toString()));
+        }
+        sort = orders.isEmpty() ? null : new Sort(orders);
+        refresh();
+    }
+
+    @Override
+    /**
+     * Return the properties which can be sorted which are all properties.
+     * @return a <code>Collection</code> containing the property ids.
+     */
+    public Collection<?> getSortableContainerPropertyIds() {
+        return getContainerPropertyIds();
+    }
+
+    @Override
+    /**
+     * Register a listener which is notified when the driver summaries are reloaded.
+     * @param listener a <code>ItemSetChangeListener</code> object to register.
+     */
+    public void addItemSetChangeListener(final Container.ItemSetChangeListener listener) {
+        super.addItemSetChangeListener(listener);
+    }
+
+    @Override
+    @Deprecated
+    /**
+     * Register a listener which is notified when the driver summaries are reloaded.
+     * @param listener a <code>ItemSetChangeListener</code> object to register.
+     */
+    public void addListener(final Container.ItemSetChangeListener listener) {
+        super.addItemSetChangeListener(listener);
+    }
+
+    @Override
+    /**
+     * Remove a listener which was notified when the driver summaries are reloaded.
+     * @param listener a <code>ItemSetChangeListener</code> object to remove.
+     */
+    public void removeItemSetChangeListener(final Container.ItemSetChangeListener listener) {
+        super.removeItemSetChangeListener(listener);
+    }
+
+    @Override
+    @Deprecated
+    /**
+     * Remove a listener which was notified when the driver summaries are reloaded.
+     * @param listener a <code>ItemSetChangeListener</code> object to remove.
+     */
+    public void removeListener(final Container.ItemSetChangeListener listener) {
+        super.removeItemSetChangeListener(listener);
+    }
+
+    @Override
+    /**
+     * Not supported because the container is read-only.
+     */
+    public Item addItem(final Object itemId) {
+        throw new UnsupportedOperationException("Drivers are added through the driver editor");
+    }
+
+    @Override
+    /**
+     * Not supported because the container is read-only.
+     */
+    public Object addItem() {
+        throw new UnsupportedOperationException("Drivers are added through the driver editor");
+    }
+
+    @Override
+    /**
+     * Not supported because the container is read-only.
+     */
+    public Object addItemAfter(final Object previousItemId) {
+        throw new UnsupportedOperationException("Drivers are added through the driver editor");
+    }
+
+    @Override
+    /**
+     * Not supported because the container is read-only.
+     */
+    public Item addItemAfter(final Object previousItemId, final Object newItemId) {
+        throw new UnsupportedOperationException("Drivers are added through the driver editor");
+    }
+
+    @Override
+    /**
+     * Not supported because the container is read-only.
+     */
+    public Object addItemAt(final int index) {
+        throw new UnsupportedOperationException("Drivers are added through the driver editor");
+    }
+
+    @Override
+    /**
+     * Not supported because the container is read-only.
+     */
+    public Item addItemAt(final int index, final Object newItemId) {
+        throw new UnsupportedOperationException("Drivers are added through the driver editor");
+    }
+
+    @Override
+    /**
+     * Not supported because the container is read-only.
+     */
+    public boolean removeItem(final Object itemId) {
+        throw new UnsupportedOperationException("Drivers are removed through the driver editor");
+    }
+
+    @Override
+    /**
+     * Not supported because the container is read-only.
+     */
+    public boolean removeAllItems() {
+        throw new UnsupportedOperationException("Drivers are removed through the driver editor");
+    }
+
+    @Override
+    /**
+     * Not supported because the container is read-only.
+     */
+    public boolean addContainerProperty(final Object propertyId, final Class<?> type, final Object defaultValue) {
+        throw new UnsupportedOperationException("The properties of driver summaries are fixed");
+    }
+
+    @Override
+    /**
+     * Not supported because the container is read-only.
+     */
+    public boolean removeContainerProperty(final Object propertyId) {
+        throw new UnsupportedOperationException("The properties of driver summaries are fixed");
+    }
+
+}
@@ -8,7 +8,8 @@ import com.vaadin.spring.annotation.UIScope;
 import com.vaadin.ui.*;
 import com.vaadin.ui.themes.ValoTheme;
 import de.davelee.trams.drivers.data.Driver;
-import de.davelee.trams.drivers.repository.DriverRepository;
+import de.davelee.trams.drivers.data.DriverSummary;
+import de.davelee.trams.drivers.services.DriverService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -20,7 +21,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 @UIScope
 public class DriverEditorForm extends VerticalLayout {
 
-    private final DriverRepository repository;
+    private final DriverService service;
 
     /**
      * The currently edited driver
@@ -44,11 +45,11 @@ public class DriverEditorForm extends VerticalLayout {
 
     @Autowired
     /**
-     * Create a new DriverEditorForm by supplying the repository where the data can be retrieved from.
-     * @param repository a <code>DriverRepository</code> containing the data of all drivers.
+     * Create a new DriverEditorForm by supplying the service where the data can be retrieved from and saved to.
+     * @param service a <code>DriverService</code> allowing access to the data of all drivers.
      */
-    public DriverEditorForm(final DriverRepository repository) {
-        this.repository = repository;
+    public DriverEditorForm(final DriverService service) {
+        this.service = service;
 
         addComponents(name, company, dateOfBirth, contractedHours, hourlyWage, startDate, skills, actions);
 
@@ -59,8 +60,8 @@ public class DriverEditorForm extends VerticalLayout {
         save.setClickShortcut(ShortcutAction.KeyCode.ENTER);
 
         // wire action buttons to save, delete and reset
-        save.addClickListener(e -> repository.save(selectedDriver));
-        delete.addClickListener(e -> repository.delete(selectedDriver));
+        save.addClickListener(e -> service.saveDriver(selectedDriver));
+        delete.addClickListener(e -> service.deleteDriver(selectedDriver));
         cancel.addClickListener(e -> editDriver(selectedDriver));
         setVisible(false);
     }
@@ -76,6 +77,14 @@ public class DriverEditorForm extends VerticalLayout {
         void onChange();
     }
 
+    /**
+     * Retrieve the full data for a driver selected from a listing and save it for further editing.
+     * @param driverSummary a <code>DriverSummary</code> object representing the driver to retrieve from the database.
+     */
+    public final void editDriver(final DriverSummary driverSummary) {
+        editDriver(service.getDriver(driverSummary.getId()));
+    }
+
     /**
      * Retrieve the data for a specified driver and save it for further editing.
      * @param driver a <code>Driver</code> object to retrieve from the database.
@@ -84,7 +93,7 @@ public class DriverEditorForm extends VerticalLayout {
         final boolean persisted = driver.getId() != null;
         if (persisted) {
             // Find fresh entity for editing
-            selectedDriver = repository.findByDateOfBirthAndNameAndCompany(driver.getDateOfBirth(), driver.getName(), driver.getCompany());
+            selectedDriver = service.getDriver(driver.getId());
         }
         else {
             selectedDriver = driver;
@@ -94,7 +103,7 @@ public class DriverEditorForm extends VerticalLayout {
         // Bind driver properties to similarly named fields
         // Could also use annotation or "manual binding" or programmatically
         // moving values from fields to entities before saving
-        BeanFieldGroup.bindFieldsUnbuffered(driver, this);
+        BeanFieldGroup.bindFieldsUnbuffered(selectedDriver, this);
 
         setVisible(true);
 
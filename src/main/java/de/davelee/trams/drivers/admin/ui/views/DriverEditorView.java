@@ -1,10 +1,10 @@
 package de.davelee.trams.drivers.admin.ui.views;
 
-import com.vaadin.data.util.BeanItemContainer;
 import com.vaadin.navigator.ViewChangeListener;
 import com.vaadin.server.FontAwesome;
 import com.vaadin.spring.annotation.SpringView;
 import com.vaadin.ui.*;
+import de.davelee.trams.drivers.admin.ui.containers.LazyDriverSummaryContainer;
 import de.davelee.trams.drivers.admin.ui.forms.DriverEditorForm;
 import de.davelee.trams.drivers.admin.ui.components.LogoutLink;
 import de.davelee.trams.drivers.data.Driver;
@@ -25,10 +25,15 @@ public class DriverEditorView extends AbstractView {
 
     public static final String NAME = "driverEditor";
 
+    private static final int PAGE_SIZE = 50;
+    private static final int FILTER_TIMEOUT_MILLIS = 300;
+
     private final DriverService service;
 
     private final Grid grid;
 
+    private LazyDriverSummaryContainer container;
+
     /**
      * Construct a new driver editor view using the supplied driver service and driver editor to edit and access data.
      * @param driverService a <code>DriverService</code> object to allow access to the database.
@@ -42,7 +47,9 @@ public class DriverEditorView extends AbstractView {
 
         //Add filter field.
         TextField filter = new TextField();
-        filter.setInputPrompt("Filter by company");
+        filter.setInputPrompt("Filter by name or company");
+        filter.setTextChangeEventMode(AbstractTextField.TextChangeEventMode.LAZY);
+        filter.setTextChangeTimeout(FILTER_TIMEOUT_MILLIS);
         addComponent(filter);
 
         //Add grid and editor to show results
@@ -62,7 +69,7 @@ public class DriverEditorView extends AbstractView {
 
         // Hook logic to components
 
-        // Replace listing with filtered content when user changes filter
+        // Replace listing with filtered content when user pauses typing in the filter
         filter.addTextChangeListener(e -> listDrivers(e.getText()));
 
         // Connect selected Driver to editor or hide if none is selected
@@ -71,7 +78,7 @@ public class DriverEditorView extends AbstractView {
                 driverEditor.setVisible(false);
             }
             else {
-                driverEditor.editDriver((Driver) grid.getSelectedRow());
+                driverEditor.editDriver(container.getDriverSummary(grid.getSelectedRow()));
             }
         });
 
@@ -90,18 +97,20 @@ public class DriverEditorView extends AbstractView {
     }
 
     /**
-     * Filter the displayed drivers according to the supplied company in the filter by company text field.
-     * @param company a <code>String</code> representing the company to filter by.
+     * Filter the displayed drivers according to the supplied prefix of the name or company in the filter text field.
+     * Drivers are loaded page by page as they are displayed rather than all at once. Filtered drivers are found
+     * in the search index rather than the database.
+     * @param prefix a <code>String</code> representing the prefix of the name or company to filter by.
      */
-    private void listDrivers(final String company) {
-        if (StringUtils.isEmpty(company)) {
-            grid.setContainerDataSource(
-                    new BeanItemContainer(Driver.class, service.getAllDrivers()));
+    private void listDrivers(final String prefix) {
+        if (StringUtils.isEmpty(prefix)) {
+            container = new LazyDriverSummaryContainer(service::getAllDriverSummaries, service::getNumDrivers, PAGE_SIZE);
         }
         else {
-            grid.setContainerDataSource(new BeanItemContainer(Driver.class,
-                    service.getAllDriversForCompany(company)));
+            container = new LazyDriverSummaryContainer(pageable -> service.searchDriverSummaries(prefix, pageable),
+                    () -> service.getNumDriversMatching(prefix), PAGE_SIZE);
         }
+        grid.setContainerDataSource(container);
     }
     // end::listDrivers[]
 
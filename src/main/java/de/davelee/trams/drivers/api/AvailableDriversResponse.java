@@ -0,0 +1,101 @@
+package de.davelee.trams.drivers.api;
+
+import java.util.List;
+
+/**
+ * This class represents the drivers of a company who may still work today to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class AvailableDriversResponse {
+
+    private String company;
+
+    private String date;
+
+    private int numAvailableDrivers;
+
+    private List<CheckDriverHoursItemResponse> availableDriverResponseList;
+
+    private List<RemainingHoursCountResponse> remainingHoursCountResponseList;
+
+    /**
+     * Get the company.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Set the company.
+     * @param company a <code>String</code> containing the company.
+     */
+    public void setCompany(final String company) {
+        this.company = company;
+    }
+
+    /**
+     * Get the date that the drivers may work in format dd-MM-yyyy.
+     * @return a <code>String</code> containing the date that the drivers may work in format dd-MM-yyyy.
+     */
+    public String getDate() {
+        return date;
+    }
+
+    /**
+     * Set the date that the drivers may work in format dd-MM-yyyy.
+     * @param date a <code>String</code> containing the date that the drivers may work in format dd-MM-yyyy.
+     */
+    public void setDate(final String date) {
+        this.date = date;
+    }
+
+    /**
+     * Get the number of drivers who may still work at least the requested hours.
+     * @return a <code>int</code> containing the number of available drivers.
+     */
+    public int getNumAvailableDrivers() {
+        return numAvailableDrivers;
+    }
+
+    /**
+     * Set the number of drivers who may still work at least the requested hours.
+     * @param numAvailableDrivers a <code>int</code> containing the number of available drivers.
+     */
+    public void setNumAvailableDrivers(final int numAvailableDrivers) {
+        this.numAvailableDrivers = numAvailableDrivers;
+    }
+
+    /**
+     * Get the drivers who may still work at least the requested hours.
+     * @return a <code>List</code> containing the drivers who may still work at least the requested hours.
+     */
+    public List<CheckDriverHoursItemResponse> getAvailableDriverResponseList() {
+        return availableDriverResponseList;
+    }
+
+    /**
+     * Set the drivers who may still work at least the requested hours.
+     * @param availableDriverResponseList a <code>List</code> containing the drivers who may still work at least the requested hours.
+     */
+    public void setAvailableDriverResponseList(final List<CheckDriverHoursItemResponse> availableDriverResponseList) {
+        this.availableDriverResponseList = availableDriverResponseList;
+    }
+
+    /**
+     * Get the number of drivers of the company for each number of remaining hours which at least one driver has.
+     * @return a <code>List</code> containing the number of drivers for each number of remaining hours ordered by remaining hours.
+     */
+    public List<RemainingHoursCountResponse> getRemainingHoursCountResponseList() {
+        return remainingHoursCountResponseList;
+    }
+
+    /**
+     * Set the number of drivers of the company for each number of remaining hours which at least one driver has.
+     * @param remainingHoursCountResponseList a <code>List</code> containing the number of drivers for each number of remaining hours ordered by remaining hours.
+     */
+    public void setRemainingHoursCountResponseList(final List<RemainingHoursCountResponse> remainingHoursCountResponseList) {
+        this.remainingHoursCountResponseList = remainingHoursCountResponseList;
+    }
+
+}
@@ -0,0 +1,44 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents a request to change the hourly wage of all drivers of a company.
+ * @author Dave Lee
+ */
+public class ChangeCompanyWageRequest {
+
+    private String company;
+    private String hourlyWage;
+
+    /**
+     * Return the company.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Set the company.
+     * @param company a <code>String</code> containing the company.
+     */
+    public void setCompany(final String company) {
+        this.company = company;
+    }
+
+    /**
+     * Return the new hourly wage as a String.
+     * @return a <code>String</code> containing the new hourly wage.
+     */
+    public String getHourlyWage() {
+        return hourlyWage;
+    }
+
+    /**
+     * Set the new hourly wage as a String.
+     * @param hourlyWage a <code>String</code> containing the new hourly wage.
+     */
+    public void setHourlyWage(final String hourlyWage) {
+        this.hourlyWage = hourlyWage;
+    }
+
+}
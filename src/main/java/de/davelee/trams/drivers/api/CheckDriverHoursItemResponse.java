@@ -0,0 +1,62 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents a check driver hours response for one driver of a bulk request to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class CheckDriverHoursItemResponse extends CheckDriverHoursResponse {
+
+    private String name;
+
+    private String dateOfBirth;
+
+    private String company;
+
+    /**
+     * Get the name of the driver.
+     * @return a <code>String</code> containing the name of the driver.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Set the name of the driver.
+     * @param name a <code>String</code> containing the name of the driver.
+     */
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the date of birth of the driver in format dd-MM-yyyy.
+     * @return a <code>String</code> containing the date of birth of the driver in format dd-MM-yyyy.
+     */
+    public String getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    /**
+     * Set the date of birth of the driver in format dd-MM-yyyy.
+     * @param dateOfBirth a <code>String</code> containing the date of birth of the driver in format dd-MM-yyyy.
+     */
+    public void setDateOfBirth(final String dateOfBirth) {
+        this.dateOfBirth = dateOfBirth;
+    }
+
+    /**
+     * Get the company of the driver.
+     * @return a <code>String</code> containing the company of the driver.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Set the company of the driver.
+     * @param company a <code>String</code> containing the company of the driver.
+     */
+    public void setCompany(final String company) {
+        this.company = company;
+    }
+}
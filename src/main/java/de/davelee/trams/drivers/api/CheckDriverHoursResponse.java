@@ -10,6 +10,8 @@ public class CheckDriverHoursResponse {
 
     private int remainingHours;
 
+    private String limitingRule;
+
     /**
      * Check if the driver is allowed to driver further hours or has already reached their maximum.
      * @return a <code>boolean</code> which is true iff the driver has further hours which they can drive.
@@ -41,4 +43,20 @@ public class CheckDriverHoursResponse {
     public void setRemainingHours(final int remainingHours) {
         this.remainingHours = remainingHours;
     }
+
+    /**
+     * Get the working time rule which limits the remaining hours that the driver may drive.
+     * @return a <code>String</code> containing the text of the limiting rule.
+     */
+    public String getLimitingRule() {
+        return limitingRule;
+    }
+
+    /**
+     * Set the working time rule which limits the remaining hours that the driver may drive.
+     * @param limitingRule a <code>String</code> containing the text of the limiting rule.
+     */
+    public void setLimitingRule(final String limitingRule) {
+        this.limitingRule = limitingRule;
+    }
 }
@@ -0,0 +1,64 @@
+package de.davelee.trams.drivers.api;
+
+import java.util.List;
+
+/**
+ * This class represents a request to check the hours of many drivers at once, either by listing the drivers or by company and optionally route schedule.
+ * @author Dave Lee
+ */
+public class CheckHoursBulkRequest {
+
+    private List<RetrieveDriverRequest> driverList;
+
+    private String company;
+
+    private String assignedRouteSchedule;
+
+    /**
+     * Get the drivers to check hours for.
+     * @return a <code>List</code> containing the drivers to check hours for.
+     */
+    public List<RetrieveDriverRequest> getDriverList() {
+        return driverList;
+    }
+
+    /**
+     * Set the drivers to check hours for.
+     * @param driverList a <code>List</code> containing the drivers to check hours for.
+     */
+    public void setDriverList(final List<RetrieveDriverRequest> driverList) {
+        this.driverList = driverList;
+    }
+
+    /**
+     * Get the company whose drivers should be checked if no drivers are listed.
+     * @return a <code>String</code> containing the company whose drivers should be checked if no drivers are listed.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Set the company whose drivers should be checked if no drivers are listed.
+     * @param company a <code>String</code> containing the company whose drivers should be checked if no drivers are listed.
+     */
+    public void setCompany(final String company) {
+        this.company = company;
+    }
+
+    /**
+     * Get the route schedule that the drivers of the company must be assigned to (optional).
+     * @return a <code>String</code> containing the route schedule that the drivers of the company must be assigned to (optional).
+     */
+    public String getAssignedRouteSchedule() {
+        return assignedRouteSchedule;
+    }
+
+    /**
+     * Set the route schedule that the drivers of the company must be assigned to (optional).
+     * @param assignedRouteSchedule a <code>String</code> containing the route schedule that the drivers of the company must be assigned to (optional).
+     */
+    public void setAssignedRouteSchedule(final String assignedRouteSchedule) {
+        this.assignedRouteSchedule = assignedRouteSchedule;
+    }
+}
@@ -0,0 +1,28 @@
+package de.davelee.trams.drivers.api;
+
+import java.util.List;
+
+/**
+ * This class represents the check driver hours responses for all drivers of a bulk request to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class CheckHoursBulkResponse {
+
+    private List<CheckDriverHoursItemResponse> driverHoursResponseList;
+
+    /**
+     * Get the check driver hours responses of all drivers which were found.
+     * @return a <code>List</code> containing the check driver hours responses of all drivers which were found.
+     */
+    public List<CheckDriverHoursItemResponse> getDriverHoursResponseList() {
+        return driverHoursResponseList;
+    }
+
+    /**
+     * Set the check driver hours responses of all drivers which were found.
+     * @param driverHoursResponseList a <code>List</code> containing the check driver hours responses of all drivers which were found.
+     */
+    public void setDriverHoursResponseList(final List<CheckDriverHoursItemResponse> driverHoursResponseList) {
+        this.driverHoursResponseList = driverHoursResponseList;
+    }
+}
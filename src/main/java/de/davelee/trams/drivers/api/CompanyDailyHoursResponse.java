@@ -0,0 +1,102 @@
+package de.davelee.trams.drivers.api;
+
+import java.util.List;
+
+/**
+ * This class represents the hours worked by all drivers of a company on each day of a date range to be returned by
+ * the Rest API.
+ * @author Dave Lee
+ */
+public class CompanyDailyHoursResponse {
+
+    private String company;
+
+    private String fromDate;
+
+    private String toDate;
+
+    private long totalHours;
+
+    private List<DailyHoursResponse> dailyHoursResponseList;
+
+    /**
+     * Get the company.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Set the company.
+     * @param company a <code>String</code> containing the company.
+     */
+    public void setCompany(final String company) {
+        this.company = company;
+    }
+
+    /**
+     * Get the first date of the range in format dd-MM-yyyy.
+     * @return a <code>String</code> containing the first date of the range in format dd-MM-yyyy.
+     */
+    public String getFromDate() {
+        return fromDate;
+    }
+
+    /**
+     * Set the first date of the range in format dd-MM-yyyy.
+     * @param fromDate a <code>String</code> containing the first date of the range in format dd-MM-yyyy.
+     */
+    public void setFromDate(final String fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    /**
+     * Get the last date of the range in format dd-MM-yyyy.
+     * @return a <code>String</code> containing the last date of the range in format dd-MM-yyyy.
+     */
+    public String getToDate() {
+        return toDate;
+    }
+
+    /**
+     * Set the last date of the range in format dd-MM-yyyy.
+     * @param toDate a <code>String</code> containing the last date of the range in format dd-MM-yyyy.
+     */
+    public void setToDate(final String toDate) {
+        this.toDate = toDate;
+    }
+
+    /**
+     * Get the total number of hours worked within the range.
+     * @return a <code>long</code> containing the total number of hours worked within the range.
+     */
+    public long getTotalHours() {
+        return totalHours;
+    }
+
+    /**
+     * Set the total number of hours worked within the range.
+     * @param totalHours a <code>long</code> containing the total number of hours worked within the range.
+     */
+    public void setTotalHours(final long totalHours) {
+        this.totalHours = totalHours;
+    }
+
+    /**
+     * Get the hours of each day on which the drivers worked ordered by date.
+     * @return a <code>List</code> containing the hours of each day on which the drivers worked ordered by date.
+     */
+    public List<DailyHoursResponse> getDailyHoursResponseList() {
+        return dailyHoursResponseList;
+    }
+
+    /**
+     * Set the hours of each day on which the drivers worked ordered by date.
+     * @param dailyHoursResponseList a <code>List</code> containing the hours of each day on which the drivers worked ordered by date.
+     */
+    public void setDailyHoursResponseList(final List<DailyHoursResponse> dailyHoursResponseList) {
+        this.dailyHoursResponseList = dailyHoursResponseList;
+    }
+
+}
@@ -0,0 +1,81 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents the amount that one company paid to their drivers to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class CompanyPayoutResponse {
+
+    private String company;
+
+    private long driversProcessed;
+
+    private long driversPaid;
+
+    private String totalPayout;
+
+    /**
+     * Get the company that paid their drivers.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Set the company that paid their drivers.
+     * @param company a <code>String</code> containing the company.
+     */
+    public void setCompany(final String company) {
+        this.company = company;
+    }
+
+    /**
+     * Get the number of drivers whose hours were checked.
+     * @return a <code>long</code> containing the number of drivers processed.
+     */
+    public long getDriversProcessed() {
+        return driversProcessed;
+    }
+
+    /**
+     * Set the number of drivers whose hours were checked.
+     * @param driversProcessed a <code>long</code> containing the number of drivers processed.
+     */
+    public void setDriversProcessed(final long driversProcessed) {
+        this.driversProcessed = driversProcessed;
+    }
+
+    /**
+     * Get the number of drivers who were paid.
+     * @return a <code>long</code> containing the number of drivers paid.
+     */
+    public long getDriversPaid() {
+        return driversPaid;
+    }
+
+    /**
+     * Set the number of drivers who were paid.
+     * @param driversPaid a <code>long</code> containing the number of drivers paid.
+     */
+    public void setDriversPaid(final long driversPaid) {
+        this.driversPaid = driversPaid;
+    }
+
+    /**
+     * Get the total payout of the company as a String.
+     * @return a <code>String</code> containing the total payout.
+     */
+    public String getTotalPayout() {
+        return totalPayout;
+    }
+
+    /**
+     * Set the total payout of the company as a String.
+     * @param totalPayout a <code>String</code> containing the total payout.
+     */
+    public void setTotalPayout(final String totalPayout) {
+        this.totalPayout = totalPayout;
+    }
+
+}
@@ -0,0 +1,26 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents a response to an operation on all drivers of a company with the number of drivers updated.
+ * @author Dave Lee
+ */
+public class CompanyUpdateResponse {
+
+    private int driversUpdated;
+
+    /**
+     * Return the number of drivers which were updated.
+     * @return a <code>int</code> containing the number of drivers which were updated.
+     */
+    public int getDriversUpdated() {
+        return driversUpdated;
+    }
+
+    /**
+     * Set the number of drivers which were updated.
+     * @param driversUpdated a <code>int</code> containing the number of drivers which were updated.
+     */
+    public void setDriversUpdated(final int driversUpdated) {
+        this.driversUpdated = driversUpdated;
+    }
+}
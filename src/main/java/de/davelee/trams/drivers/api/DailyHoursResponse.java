@@ -0,0 +1,45 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents the hours worked on a particular date to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class DailyHoursResponse {
+
+    private String date;
+
+    private int hours;
+
+    /**
+     * Get the work date in format dd-MM-yyyy.
+     * @return a <code>String</code> containing the work date in format dd-MM-yyyy.
+     */
+    public String getDate() {
+        return date;
+    }
+
+    /**
+     * Set the work date in format dd-MM-yyyy.
+     * @param date a <code>String</code> containing the work date in format dd-MM-yyyy.
+     */
+    public void setDate(final String date) {
+        this.date = date;
+    }
+
+    /**
+     * Get the number of hours worked on the date.
+     * @return a <code>int</code> containing the number of hours worked on the date.
+     */
+    public int getHours() {
+        return hours;
+    }
+
+    /**
+     * Set the number of hours worked on the date.
+     * @param hours a <code>int</code> containing the number of hours worked on the date.
+     */
+    public void setHours(final int hours) {
+        this.hours = hours;
+    }
+
+}
@@ -0,0 +1,44 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents a request to dismiss all drivers of a company for a particular reason.
+ * @author Dave Lee
+ */
+public class DismissCompanyRequest {
+
+    private String company;
+    private String reasonForDismissal;
+
+    /**
+     * Return the company.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Set the company.
+     * @param company a <code>String</code> containing the company.
+     */
+    public void setCompany(final String company) {
+        this.company = company;
+    }
+
+    /**
+     * Return the reason for dismissal as a String.
+     * @return a <code>String</code> containing the reason for dismissal as a String.
+     */
+    public String getReasonForDismissal() {
+        return reasonForDismissal;
+    }
+
+    /**
+     * Set the reason for dismissal as a String.
+     * @param reasonForDismissal a <code>String</code> containing the reason for dismissal as a String.
+     */
+    public void setReasonForDismissal(final String reasonForDismissal) {
+        this.reasonForDismissal = reasonForDismissal;
+    }
+
+}
@@ -0,0 +1,98 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents the statistics of the driver cache to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class DriverCacheStatsResponse {
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    private double hitRate;
+
+    private long size;
+
+    /**
+     * Get the number of requests which were answered from the cache.
+     * @return a <code>long</code> containing the number of requests which were answered from the cache.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Set the number of requests which were answered from the cache.
+     * @param hitCount a <code>long</code> containing the number of requests which were answered from the cache.
+     */
+    public void setHitCount(final long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    /**
+     * Get the number of requests which had to load the driver from the database.
+     * @return a <code>long</code> containing the number of requests which had to load the driver from the database.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Set the number of requests which had to load the driver from the database.
+     * @param missCount a <code>long</code> containing the number of requests which had to load the driver from the database.
+     */
+    public void setMissCount(final long missCount) {
+        this.missCount = missCount;
+    }
+
+    /**
+     * Get the number of drivers which were removed from the cache because of its size or age.
+     * @return a <code>long</code> containing the number of drivers which were removed from the cache because of its size or age.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Set the number of drivers which were removed from the cache because of its size or age.
+     * @param evictionCount a <code>long</code> containing the number of drivers which were removed from the cache because of its size or age.
+     */
+    public void setEvictionCount(final long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Get the ratio of requests which were answered from the cache.
+     * @return a <code>double</code> containing the ratio of requests which were answered from the cache.
+     */
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    /**
+     * Set the ratio of requests which were answered from the cache.
+     * @param hitRate a <code>double</code> containing the ratio of requests which were answered from the cache.
+     */
+    public void setHitRate(final double hitRate) {
+        this.hitRate = hitRate;
+    }
+
+    /**
+     * Get the number of drivers which are currently cached.
+     * @return a <code>long</code> containing the number of drivers which are currently cached.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Set the number of drivers which are currently cached.
+     * @param size a <code>long</code> containing the number of drivers which are currently cached.
+     */
+    public void setSize(final long size) {
+        this.size = size;
+    }
+}
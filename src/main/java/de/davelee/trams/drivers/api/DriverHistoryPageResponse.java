@@ -0,0 +1,45 @@
+package de.davelee.trams.drivers.api;
+
+import java.util.List;
+
+/**
+ * This class represents a page of the driver history to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class DriverHistoryPageResponse {
+
+    private List<DriverHistoryResponse> driverHistoryResponseList;
+    private Long nextCursor;
+
+    /**
+     * Return the driver history entries of this page as a list.
+     * @return a <code>List</code> of <code>DriverHistoryResponse</code> containing the driver history entries.
+     */
+    public List<DriverHistoryResponse> getDriverHistoryResponseList() {
+        return driverHistoryResponseList;
+    }
+
+    /**
+     * Set the driver history entries of this page as a list.
+     * @param driverHistoryResponseList a <code>List</code> of <code>DriverHistoryResponse</code> containing the driver history entries.
+     */
+    public void setDriverHistoryResponseList(final List<DriverHistoryResponse> driverHistoryResponseList) {
+        this.driverHistoryResponseList = driverHistoryResponseList;
+    }
+
+    /**
+     * Return the cursor which should be supplied to retrieve the next page.
+     * @return a <code>Long</code> containing the cursor for the next page or null if this is the last page.
+     */
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Set the cursor which should be supplied to retrieve the next page.
+     * @param nextCursor a <code>Long</code> containing the cursor for the next page or null if this is the last page.
+     */
+    public void setNextCursor(final Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,117 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents the hours that a driver worked in a week or a month to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class DriverHoursRollupResponse {
+
+    private String name;
+
+    private String dateOfBirth;
+
+    private String period;
+
+    private String periodStart;
+
+    private int hours;
+
+    private int contractedHours;
+
+    /**
+     * Get the name of the driver.
+     * @return a <code>String</code> containing the name of the driver.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Set the name of the driver.
+     * @param name a <code>String</code> containing the name of the driver.
+     */
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the date of birth of the driver in format dd-MM-yyyy.
+     * @return a <code>String</code> containing the date of birth of the driver in format dd-MM-yyyy.
+     */
+    public String getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    /**
+     * Set the date of birth of the driver in format dd-MM-yyyy.
+     * @param dateOfBirth a <code>String</code> containing the date of birth of the driver in format dd-MM-yyyy.
+     */
+    public void setDateOfBirth(final String dateOfBirth) {
+        this.dateOfBirth = dateOfBirth;
+    }
+
+    /**
+     * Get the ISO week in format yyyy-Www or the month in format yyyy-MM.
+     * @return a <code>String</code> containing the ISO week in format yyyy-Www or the month in format yyyy-MM.
+     */
+    public String getPeriod() {
+        return period;
+    }
+
+    /**
+     * Set the ISO week in format yyyy-Www or the month in format yyyy-MM.
+     * @param period a <code>String</code> containing the ISO week in format yyyy-Www or the month in format yyyy-MM.
+     */
+    public void setPeriod(final String period) {
+        this.period = period;
+    }
+
+    /**
+     * Get the first date of the week or month in format dd-MM-yyyy.
+     * @return a <code>String</code> containing the first date of the week or month in format dd-MM-yyyy.
+     */
+    public String getPeriodStart() {
+        return periodStart;
+    }
+
+    /**
+     * Set the first date of the week or month in format dd-MM-yyyy.
+     * @param periodStart a <code>String</code> containing the first date of the week or month in format dd-MM-yyyy.
+     */
+    public void setPeriodStart(final String periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    /**
+     * Get the number of hours worked in the week or month.
+     * @return a <code>int</code> containing the number of hours worked in the week or month.
+     */
+    public int getHours() {
+        return hours;
+    }
+
+    /**
+     * Set the number of hours worked in the week or month.
+     * @param hours a <code>int</code> containing the number of hours worked in the week or month.
+     */
+    public void setHours(final int hours) {
+        this.hours = hours;
+    }
+
+    /**
+     * Get the number of hours per week in the contract of the driver.
+     * @return a <code>int</code> containing the number of hours per week in the contract of the driver.
+     */
+    public int getContractedHours() {
+        return contractedHours;
+    }
+
+    /**
+     * Set the number of hours per week in the contract of the driver.
+     * @param contractedHours a <code>int</code> containing the number of hours per week in the contract of the driver.
+     */
+    public void setContractedHours(final int contractedHours) {
+        this.contractedHours = contractedHours;
+    }
+
+}
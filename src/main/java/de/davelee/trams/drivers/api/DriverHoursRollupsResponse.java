@@ -0,0 +1,83 @@
+package de.davelee.trams.drivers.api;
+
+import java.util.List;
+
+/**
+ * This class represents the weekly or monthly hours of the drivers of a company to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class DriverHoursRollupsResponse {
+
+    private String company;
+
+    private String fromDate;
+
+    private String toDate;
+
+    private List<DriverHoursRollupResponse> driverHoursRollupResponseList;
+
+    /**
+     * Get the company.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Set the company.
+     * @param company a <code>String</code> containing the company.
+     */
+    public void setCompany(final String company) {
+        this.company = company;
+    }
+
+    /**
+     * Get the first date of the requested range in format dd-MM-yyyy.
+     * @return a <code>String</code> containing the first date of the requested range in format dd-MM-yyyy.
+     */
+    public String getFromDate() {
+        return fromDate;
+    }
+
+    /**
+     * Set the first date of the requested range in format dd-MM-yyyy.
+     * @param fromDate a <code>String</code> containing the first date of the requested range in format dd-MM-yyyy.
+     */
+    public void setFromDate(final String fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    /**
+     * Get the last date of the requested range in format dd-MM-yyyy.
+     * @return a <code>String</code> containing the last date of the requested range in format dd-MM-yyyy.
+     */
+    public String getToDate() {
+        return toDate;
+    }
+
+    /**
+     * Set the last date of the requested range in format dd-MM-yyyy.
+     * @param toDate a <code>String</code> containing the last date of the requested range in format dd-MM-yyyy.
+     */
+    public void setToDate(final String toDate) {
+        this.toDate = toDate;
+    }
+
+    /**
+     * Get the hours of each driver and period ordered by period.
+     * @return a <code>List</code> containing the hours of each driver and period ordered by period.
+     */
+    public List<DriverHoursRollupResponse> getDriverHoursRollupResponseList() {
+        return driverHoursRollupResponseList;
+    }
+
+    /**
+     * Set the hours of each driver and period ordered by period.
+     * @param driverHoursRollupResponseList a <code>List</code> containing the hours of each driver and period ordered by period.
+     */
+    public void setDriverHoursRollupResponseList(final List<DriverHoursRollupResponse> driverHoursRollupResponseList) {
+        this.driverHoursRollupResponseList = driverHoursRollupResponseList;
+    }
+
+}
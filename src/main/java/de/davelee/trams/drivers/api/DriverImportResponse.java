@@ -0,0 +1,118 @@
+package de.davelee.trams.drivers.api;
+
+import java.util.List;
+
+/**
+ * This class represents the outcome of importing drivers in bulk to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class DriverImportResponse {
+
+    private long rowsRead;
+
+    private long driversHired;
+
+    private long rejectedRowCount;
+
+    private List<RejectedRowResponse> rejectedRowList;
+
+    private long durationMillis;
+
+    private double rowsPerSecond;
+
+    /**
+     * Get the number of rows which were read excluding the header.
+     * @return a <code>long</code> containing the number of rows which were read excluding the header.
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Set the number of rows which were read excluding the header.
+     * @param rowsRead a <code>long</code> containing the number of rows which were read excluding the header.
+     */
+    public void setRowsRead(final long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    /**
+     * Get the number of drivers which were hired.
+     * @return a <code>long</code> containing the number of drivers which were hired.
+     */
+    public long getDriversHired() {
+        return driversHired;
+    }
+
+    /**
+     * Set the number of drivers which were hired.
+     * @param driversHired a <code>long</code> containing the number of drivers which were hired.
+     */
+    public void setDriversHired(final long driversHired) {
+        this.driversHired = driversHired;
+    }
+
+    /**
+     * Get the number of rows which were rejected.
+     * @return a <code>long</code> containing the number of rows which were rejected.
+     */
+    public long getRejectedRowCount() {
+        return rejectedRowCount;
+    }
+
+    /**
+     * Set the number of rows which were rejected.
+     * @param rejectedRowCount a <code>long</code> containing the number of rows which were rejected.
+     */
+    public void setRejectedRowCount(final long rejectedRowCount) {
+        this.rejectedRowCount = rejectedRowCount;
+    }
+
+    /**
+     * Get the first rejected rows in the order that they were read.
+     * @return a <code>List</code> containing the first rejected rows in the order that they were read.
+     */
+    public List<RejectedRowResponse> getRejectedRowList() {
+        return rejectedRowList;
+    }
+
+    /**
+     * Set the first rejected rows in the order that they were read.
+     * @param rejectedRowList a <code>List</code> containing the first rejected rows in the order that they were read.
+     */
+    public void setRejectedRowList(final List<RejectedRowResponse> rejectedRowList) {
+        this.rejectedRowList = rejectedRowList;
+    }
+
+    /**
+     * Get the duration of the import in milliseconds.
+     * @return a <code>long</code> containing the duration of the import in milliseconds.
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Set the duration of the import in milliseconds.
+     * @param durationMillis a <code>long</code> containing the duration of the import in milliseconds.
+     */
+    public void setDurationMillis(final long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Get the number of rows which were processed per second.
+     * @return a <code>double</code> containing the number of rows which were processed per second.
+     */
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    /**
+     * Set the number of rows which were processed per second.
+     * @param rowsPerSecond a <code>double</code> containing the number of rows which were processed per second.
+     */
+    public void setRowsPerSecond(final double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
@@ -0,0 +1,63 @@
+package de.davelee.trams.drivers.api;
+
+import java.util.List;
+
+/**
+ * This class represents a request to pay the drivers of several companies at once.
+ * @author Dave Lee
+ */
+public class PayCompaniesRequest {
+
+    private List<String> companies;
+    private String fromDate;
+    private String toDate;
+
+    /**
+     * Return the companies that should pay their drivers.
+     * @return a <code>List</code> containing the companies or null if all companies should pay their drivers.
+     */
+    public List<String> getCompanies() {
+        return companies;
+    }
+
+    /**
+     * Set the companies that should pay their drivers.
+     * @param companies a <code>List</code> containing the companies or null if all companies should pay their drivers.
+     */
+    public void setCompanies(final List<String> companies) {
+        this.companies = companies;
+    }
+
+    /**
+     * Return the date to pay drivers from as a String.
+     * @return a <code>String</code> containing the date to pay drivers from.
+     */
+    public String getFromDate() {
+        return fromDate;
+    }
+
+    /**
+     * Set the date to pay drivers from as a String.
+     * @param fromDate a <code>String</code> containing the date to pay drivers from.
+     */
+    public void setFromDate(final String fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    /**
+     * Return the date to pay drivers to as a String.
+     * @return a <code>String</code> containing the date to pay drivers to.
+     */
+    public String getToDate() {
+        return toDate;
+    }
+
+    /**
+     * Set the date to pay drivers to as a String.
+     * @param toDate a <code>String</code> containing the date to pay drivers to.
+     */
+    public void setToDate(final String toDate) {
+        this.toDate = toDate;
+    }
+
+}
@@ -0,0 +1,66 @@
+package de.davelee.trams.drivers.api;
+
+import java.util.List;
+
+/**
+ * This class represents a response to pay the drivers of several companies with the payout of each company and the
+ * total payout of all companies.
+ * @author Dave Lee
+ */
+public class PayCompaniesResponse {
+
+    private String totalPayout;
+
+    private long driversPaid;
+
+    private List<CompanyPayoutResponse> companyPayoutResponses;
+
+    /**
+     * Get the total payout of all companies as a String.
+     * @return a <code>String</code> containing the total payout.
+     */
+    public String getTotalPayout() {
+        return totalPayout;
+    }
+
+    /**
+     * Set the total payout of all companies as a String.
+     * @param totalPayout a <code>String</code> containing the total payout.
+     */
+    public void setTotalPayout(final String totalPayout) {
+        this.totalPayout = totalPayout;
+    }
+
+    /**
+     * Get the number of drivers who were paid by all companies.
+     * @return a <code>long</code> containing the number of drivers paid.
+     */
+    public long getDriversPaid() {
+        return driversPaid;
+    }
+
+    /**
+     * Set the number of drivers who were paid by all companies.
+     * @param driversPaid a <code>long</code> containing the number of drivers paid.
+     */
+    public void setDriversPaid(final long driversPaid) {
+        this.driversPaid = driversPaid;
+    }
+
+    /**
+     * Get the payout of each company.
+     * @return a <code>List</code> of <code>CompanyPayoutResponse</code> objects with one entry per company.
+     */
+    public List<CompanyPayoutResponse> getCompanyPayoutResponses() {
+        return companyPayoutResponses;
+    }
+
+    /**
+     * Set the payout of each company.
+     * @param companyPayoutResponses a <code>List</code> of <code>CompanyPayoutResponse</code> objects with one entry per company.
+     */
+    public void setCompanyPayoutResponses(final List<CompanyPayoutResponse> companyPayoutResponses) {
+        this.companyPayoutResponses = companyPayoutResponses;
+    }
+
+}
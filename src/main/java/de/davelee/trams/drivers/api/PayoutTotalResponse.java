@@ -0,0 +1,100 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents the sum of the payments to a driver or of a company over a date range to be returned by the
+ * Rest API.
+ * @author Dave Lee
+ */
+public class PayoutTotalResponse {
+
+    private String fromDate;
+
+    private String toDate;
+
+    private long numPayments;
+
+    private long hoursPaid;
+
+    private String totalPayout;
+
+    /**
+     * Get the first work date which is included in the total.
+     * @return a <code>String</code> containing the first work date in format dd-MM-yyyy.
+     */
+    public String getFromDate() {
+        return fromDate;
+    }
+
+    /**
+     * Set the first work date which is included in the total.
+     * @param fromDate a <code>String</code> containing the first work date in format dd-MM-yyyy.
+     */
+    public void setFromDate(final String fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    /**
+     * Get the last work date which is included in the total.
+     * @return a <code>String</code> containing the last work date in format dd-MM-yyyy.
+     */
+    public String getToDate() {
+        return toDate;
+    }
+
+    /**
+     * Set the last work date which is included in the total.
+     * @param toDate a <code>String</code> containing the last work date in format dd-MM-yyyy.
+     */
+    public void setToDate(final String toDate) {
+        this.toDate = toDate;
+    }
+
+    /**
+     * Get the number of payments which are included in the total.
+     * @return a <code>long</code> containing the number of payments.
+     */
+    public long getNumPayments() {
+        return numPayments;
+    }
+
+    /**
+     * Set the number of payments which are included in the total.
+     * @param numPayments a <code>long</code> containing the number of payments.
+     */
+    public void setNumPayments(final long numPayments) {
+        this.numPayments = numPayments;
+    }
+
+    /**
+     * Get the number of hours which were paid.
+     * @return a <code>long</code> containing the number of hours paid.
+     */
+    public long getHoursPaid() {
+        return hoursPaid;
+    }
+
+    /**
+     * Set the number of hours which were paid.
+     * @param hoursPaid a <code>long</code> containing the number of hours paid.
+     */
+    public void setHoursPaid(final long hoursPaid) {
+        this.hoursPaid = hoursPaid;
+    }
+
+    /**
+     * Get the total payout as a String.
+     * @return a <code>String</code> containing the total payout.
+     */
+    public String getTotalPayout() {
+        return totalPayout;
+    }
+
+    /**
+     * Set the total payout as a String.
+     * @param totalPayout a <code>String</code> containing the total payout.
+     */
+    public void setTotalPayout(final String totalPayout) {
+        this.totalPayout = totalPayout;
+    }
+
+}
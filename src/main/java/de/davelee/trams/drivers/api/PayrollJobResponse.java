@@ -0,0 +1,206 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents the status and progress of a payroll job to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class PayrollJobResponse {
+
+    private long jobId;
+
+    private String company;
+
+    private String fromDate;
+
+    private String toDate;
+
+    private String status;
+
+    private long totalDrivers;
+
+    private long driversProcessed;
+
+    private long driversPaid;
+
+    private int percentComplete;
+
+    private String errorMessage;
+
+    private PayDriversResponse payDriversResponse;
+
+    /**
+     * Get the identifier of the payroll job.
+     * @return a <code>long</code> containing the identifier of the payroll job.
+     */
+    public long getJobId() {
+        return jobId;
+    }
+
+    /**
+     * Set the identifier of the payroll job.
+     * @param jobId a <code>long</code> containing the identifier of the payroll job.
+     */
+    public void setJobId(final long jobId) {
+        this.jobId = jobId;
+    }
+
+    /**
+     * Get the company whose drivers are paid.
+     * @return a <code>String</code> containing the company whose drivers are paid.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Set the company whose drivers are paid.
+     * @param company a <code>String</code> containing the company whose drivers are paid.
+     */
+    public void setCompany(final String company) {
+        this.company = company;
+    }
+
+    /**
+     * Get the start date that is paid from.
+     * @return a <code>String</code> containing the start date that is paid from.
+     */
+    public String getFromDate() {
+        return fromDate;
+    }
+
+    /**
+     * Set the start date that is paid from.
+     * @param fromDate a <code>String</code> containing the start date that is paid from.
+     */
+    public void setFromDate(final String fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    /**
+     * Get the end date that is paid to.
+     * @return a <code>String</code> containing the end date that is paid to.
+     */
+    public String getToDate() {
+        return toDate;
+    }
+
+    /**
+     * Set the end date that is paid to.
+     * @param toDate a <code>String</code> containing the end date that is paid to.
+     */
+    public void setToDate(final String toDate) {
+        this.toDate = toDate;
+    }
+
+    /**
+     * Get the status of the payroll job which is Queued, Running, Completed or Failed.
+     * @return a <code>String</code> containing the status of the payroll job which is Queued, Running, Completed or Failed.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Set the status of the payroll job which is Queued, Running, Completed or Failed.
+     * @param status a <code>String</code> containing the status of the payroll job which is Queued, Running, Completed or Failed.
+     */
+    public void setStatus(final String status) {
+        this.status = status;
+    }
+
+    /**
+     * Get the number of drivers of the company when the job started.
+     * @return a <code>long</code> containing the number of drivers of the company when the job started.
+     */
+    public long getTotalDrivers() {
+        return totalDrivers;
+    }
+
+    /**
+     * Set the number of drivers of the company when the job started.
+     * @param totalDrivers a <code>long</code> containing the number of drivers of the company when the job started.
+     */
+    public void setTotalDrivers(final long totalDrivers) {
+        this.totalDrivers = totalDrivers;
+    }
+
+    /**
+     * Get the number of drivers which have been processed.
+     * @return a <code>long</code> containing the number of drivers which have been processed.
+     */
+    public long getDriversProcessed() {
+        return driversProcessed;
+    }
+
+    /**
+     * Set the number of drivers which have been processed.
+     * @param driversProcessed a <code>long</code> containing the number of drivers which have been processed.
+     */
+    public void setDriversProcessed(final long driversProcessed) {
+        this.driversProcessed = driversProcessed;
+    }
+
+    /**
+     * Get the number of drivers which have been paid.
+     * @return a <code>long</code> containing the number of drivers which have been paid.
+     */
+    public long getDriversPaid() {
+        return driversPaid;
+    }
+
+    /**
+     * Set the number of drivers which have been paid.
+     * @param driversPaid a <code>long</code> containing the number of drivers which have been paid.
+     */
+    public void setDriversPaid(final long driversPaid) {
+        this.driversPaid = driversPaid;
+    }
+
+    /**
+     * Get the percentage of drivers which have been processed.
+     * @return a <code>int</code> containing the percentage of drivers which have been processed.
+     */
+    public int getPercentComplete() {
+        return percentComplete;
+    }
+
+    /**
+     * Set the percentage of drivers which have been processed.
+     * @param percentComplete a <code>int</code> containing the percentage of drivers which have been processed.
+     */
+    public void setPercentComplete(final int percentComplete) {
+        this.percentComplete = percentComplete;
+    }
+
+    /**
+     * Get the reason why the job failed or null if it has not failed.
+     * @return a <code>String</code> containing the reason why the job failed or null if it has not failed.
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Set the reason why the job failed or null if it has not failed.
+     * @param errorMessage a <code>String</code> containing the reason why the job failed or null if it has not failed.
+     */
+    public void setErrorMessage(final String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Get the total payout once the job has completed or null before.
+     * @return a <code>PayDriversResponse</code> containing the total payout once the job has completed or null before.
+     */
+    public PayDriversResponse getPayDriversResponse() {
+        return payDriversResponse;
+    }
+
+    /**
+     * Set the total payout once the job has completed or null before.
+     * @param payDriversResponse a <code>PayDriversResponse</code> containing the total payout once the job has completed or null before.
+     */
+    public void setPayDriversResponse(final PayDriversResponse payDriversResponse) {
+        this.payDriversResponse = payDriversResponse;
+    }
+}
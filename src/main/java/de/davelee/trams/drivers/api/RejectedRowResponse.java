@@ -0,0 +1,44 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents a row of an import which was rejected to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class RejectedRowResponse {
+
+    private long rowNumber;
+
+    private String reason;
+
+    /**
+     * Get the number of the row in the file counting the header as row 1.
+     * @return a <code>long</code> containing the number of the row in the file counting the header as row 1.
+     */
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * Set the number of the row in the file counting the header as row 1.
+     * @param rowNumber a <code>long</code> containing the number of the row in the file counting the header as row 1.
+     */
+    public void setRowNumber(final long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    /**
+     * Get the reason why the row was rejected.
+     * @return a <code>String</code> containing the reason why the row was rejected.
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Set the reason why the row was rejected.
+     * @param reason a <code>String</code> containing the reason why the row was rejected.
+     */
+    public void setReason(final String reason) {
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,46 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents the number of drivers of a company with a particular number of remaining hours today to be
+ * returned by the Rest API.
+ * @author Dave Lee
+ */
+public class RemainingHoursCountResponse {
+
+    private int remainingHours;
+
+    private int numDrivers;
+
+    /**
+     * Get the number of remaining hours.
+     * @return a <code>int</code> containing the number of remaining hours.
+     */
+    public int getRemainingHours() {
+        return remainingHours;
+    }
+
+    /**
+     * Set the number of remaining hours.
+     * @param remainingHours a <code>int</code> containing the number of remaining hours.
+     */
+    public void setRemainingHours(final int remainingHours) {
+        this.remainingHours = remainingHours;
+    }
+
+    /**
+     * Get the number of drivers with the remaining hours.
+     * @return a <code>int</code> containing the number of drivers with the remaining hours.
+     */
+    public int getNumDrivers() {
+        return numDrivers;
+    }
+
+    /**
+     * Set the number of drivers with the remaining hours.
+     * @param numDrivers a <code>int</code> containing the number of drivers with the remaining hours.
+     */
+    public void setNumDrivers(final int numDrivers) {
+        this.numDrivers = numDrivers;
+    }
+
+}
@@ -0,0 +1,46 @@
+package de.davelee.trams.drivers.api;
+
+import java.util.List;
+
+/**
+ * This class represents the outcome of tracking hours for all items of a bulk request to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class TrackHoursBulkResponse {
+
+    private int trackedCount;
+
+    private List<TrackHoursItemResponse> itemResponseList;
+
+    /**
+     * Get the number of items whose hours were tracked.
+     * @return a <code>int</code> containing the number of items whose hours were tracked.
+     */
+    public int getTrackedCount() {
+        return trackedCount;
+    }
+
+    /**
+     * Set the number of items whose hours were tracked.
+     * @param trackedCount a <code>int</code> containing the number of items whose hours were tracked.
+     */
+    public void setTrackedCount(final int trackedCount) {
+        this.trackedCount = trackedCount;
+    }
+
+    /**
+     * Get the outcome of each item in the order of the bulk request.
+     * @return a <code>List</code> containing the outcome of each item in the order of the bulk request.
+     */
+    public List<TrackHoursItemResponse> getItemResponseList() {
+        return itemResponseList;
+    }
+
+    /**
+     * Set the outcome of each item in the order of the bulk request.
+     * @param itemResponseList a <code>List</code> containing the outcome of each item in the order of the bulk request.
+     */
+    public void setItemResponseList(final List<TrackHoursItemResponse> itemResponseList) {
+        this.itemResponseList = itemResponseList;
+    }
+}
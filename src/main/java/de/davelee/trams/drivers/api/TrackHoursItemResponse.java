@@ -0,0 +1,44 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents the outcome of tracking hours for one item of a bulk request to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class TrackHoursItemResponse {
+
+    private int index;
+
+    private String result;
+
+    /**
+     * Get the position of the item in the bulk request starting at 0.
+     * @return a <code>int</code> containing the position of the item in the bulk request starting at 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Set the position of the item in the bulk request starting at 0.
+     * @param index a <code>int</code> containing the position of the item in the bulk request starting at 0.
+     */
+    public void setIndex(final int index) {
+        this.index = index;
+    }
+
+    /**
+     * Get the result of the item which is TRACKED, INVALID or UNKNOWN_DRIVER.
+     * @return a <code>String</code> containing the result of the item which is TRACKED, INVALID or UNKNOWN_DRIVER.
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * Set the result of the item which is TRACKED, INVALID or UNKNOWN_DRIVER.
+     * @param result a <code>String</code> containing the result of the item which is TRACKED, INVALID or UNKNOWN_DRIVER.
+     */
+    public void setResult(final String result) {
+        this.result = result;
+    }
+}
@@ -0,0 +1,62 @@
+package de.davelee.trams.drivers.api;
+
+/**
+ * This class represents the outcome of tracking hours for a driver within the daily maximum to be returned by the Rest API.
+ * @author Dave Lee
+ */
+public class TrackHoursResponse {
+
+    private boolean hoursTracked;
+
+    private int totalHours;
+
+    private int remainingHours;
+
+    /**
+     * Check whether the hours were tracked.
+     * @return a <code>boolean</code> which is true iff the hours were tracked because the daily maximum was not exceeded.
+     */
+    public boolean isHoursTracked() {
+        return hoursTracked;
+    }
+
+    /**
+     * Set whether the hours were tracked.
+     * @param hoursTracked a <code>boolean</code> which is true iff the hours were tracked because the daily maximum was not exceeded.
+     */
+    public void setHoursTracked(final boolean hoursTracked) {
+        this.hoursTracked = hoursTracked;
+    }
+
+    /**
+     * Get the total hours that the driver has worked today.
+     * @return a <code>int</code> containing the total hours that the driver has worked today.
+     */
+    public int getTotalHours() {
+        return totalHours;
+    }
+
+    /**
+     * Set the total hours that the driver has worked today.
+     * @param totalHours a <code>int</code> containing the total hours that the driver has worked today.
+     */
+    public void setTotalHours(final int totalHours) {
+        this.totalHours = totalHours;
+    }
+
+    /**
+     * Get the remaining hours that the driver may drive today.
+     * @return a <code>int</code> containing the remaining hours that the driver may drive today.
+     */
+    public int getRemainingHours() {
+        return remainingHours;
+    }
+
+    /**
+     * Set the remaining hours that the driver may drive today.
+     * @param remainingHours a <code>int</code> containing the remaining hours that the driver may drive today.
+     */
+    public void setRemainingHours(final int remainingHours) {
+        this.remainingHours = remainingHours;
+    }
+}
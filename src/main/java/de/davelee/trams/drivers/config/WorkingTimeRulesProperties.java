@@ -0,0 +1,79 @@
+package de.davelee.trams.drivers.config;
+
+import de.davelee.trams.drivers.data.WorkingTimeRules;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+@ConfigurationProperties(prefix="driver.rules")
+/**
+ * Configure the working time rules of drivers. The default rules are set with driver.rules.defaults.* and apply to
+ * every company. Individual limits can be overridden for a company with driver.rules.companies[n].company and
+ * driver.rules.companies[n].*, which are listed by index because company names may contain spaces.
+ * @author Dave Lee
+ */
+public class WorkingTimeRulesProperties {
+
+    private WorkingTimeRules defaults = new WorkingTimeRules();
+
+    private List<WorkingTimeRules> companies = new ArrayList<>();
+
+    private final ConcurrentMap<String, WorkingTimeRules> rulesByCompany = new ConcurrentHashMap<>();
+
+    /**
+     * Get the default rules which apply to every company.
+     * @return a <code>WorkingTimeRules</code> object containing the default rules.
+     */
+    public WorkingTimeRules getDefaults() {
+        return defaults;
+    }
+
+    /**
+     * Set the default rules which apply to every company.
+     * @param defaults a <code>WorkingTimeRules</code> object containing the default rules.
+     */
+    public void setDefaults(final WorkingTimeRules defaults) {
+        this.defaults = defaults;
+    }
+
+    /**
+     * Get the rules which override the default rules for individual companies.
+     * @return a <code>List</code> of <code>WorkingTimeRules</code> objects containing the rules of each company.
+     */
+    public List<WorkingTimeRules> getCompanies() {
+        return companies;
+    }
+
+    /**
+     * Set the rules which override the default rules for individual companies.
+     * @param companies a <code>List</code> of <code>WorkingTimeRules</code> objects containing the rules of each company.
+     */
+    public void setCompanies(final List<WorkingTimeRules> companies) {
+        this.companies = companies;
+    }
+
+    /**
+     * Return the rules of a company combined with the default rules. The combined rules are created once per company.
+     * @param company a <code>String</code> containing the name of the company or null for the default rules.
+     * @return a <code>WorkingTimeRules</code> object in which every limit is set.
+     */
+    public WorkingTimeRules getRules(final String company) {
+        if ( company == null ) {
+            return defaults;
+        }
+        return rulesByCompany.computeIfAbsent(company, key -> {
+            for ( WorkingTimeRules companyRules : companies ) {
+                if ( key.equals(companyRules.getCompany()) ) {
+                    return companyRules.withDefaults(defaults);
+                }
+            }
+            return defaults;
+        });
+    }
+
+}
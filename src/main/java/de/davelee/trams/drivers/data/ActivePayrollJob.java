@@ -0,0 +1,53 @@
+package de.davelee.trams.drivers.data;
+
+import javax.persistence.*;
+
+/**
+ * This class represents the payroll job of a company which is currently queued or running. The company is the primary
+ * key, so the database allows only one active job per company even if several jobs are submitted at the same time.
+ * @author Dave Lee
+ */
+@Entity
+@Table(name="ACTIVE_PAYROLL_JOB")
+public class ActivePayrollJob {
+
+    @Id
+    @Column
+    private String company;
+
+    @Column(nullable=false)
+    private Long payrollJobId;
+
+    /**
+     * Create a new active payroll job with the default constructor - creating a blank entry.
+     */
+    public ActivePayrollJob() {
+    }
+
+    /**
+     * Create a new active payroll job by supplying the company and the job.
+     * @param company a <code>String</code> containing the company that is paying their drivers.
+     * @param payrollJobId a <code>Long</code> containing the identifier of the job which is queued or running.
+     */
+    public ActivePayrollJob(final String company, final Long payrollJobId) {
+        this.company = company;
+        this.payrollJobId = payrollJobId;
+    }
+
+    /**
+     * Return the company that is paying their drivers.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Return the identifier of the job which is queued or running.
+     * @return a <code>Long</code> containing the identifier of the job.
+     */
+    public Long getPayrollJobId() {
+        return payrollJobId;
+    }
+
+}
@@ -0,0 +1,38 @@
+package de.davelee.trams.drivers.data;
+
+/**
+ * This class represents a driver who may still work today together with the result of checking their working time.
+ * @author Dave Lee
+ */
+public class AvailableDriver {
+
+    private final DriverSummary driverSummary;
+    private final WorkingTimeCheck workingTimeCheck;
+
+    /**
+     * Create a new available driver by supplying the information to initialise the available driver.
+     * @param driverSummary a <code>DriverSummary</code> object containing the summary of the driver.
+     * @param workingTimeCheck a <code>WorkingTimeCheck</code> object containing the remaining hours of the driver.
+     */
+    public AvailableDriver(final DriverSummary driverSummary, final WorkingTimeCheck workingTimeCheck) {
+        this.driverSummary = driverSummary;
+        this.workingTimeCheck = workingTimeCheck;
+    }
+
+    /**
+     * Return the summary of the driver.
+     * @return a <code>DriverSummary</code> object containing the summary of the driver.
+     */
+    public DriverSummary getDriverSummary() {
+        return driverSummary;
+    }
+
+    /**
+     * Return the result of checking the working time of the driver.
+     * @return a <code>WorkingTimeCheck</code> object containing the remaining hours of the driver.
+     */
+    public WorkingTimeCheck getWorkingTimeCheck() {
+        return workingTimeCheck;
+    }
+
+}
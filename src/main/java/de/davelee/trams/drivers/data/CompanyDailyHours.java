@@ -0,0 +1,94 @@
+package de.davelee.trams.drivers.data;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * This class represents the number of hours that the drivers of a company in one stripe worked on a particular date.
+ * The total of a company and date is split into several stripes chosen by the driver identifier, so that concurrent
+ * updates for different drivers of the same company usually lock different rows. The totals are maintained together
+ * with every change to the driver hours so that company reports only need to add up the stripes of each date.
+ * @author Dave Lee
+ */
+@Entity
+@Table(name="COMPANY_DAILY_HOURS", indexes = {
+        @Index(name="IDX_COMPANY_DAILY_HOURS_COMPANY_DATE", columnList="company, workDate, stripe", unique=true)
+})
+public class CompanyDailyHours {
+
+    @Id
+    @GeneratedValue
+    @Column
+    private Long id;
+
+    @Column(nullable=false)
+    private String company;
+
+    @Column(nullable=false)
+    private LocalDate workDate;
+
+    @Column
+    private int stripe;
+
+    @Column
+    private int hours;
+
+    /**
+     * Create a new daily total with the default constructor - creating a blank total.
+     */
+    public CompanyDailyHours() {
+    }
+
+    /**
+     * Create a new daily total of all stripes by supplying the company, the date and the sum of the hours.
+     * @param company a <code>String</code> containing the company whose drivers worked the hours.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param hours a <code>long</code> containing the sum of the hours of all stripes.
+     */
+    public CompanyDailyHours(final String company, final LocalDate workDate, final long hours) {
+        this.company = company;
+        this.workDate = workDate;
+        this.hours = (int) hours;
+    }
+
+    /**
+     * Return the identifier for this total.
+     * @return a <code>Long</code> object containing the identifier for this total.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Return the company whose drivers worked the hours.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Return the date that the hours were worked.
+     * @return a <code>LocalDate</code> containing the work date.
+     */
+    public LocalDate getWorkDate() {
+        return workDate;
+    }
+
+    /**
+     * Return the stripe of the drivers whose hours are contained in this total.
+     * @return a <code>int</code> containing the stripe.
+     */
+    public int getStripe() {
+        return stripe;
+    }
+
+    /**
+     * Return the total number of hours worked by all drivers of the company on the date.
+     * @return a <code>int</code> containing the number of hours.
+     */
+    public int getHours() {
+        return hours;
+    }
+
+}
@@ -0,0 +1,72 @@
+package de.davelee.trams.drivers.data;
+
+/**
+ * This class represents the outcome of paying the drivers of a company or of a range of drivers within a company.
+ * Totals are immutable so that the totals of partitions paid in parallel can be merged without locking. The payout is
+ * held in minor units.
+ * @author Dave Lee
+ */
+public class CompanyPayrollTotal {
+
+    private final String company;
+    private final long driversProcessed;
+    private final long driversPaid;
+    private final long totalPayoutMinorUnits;
+
+    /**
+     * Create a new payroll total by supplying the information to initialise the total.
+     * @param company a <code>String</code> containing the company that paid their drivers.
+     * @param driversProcessed a <code>long</code> containing the number of drivers whose hours were checked.
+     * @param driversPaid a <code>long</code> containing the number of drivers who were paid.
+     * @param totalPayoutMinorUnits a <code>long</code> containing the amount paid to all drivers in minor units.
+     */
+    public CompanyPayrollTotal(final String company, final long driversProcessed, final long driversPaid, final long totalPayoutMinorUnits) {
+        this.company = company;
+        this.driversProcessed = driversProcessed;
+        this.driversPaid = driversPaid;
+        this.totalPayoutMinorUnits = totalPayoutMinorUnits;
+    }
+
+    /**
+     * Merge this total with the total of another range of drivers of the same company.
+     * @param otherTotal a <code>CompanyPayrollTotal</code> object containing the other total.
+     * @return a <code>CompanyPayrollTotal</code> object containing the sum of both totals.
+     */
+    public CompanyPayrollTotal merge(final CompanyPayrollTotal otherTotal) {
+        return new CompanyPayrollTotal(company, driversProcessed + otherTotal.driversProcessed, driversPaid + otherTotal.driversPaid,
+                Money.add(totalPayoutMinorUnits, otherTotal.totalPayoutMinorUnits));
+    }
+
+    /**
+     * Return the company that paid their drivers.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Return the number of drivers whose hours were checked.
+     * @return a <code>long</code> containing the number of drivers processed.
+     */
+    public long getDriversProcessed() {
+        return driversProcessed;
+    }
+
+    /**
+     * Return the number of drivers who were paid.
+     * @return a <code>long</code> containing the number of drivers paid.
+     */
+    public long getDriversPaid() {
+        return driversPaid;
+    }
+
+    /**
+     * Return the amount paid to all drivers.
+     * @return a <code>long</code> containing the total payout in minor units.
+     */
+    public long getTotalPayoutMinorUnits() {
+        return totalPayoutMinorUnits;
+    }
+
+}
@@ -3,21 +3,20 @@ package de.davelee.trams.drivers.data;
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 /**
  * This class represents a driver.
  * @author Dave Lee
  */
 @Entity
-@Table(name="DRIVER")
+@Table(name="DRIVER", indexes = {
+        @Index(name="IDX_DRIVER_NATURAL_KEY", columnList="naturalKeyHash", unique=true)
+})
 public class Driver {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy=GenerationType.TABLE, generator="driverGenerator")
+    @TableGenerator(name="driverGenerator", allocationSize=50)
     @Column
     private Long id;
 
@@ -48,11 +47,11 @@ public class Driver {
     @Column
     private DriverStatus status;
 
-    @OneToMany(targetEntity=DriverHistory.class, fetch=FetchType.EAGER, cascade = {CascadeType.ALL})
-    private List<DriverHistory> driverHistoryList = new ArrayList<>();
+    @Column(length=64)
+    private String naturalKeyHash;
 
-    @ElementCollection
-    private Map<LocalDate, Integer> driverHoursMap = new HashMap<>();
+    @Column
+    private LocalDate paidThroughDate;
 
     /**
      * Create a new driver with the default constructor - creating a blank driver.
@@ -231,42 +230,36 @@ public class Driver {
     }
 
     /**
-     * Add an entry to the driver history list.
-     * @param driverHistory a <code>DriverHistory</code> object to add to the driver history list.
+     * Return the hash of the natural key (date of birth, name and company) of this driver.
+     * @return a <code>String</code> containing the hash of the natural key which is set when the driver is saved.
      */
-    public void addHistory(final DriverHistory driverHistory) {
-        this.driverHistoryList.add(driverHistory);
+    public String getNaturalKeyHash() {
+        return naturalKeyHash;
     }
 
     /**
-     * Return the driver history as a list.
-     * @return a <code>List</code> of <code>DriverHistory</code> containing the driver history.
+     * Return the date up to which all hours of this driver have been paid.
+     * @return a <code>LocalDate</code> containing the last date which has been paid completely or null if this driver has never been paid.
      */
-    public List<DriverHistory> getDriverHistoryList() {
-        return this.driverHistoryList;
+    public LocalDate getPaidThroughDate() {
+        return paidThroughDate;
     }
 
     /**
-     * This method increments the driver hours for the specified date by the specified hours.
-     * @param date a <code>LocalDate</code> with the date that the hours were worked.
-     * @param hours a <code>int</code> with the number of hours to increase by.
+     * Set the date up to which all hours of this driver have been paid.
+     * @param paidThroughDate a <code>LocalDate</code> containing the last date which has been paid completely.
      */
-    public void incrementDriverHours ( final LocalDate date, final int hours ) {
-        Integer currentHours = driverHoursMap.get(date);
-        if ( currentHours == null ) {
-            driverHoursMap.put(date, hours);
-        } else {
-            driverHoursMap.put(date, currentHours.intValue() + hours);
-        }
+    public void setPaidThroughDate(final LocalDate paidThroughDate) {
+        this.paidThroughDate = paidThroughDate;
     }
 
+    @PrePersist
+    @PreUpdate
     /**
-     * Retrieve the number of hours worked for this driver for the specified date.
-     * @param date a <code>LocalDate</code> object with the date to retrieve the hours worked for.
-     * @return a <code>Integer</code> with the number of hours worked.
+     * Recalculate the hash of the natural key before the driver is saved so that it matches the current values.
      */
-    public Integer getHoursWorkedForDate ( final LocalDate date ) {
-        return driverHoursMap.get(date);
+    public void updateNaturalKeyHash() {
+        this.naturalKeyHash = DriverNaturalKey.hash(dateOfBirth, name, company);
     }
 
 }
@@ -0,0 +1,66 @@
+package de.davelee.trams.drivers.data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This class represents the drivers of a company who may still work on a particular date together with the number of
+ * drivers of the company for each number of remaining hours.
+ * @author Dave Lee
+ */
+public class DriverAvailability {
+
+    private final String company;
+    private final LocalDate date;
+    private final List<AvailableDriver> availableDrivers;
+    private final int[] numDriversByRemainingHours;
+
+    /**
+     * Create a new driver availability by supplying the information to initialise the driver availability.
+     * @param company a <code>String</code> containing the company.
+     * @param date a <code>LocalDate</code> containing the date that the drivers may work.
+     * @param availableDrivers a <code>List</code> of <code>AvailableDriver</code> objects containing the drivers who may still work.
+     * @param numDriversByRemainingHours a <code>int</code> array containing the number of drivers for each number of remaining hours.
+     */
+    public DriverAvailability(final String company, final LocalDate date, final List<AvailableDriver> availableDrivers,
+                              final int[] numDriversByRemainingHours) {
+        this.company = company;
+        this.date = date;
+        this.availableDrivers = availableDrivers;
+        this.numDriversByRemainingHours = numDriversByRemainingHours;
+    }
+
+    /**
+     * Return the company.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Return the date that the drivers may work.
+     * @return a <code>LocalDate</code> containing the date.
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Return the drivers who may still work in the order that they were indexed.
+     * @return a <code>List</code> of <code>AvailableDriver</code> objects containing the drivers who may still work.
+     */
+    public List<AvailableDriver> getAvailableDrivers() {
+        return availableDrivers;
+    }
+
+    /**
+     * Return the number of drivers of the company for each number of remaining hours. The first element counts the
+     * drivers who may not work any further hours and the last element counts all drivers with at least that many hours.
+     * @return a <code>int</code> array containing the number of drivers for each number of remaining hours.
+     */
+    public int[] getNumDriversByRemainingHours() {
+        return numDriversByRemainingHours;
+    }
+
+}
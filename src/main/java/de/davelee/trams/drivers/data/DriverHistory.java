@@ -8,14 +8,20 @@ import java.time.LocalDate;
  * @author Dave Lee
  */
 @Entity
-@Table(name="DRIVER_HISTORY")
+@Table(name="DRIVER_HISTORY", indexes = {
+        @Index(name="IDX_DRIVER_HISTORY_DRIVER", columnList="driverId, id")
+})
 public class DriverHistory {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy=GenerationType.TABLE, generator="driverHistoryGenerator")
+    @TableGenerator(name="driverHistoryGenerator", allocationSize=50)
     @Column
     private long id;
 
+    @Column
+    private Long driverId;
+
     @Column
     private LocalDate date;
 
@@ -25,6 +31,50 @@ public class DriverHistory {
     @Column
     private String comment;
 
+    /**
+     * Create a new driver history entry with the default constructor - creating a blank entry.
+     */
+    public DriverHistory() {
+    }
+
+    /**
+     * Create a new driver history entry by supplying the information to initialise the entry.
+     * @param driverId a <code>Long</code> containing the identifier of the driver that this entry belongs to.
+     * @param date a <code>LocalDate</code> containing the date of this event in the driver's history.
+     * @param status a <code>DriverStatus</code> containing the status of this event in the driver's history.
+     * @param comment a <code>String</code> containing the comment of this entry in the driver's history.
+     */
+    public DriverHistory(final Long driverId, final LocalDate date, final DriverStatus status, final String comment) {
+        this.driverId = driverId;
+        this.date = date;
+        this.status = status;
+        this.comment = comment;
+    }
+
+    /**
+     * Return the identifier for this entry which increases with every new entry.
+     * @return a <code>long</code> containing the identifier for this entry.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Return the identifier of the driver that this entry belongs to.
+     * @return a <code>Long</code> containing the identifier of the driver.
+     */
+    public Long getDriverId() {
+        return driverId;
+    }
+
+    /**
+     * Set the identifier of the driver that this entry belongs to.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     */
+    public void setDriverId(final Long driverId) {
+        this.driverId = driverId;
+    }
+
     /**
      * Return the date of this event in the driver's history.
      * @return a <code>LocalDate</code> containing the date of this event in the driver's history.
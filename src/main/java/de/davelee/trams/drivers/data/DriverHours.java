@@ -0,0 +1,125 @@
+package de.davelee.trams.drivers.data;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * This class represents the number of hours that a driver worked on a particular date.
+ * Each driver has at most one entry per work date so that single days can be looked up by index. The entry also
+ * records how many of the hours have been paid, because hours can still be added after a day has been paid.
+ * @author Dave Lee
+ */
+@Entity
+@Table(name="DRIVER_HOURS", indexes = {
+        @Index(name="IDX_DRIVER_HOURS_DRIVER_DATE", columnList="driverId, workDate", unique=true)
+})
+public class DriverHours {
+
+    @Id
+    @GeneratedValue
+    @Column
+    private Long id;
+
+    @Column(nullable=false)
+    private Long driverId;
+
+    @Column(nullable=false)
+    private LocalDate workDate;
+
+    @Column
+    private int hours;
+
+    @Column
+    private int paidHours;
+
+    /**
+     * Create a new driver hours entry with the default constructor - creating a blank entry.
+     */
+    public DriverHours() {
+    }
+
+    /**
+     * Create a new driver hours entry by supplying the information to initialise the entry.
+     * @param driverId a <code>Long</code> containing the identifier of the driver who worked the hours.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param hours a <code>int</code> containing the number of hours worked.
+     */
+    public DriverHours(final Long driverId, final LocalDate workDate, final int hours) {
+        this.driverId = driverId;
+        this.workDate = workDate;
+        this.hours = hours;
+    }
+
+    /**
+     * Return the identifier for this entry.
+     * @return a <code>Long</code> object containing the identifier for this entry.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Return the identifier of the driver who worked the hours.
+     * @return a <code>Long</code> containing the identifier of the driver.
+     */
+    public Long getDriverId() {
+        return driverId;
+    }
+
+    /**
+     * Set the identifier of the driver who worked the hours.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     */
+    public void setDriverId(final Long driverId) {
+        this.driverId = driverId;
+    }
+
+    /**
+     * Return the date that the hours were worked.
+     * @return a <code>LocalDate</code> containing the date that the hours were worked.
+     */
+    public LocalDate getWorkDate() {
+        return workDate;
+    }
+
+    /**
+     * Set the date that the hours were worked.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     */
+    public void setWorkDate(final LocalDate workDate) {
+        this.workDate = workDate;
+    }
+
+    /**
+     * Return the number of hours worked.
+     * @return a <code>int</code> containing the number of hours worked.
+     */
+    public int getHours() {
+        return hours;
+    }
+
+    /**
+     * Set the number of hours worked.
+     * @param hours a <code>int</code> containing the number of hours worked.
+     */
+    public void setHours(final int hours) {
+        this.hours = hours;
+    }
+
+    /**
+     * Return the number of hours which have already been paid.
+     * @return a <code>int</code> containing the number of hours paid.
+     */
+    public int getPaidHours() {
+        return paidHours;
+    }
+
+    /**
+     * Set the number of hours which have already been paid.
+     * @param paidHours a <code>int</code> containing the number of hours paid.
+     */
+    public void setPaidHours(final int paidHours) {
+        this.paidHours = paidHours;
+    }
+
+}
@@ -0,0 +1,86 @@
+package de.davelee.trams.drivers.data;
+
+import java.time.LocalDate;
+
+/**
+ * This class represents the total hours of a driver in a week or a month together with the details of the driver
+ * which are needed to compare the hours with the contract. It is filled directly by a query over the rollups.
+ * @author Dave Lee
+ */
+public class DriverHoursRollup {
+
+    private final Long driverId;
+    private final String name;
+    private final LocalDate dateOfBirth;
+    private final int contractedHours;
+    private final LocalDate periodStart;
+    private final int hours;
+
+    /**
+     * Create a new rollup by supplying the information to initialise the rollup.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param name a <code>String</code> containing the name of the driver.
+     * @param dateOfBirth a <code>LocalDate</code> containing the date of birth of the driver.
+     * @param contractedHours a <code>int</code> containing the number of hours per week in the contract of the driver.
+     * @param periodStart a <code>LocalDate</code> containing the first date of the week or month.
+     * @param hours a <code>int</code> containing the number of hours worked in the week or month.
+     */
+    public DriverHoursRollup(final Long driverId, final String name, final LocalDate dateOfBirth, final int contractedHours,
+                             final LocalDate periodStart, final int hours) {
+        this.driverId = driverId;
+        this.name = name;
+        this.dateOfBirth = dateOfBirth;
+        this.contractedHours = contractedHours;
+        this.periodStart = periodStart;
+        this.hours = hours;
+    }
+
+    /**
+     * Return the identifier of the driver.
+     * @return a <code>Long</code> containing the identifier of the driver.
+     */
+    public Long getDriverId() {
+        return driverId;
+    }
+
+    /**
+     * Return the name of the driver.
+     * @return a <code>String</code> containing the name of the driver.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Return the date of birth of the driver.
+     * @return a <code>LocalDate</code> containing the date of birth of the driver.
+     */
+    public LocalDate getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    /**
+     * Return the number of hours per week in the contract of the driver.
+     * @return a <code>int</code> containing the contracted hours.
+     */
+    public int getContractedHours() {
+        return contractedHours;
+    }
+
+    /**
+     * Return the first date of the week or month.
+     * @return a <code>LocalDate</code> containing the first date of the period.
+     */
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    /**
+     * Return the number of hours worked in the week or month.
+     * @return a <code>int</code> containing the number of hours.
+     */
+    public int getHours() {
+        return hours;
+    }
+
+}
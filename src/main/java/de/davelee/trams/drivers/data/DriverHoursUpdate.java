@@ -0,0 +1,39 @@
+package de.davelee.trams.drivers.data;
+
+/**
+ * This class represents the outcome of adding hours for a driver on a date: whether the hours were added and the
+ * total hours of the driver on that date afterwards.
+ * @author Dave Lee
+ */
+public class DriverHoursUpdate {
+
+    private final boolean accepted;
+    private final int totalHours;
+
+    /**
+     * Create a new outcome by supplying the information to initialise the outcome.
+     * @param accepted a <code>boolean</code> which is true iff the hours were added.
+     * @param totalHours a <code>int</code> containing the total hours of the driver on the date after the update.
+     */
+    public DriverHoursUpdate(final boolean accepted, final int totalHours) {
+        this.accepted = accepted;
+        this.totalHours = totalHours;
+    }
+
+    /**
+     * Check whether the hours were added.
+     * @return a <code>boolean</code> which is true iff the hours were added.
+     */
+    public boolean isAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Return the total hours of the driver on the date after the update.
+     * @return a <code>int</code> containing the total hours.
+     */
+    public int getTotalHours() {
+        return totalHours;
+    }
+
+}
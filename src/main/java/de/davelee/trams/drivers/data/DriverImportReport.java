@@ -0,0 +1,148 @@
+package de.davelee.trams.drivers.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents the outcome of importing drivers in bulk: how many rows were read and hired, which rows were
+ * rejected and why, and how quickly the rows were processed. Only the first rejected rows are kept in detail so that
+ * the report stays small even if a whole file is rejected.
+ * @author Dave Lee
+ */
+public class DriverImportReport {
+
+    private final int maxRejectedRows;
+    private final List<RejectedRow> rejectedRows = new ArrayList<>();
+    private long rowsRead;
+    private long driversHired;
+    private long rejectedRowCount;
+    private long durationMillis;
+
+    /**
+     * Create a new empty report.
+     * @param maxRejectedRows a <code>int</code> containing the maximum number of rejected rows to keep in detail.
+     */
+    public DriverImportReport(final int maxRejectedRows) {
+        this.maxRejectedRows = maxRejectedRows;
+    }
+
+    /**
+     * Record that a row was read.
+     */
+    public void addRowRead() {
+        rowsRead++;
+    }
+
+    /**
+     * Record that drivers were hired.
+     * @param numberOfDrivers a <code>int</code> containing the number of drivers which were hired.
+     */
+    public void addDriversHired(final int numberOfDrivers) {
+        driversHired += numberOfDrivers;
+    }
+
+    /**
+     * Record that a row was rejected.
+     * @param rowNumber a <code>long</code> containing the number of the row in the file counting the header as row 1.
+     * @param reason a <code>String</code> describing why the row was rejected.
+     */
+    public void addRejectedRow(final long rowNumber, final String reason) {
+        rejectedRowCount++;
+        if ( rejectedRows.size() < maxRejectedRows ) {
+            rejectedRows.add(new RejectedRow(rowNumber, reason));
+        }
+    }
+
+    /**
+     * Return the number of rows which were read.
+     * @return a <code>long</code> containing the number of rows read excluding the header.
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Return the number of drivers which were hired.
+     * @return a <code>long</code> containing the number of drivers hired.
+     */
+    public long getDriversHired() {
+        return driversHired;
+    }
+
+    /**
+     * Return the number of rows which were rejected.
+     * @return a <code>long</code> containing the number of rows rejected including those not kept in detail.
+     */
+    public long getRejectedRowCount() {
+        return rejectedRowCount;
+    }
+
+    /**
+     * Return the first rejected rows.
+     * @return a <code>List</code> of <code>RejectedRow</code> objects in the order that the rows were read.
+     */
+    public List<RejectedRow> getRejectedRows() {
+        return Collections.unmodifiableList(rejectedRows);
+    }
+
+    /**
+     * Return how long the import took.
+     * @return a <code>long</code> containing the duration of the import in milliseconds.
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Set how long the import took.
+     * @param durationMillis a <code>long</code> containing the duration of the import in milliseconds.
+     */
+    public void setDurationMillis(final long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Return the throughput of the import.
+     * @return a <code>double</code> containing the number of rows processed per second.
+     */
+    public double getRowsPerSecond() {
+        return durationMillis > 0 ? rowsRead * 1000.0 / durationMillis : rowsRead;
+    }
+
+    /**
+     * This class represents a row which was rejected together with the reason.
+     */
+    public static class RejectedRow {
+
+        private final long rowNumber;
+        private final String reason;
+
+        /**
+         * Create a new rejected row.
+         * @param rowNumber a <code>long</code> containing the number of the row in the file counting the header as row 1.
+         * @param reason a <code>String</code> describing why the row was rejected.
+         */
+        public RejectedRow(final long rowNumber, final String reason) {
+            this.rowNumber = rowNumber;
+            this.reason = reason;
+        }
+
+        /**
+         * Return the number of the row in the file.
+         * @return a <code>long</code> containing the number of the row counting the header as row 1.
+         */
+        public long getRowNumber() {
+            return rowNumber;
+        }
+
+        /**
+         * Return why the row was rejected.
+         * @return a <code>String</code> describing why the row was rejected.
+         */
+        public String getReason() {
+            return reason;
+        }
+    }
+
+}
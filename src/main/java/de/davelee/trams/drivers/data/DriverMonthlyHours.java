@@ -0,0 +1,71 @@
+package de.davelee.trams.drivers.data;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * This class represents the total number of hours that a driver worked in a particular month. The total is
+ * maintained together with every change to the driver hours so that monthly reports do not need to sum the hours of
+ * each day.
+ * @author Dave Lee
+ */
+@Entity
+@Table(name="DRIVER_MONTHLY_HOURS", indexes = {
+        @Index(name="IDX_DRIVER_MONTHLY_HOURS_DRIVER_MONTH", columnList="driverId, monthStart", unique=true),
+        @Index(name="IDX_DRIVER_MONTHLY_HOURS_MONTH", columnList="monthStart")
+})
+public class DriverMonthlyHours {
+
+    @Id
+    @GeneratedValue
+    @Column
+    private Long id;
+
+    @Column(nullable=false)
+    private Long driverId;
+
+    @Column(nullable=false)
+    private LocalDate monthStart;
+
+    @Column
+    private int hours;
+
+    /**
+     * Create a new monthly total with the default constructor - creating a blank total.
+     */
+    public DriverMonthlyHours() {
+    }
+
+    /**
+     * Return the identifier for this total.
+     * @return a <code>Long</code> object containing the identifier for this total.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Return the identifier of the driver who worked the hours.
+     * @return a <code>Long</code> containing the identifier of the driver.
+     */
+    public Long getDriverId() {
+        return driverId;
+    }
+
+    /**
+     * Return the first day of the month.
+     * @return a <code>LocalDate</code> containing the first date of the month.
+     */
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+
+    /**
+     * Return the total number of hours worked in the month.
+     * @return a <code>int</code> containing the number of hours.
+     */
+    public int getHours() {
+        return hours;
+    }
+
+}
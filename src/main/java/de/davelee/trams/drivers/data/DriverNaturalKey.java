@@ -0,0 +1,59 @@
+package de.davelee.trams.drivers.data;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * This class builds the natural key which identifies a driver: their date of birth, name and company.
+ * The key is normalised (trimmed, single spaces, lower case) and hashed so that it can be stored in a single
+ * indexed column and looked up without comparing three columns.
+ * @author Dave Lee
+ */
+public final class DriverNaturalKey {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * This class only offers static methods and should not be instantiated.
+     */
+    private DriverNaturalKey() {
+    }
+
+    /**
+     * Compute the hash of the natural key for a driver.
+     * @param dateOfBirth a <code>LocalDate</code> containing the date of birth of the driver.
+     * @param name a <code>String</code> containing the name of the driver.
+     * @param company a <code>String</code> containing the company of the driver.
+     * @return a <code>String</code> containing the SHA-256 hash of the normalised key in hexadecimal.
+     */
+    public static String hash(final LocalDate dateOfBirth, final String name, final String company) {
+        String normalisedKey = (dateOfBirth != null ? dateOfBirth.toString() : "") + "|" + normalise(name) + "|" + normalise(company);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalisedKey.getBytes(StandardCharsets.UTF_8));
+            char[] hexChars = new char[digest.length * 2];
+            for ( int i = 0; i < digest.length; i++ ) {
+                hexChars[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+                hexChars[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+            }
+            return new String(hexChars);
+        } catch ( NoSuchAlgorithmException noSuchAlgorithmException ) {
+            throw new IllegalStateException("SHA-256 is not available", noSuchAlgorithmException);
+        }
+    }
+
+    /**
+     * Normalise a part of the natural key so that differences in case and spacing do not create different keys.
+     * @param value a <code>String</code> containing the value to normalise which may be null.
+     * @return a <code>String</code> containing the normalised value.
+     */
+    private static String normalise(final String value) {
+        if ( value == null ) {
+            return "";
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+}
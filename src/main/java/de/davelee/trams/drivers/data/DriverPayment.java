@@ -0,0 +1,126 @@
+package de.davelee.trams.drivers.data;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * This class represents a payment to a driver for the hours worked on a particular date. Payments form a ledger
+ * which is only ever appended to: a date is paid again by a later payroll run if hours are added after it was paid.
+ * The company is stored with each payment so that payouts of a company can be summed without joining the drivers.
+ * Payments are written in batches by the payroll and read as aggregates over the indexes on driver and work date and
+ * on company and work date.
+ * @author Dave Lee
+ */
+@Entity
+@Table(name="DRIVER_PAYMENT", indexes = {
+        @Index(name="IDX_DRIVER_PAYMENT_DRIVER_DATE", columnList="driverId, workDate"),
+        @Index(name="IDX_DRIVER_PAYMENT_COMPANY_DATE", columnList="company, workDate"),
+        @Index(name="IDX_DRIVER_PAYMENT_RUN", columnList="payrollRunId")
+})
+public class DriverPayment {
+
+    @Id
+    @GeneratedValue
+    @Column
+    private Long id;
+
+    @Column(nullable=false)
+    private Long driverId;
+
+    @Column(nullable=false)
+    private String company;
+
+    @Column(nullable=false)
+    private LocalDate workDate;
+
+    @Column
+    private int hours;
+
+    @Column
+    private long amountMinorUnits;
+
+    @Column(nullable=false)
+    private Long payrollRunId;
+
+    /**
+     * Create a new payment with the default constructor - creating a blank payment.
+     */
+    public DriverPayment() {
+    }
+
+    /**
+     * Create a new payment by supplying the information to initialise the payment.
+     * @param driverId a <code>Long</code> containing the identifier of the driver who was paid.
+     * @param company a <code>String</code> containing the company that paid the driver.
+     * @param workDate a <code>LocalDate</code> containing the date that the paid hours were worked.
+     * @param hours a <code>int</code> containing the number of hours paid.
+     * @param amountMinorUnits a <code>long</code> containing the amount paid in minor units.
+     * @param payrollRunId a <code>Long</code> containing the identifier of the payroll run which made the payment.
+     */
+    public DriverPayment(final Long driverId, final String company, final LocalDate workDate, final int hours,
+                         final long amountMinorUnits, final Long payrollRunId) {
+        this.driverId = driverId;
+        this.company = company;
+        this.workDate = workDate;
+        this.hours = hours;
+        this.amountMinorUnits = amountMinorUnits;
+        this.payrollRunId = payrollRunId;
+    }
+
+    /**
+     * Return the identifier for this payment.
+     * @return a <code>Long</code> object containing the identifier for this payment.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Return the identifier of the driver who was paid.
+     * @return a <code>Long</code> containing the identifier of the driver.
+     */
+    public Long getDriverId() {
+        return driverId;
+    }
+
+    /**
+     * Return the company that paid the driver.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Return the date that the paid hours were worked.
+     * @return a <code>LocalDate</code> containing the work date.
+     */
+    public LocalDate getWorkDate() {
+        return workDate;
+    }
+
+    /**
+     * Return the number of hours paid.
+     * @return a <code>int</code> containing the number of hours paid.
+     */
+    public int getHours() {
+        return hours;
+    }
+
+    /**
+     * Return the amount paid.
+     * @return a <code>Money</code> object containing the amount paid.
+     */
+    public Money getAmount() {
+        return Money.ofMinorUnits(amountMinorUnits);
+    }
+
+    /**
+     * Return the identifier of the payroll run which made the payment.
+     * @return a <code>Long</code> containing the identifier of the payroll run.
+     */
+    public Long getPayrollRunId() {
+        return payrollRunId;
+    }
+
+}
@@ -0,0 +1,60 @@
+package de.davelee.trams.drivers.data;
+
+/**
+ * This class represents the total hours that a driver worked within a payroll period together with their hourly wage.
+ * The totals are summed from the unpaid entries of the driver hours ledger. The hourly wage is held in minor units
+ * so that the amount to pay is calculated without creating any objects.
+ * @author Dave Lee
+ */
+public class DriverPayrollTotal {
+
+    private final Long driverId;
+    private final long hourlyWageMinorUnits;
+    private final long totalHours;
+
+    /**
+     * Create a new payroll total by supplying the information to initialise the total.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param hourlyWageMinorUnits a <code>long</code> containing the hourly wage of the driver in minor units.
+     * @param totalHours a <code>long</code> containing the total hours worked within the payroll period.
+     */
+    public DriverPayrollTotal(final Long driverId, final long hourlyWageMinorUnits, final long totalHours) {
+        this.driverId = driverId;
+        this.hourlyWageMinorUnits = hourlyWageMinorUnits;
+        this.totalHours = totalHours;
+    }
+
+    /**
+     * Return the identifier of the driver.
+     * @return a <code>Long</code> containing the identifier of the driver.
+     */
+    public Long getDriverId() {
+        return driverId;
+    }
+
+    /**
+     * Return the hourly wage of the driver in minor units.
+     * @return a <code>long</code> containing the hourly wage of the driver in minor units.
+     */
+    public long getHourlyWageMinorUnits() {
+        return hourlyWageMinorUnits;
+    }
+
+    /**
+     * Return the total hours worked within the payroll period.
+     * @return a <code>long</code> containing the total hours worked.
+     */
+    public long getTotalHours() {
+        return totalHours;
+    }
+
+    /**
+     * Return the amount that the driver should be paid for the payroll period.
+     * @return a <code>long</code> containing the total hours multiplied by the hourly wage in minor units.
+     * @throws ArithmeticException if the amount overflows.
+     */
+    public long getAmountToPayMinorUnits() {
+        return Money.multiply(hourlyWageMinorUnits, totalHours);
+    }
+
+}
@@ -51,6 +51,18 @@ public enum DriverStatus {
          * @return a <code>String</code> object representing the text for paid.
          */
         public String getText() { return "Paid"; }
+    },
+    /**
+     * Hourly wage of driver has been changed.
+     */
+    WAGE_CHANGED {
+        /**
+         * Return the text for wage changed.
+         * @return a <code>String</code> object representing the text for wage changed.
+         */
+        public String getText() {
+            return "Wage Changed";
+        }
     };
 
     /**
@@ -0,0 +1,87 @@
+package de.davelee.trams.drivers.data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * This class represents the summary of a driver which is shown in driver listings.
+ * It is filled directly by a projection query so that listing drivers never loads their history or hours.
+ * @author Dave Lee
+ */
+public class DriverSummary {
+
+    private final Long id;
+    private final String name;
+    private final String company;
+    private final LocalDate dateOfBirth;
+    private final BigDecimal hourlyWage;
+    private final LocalDate startDate;
+
+    /**
+     * Create a new driver summary by supplying the information to initialise the summary.
+     * @param id a <code>Long</code> containing the identifier of the driver.
+     * @param name a <code>String</code> with the name of the driver.
+     * @param company a <code>String</code> containing the company.
+     * @param dateOfBirth a <code>LocalDate</code> containing the date of birth for this driver.
+     * @param hourlyWage a <code>BigDecimal</code> containing the hourly wage.
+     * @param startDate a <code>LocalDate</code> containing the start date for this driver.
+     */
+    public DriverSummary(final Long id, final String name, final String company, final LocalDate dateOfBirth,
+                         final BigDecimal hourlyWage, final LocalDate startDate) {
+        this.id = id;
+        this.name = name;
+        this.company = company;
+        this.dateOfBirth = dateOfBirth;
+        this.hourlyWage = hourlyWage;
+        this.startDate = startDate;
+    }
+
+    /**
+     * Return the identifier for this driver.
+     * @return a <code>Long</code> object containing the identifier for this driver.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Return the name of the driver as a String.
+     * @return a <code>String</code> with the name of the driver.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Return the company as a String.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Return the date of birth as a LocalDate.
+     * @return a <code>LocalDate</code> containing the date of birth for this driver.
+     */
+    public LocalDate getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    /**
+     * Return the hourly wage.
+     * @return a <code>BigDecimal</code> containing the hourly wage.
+     */
+    public BigDecimal getHourlyWage() {
+        return hourlyWage;
+    }
+
+    /**
+     * Return the start date as a LocalDate.
+     * @return a <code>LocalDate</code> containing the start date for this driver.
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+}
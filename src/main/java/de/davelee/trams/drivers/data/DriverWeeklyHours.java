@@ -0,0 +1,71 @@
+package de.davelee.trams.drivers.data;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * This class represents the total number of hours that a driver worked in a particular ISO week, which starts on a
+ * Monday. The total is maintained together with every change to the driver hours so that weekly reports do not need
+ * to sum the hours of each day.
+ * @author Dave Lee
+ */
+@Entity
+@Table(name="DRIVER_WEEKLY_HOURS", indexes = {
+        @Index(name="IDX_DRIVER_WEEKLY_HOURS_DRIVER_WEEK", columnList="driverId, weekStart", unique=true),
+        @Index(name="IDX_DRIVER_WEEKLY_HOURS_WEEK", columnList="weekStart")
+})
+public class DriverWeeklyHours {
+
+    @Id
+    @GeneratedValue
+    @Column
+    private Long id;
+
+    @Column(nullable=false)
+    private Long driverId;
+
+    @Column(nullable=false)
+    private LocalDate weekStart;
+
+    @Column
+    private int hours;
+
+    /**
+     * Create a new weekly total with the default constructor - creating a blank total.
+     */
+    public DriverWeeklyHours() {
+    }
+
+    /**
+     * Return the identifier for this total.
+     * @return a <code>Long</code> object containing the identifier for this total.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Return the identifier of the driver who worked the hours.
+     * @return a <code>Long</code> containing the identifier of the driver.
+     */
+    public Long getDriverId() {
+        return driverId;
+    }
+
+    /**
+     * Return the Monday on which the week starts.
+     * @return a <code>LocalDate</code> containing the first date of the week.
+     */
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    /**
+     * Return the total number of hours worked in the week.
+     * @return a <code>int</code> containing the number of hours.
+     */
+    public int getHours() {
+        return hours;
+    }
+
+}
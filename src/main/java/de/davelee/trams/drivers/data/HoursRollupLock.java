@@ -0,0 +1,33 @@
+package de.davelee.trams.drivers.data;
+
+import javax.persistence.*;
+
+/**
+ * This class represents the lock which is held while the hours totals are rebuilt. The lock is a row with a fixed
+ * primary key that is inserted at the start of the rebuild transaction and deleted before it commits, so a second
+ * instance which starts a rebuild at the same time waits for the first one to finish.
+ * @author Dave Lee
+ */
+@Entity
+@Table(name="HOURS_ROLLUP_LOCK")
+public class HoursRollupLock {
+
+    @Id
+    @Column
+    private Long id;
+
+    /**
+     * Create a new lock with the default constructor - creating a blank lock.
+     */
+    public HoursRollupLock() {
+    }
+
+    /**
+     * Return the identifier of this lock.
+     * @return a <code>Long</code> containing the identifier of the lock.
+     */
+    public Long getId() {
+        return id;
+    }
+
+}
@@ -0,0 +1,176 @@
+package de.davelee.trams.drivers.data;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * This class represents an amount of money as a whole number of minor units (cents) so that payroll arithmetic works
+ * on primitive longs instead of <code>BigDecimal</code> objects. Amounts are converted from <code>BigDecimal</code>
+ * with two decimal places using banker's rounding (half even), which is the only place where rounding happens:
+ * multiplying by whole hours and adding amounts are exact and throw an <code>ArithmeticException</code> instead of
+ * overflowing. The static methods work on minor units directly so that totals can be accumulated in a loop without
+ * creating any objects; a <code>Money</code> object is only needed to hand an amount to another layer.
+ * @author Dave Lee
+ */
+public final class Money implements Comparable<Money> {
+
+    /**
+     * The number of decimal places of an amount.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * The rounding mode used when converting amounts with more decimal places.
+     */
+    public static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_EVEN;
+
+    /**
+     * An amount of zero.
+     */
+    public static final Money ZERO = new Money(0);
+
+    private final long minorUnits;
+
+    /**
+     * Create a new amount by supplying the number of minor units.
+     * @param minorUnits a <code>long</code> containing the amount in minor units.
+     */
+    private Money(final long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * Return an amount of the supplied number of minor units.
+     * @param minorUnits a <code>long</code> containing the amount in minor units.
+     * @return a <code>Money</code> object representing the amount.
+     */
+    public static Money ofMinorUnits(final long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Return the amount of the supplied decimal, rounded to two decimal places if necessary.
+     * @param amount a <code>BigDecimal</code> containing the amount.
+     * @return a <code>Money</code> object representing the rounded amount.
+     * @throws ArithmeticException if the amount is too large to be represented.
+     */
+    public static Money of(final BigDecimal amount) {
+        return ofMinorUnits(toMinorUnits(amount));
+    }
+
+    /**
+     * Convert a decimal amount to minor units, rounded to two decimal places if necessary.
+     * @param amount a <code>BigDecimal</code> containing the amount.
+     * @return a <code>long</code> containing the rounded amount in minor units.
+     * @throws ArithmeticException if the amount is too large to be represented.
+     */
+    public static long toMinorUnits(final BigDecimal amount) {
+        return amount.setScale(SCALE, ROUNDING_MODE).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Multiply an amount in minor units by a whole quantity such as a number of hours.
+     * @param minorUnits a <code>long</code> containing the amount in minor units.
+     * @param quantity a <code>long</code> containing the quantity.
+     * @return a <code>long</code> containing the product in minor units.
+     * @throws ArithmeticException if the product overflows.
+     */
+    public static long multiply(final long minorUnits, final long quantity) {
+        return Math.multiplyExact(minorUnits, quantity);
+    }
+
+    /**
+     * Add two amounts in minor units.
+     * @param minorUnits a <code>long</code> containing the first amount in minor units.
+     * @param otherMinorUnits a <code>long</code> containing the second amount in minor units.
+     * @return a <code>long</code> containing the sum in minor units.
+     * @throws ArithmeticException if the sum overflows.
+     */
+    public static long add(final long minorUnits, final long otherMinorUnits) {
+        return Math.addExact(minorUnits, otherMinorUnits);
+    }
+
+    /**
+     * Format an amount in minor units with two decimal places, for example 1234 as 12.34.
+     * @param minorUnits a <code>long</code> containing the amount in minor units.
+     * @return a <code>String</code> containing the formatted amount.
+     */
+    public static String format(final long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE).toString();
+    }
+
+    /**
+     * Return the amount in minor units.
+     * @return a <code>long</code> containing the amount in minor units.
+     */
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * Return the sum of this amount and another amount.
+     * @param otherAmount a <code>Money</code> object containing the amount to add.
+     * @return a <code>Money</code> object representing the sum.
+     * @throws ArithmeticException if the sum overflows.
+     */
+    public Money plus(final Money otherAmount) {
+        return ofMinorUnits(add(minorUnits, otherAmount.minorUnits));
+    }
+
+    /**
+     * Return this amount multiplied by a whole quantity such as a number of hours.
+     * @param quantity a <code>long</code> containing the quantity.
+     * @return a <code>Money</code> object representing the product.
+     * @throws ArithmeticException if the product overflows.
+     */
+    public Money times(final long quantity) {
+        return ofMinorUnits(multiply(minorUnits, quantity));
+    }
+
+    /**
+     * Convert this amount to a decimal with two decimal places for the Rest API.
+     * @return a <code>BigDecimal</code> containing the amount.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    /**
+     * Compare this amount to another amount.
+     * @param otherAmount a <code>Money</code> object containing the amount to compare to.
+     * @return a <code>int</code> which is negative, zero or positive if this amount is less than, equal to or greater than the other amount.
+     */
+    public int compareTo(final Money otherAmount) {
+        return Long.compare(minorUnits, otherAmount.minorUnits);
+    }
+
+    @Override
+    /**
+     * Check whether this amount is equal to another object.
+     * @param object a <code>Object</code> to compare to.
+     * @return a <code>boolean</code> which is true iff the object is an amount with the same number of minor units.
+     */
+    public boolean equals(final Object object) {
+        return object instanceof Money && ((Money) object).minorUnits == minorUnits;
+    }
+
+    @Override
+    /**
+     * Return a hash code for this amount.
+     * @return a <code>int</code> containing the hash code.
+     */
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    /**
+     * Format this amount with two decimal places.
+     * @return a <code>String</code> containing the formatted amount.
+     */
+    public String toString() {
+        return format(minorUnits);
+    }
+
+}
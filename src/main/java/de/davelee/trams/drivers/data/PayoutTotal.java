@@ -0,0 +1,50 @@
+package de.davelee.trams.drivers.data;
+
+/**
+ * This class represents the sum of the payments in the payment ledger for a driver or a company over a date range.
+ * It is filled directly by an aggregate query so that the payments do not need to be loaded.
+ * @author Dave Lee
+ */
+public class PayoutTotal {
+
+    private final long numPayments;
+    private final long hoursPaid;
+    private final long totalPayoutMinorUnits;
+
+    /**
+     * Create a new payout total by supplying the information to initialise the total.
+     * @param numPayments a <code>Long</code> containing the number of payments.
+     * @param hoursPaid a <code>Long</code> containing the number of hours paid or null if there were no payments.
+     * @param totalPayoutMinorUnits a <code>Long</code> containing the amount paid in minor units or null if there were no payments.
+     */
+    public PayoutTotal(final Long numPayments, final Long hoursPaid, final Long totalPayoutMinorUnits) {
+        this.numPayments = numPayments != null ? numPayments : 0;
+        this.hoursPaid = hoursPaid != null ? hoursPaid : 0;
+        this.totalPayoutMinorUnits = totalPayoutMinorUnits != null ? totalPayoutMinorUnits : 0;
+    }
+
+    /**
+     * Return the number of payments.
+     * @return a <code>long</code> containing the number of payments.
+     */
+    public long getNumPayments() {
+        return numPayments;
+    }
+
+    /**
+     * Return the number of hours paid.
+     * @return a <code>long</code> containing the number of hours paid.
+     */
+    public long getHoursPaid() {
+        return hoursPaid;
+    }
+
+    /**
+     * Return the amount paid.
+     * @return a <code>Money</code> object containing the amount paid.
+     */
+    public Money getTotalPayout() {
+        return Money.ofMinorUnits(totalPayoutMinorUnits);
+    }
+
+}
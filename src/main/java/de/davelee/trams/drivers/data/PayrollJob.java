@@ -0,0 +1,249 @@
+package de.davelee.trams.drivers.data;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * This class represents a payroll job which pays the drivers of a company for a particular period in the background.
+ * The drivers are paid in chunks ordered by identifier and the job records the last driver of each chunk together
+ * with the chunk, so that a job which stopped can be resumed after the last committed chunk.
+ * @author Dave Lee
+ */
+@Entity
+@Table(name="PAYROLL_JOB", indexes = {
+        @Index(name="IDX_PAYROLL_JOB_COMPANY_STATUS", columnList="company, status")
+})
+public class PayrollJob {
+
+    @Id
+    @GeneratedValue
+    @Column
+    private Long id;
+
+    @Column(nullable=false)
+    private String company;
+
+    @Column(nullable=false)
+    private LocalDate fromDate;
+
+    @Column(nullable=false)
+    private LocalDate toDate;
+
+    @Column(nullable=false)
+    private PayrollJobStatus status;
+
+    @Column
+    private long totalDrivers;
+
+    @Column
+    private long driversProcessed;
+
+    @Column
+    private long driversPaid;
+
+    @Column
+    private long totalPayoutMinorUnits;
+
+    @Column
+    private long lastDriverId;
+
+    @Column
+    private Long payrollRunId;
+
+    @Column
+    private String errorMessage;
+
+    @Column
+    private LocalDateTime submittedAt;
+
+    @Column
+    private LocalDateTime completedAt;
+
+    /**
+     * Create a new payroll job with the default constructor - creating a blank job.
+     */
+    public PayrollJob() {
+    }
+
+    /**
+     * Create a new queued payroll job by supplying the company and the period to pay.
+     * @param company a <code>String</code> containing the company that should pay their drivers.
+     * @param fromDate a <code>LocalDate</code> containing the start date that should be paid from.
+     * @param toDate a <code>LocalDate</code> containing the end date that should be paid to.
+     */
+    public PayrollJob(final String company, final LocalDate fromDate, final LocalDate toDate) {
+        this.company = company;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.status = PayrollJobStatus.QUEUED;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Record that a chunk of drivers has been processed. This must be saved in the same transaction as the payments.
+     * @param lastDriverId a <code>long</code> containing the identifier of the last driver of the chunk.
+     * @param numDrivers a <code>int</code> containing the number of drivers in the chunk.
+     * @param numDriversPaid a <code>int</code> containing the number of drivers in the chunk who were paid.
+     * @param payoutMinorUnits a <code>long</code> containing the amount paid to the drivers in the chunk in minor units.
+     */
+    public void addChunk(final long lastDriverId, final int numDrivers, final int numDriversPaid, final long payoutMinorUnits) {
+        this.lastDriverId = lastDriverId;
+        this.driversProcessed += numDrivers;
+        this.driversPaid += numDriversPaid;
+        this.totalPayoutMinorUnits = Money.add(this.totalPayoutMinorUnits, payoutMinorUnits);
+    }
+
+    /**
+     * Return the identifier for this job.
+     * @return a <code>Long</code> object containing the identifier for this job.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Return the company that should pay their drivers.
+     * @return a <code>String</code> containing the company.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Return the start date that should be paid from.
+     * @return a <code>LocalDate</code> containing the start date.
+     */
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    /**
+     * Return the end date that should be paid to.
+     * @return a <code>LocalDate</code> containing the end date.
+     */
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    /**
+     * Return the status of this job.
+     * @return a <code>PayrollJobStatus</code> containing the current status of this job.
+     */
+    public PayrollJobStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Set the status of this job.
+     * @param status a <code>PayrollJobStatus</code> containing the current status of this job.
+     */
+    public void setStatus(final PayrollJobStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Return the number of drivers of the company when the job started.
+     * @return a <code>long</code> containing the number of drivers to process.
+     */
+    public long getTotalDrivers() {
+        return totalDrivers;
+    }
+
+    /**
+     * Set the number of drivers of the company when the job started.
+     * @param totalDrivers a <code>long</code> containing the number of drivers to process.
+     */
+    public void setTotalDrivers(final long totalDrivers) {
+        this.totalDrivers = totalDrivers;
+    }
+
+    /**
+     * Return the number of drivers which have been processed.
+     * @return a <code>long</code> containing the number of drivers processed.
+     */
+    public long getDriversProcessed() {
+        return driversProcessed;
+    }
+
+    /**
+     * Return the number of drivers which have been paid.
+     * @return a <code>long</code> containing the number of drivers paid.
+     */
+    public long getDriversPaid() {
+        return driversPaid;
+    }
+
+    /**
+     * Return the amount which has been paid to all drivers so far.
+     * @return a <code>Money</code> object containing the amount paid so far.
+     */
+    public Money getTotalPayout() {
+        return Money.ofMinorUnits(totalPayoutMinorUnits);
+    }
+
+    /**
+     * Return the identifier of the payroll run which makes the payments of this job.
+     * @return a <code>Long</code> containing the identifier of the payroll run.
+     */
+    public Long getPayrollRunId() {
+        return payrollRunId;
+    }
+
+    /**
+     * Set the identifier of the payroll run which makes the payments of this job.
+     * @param payrollRunId a <code>Long</code> containing the identifier of the payroll run.
+     */
+    public void setPayrollRunId(final Long payrollRunId) {
+        this.payrollRunId = payrollRunId;
+    }
+
+    /**
+     * Return the identifier of the last driver of the last committed chunk.
+     * @return a <code>long</code> containing the identifier of the last processed driver or 0 if no chunk has been committed.
+     */
+    public long getLastDriverId() {
+        return lastDriverId;
+    }
+
+    /**
+     * Return why the job failed.
+     * @return a <code>String</code> containing the error message or null if the job has not failed.
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Set why the job failed.
+     * @param errorMessage a <code>String</code> containing the error message or null if the job has not failed.
+     */
+    public void setErrorMessage(final String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Return when the job was submitted.
+     * @return a <code>LocalDateTime</code> containing when the job was submitted.
+     */
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /**
+     * Return when the job completed.
+     * @return a <code>LocalDateTime</code> containing when the job completed or null if it has not completed.
+     */
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    /**
+     * Set when the job completed.
+     * @param completedAt a <code>LocalDateTime</code> containing when the job completed.
+     */
+    public void setCompletedAt(final LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+}
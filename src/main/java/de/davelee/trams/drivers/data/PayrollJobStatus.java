@@ -0,0 +1,64 @@
+package de.davelee.trams.drivers.data;
+
+/**
+ * This enum contains the various allowed statuses of a payroll job.
+ * @author Dave Lee
+ */
+public enum PayrollJobStatus {
+
+    /**
+     * Job is waiting for a free payroll thread.
+     */
+    QUEUED {
+        /**
+         * Return the text for queued.
+         * @return a <code>String</code> object representing the text for queued.
+         */
+        public String getText() {
+            return "Queued";
+        }
+    },
+    /**
+     * Job is paying drivers.
+     */
+    RUNNING {
+        /**
+         * Return the text for running.
+         * @return a <code>String</code> object representing the text for running.
+         */
+        public String getText() {
+            return "Running";
+        }
+    },
+    /**
+     * Job has paid all drivers.
+     */
+    COMPLETED {
+        /**
+         * Return the text for completed.
+         * @return a <code>String</code> object representing the text for completed.
+         */
+        public String getText() {
+            return "Completed";
+        }
+    },
+    /**
+     * Job stopped because of an error and can be resumed.
+     */
+    FAILED {
+        /**
+         * Return the text for failed.
+         * @return a <code>String</code> object representing the text for failed.
+         */
+        public String getText() {
+            return "Failed";
+        }
+    };
+
+    /**
+     * Abstract method to return the text for a particular status.
+     * @return a <code>String</code> object representing the text for a particular status.
+     */
+    public abstract String getText();
+
+}
@@ -0,0 +1,92 @@
+package de.davelee.trams.drivers.data;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * This class represents one run of the payroll. Every payment in the payment ledger refers to the run which made it,
+ * so that the payments of a run can be traced back to the period and the company that was paid.
+ * @author Dave Lee
+ */
+@Entity
+@Table(name="PAYROLL_RUN")
+public class PayrollRun {
+
+    @Id
+    @GeneratedValue
+    @Column
+    private Long id;
+
+    @Column
+    private String company;
+
+    @Column(nullable=false)
+    private LocalDate fromDate;
+
+    @Column(nullable=false)
+    private LocalDate toDate;
+
+    @Column(nullable=false)
+    private LocalDateTime startedAt;
+
+    /**
+     * Create a new payroll run with the default constructor - creating a blank run.
+     */
+    public PayrollRun() {
+    }
+
+    /**
+     * Create a new payroll run starting now by supplying the information to initialise the run.
+     * @param company a <code>String</code> containing the company that is paying their drivers or null if several companies are paid.
+     * @param fromDate a <code>LocalDate</code> containing the start date that is paid from.
+     * @param toDate a <code>LocalDate</code> containing the end date that is paid to.
+     */
+    public PayrollRun(final String company, final LocalDate fromDate, final LocalDate toDate) {
+        this.company = company;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Return the identifier for this run.
+     * @return a <code>Long</code> object containing the identifier for this run.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Return the company that is paying their drivers.
+     * @return a <code>String</code> containing the company or null if several companies are paid.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Return the start date that is paid from.
+     * @return a <code>LocalDate</code> containing the start date.
+     */
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    /**
+     * Return the end date that is paid to.
+     * @return a <code>LocalDate</code> containing the end date.
+     */
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    /**
+     * Return the date and time when the run started.
+     * @return a <code>LocalDateTime</code> containing the start time.
+     */
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+}
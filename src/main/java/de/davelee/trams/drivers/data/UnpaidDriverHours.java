@@ -0,0 +1,94 @@
+package de.davelee.trams.drivers.data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * This class represents an entry of the driver hours ledger which has not been paid completely together with the
+ * hourly wage of the driver. It is filled directly by a query so that the drivers do not need to be loaded.
+ * @author Dave Lee
+ */
+public class UnpaidDriverHours {
+
+    private final Long driverHoursId;
+    private final Long driverId;
+    private final LocalDate workDate;
+    private final BigDecimal hourlyWage;
+    private final int hours;
+    private final int paidHours;
+
+    /**
+     * Create a new unpaid entry by supplying the information to initialise the entry.
+     * @param driverHoursId a <code>Long</code> containing the identifier of the driver hours entry.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param hourlyWage a <code>BigDecimal</code> containing the hourly wage of the driver.
+     * @param hours a <code>int</code> containing the number of hours worked.
+     * @param paidHours a <code>int</code> containing the number of hours which have already been paid.
+     */
+    public UnpaidDriverHours(final Long driverHoursId, final Long driverId, final LocalDate workDate, final BigDecimal hourlyWage, final int hours, final int paidHours) {
+        this.driverHoursId = driverHoursId;
+        this.driverId = driverId;
+        this.workDate = workDate;
+        this.hourlyWage = hourlyWage;
+        this.hours = hours;
+        this.paidHours = paidHours;
+    }
+
+    /**
+     * Return the identifier of the driver hours entry.
+     * @return a <code>Long</code> containing the identifier of the driver hours entry.
+     */
+    public Long getDriverHoursId() {
+        return driverHoursId;
+    }
+
+    /**
+     * Return the identifier of the driver.
+     * @return a <code>Long</code> containing the identifier of the driver.
+     */
+    public Long getDriverId() {
+        return driverId;
+    }
+
+    /**
+     * Return the date that the hours were worked.
+     * @return a <code>LocalDate</code> containing the work date.
+     */
+    public LocalDate getWorkDate() {
+        return workDate;
+    }
+
+    /**
+     * Return the hourly wage of the driver.
+     * @return a <code>BigDecimal</code> containing the hourly wage of the driver.
+     */
+    public BigDecimal getHourlyWage() {
+        return hourlyWage;
+    }
+
+    /**
+     * Return the number of hours worked.
+     * @return a <code>int</code> containing the number of hours worked.
+     */
+    public int getHours() {
+        return hours;
+    }
+
+    /**
+     * Return the number of hours which have already been paid.
+     * @return a <code>int</code> containing the number of hours paid.
+     */
+    public int getPaidHours() {
+        return paidHours;
+    }
+
+    /**
+     * Return the number of hours which still have to be paid.
+     * @return a <code>int</code> containing the hours worked minus the hours paid.
+     */
+    public int getUnpaidHours() {
+        return hours - paidHours;
+    }
+
+}
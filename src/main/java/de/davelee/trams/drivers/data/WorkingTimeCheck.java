@@ -0,0 +1,57 @@
+package de.davelee.trams.drivers.data;
+
+/**
+ * This class represents the result of checking the working time of a driver against the rules of their company.
+ * @author Dave Lee
+ */
+public class WorkingTimeCheck {
+
+    private final int hoursToday;
+    private final int remainingHours;
+    private final WorkingTimeRule limitingRule;
+
+    /**
+     * Create a new result by supplying the information to initialise the result.
+     * @param hoursToday a <code>int</code> containing the hours that the driver has worked today.
+     * @param remainingHours a <code>int</code> containing the hours that the driver may still work today.
+     * @param limitingRule a <code>WorkingTimeRule</code> containing the rule which allows the fewest remaining hours.
+     */
+    public WorkingTimeCheck(final int hoursToday, final int remainingHours, final WorkingTimeRule limitingRule) {
+        this.hoursToday = hoursToday;
+        this.remainingHours = remainingHours;
+        this.limitingRule = limitingRule;
+    }
+
+    /**
+     * Return the hours that the driver has worked today.
+     * @return a <code>int</code> containing the hours worked today.
+     */
+    public int getHoursToday() {
+        return hoursToday;
+    }
+
+    /**
+     * Return the hours that the driver may still work today under all rules.
+     * @return a <code>int</code> containing the remaining hours which is 0 or less if no further hours are allowed.
+     */
+    public int getRemainingHours() {
+        return remainingHours;
+    }
+
+    /**
+     * Check whether the driver may work further hours today.
+     * @return a <code>boolean</code> which is true iff the remaining hours are positive.
+     */
+    public boolean isFurtherHoursAllowed() {
+        return remainingHours > 0;
+    }
+
+    /**
+     * Return the rule which allows the fewest remaining hours.
+     * @return a <code>WorkingTimeRule</code> containing the limiting rule.
+     */
+    public WorkingTimeRule getLimitingRule() {
+        return limitingRule;
+    }
+
+}
@@ -0,0 +1,64 @@
+package de.davelee.trams.drivers.data;
+
+/**
+ * This enum contains the working time rules which can limit the further hours that a driver may work.
+ * @author Dave Lee
+ */
+public enum WorkingTimeRule {
+
+    /**
+     * The maximum hours per day.
+     */
+    DAILY_HOURS {
+        /**
+         * Return the text for daily hours.
+         * @return a <code>String</code> object representing the text for daily hours.
+         */
+        public String getText() {
+            return "Daily Hours";
+        }
+    },
+    /**
+     * The maximum hours in the last 7 days including today.
+     */
+    WEEKLY_HOURS {
+        /**
+         * Return the text for weekly hours.
+         * @return a <code>String</code> object representing the text for weekly hours.
+         */
+        public String getText() {
+            return "Weekly Hours";
+        }
+    },
+    /**
+     * The maximum hours in the last 14 days including today.
+     */
+    FORTNIGHTLY_HOURS {
+        /**
+         * Return the text for fortnightly hours.
+         * @return a <code>String</code> object representing the text for fortnightly hours.
+         */
+        public String getText() {
+            return "Fortnightly Hours";
+        }
+    },
+    /**
+     * The rest day which is required after the maximum number of consecutive working days.
+     */
+    REST_DAY {
+        /**
+         * Return the text for rest day.
+         * @return a <code>String</code> object representing the text for rest day.
+         */
+        public String getText() {
+            return "Rest Day";
+        }
+    };
+
+    /**
+     * Abstract method to return the text for a particular rule.
+     * @return a <code>String</code> object representing the text for a particular rule.
+     */
+    public abstract String getText();
+
+}
@@ -0,0 +1,137 @@
+package de.davelee.trams.drivers.data;
+
+/**
+ * This class represents the limits on the working time of the drivers of a company or the default limits of all
+ * companies. Limits which are not set for a company are taken from the default rules. Weekly and fortnightly hours are counted over the last 7 and 14 days including today
+ * and working days are days with any hours.
+ * @author Dave Lee
+ */
+public class WorkingTimeRules {
+
+    private String company;
+
+    private Integer maxDailyHours;
+
+    private Integer maxWeeklyHours;
+
+    private Integer maxFortnightlyHours;
+
+    private Integer maxConsecutiveWorkingDays;
+
+    /**
+     * Create new rules with the default constructor - creating rules without any limits set.
+     */
+    public WorkingTimeRules() {
+    }
+
+    /**
+     * Create new rules by supplying all limits.
+     * @param maxDailyHours a <code>Integer</code> containing the maximum hours per day.
+     * @param maxWeeklyHours a <code>Integer</code> containing the maximum hours in the last 7 days.
+     * @param maxFortnightlyHours a <code>Integer</code> containing the maximum hours in the last 14 days.
+     * @param maxConsecutiveWorkingDays a <code>Integer</code> containing the maximum number of working days in a row.
+     */
+    public WorkingTimeRules(final Integer maxDailyHours, final Integer maxWeeklyHours, final Integer maxFortnightlyHours,
+                            final Integer maxConsecutiveWorkingDays) {
+        this.maxDailyHours = maxDailyHours;
+        this.maxWeeklyHours = maxWeeklyHours;
+        this.maxFortnightlyHours = maxFortnightlyHours;
+        this.maxConsecutiveWorkingDays = maxConsecutiveWorkingDays;
+    }
+
+    /**
+     * Return new rules which take every limit that is not set in these rules from the supplied rules.
+     * @param defaultRules a <code>WorkingTimeRules</code> object containing the default limits.
+     * @return a <code>WorkingTimeRules</code> object containing the combined limits.
+     */
+    public WorkingTimeRules withDefaults(final WorkingTimeRules defaultRules) {
+        WorkingTimeRules combinedRules = new WorkingTimeRules(maxDailyHours != null ? maxDailyHours : defaultRules.maxDailyHours,
+                maxWeeklyHours != null ? maxWeeklyHours : defaultRules.maxWeeklyHours,
+                maxFortnightlyHours != null ? maxFortnightlyHours : defaultRules.maxFortnightlyHours,
+                maxConsecutiveWorkingDays != null ? maxConsecutiveWorkingDays : defaultRules.maxConsecutiveWorkingDays);
+        combinedRules.setCompany(company);
+        return combinedRules;
+    }
+
+    /**
+     * Get the company which the rules apply to.
+     * @return a <code>String</code> containing the company or null for the default rules.
+     */
+    public String getCompany() {
+        return company;
+    }
+
+    /**
+     * Set the company which the rules apply to.
+     * @param company a <code>String</code> containing the company.
+     */
+    public void setCompany(final String company) {
+        this.company = company;
+    }
+
+    /**
+     * Get the maximum hours per day.
+     * @return a <code>Integer</code> containing the maximum hours per day or null if not set.
+     */
+    public Integer getMaxDailyHours() {
+        return maxDailyHours;
+    }
+
+    /**
+     * Set the maximum hours per day.
+     * @param maxDailyHours a <code>Integer</code> containing the maximum hours per day.
+     */
+    public void setMaxDailyHours(final Integer maxDailyHours) {
+        this.maxDailyHours = maxDailyHours;
+    }
+
+    /**
+     * Get the maximum hours in the last 7 days including today.
+     * @return a <code>Integer</code> containing the maximum weekly hours or null if not set.
+     */
+    public Integer getMaxWeeklyHours() {
+        return maxWeeklyHours;
+    }
+
+    /**
+     * Set the maximum hours in the last 7 days including today.
+     * @param maxWeeklyHours a <code>Integer</code> containing the maximum weekly hours.
+     */
+    public void setMaxWeeklyHours(final Integer maxWeeklyHours) {
+        this.maxWeeklyHours = maxWeeklyHours;
+    }
+
+    /**
+     * Get the maximum hours in the last 14 days including today.
+     * @return a <code>Integer</code> containing the maximum fortnightly hours or null if not set.
+     */
+    public Integer getMaxFortnightlyHours() {
+        return maxFortnightlyHours;
+    }
+
+    /**
+     * Set the maximum hours in the last 14 days including today.
+     * @param maxFortnightlyHours a <code>Integer</code> containing the maximum fortnightly hours.
+     */
+    public void setMaxFortnightlyHours(final Integer maxFortnightlyHours) {
+        this.maxFortnightlyHours = maxFortnightlyHours;
+    }
+
+    /**
+     * Get the maximum number of working days in a row after which a rest day is required.
+     * @return a <code>Integer</code> containing the maximum consecutive working days or null if not set.
+     */
+    public Integer getMaxConsecutiveWorkingDays() {
+        return maxConsecutiveWorkingDays;
+    }
+
+    /**
+     * Set the maximum number of working days in a row after which a rest day is required. Only the last 14 days are
+     * counted so the maximum must be less than 14.
+     * @param maxConsecutiveWorkingDays a <code>Integer</code> containing the maximum consecutive working days.
+     */
+    public void setMaxConsecutiveWorkingDays(final Integer maxConsecutiveWorkingDays) {
+        this.maxConsecutiveWorkingDays = maxConsecutiveWorkingDays;
+    }
+
+}
@@ -0,0 +1,26 @@
+package de.davelee.trams.drivers.repository;
+
+import de.davelee.trams.drivers.data.ActivePayrollJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * This class represents the database operations for active payroll jobs automatically generated using Spring Data JPA.
+ * @author Dave Lee
+ */
+public interface ActivePayrollJobRepository extends JpaRepository<ActivePayrollJob, String> {
+
+    /**
+     * Delete the entry of a job which is no longer queued or running.
+     * @param payrollJobId a <code>Long</code> containing the identifier of the job.
+     * @return a <code>int</code> containing the number of entries deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ActivePayrollJob a WHERE a.payrollJobId = :payrollJobId")
+    int deleteByPayrollJobId(@Param("payrollJobId") Long payrollJobId);
+
+}
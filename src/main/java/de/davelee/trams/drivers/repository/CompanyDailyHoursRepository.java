@@ -0,0 +1,28 @@
+package de.davelee.trams.drivers.repository;
+
+import de.davelee.trams.drivers.data.CompanyDailyHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This class represents the database operations for the daily hours of companies automatically generated using Spring Data JPA.
+ * @author Dave Lee
+ */
+public interface CompanyDailyHoursRepository extends JpaRepository<CompanyDailyHours, Long> {
+
+    /**
+     * List the daily hours of a company between two dates (inclusive) ordered by work date, adding up the stripes of each date.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDate a <code>LocalDate</code> containing the first date to include.
+     * @param toDate a <code>LocalDate</code> containing the last date to include.
+     * @return a <code>List</code> of <code>CompanyDailyHours</code> objects containing one total per date.
+     */
+    @Query("SELECT new de.davelee.trams.drivers.data.CompanyDailyHours(c.company, c.workDate, SUM(c.hours)) FROM CompanyDailyHours c " +
+            "WHERE c.company = :company AND c.workDate BETWEEN :fromDate AND :toDate GROUP BY c.company, c.workDate ORDER BY c.workDate")
+    List<CompanyDailyHours> findTotalsByCompany(@Param("company") String company, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+}
@@ -0,0 +1,61 @@
+package de.davelee.trams.drivers.repository;
+
+import de.davelee.trams.drivers.data.DriverHistory;
+import de.davelee.trams.drivers.data.DriverStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This class represents the database operations for the driver history automatically generated using Spring Data JPA.
+ * @author Dave Lee
+ */
+public interface DriverHistoryRepository extends JpaRepository<DriverHistory, Long> {
+
+    /**
+     * List the most recent history entries of a driver, newest first.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param pageable a <code>Pageable</code> object limiting the number of entries returned.
+     * @return a <code>List</code> of <code>DriverHistory</code> objects matching the criteria.
+     */
+    List<DriverHistory> findByDriverIdOrderByIdDesc(Long driverId, Pageable pageable);
+
+    /**
+     * List the history entries of a driver older than the supplied cursor within a date range, newest first.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param beforeId a <code>long</code> containing the cursor - only entries with a smaller identifier are returned.
+     * @param fromDate a <code>LocalDate</code> containing the first date to include.
+     * @param toDate a <code>LocalDate</code> containing the last date to include.
+     * @param pageable a <code>Pageable</code> object limiting the number of entries returned.
+     * @return a <code>List</code> of <code>DriverHistory</code> objects matching the criteria.
+     */
+    List<DriverHistory> findByDriverIdAndIdLessThanAndDateBetweenOrderByIdDesc(Long driverId, long beforeId, LocalDate fromDate, LocalDate toDate, Pageable pageable);
+
+    /**
+     * List the history entries of a driver with a particular status older than the supplied cursor within a date
+     * range, newest first.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param status a <code>DriverStatus</code> containing the status of the entries to return.
+     * @param beforeId a <code>long</code> containing the cursor - only entries with a smaller identifier are returned.
+     * @param fromDate a <code>LocalDate</code> containing the first date to include.
+     * @param toDate a <code>LocalDate</code> containing the last date to include.
+     * @param pageable a <code>Pageable</code> object limiting the number of entries returned.
+     * @return a <code>List</code> of <code>DriverHistory</code> objects matching the criteria.
+     */
+    List<DriverHistory> findByDriverIdAndStatusAndIdLessThanAndDateBetweenOrderByIdDesc(Long driverId, DriverStatus status, long beforeId, LocalDate fromDate, LocalDate toDate, Pageable pageable);
+
+    /**
+     * Delete all history entries of a driver with a single statement. This method must be called within a transaction.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @return a <code>int</code> containing the number of entries deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM DriverHistory h WHERE h.driverId = :driverId")
+    int deleteByDriverId(@Param("driverId") Long driverId);
+
+}
@@ -0,0 +1,144 @@
+package de.davelee.trams.drivers.repository;
+
+import de.davelee.trams.drivers.data.DriverHours;
+import de.davelee.trams.drivers.data.UnpaidDriverHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This class represents the database operations for the driver hours ledger automatically generated using Spring Data JPA.
+ * @author Dave Lee
+ */
+public interface DriverHoursRepository extends JpaRepository<DriverHours, Long> {
+
+    /**
+     * Find the hours that a driver worked on a particular date.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @return a <code>DriverHours</code> object representing the hours worked or null if none found.
+     */
+    DriverHours findByDriverIdAndWorkDate(Long driverId, LocalDate workDate);
+
+    /**
+     * Find the total hours that a driver worked on a particular date without loading the entry.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @return a <code>Integer</code> containing the hours worked or null if none found.
+     */
+    @Query("SELECT h.hours FROM DriverHours h WHERE h.driverId = :driverId AND h.workDate = :workDate")
+    Integer findHoursByDriverIdAndWorkDate(@Param("driverId") Long driverId, @Param("workDate") LocalDate workDate);
+
+    /**
+     * List the hours that a driver worked between two dates (inclusive) ordered by work date.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param fromDate a <code>LocalDate</code> containing the first date to include.
+     * @param toDate a <code>LocalDate</code> containing the last date to include.
+     * @return a <code>List</code> of <code>DriverHours</code> objects matching the criteria.
+     */
+    List<DriverHours> findByDriverIdAndWorkDateBetweenOrderByWorkDateAsc(Long driverId, LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * List the hours that a group of drivers worked between two dates (inclusive) ordered by work date.
+     * @param driverIds a <code>Collection</code> of <code>Long</code> containing the identifiers of the drivers.
+     * @param fromDate a <code>LocalDate</code> containing the first date to include.
+     * @param toDate a <code>LocalDate</code> containing the last date to include.
+     * @return a <code>List</code> of <code>DriverHours</code> objects matching the criteria.
+     */
+    List<DriverHours> findByDriverIdInAndWorkDateBetweenOrderByWorkDateAsc(Collection<Long> driverIds, LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * List the entries of the drivers of a company between two dates (inclusive) which have not been paid completely.
+     * Dates on or before the paid through date of a driver are skipped because they have been paid completely.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDate a <code>LocalDate</code> containing the first date to include.
+     * @param toDate a <code>LocalDate</code> containing the last date to include.
+     * @return a <code>List</code> of <code>UnpaidDriverHours</code> objects ordered by driver and work date.
+     */
+    @Query("SELECT new de.davelee.trams.drivers.data.UnpaidDriverHours(h.id, d.id, h.workDate, d.hourlyWage, h.hours, h.paidHours) " +
+            "FROM DriverHours h, Driver d WHERE h.driverId = d.id AND d.company = :company " +
+            "AND h.workDate BETWEEN :fromDate AND :toDate AND (d.paidThroughDate IS NULL OR h.workDate > d.paidThroughDate) " +
+            "AND h.hours > h.paidHours ORDER BY d.id, h.workDate")
+    List<UnpaidDriverHours> findUnpaidHoursForCompany(@Param("company") String company, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    /**
+     * List the entries of the supplied drivers between two dates (inclusive) which have not been paid completely,
+     * following the same rules as <code>findUnpaidHoursForCompany</code>.
+     * @param driverIds a <code>Collection</code> containing the identifiers of the drivers.
+     * @param fromDate a <code>LocalDate</code> containing the first date to include.
+     * @param toDate a <code>LocalDate</code> containing the last date to include.
+     * @return a <code>List</code> of <code>UnpaidDriverHours</code> objects ordered by driver and work date.
+     */
+    @Query("SELECT new de.davelee.trams.drivers.data.UnpaidDriverHours(h.id, d.id, h.workDate, d.hourlyWage, h.hours, h.paidHours) " +
+            "FROM DriverHours h, Driver d WHERE h.driverId = d.id AND d.id IN :driverIds " +
+            "AND h.workDate BETWEEN :fromDate AND :toDate AND (d.paidThroughDate IS NULL OR h.workDate > d.paidThroughDate) " +
+            "AND h.hours > h.paidHours ORDER BY d.id, h.workDate")
+    List<UnpaidDriverHours> findUnpaidHoursForDrivers(@Param("driverIds") Collection<Long> driverIds, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    /**
+     * Find the earliest date on or before a supplied date with hours which have not been paid completely for each
+     * driver of a company who has such hours after their paid through date.
+     * @param company a <code>String</code> containing the company.
+     * @param paidThroughDate a <code>LocalDate</code> containing the last date to include.
+     * @return a <code>List</code> of arrays containing the identifier of each driver and the earliest unpaid work date.
+     */
+    @Query("SELECT h.driverId, MIN(h.workDate) FROM DriverHours h, Driver d WHERE h.driverId = d.id AND d.company = :company " +
+            "AND h.workDate <= :paidThroughDate AND (d.paidThroughDate IS NULL OR h.workDate > d.paidThroughDate) " +
+            "AND h.hours > h.paidHours GROUP BY h.driverId")
+    List<Object[]> findEarliestUnpaidWorkDatesForCompany(@Param("company") String company, @Param("paidThroughDate") LocalDate paidThroughDate);
+
+    /**
+     * Find the earliest date on or before a supplied date with hours which have not been paid completely for each of
+     * the supplied drivers who has such hours after their paid through date.
+     * @param driverIds a <code>Collection</code> containing the identifiers of the drivers.
+     * @param paidThroughDate a <code>LocalDate</code> containing the last date to include.
+     * @return a <code>List</code> of arrays containing the identifier of each driver and the earliest unpaid work date.
+     */
+    @Query("SELECT h.driverId, MIN(h.workDate) FROM DriverHours h, Driver d WHERE h.driverId = d.id AND d.id IN :driverIds " +
+            "AND h.workDate <= :paidThroughDate AND (d.paidThroughDate IS NULL OR h.workDate > d.paidThroughDate) " +
+            "AND h.hours > h.paidHours GROUP BY h.driverId")
+    List<Object[]> findEarliestUnpaidWorkDatesForDrivers(@Param("driverIds") Collection<Long> driverIds, @Param("paidThroughDate") LocalDate paidThroughDate);
+
+    /**
+     * Atomically add hours to the existing entry for a driver and work date without loading the entry.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param hours a <code>int</code> containing the number of hours to add.
+     * @return a <code>int</code> containing the number of entries updated which is 0 if no entry exists yet.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DriverHours h SET h.hours = h.hours + :hours WHERE h.driverId = :driverId AND h.workDate = :workDate")
+    int incrementHours(@Param("driverId") Long driverId, @Param("workDate") LocalDate workDate, @Param("hours") int hours);
+
+    /**
+     * Atomically add hours to the existing entry for a driver and work date only if the new total does not exceed the
+     * supplied maximum. The check and the increment are performed by a single statement so no other request can add
+     * hours in between.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param hours a <code>int</code> containing the number of hours to add.
+     * @param maxHours a <code>int</code> containing the maximum total hours permitted on the date.
+     * @return a <code>int</code> containing the number of entries updated which is 0 if no entry exists yet or the maximum would be exceeded.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DriverHours h SET h.hours = h.hours + :hours WHERE h.driverId = :driverId AND h.workDate = :workDate AND h.hours + :hours <= :maxHours")
+    int incrementHoursWithinLimit(@Param("driverId") Long driverId, @Param("workDate") LocalDate workDate, @Param("hours") int hours, @Param("maxHours") int maxHours);
+
+    /**
+     * Delete all hours of a driver with a single statement. This method must be called within a transaction.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @return a <code>int</code> containing the number of entries deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM DriverHours h WHERE h.driverId = :driverId")
+    int deleteByDriverId(@Param("driverId") Long driverId);
+
+}
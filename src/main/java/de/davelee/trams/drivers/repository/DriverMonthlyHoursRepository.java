@@ -0,0 +1,31 @@
+package de.davelee.trams.drivers.repository;
+
+import de.davelee.trams.drivers.data.DriverHoursRollup;
+import de.davelee.trams.drivers.data.DriverMonthlyHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This class represents the database operations for the monthly hours of drivers automatically generated using Spring Data JPA.
+ * The totals are written in batches together with the driver hours so only the report queries are defined here.
+ * @author Dave Lee
+ */
+public interface DriverMonthlyHoursRepository extends JpaRepository<DriverMonthlyHours, Long> {
+
+    /**
+     * List the monthly hours of the drivers of a company for the months starting within a date range.
+     * @param company a <code>String</code> containing the company.
+     * @param fromMonthStart a <code>LocalDate</code> containing the first day of the first month to include.
+     * @param toMonthStart a <code>LocalDate</code> containing the first day of the last month to include.
+     * @return a <code>List</code> of <code>DriverHoursRollup</code> objects ordered by month and driver.
+     */
+    @Query("SELECT new de.davelee.trams.drivers.data.DriverHoursRollup(d.id, d.name, d.dateOfBirth, d.contractedHours, m.monthStart, m.hours) " +
+            "FROM DriverMonthlyHours m, Driver d WHERE m.driverId = d.id AND d.company = :company " +
+            "AND m.monthStart BETWEEN :fromMonthStart AND :toMonthStart ORDER BY m.monthStart, d.id")
+    List<DriverHoursRollup> findByCompany(@Param("company") String company, @Param("fromMonthStart") LocalDate fromMonthStart, @Param("toMonthStart") LocalDate toMonthStart);
+
+}
@@ -0,0 +1,40 @@
+package de.davelee.trams.drivers.repository;
+
+import de.davelee.trams.drivers.data.DriverPayment;
+import de.davelee.trams.drivers.data.PayoutTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+/**
+ * This class represents the database operations for the payment ledger automatically generated using Spring Data JPA.
+ * Payments are written in batches by the payroll so only the aggregate queries are defined here.
+ * @author Dave Lee
+ */
+public interface DriverPaymentRepository extends JpaRepository<DriverPayment, Long> {
+
+    /**
+     * Sum the payments to a driver for hours worked within a date range using the index on driver and work date.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param fromDate a <code>LocalDate</code> containing the first work date to include.
+     * @param toDate a <code>LocalDate</code> containing the last work date to include.
+     * @return a <code>PayoutTotal</code> object containing the sum of the payments.
+     */
+    @Query("SELECT new de.davelee.trams.drivers.data.PayoutTotal(COUNT(p), SUM(p.hours), SUM(p.amountMinorUnits)) " +
+            "FROM DriverPayment p WHERE p.driverId = :driverId AND p.workDate BETWEEN :fromDate AND :toDate")
+    PayoutTotal sumByDriver(@Param("driverId") Long driverId, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    /**
+     * Sum the payments of a company for hours worked within a date range using the index on company and work date.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDate a <code>LocalDate</code> containing the first work date to include.
+     * @param toDate a <code>LocalDate</code> containing the last work date to include.
+     * @return a <code>PayoutTotal</code> object containing the sum of the payments.
+     */
+    @Query("SELECT new de.davelee.trams.drivers.data.PayoutTotal(COUNT(p), SUM(p.hours), SUM(p.amountMinorUnits)) " +
+            "FROM DriverPayment p WHERE p.company = :company AND p.workDate BETWEEN :fromDate AND :toDate")
+    PayoutTotal sumByCompany(@Param("company") String company, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+}
@@ -1,10 +1,25 @@
 package de.davelee.trams.drivers.repository;
 
 import de.davelee.trams.drivers.data.Driver;
+import de.davelee.trams.drivers.data.DriverStatus;
+import de.davelee.trams.drivers.data.DriverSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * This class represents the database operations automatically generated using Spring Data JPA.
@@ -13,13 +28,27 @@ import java.util.List;
 public interface DriverRepository extends JpaRepository<Driver, Long> {
 
     /**
-     * Find a driver by their date of birth, name and company they are working for.
-     * @param dateOfBirth a <code>LocalDate</code> containing the date of birth for this driver in format dd-MM-yyyy.
-     * @param name a <code>String</code> with the name of the driver.
-     * @param company a <code>String</code> containing the company.
+     * Find a driver by the hash of their natural key (date of birth, name and company) using the unique index.
+     * @param naturalKeyHash a <code>String</code> containing the hash of the natural key of the driver.
      * @return a <code>Driver</code> object representing the driver matching the criteria or null if none found.
      */
-    Driver findByDateOfBirthAndNameAndCompany(LocalDate dateOfBirth, String name, String company);
+    Driver findByNaturalKeyHash(String naturalKeyHash);
+
+    /**
+     * Find the identifier of a driver by the hash of their natural key without loading the driver.
+     * @param naturalKeyHash a <code>String</code> containing the hash of the natural key of the driver.
+     * @return a <code>Long</code> containing the identifier of the driver or null if none found.
+     */
+    @Query("SELECT d.id FROM Driver d WHERE d.naturalKeyHash = :naturalKeyHash")
+    Long findIdByNaturalKeyHash(@Param("naturalKeyHash") String naturalKeyHash);
+
+    /**
+     * Find the identifiers of several drivers by the hashes of their natural keys in a single query.
+     * @param naturalKeyHashes a <code>Collection</code> containing the hashes of the natural keys of the drivers.
+     * @return a <code>List</code> of arrays containing the hash of the natural key and the identifier of each driver found.
+     */
+    @Query("SELECT d.naturalKeyHash, d.id FROM Driver d WHERE d.naturalKeyHash IN :naturalKeyHashes")
+    List<Object[]> findIdsByNaturalKeyHashIn(@Param("naturalKeyHashes") Collection<String> naturalKeyHashes);
 
     /**
      * List all the drivers working for a particular company.
@@ -28,4 +57,192 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
      */
     List<Driver> findByCompany(String company);
 
+    /**
+     * Stream all drivers ordered by identifier, reading them from the database in blocks of the fetch size rather
+     * than all at once. The stream must be consumed and closed within a transaction.
+     * @return a <code>Stream</code> of <code>Driver</code> objects for all drivers.
+     */
+    @QueryHints({@QueryHint(name=HINT_FETCH_SIZE, value="500"), @QueryHint(name=HINT_READONLY, value="true")})
+    @Query("SELECT d FROM Driver d ORDER BY d.id")
+    Stream<Driver> streamAll();
+
+    /**
+     * Stream all drivers working for a particular company ordered by identifier, reading them from the database in
+     * blocks of the fetch size rather than all at once. The stream must be consumed and closed within a transaction.
+     * @param company a <code>String</code> containing the company.
+     * @return a <code>Stream</code> of <code>Driver</code> objects matching the company criteria.
+     */
+    @QueryHints({@QueryHint(name=HINT_FETCH_SIZE, value="500"), @QueryHint(name=HINT_READONLY, value="true")})
+    @Query("SELECT d FROM Driver d WHERE d.company = :company ORDER BY d.id")
+    Stream<Driver> streamByCompany(@Param("company") String company);
+
+    /**
+     * List one page of the summaries of all drivers without loading the drivers themselves.
+     * @param pageable a <code>Pageable</code> object containing the page to load and the sort order.
+     * @return a <code>List</code> of <code>DriverSummary</code> objects for the drivers on the page.
+     */
+    @Query("SELECT new de.davelee.trams.drivers.data.DriverSummary(d.id, d.name, d.company, d.dateOfBirth, d.hourlyWage, d.startDate) FROM Driver d")
+    List<DriverSummary> findAllSummaries(Pageable pageable);
+
+    /**
+     * List one page of the summaries of all drivers working for a particular company without loading the drivers themselves.
+     * @param company a <code>String</code> containing the company.
+     * @param pageable a <code>Pageable</code> object containing the page to load and the sort order.
+     * @return a <code>List</code> of <code>DriverSummary</code> objects matching the company criteria on the page.
+     */
+    @Query("SELECT new de.davelee.trams.drivers.data.DriverSummary(d.id, d.name, d.company, d.dateOfBirth, d.hourlyWage, d.startDate) FROM Driver d WHERE d.company = :company")
+    List<DriverSummary> findSummariesByCompany(@Param("company") String company, Pageable pageable);
+
+    /**
+     * List the summaries of all drivers of a particular company who have not been dismissed for roster planning.
+     * @param company a <code>String</code> containing the company.
+     * @return a <code>List</code> of <code>DriverSummary</code> objects matching the company criteria.
+     */
+    @Query("SELECT new de.davelee.trams.drivers.data.DriverSummary(d.id, d.name, d.company, d.dateOfBirth, d.hourlyWage, d.startDate) FROM Driver d " +
+            "WHERE d.company = :company AND d.status <> de.davelee.trams.drivers.data.DriverStatus.DISMISSED")
+    List<DriverSummary> findRosterByCompany(@Param("company") String company);
+
+    /**
+     * List the summaries of all drivers of a particular company assigned to a particular route schedule who have not
+     * been dismissed for roster planning.
+     * @param company a <code>String</code> containing the company.
+     * @param assignedRouteSchedule a <code>String</code> containing the route schedule.
+     * @return a <code>List</code> of <code>DriverSummary</code> objects matching the company and route schedule criteria.
+     */
+    @Query("SELECT new de.davelee.trams.drivers.data.DriverSummary(d.id, d.name, d.company, d.dateOfBirth, d.hourlyWage, d.startDate) FROM Driver d " +
+            "WHERE d.company = :company AND d.assignedRouteSchedule = :assignedRouteSchedule AND d.status <> de.davelee.trams.drivers.data.DriverStatus.DISMISSED")
+    List<DriverSummary> findRosterByCompanyAndAssignedRouteSchedule(@Param("company") String company, @Param("assignedRouteSchedule") String assignedRouteSchedule);
+
+    /**
+     * List the identifiers of all drivers of a particular company who have not been dismissed.
+     * @param company a <code>String</code> containing the company.
+     * @return a <code>List</code> containing the identifiers of the drivers matching the company criteria.
+     */
+    @Query("SELECT d.id FROM Driver d WHERE d.company = :company AND d.status <> de.davelee.trams.drivers.data.DriverStatus.DISMISSED")
+    List<Long> findCurrentDriverIdsByCompany(@Param("company") String company);
+
+    /**
+     * List the identifiers and hourly wages of all drivers of a particular company who have not been dismissed.
+     * @param company a <code>String</code> containing the company.
+     * @return a <code>List</code> of arrays containing the identifier and the hourly wage of each driver found.
+     */
+    @Query("SELECT d.id, d.hourlyWage FROM Driver d WHERE d.company = :company AND d.status <> de.davelee.trams.drivers.data.DriverStatus.DISMISSED")
+    List<Object[]> findCurrentDriverWagesByCompany(@Param("company") String company);
+
+    /**
+     * List the identifiers of the drivers of a particular company which follow the supplied identifier in order of
+     * identifier, so that all drivers of a company can be processed in chunks.
+     * @param company a <code>String</code> containing the company.
+     * @param afterDriverId a <code>long</code> containing the identifier after which to start or 0 to start with the first driver.
+     * @param pageable a <code>Pageable</code> object limiting the number of identifiers returned.
+     * @return a <code>List</code> containing the identifiers of the drivers in ascending order.
+     */
+    @Query("SELECT d.id FROM Driver d WHERE d.company = :company AND d.id > :afterDriverId ORDER BY d.id")
+    List<Long> findDriverIdsByCompanyAfter(@Param("company") String company, @Param("afterDriverId") long afterDriverId, Pageable pageable);
+
+    /**
+     * List the identifiers of the drivers of a particular company within a range of identifiers in order of identifier.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDriverId a <code>long</code> containing the first identifier of the range.
+     * @param toDriverId a <code>long</code> containing the last identifier of the range.
+     * @return a <code>List</code> containing the identifiers of the drivers in ascending order.
+     */
+    @Query("SELECT d.id FROM Driver d WHERE d.company = :company AND d.id BETWEEN :fromDriverId AND :toDriverId ORDER BY d.id")
+    List<Long> findDriverIdsByCompanyBetween(@Param("company") String company, @Param("fromDriverId") long fromDriverId, @Param("toDriverId") long toDriverId);
+
+    /**
+     * Return the lowest and highest identifier and the number of drivers of a particular company, so that the drivers
+     * can be split into ranges of identifiers without loading them.
+     * @param company a <code>String</code> containing the company.
+     * @return a <code>List</code> containing one <code>Object</code> array with the lowest identifier, the highest identifier and the number of drivers.
+     */
+    @Query("SELECT MIN(d.id), MAX(d.id), COUNT(d) FROM Driver d WHERE d.company = :company")
+    List<Object[]> findDriverIdRangeByCompany(@Param("company") String company);
+
+    /**
+     * List all companies which have drivers.
+     * @return a <code>List</code> containing the names of the companies in alphabetical order.
+     */
+    @Query("SELECT DISTINCT d.company FROM Driver d ORDER BY d.company")
+    List<String> findCompanies();
+
+    /**
+     * Find the companies of several drivers with one query.
+     * @param driverIds a <code>Collection</code> containing the identifiers of the drivers.
+     * @return a <code>List</code> of <code>Object</code> arrays containing the identifier and the company of each driver found.
+     */
+    @Query("SELECT d.id, d.company FROM Driver d WHERE d.id IN :driverIds")
+    List<Object[]> findCompaniesByIdIn(@Param("driverIds") Collection<Long> driverIds);
+
+    /**
+     * Count the drivers working for a particular company.
+     * @param company a <code>String</code> containing the company.
+     * @return a <code>long</code> containing the number of drivers matching the company criteria.
+     */
+    long countByCompany(String company);
+
+    /**
+     * Update the status of a driver without loading the driver.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param status a <code>DriverStatus</code> containing the new status of the driver.
+     * @return a <code>int</code> containing the number of drivers updated.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Driver d SET d.status = :status WHERE d.id = :driverId")
+    int updateStatus(@Param("driverId") Long driverId, @Param("status") DriverStatus status);
+
+    /**
+     * Update the status of all drivers of a particular company who have not been dismissed with a single statement.
+     * @param company a <code>String</code> containing the company.
+     * @param status a <code>DriverStatus</code> containing the new status of the drivers.
+     * @return a <code>int</code> containing the number of drivers updated.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Driver d SET d.status = :status WHERE d.company = :company AND d.status <> de.davelee.trams.drivers.data.DriverStatus.DISMISSED")
+    int updateStatusOfCurrentDriversByCompany(@Param("company") String company, @Param("status") DriverStatus status);
+
+    /**
+     * Advance the paid through date of all drivers of a particular company who have no unpaid hours on or before the
+     * new paid through date. Drivers with unpaid hours keep their paid through date because those hours must still be
+     * read by a later payroll run, even if it pays an earlier range.
+     * @param company a <code>String</code> containing the company.
+     * @param paidThroughDate a <code>LocalDate</code> containing the last date which has now been paid completely.
+     * @return a <code>int</code> containing the number of drivers updated.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Driver d SET d.paidThroughDate = :paidThroughDate WHERE d.company = :company " +
+            "AND (d.paidThroughDate IS NULL OR d.paidThroughDate < :paidThroughDate) " +
+            "AND NOT EXISTS (SELECT h.id FROM DriverHours h WHERE h.driverId = d.id AND h.workDate <= :paidThroughDate " +
+            "AND (d.paidThroughDate IS NULL OR h.workDate > d.paidThroughDate) AND h.hours > h.paidHours)")
+    int advancePaidThroughDate(@Param("company") String company, @Param("paidThroughDate") LocalDate paidThroughDate);
+
+    /**
+     * Advance the paid through date of the supplied drivers who have no unpaid hours on or before the new paid through
+     * date, following the same rules as <code>advancePaidThroughDate</code> for a whole company.
+     * @param driverIds a <code>Collection</code> containing the identifiers of the drivers.
+     * @param paidThroughDate a <code>LocalDate</code> containing the last date which has now been paid completely.
+     * @return a <code>int</code> containing the number of drivers updated.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Driver d SET d.paidThroughDate = :paidThroughDate WHERE d.id IN :driverIds " +
+            "AND (d.paidThroughDate IS NULL OR d.paidThroughDate < :paidThroughDate) " +
+            "AND NOT EXISTS (SELECT h.id FROM DriverHours h WHERE h.driverId = d.id AND h.workDate <= :paidThroughDate " +
+            "AND (d.paidThroughDate IS NULL OR h.workDate > d.paidThroughDate) AND h.hours > h.paidHours)")
+    int advancePaidThroughDateForDrivers(@Param("driverIds") Collection<Long> driverIds, @Param("paidThroughDate") LocalDate paidThroughDate);
+
+    /**
+     * Update the hourly wage of all drivers of a particular company who have not been dismissed with a single statement.
+     * @param company a <code>String</code> containing the company.
+     * @param hourlyWage a <code>BigDecimal</code> containing the new hourly wage of the drivers.
+     * @return a <code>int</code> containing the number of drivers updated.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Driver d SET d.hourlyWage = :hourlyWage WHERE d.company = :company AND d.status <> de.davelee.trams.drivers.data.DriverStatus.DISMISSED")
+    int updateHourlyWageOfCurrentDriversByCompany(@Param("company") String company, @Param("hourlyWage") BigDecimal hourlyWage);
+
 }
@@ -0,0 +1,31 @@
+package de.davelee.trams.drivers.repository;
+
+import de.davelee.trams.drivers.data.DriverHoursRollup;
+import de.davelee.trams.drivers.data.DriverWeeklyHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This class represents the database operations for the weekly hours of drivers automatically generated using Spring Data JPA.
+ * The totals are written in batches together with the driver hours so only the report queries are defined here.
+ * @author Dave Lee
+ */
+public interface DriverWeeklyHoursRepository extends JpaRepository<DriverWeeklyHours, Long> {
+
+    /**
+     * List the weekly hours of the drivers of a company for the weeks starting within a date range.
+     * @param company a <code>String</code> containing the company.
+     * @param fromWeekStart a <code>LocalDate</code> containing the Monday of the first week to include.
+     * @param toWeekStart a <code>LocalDate</code> containing the Monday of the last week to include.
+     * @return a <code>List</code> of <code>DriverHoursRollup</code> objects ordered by week and driver.
+     */
+    @Query("SELECT new de.davelee.trams.drivers.data.DriverHoursRollup(d.id, d.name, d.dateOfBirth, d.contractedHours, w.weekStart, w.hours) " +
+            "FROM DriverWeeklyHours w, Driver d WHERE w.driverId = d.id AND d.company = :company " +
+            "AND w.weekStart BETWEEN :fromWeekStart AND :toWeekStart ORDER BY w.weekStart, d.id")
+    List<DriverHoursRollup> findByCompany(@Param("company") String company, @Param("fromWeekStart") LocalDate fromWeekStart, @Param("toWeekStart") LocalDate toWeekStart);
+
+}
@@ -0,0 +1,23 @@
+package de.davelee.trams.drivers.repository;
+
+import de.davelee.trams.drivers.data.PayrollJob;
+import de.davelee.trams.drivers.data.PayrollJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This class represents the database operations for payroll jobs automatically generated using Spring Data JPA.
+ * @author Dave Lee
+ */
+public interface PayrollJobRepository extends JpaRepository<PayrollJob, Long> {
+
+    /**
+     * List the jobs which have one of the supplied statuses ordered by identifier.
+     * @param statuses a <code>Collection</code> of <code>PayrollJobStatus</code> to match.
+     * @return a <code>List</code> of <code>PayrollJob</code> objects matching the criteria.
+     */
+    List<PayrollJob> findByStatusInOrderByIdAsc(Collection<PayrollJobStatus> statuses);
+
+}
@@ -0,0 +1,12 @@
+package de.davelee.trams.drivers.repository;
+
+import de.davelee.trams.drivers.data.PayrollRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * This class represents the database operations for payroll runs automatically generated using Spring Data JPA.
+ * @author Dave Lee
+ */
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+
+}
@@ -1,26 +1,67 @@
 package de.davelee.trams.drivers.rest.controllers;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.cache.CacheStats;
 import de.davelee.trams.drivers.api.*;
+import de.davelee.trams.drivers.data.CompanyDailyHours;
+import de.davelee.trams.drivers.data.CompanyPayrollTotal;
+import de.davelee.trams.drivers.data.AvailableDriver;
 import de.davelee.trams.drivers.data.Driver;
+import de.davelee.trams.drivers.data.DriverAvailability;
 import de.davelee.trams.drivers.data.DriverHistory;
+import de.davelee.trams.drivers.data.DriverHoursRollup;
+import de.davelee.trams.drivers.data.DriverHoursUpdate;
+import de.davelee.trams.drivers.data.DriverImportReport;
+import de.davelee.trams.drivers.data.DriverNaturalKey;
 import de.davelee.trams.drivers.data.DriverStatus;
+import de.davelee.trams.drivers.data.DriverSummary;
+import de.davelee.trams.drivers.data.Money;
+import de.davelee.trams.drivers.data.PayoutTotal;
+import de.davelee.trams.drivers.data.PayrollJob;
+import de.davelee.trams.drivers.data.PayrollJobStatus;
+import de.davelee.trams.drivers.data.WorkingTimeCheck;
+import de.davelee.trams.drivers.services.DriverAvailabilityService;
+import de.davelee.trams.drivers.services.DriverImportService;
+import de.davelee.trams.drivers.services.DriverRequestValidator;
+import de.davelee.trams.drivers.services.DriverResponseCache;
 import de.davelee.trams.drivers.services.DriverService;
+import de.davelee.trams.drivers.services.HoursRollupService;
+import de.davelee.trams.drivers.services.ParallelPayrollService;
+import de.davelee.trams.drivers.services.PayrollJobService;
+import de.davelee.trams.drivers.services.WorkingTimeService;
 import io.swagger.annotations.Api;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.temporal.IsoFields;
+import java.util.*;
 
 @RestController
 @Api(value="driver", description="Driver Operations")
@@ -31,23 +72,46 @@ import java.util.List;
  */
 public class DriverOperationsRestController {
 
+    private static final String[] EXPORT_CSV_HEADER = { "name", "dateOfBirth", "company", "contractedHours", "hourlyWage", "skills", "startDate", "assignedRouteSchedule", "status" };
+
     @Autowired
     private DriverService driverService;
 
-    @Value("${driver.permitted.hours.max}")
-    private int maxDriverHours;
+    @Autowired
+    private DriverResponseCache driverResponseCache;
+
+    @Autowired
+    private DriverRequestValidator driverRequestValidator;
+
+    @Autowired
+    private DriverImportService driverImportService;
+
+    @Autowired
+    private PayrollJobService payrollJobService;
+
+    @Autowired
+    private ParallelPayrollService parallelPayrollService;
+
+    @Autowired
+    private HoursRollupService hoursRollupService;
+
+    @Autowired
+    private WorkingTimeService workingTimeService;
 
-    @Value("${driver.hourlyWage.min}")
-    private int minHourlyWage;
+    @Autowired
+    private DriverAvailabilityService driverAvailabilityService;
 
-    @Value("${driver.hourlyWage.max}")
-    private int maxHourlyWage;
+    @Value("${driver.history.recent.max}")
+    private int maxRecentHistoryEntries;
 
-    @Value("${driver.contractedHours.min}")
-    private int minContractedHours;
+    @Value("${driver.history.page.max}")
+    private int maxHistoryPageSize;
 
-    @Value("${driver.contractedHours.max}")
-    private int maxContractedHours;
+    @Value("${driver.hours.bulk.chunkSize}")
+    private int bulkHoursChunkSize;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @ApiOperation(value = "Get driver", notes="Method to get a driver's details by name and date of birth.")
     @RequestMapping(method = RequestMethod.GET, produces="application/json", value="/getDriver")
@@ -65,44 +129,159 @@ public class DriverOperationsRestController {
         if ( name == null || dateOfBirth == null ) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } else {
-            Driver driver = driverService.findDriverByDateOfBirthAndNameAndCompany(convertStringToDate(dateOfBirth), name, company);
+            //Return the cached response if the driver has not changed since it was last requested.
+            String naturalKeyHash = DriverNaturalKey.hash(convertStringToDate(dateOfBirth), name, company);
+            DriverResponse cachedDriverResponse = driverResponseCache.get(naturalKeyHash);
+            if ( cachedDriverResponse != null ) {
+                return new ResponseEntity<>(cachedDriverResponse, HttpStatus.OK);
+            }
+            //Resolve the identifier first so that only a change of this driver prevents caching the loaded response.
+            Long driverId = driverService.findDriverIdByDateOfBirthAndNameAndCompany(convertStringToDate(dateOfBirth), name, company);
             //Driver being null means that database was not available.
-            if ( driver == null ) {
+            if ( driverId == null ) {
                 return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
             }
-            DriverResponse driverResponse = new DriverResponse();
-            driverResponse.setContractedHours(driver.getContractedHours());
-            driverResponse.setDateOfBirth(convertDateToString(driver.getDateOfBirth()));
-            driverResponse.setName(driver.getName());
-            driverResponse.setHourlyWage(driver.getHourlyWage().toString());
-            driverResponse.setSkills(driver.getSkills());
-            driverResponse.setStartDate(convertDateToString(driver.getStartDate()));
-            driverResponse.setCompany(driver.getCompany());
-            driverResponse.setAssignedRouteSchedule(driver.getAssignedRouteSchedule());
-            driverResponse.setStatus(driver.getStatus().getText());
-            List<DriverHistory> driverHistoryList = driver.getDriverHistoryList();
-            List<DriverHistoryResponse> driverHistoryResponseList = new ArrayList<>(driverHistoryList.size());
-            for ( DriverHistory driverHistory : driverHistoryList ) {
-                DriverHistoryResponse driverHistoryResponse = new DriverHistoryResponse();
-                driverHistoryResponse.setComment(driverHistory.getComment());
-                driverHistoryResponse.setDate(convertDateToString(driverHistory.getDate()));
-                driverHistoryResponse.setStatus(driverHistory.getStatus().getText());
-                driverHistoryResponseList.add(driverHistoryResponse);
+            long cacheStamp = driverResponseCache.getStamp(driverId);
+            Driver driver = driverService.getDriver(driverId);
+            //The driver may have been deleted or changed since the identifier was resolved.
+            if ( driver == null || !naturalKeyHash.equals(driver.getNaturalKeyHash()) ) {
+                return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
             }
-            driverResponse.setDriverHistoryResponseList(driverHistoryResponseList);
+            DriverResponse driverResponse = convertDriver(driver);
+            //Only return the most recent history entries - the full history is available through the history operation.
+            driverResponse.setDriverHistoryResponseList(convertDriverHistory(driverService.getRecentDriverHistory(driver.getId(), maxRecentHistoryEntries)));
+            driverResponseCache.put(cacheStamp, naturalKeyHash, driver.getId(), driverResponse);
             return new ResponseEntity<>(driverResponse, HttpStatus.OK);
         }
     }
 
+    @ApiOperation(value = "Get driver cache statistics", notes="Method to get the hit, miss and eviction statistics of the cache used to get drivers.")
+    @RequestMapping(method = RequestMethod.GET, produces="application/json", value="/cacheStats")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully retrieved cache statistics")})
+    /**
+     * Retrieve the statistics of the cache used to get drivers since the application started.
+     * @return a <code>ResponseEntity</code> object which contains the cache statistics.
+     */
+    public ResponseEntity<DriverCacheStatsResponse> getCacheStats ( ) {
+        CacheStats cacheStats = driverResponseCache.getStats();
+        DriverCacheStatsResponse driverCacheStatsResponse = new DriverCacheStatsResponse();
+        driverCacheStatsResponse.setHitCount(cacheStats.hitCount());
+        driverCacheStatsResponse.setMissCount(cacheStats.missCount());
+        driverCacheStatsResponse.setEvictionCount(cacheStats.evictionCount());
+        driverCacheStatsResponse.setHitRate(cacheStats.hitRate());
+        driverCacheStatsResponse.setSize(driverResponseCache.size());
+        return new ResponseEntity<>(driverCacheStatsResponse, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Get driver history", notes="Method to get a page of a driver's history, newest first, optionally filtered by status and date range.")
+    @RequestMapping(method = RequestMethod.GET, produces="application/json", value="/history")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully retrieved driver history"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * Retrieve a page of the history of a driver. Further pages can be retrieved by supplying the next cursor
+     * returned with the previous page.
+     * @param name a <code>String</code> containing the name of the driver.
+     * @param dateOfBirth a <code>String</code> containing the date of the birth for the driver.
+     * @param company a <code>String</code> containing the company of the driver.
+     * @param status a <code>String</code> containing the status of the entries to return e.g. PAID (optional).
+     * @param fromDate a <code>String</code> containing the first date to include in format dd-MM-yyyy (optional).
+     * @param toDate a <code>String</code> containing the last date to include in format dd-MM-yyyy (optional).
+     * @param cursor a <code>Long</code> containing the next cursor returned with the previous page (optional).
+     * @param limit a <code>Integer</code> containing the maximum number of entries to return (optional).
+     * @return a <code>ResponseEntity</code> object which contains the page of driver history or bad request if the
+     * parameters are invalid or an internal server error if the driver could not be found.
+     */
+    public ResponseEntity<DriverHistoryPageResponse> getDriverHistory ( @RequestParam("name") final String name, @RequestParam("dateOfBirth") final String dateOfBirth,
+                                                                      @RequestParam("company") final String company, @RequestParam(value="status", required=false) final String status,
+                                                                      @RequestParam(value="fromDate", required=false) final String fromDate, @RequestParam(value="toDate", required=false) final String toDate,
+                                                                      @RequestParam(value="cursor", required=false) final Long cursor, @RequestParam(value="limit", required=false) final Integer limit ) {
+        if ( name == null || company == null || !driverRequestValidator.validateDate(dateOfBirth) || (fromDate != null && !driverRequestValidator.validateDate(fromDate))
+                || (toDate != null && !driverRequestValidator.validateDate(toDate)) || (limit != null && limit < 1) ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        DriverStatus driverStatus = null;
+        if ( status != null ) {
+            try {
+                driverStatus = DriverStatus.valueOf(status.toUpperCase());
+            } catch ( IllegalArgumentException illegalArgumentException ) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        }
+        Long driverId = driverService.findDriverIdByDateOfBirthAndNameAndCompany(convertStringToDate(dateOfBirth), name, company);
+        if ( driverId == null ) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        int pageSize = limit != null ? Math.min(limit, maxHistoryPageSize) : maxHistoryPageSize;
+        List<DriverHistory> driverHistoryList = driverService.getDriverHistory(driverId, driverStatus,
+                fromDate != null ? convertStringToDate(fromDate) : null, toDate != null ? convertStringToDate(toDate) : null, cursor, pageSize);
+        DriverHistoryPageResponse driverHistoryPageResponse = new DriverHistoryPageResponse();
+        driverHistoryPageResponse.setDriverHistoryResponseList(convertDriverHistory(driverHistoryList));
+        //A full page means that there may be older entries so return the cursor for the next page.
+        if ( driverHistoryList.size() == pageSize ) {
+            driverHistoryPageResponse.setNextCursor(driverHistoryList.get(driverHistoryList.size() - 1).getId());
+        }
+        return new ResponseEntity<>(driverHistoryPageResponse, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Export drivers", notes="Method to export all drivers or all drivers of a company as newline delimited JSON or as CSV which can be imported again. Drivers are written as they are read so exports of any size are possible.")
+    @RequestMapping(method = RequestMethod.GET, value="/export")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully exported drivers"), @ApiResponse(code=400,message="Format was not ndjson or csv"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * Export drivers by writing each driver to the response as soon as it has been read from the database, so that
+     * the list of drivers is never held in memory. The history of the drivers is not exported.
+     * @param company a <code>String</code> containing the company to export drivers for or null to export all drivers.
+     * @param format a <code>String</code> which is either ndjson for one <code>DriverResponse</code> per line or csv
+     * for the columns of the import followed by assignedRouteSchedule and status.
+     * @param response a <code>HttpServletResponse</code> object to write the drivers to.
+     * @throws IOException if the response could not be written.
+     */
+    public void exportDrivers ( @RequestParam(value="company", required=false) final String company,
+                                @RequestParam(value="format", defaultValue="ndjson") final String format, final HttpServletResponse response ) throws IOException {
+        if ( "ndjson".equals(format) ) {
+            response.setContentType("application/x-ndjson");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            ObjectWriter objectWriter = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                    .writerFor(DriverResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try ( JsonGenerator jsonGenerator = objectMapper.getFactory().createGenerator(response.getOutputStream()) ) {
+                //Separate the drivers by new lines only rather than the default space between root values.
+                jsonGenerator.setRootValueSeparator(null);
+                driverService.exportDrivers(company, driver -> {
+                    try {
+                        objectWriter.writeValue(jsonGenerator, convertDriver(driver));
+                        jsonGenerator.writeRaw('\n');
+                    } catch ( IOException ioException ) {
+                        throw new UncheckedIOException(ioException);
+                    }
+                });
+            }
+        } else if ( "csv".equals(format) ) {
+            response.setContentType("text/csv");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            try ( CSVPrinter csvPrinter = CSVFormat.DEFAULT.withHeader(EXPORT_CSV_HEADER).print(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8)) ) {
+                driverService.exportDrivers(company, driver -> {
+                    try {
+                        csvPrinter.printRecord(driver.getName(), convertDateToString(driver.getDateOfBirth()), driver.getCompany(),
+                                driver.getContractedHours(), driver.getHourlyWage(), driver.getSkills(), convertDateToString(driver.getStartDate()),
+                                driver.getAssignedRouteSchedule(), driver.getStatus().getText());
+                    } catch ( IOException ioException ) {
+                        throw new UncheckedIOException(ioException);
+                    }
+                });
+            }
+        } else {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        }
+    }
+
     @ApiOperation(value = "Hire a permanent driver", notes="Method to hire a permanent driver and add it to the database.")
     @RequestMapping(method = RequestMethod.POST, produces="text/plain", value="/hirePermanent")
     @ResponseBody
-    @ApiResponses(value = {@ApiResponse(code=201,message="Successfully hired driver and added to database"), @ApiResponse(code=500,message="Database not available")})
+    @ApiResponses(value = {@ApiResponse(code=201,message="Successfully hired driver and added to database"), @ApiResponse(code=409,message="Driver already exists"), @ApiResponse(code=500,message="Database not available")})
     /**
      * Hire a new driver permanently based on the supplied driver request.
      * @param driverRequest a <code>DriverRequest</code> object containing the driver to be hired.
      * @return a <code>ResponseEntity</code> object which either indicates that the driver was hired successfully,
-     * or bad request if the validation was not successful or internal server error if the database was not available.
+     * or bad request if the validation was not successful or conflict if the driver already exists or internal server
+     * error if the database was not available.
      */
     public ResponseEntity<Void> hirePermanent ( @RequestBody final DriverRequest driverRequest ) {
         //Validate the request and return bad request if it fails.
@@ -119,21 +298,57 @@ public class DriverOperationsRestController {
             driver.setStartDate(convertStringToDate(driverRequest.getStartDate()));
             driver.setCompany(driverRequest.getCompany());
             driver.setStatus(DriverStatus.HIRED);
-            DriverHistory driverHistory = new DriverHistory();
-            driverHistory.setComment("Hired!");
-            driverHistory.setDate(LocalDate.now());
-            driverHistory.setStatus(DriverStatus.HIRED);
-            driver.addHistory(driverHistory);
-            //If driver was added successfully, return created (201).
-            if ( driverService.addDriver(driver) != null ) {
-                return new ResponseEntity<>(HttpStatus.CREATED);
-            } else {
-                //Otherwise there were database problems so return 500.
-                return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            try {
+                //If driver was added successfully, return created (201).
+                if ( driverService.addDriver(driver) != null ) {
+                    return new ResponseEntity<>(HttpStatus.CREATED);
+                } else {
+                    //Otherwise there were database problems so return 500.
+                    return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+                }
+            } catch ( DataIntegrityViolationException dataIntegrityViolationException ) {
+                //A driver with the same date of birth, name and company already exists so return conflict (409).
+                return new ResponseEntity<>(HttpStatus.CONFLICT);
             }
         }
     }
 
+    @ApiOperation(value = "Hire many drivers from a CSV file", notes="Method to hire many drivers at once from CSV data with the header name, dateOfBirth, company, contractedHours, hourlyWage, skills, startDate. Returns the number of drivers hired and the rows which were rejected.")
+    @RequestMapping(method = RequestMethod.POST, consumes="text/csv", produces="application/json", value="/importDrivers")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully processed all rows"), @ApiResponse(code=400,message="Data was not valid CSV or the header was incomplete"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * Hire many drivers permanently from CSV data. The rows are read from the stream and hired one chunk at a time so
+     * that the whole file never needs to be held in memory. Rows are validated with the same rules as hirePermanent.
+     * If the data is not valid CSV then the chunks read before the invalid row have already been hired.
+     * @param inputStream a <code>InputStream</code> containing the CSV data encoded in UTF-8.
+     * @return a <code>ResponseEntity</code> of <code>DriverImportResponse</code> containing the number of drivers hired
+     * and the rejected rows or bad request if the data was not valid CSV or the header was incomplete.
+     * @throws IOException if the stream could not be read.
+     */
+    public ResponseEntity<DriverImportResponse> importDrivers ( final InputStream inputStream ) throws IOException {
+        DriverImportReport driverImportReport;
+        try {
+            driverImportReport = driverImportService.importDrivers(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        } catch ( IllegalArgumentException | IllegalStateException invalidCsvException ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        DriverImportResponse driverImportResponse = new DriverImportResponse();
+        driverImportResponse.setRowsRead(driverImportReport.getRowsRead());
+        driverImportResponse.setDriversHired(driverImportReport.getDriversHired());
+        driverImportResponse.setRejectedRowCount(driverImportReport.getRejectedRowCount());
+        List<RejectedRowResponse> rejectedRowResponses = new ArrayList<>(driverImportReport.getRejectedRows().size());
+        for ( DriverImportReport.RejectedRow rejectedRow : driverImportReport.getRejectedRows() ) {
+            RejectedRowResponse rejectedRowResponse = new RejectedRowResponse();
+            rejectedRowResponse.setRowNumber(rejectedRow.getRowNumber());
+            rejectedRowResponse.setReason(rejectedRow.getReason());
+            rejectedRowResponses.add(rejectedRowResponse);
+        }
+        driverImportResponse.setRejectedRowList(rejectedRowResponses);
+        driverImportResponse.setDurationMillis(driverImportReport.getDurationMillis());
+        driverImportResponse.setRowsPerSecond(driverImportReport.getRowsPerSecond());
+        return new ResponseEntity<>(driverImportResponse, HttpStatus.OK);
+    }
+
     @ApiOperation(value = "Dismiss a driver", notes="Method to dismiss a driver which will be noted in the database.")
     @RequestMapping(method = RequestMethod.POST, produces="text/plain", value="/dismiss")
     @ResponseBody
@@ -149,10 +364,10 @@ public class DriverOperationsRestController {
         if ( !validateRetrieveDriverRequest(dismissDriverRequest) || dismissDriverRequest.getReasonForDismissal() == null ) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } else {
-            Driver driver = driverService.findDriverByDateOfBirthAndNameAndCompany(convertStringToDate(dismissDriverRequest.getDateOfBirth()), dismissDriverRequest.getName(), dismissDriverRequest.getCompany());
-            if ( driver != null ) {
+            Long driverId = driverService.findDriverIdByDateOfBirthAndNameAndCompany(convertStringToDate(dismissDriverRequest.getDateOfBirth()), dismissDriverRequest.getName(), dismissDriverRequest.getCompany());
+            if ( driverId != null ) {
                 //If driver is dismissed successfully return 200.
-                driverService.dismissDriver(driver, dismissDriverRequest.getReasonForDismissal());
+                driverService.dismissDriver(driverId, dismissDriverRequest.getReasonForDismissal());
                 return new ResponseEntity<>(HttpStatus.OK);
             } else {
                 //If driver is not dismissed successfully then return 500 indicating database problems.
@@ -161,6 +376,42 @@ public class DriverOperationsRestController {
         }
     }
 
+    @ApiOperation(value = "Dismiss all drivers of a company", notes="Method to dismiss all drivers of a company who have not already been dismissed, e.g. when a franchise contract ends. Return the number of drivers dismissed.")
+    @RequestMapping(method = RequestMethod.POST, produces="application/json", value="/dismissCompany")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully dismissed drivers"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * Dismiss all drivers of a company based on the request supplied.
+     * @param dismissCompanyRequest a <code>DismissCompanyRequest</code> object containing the company and the reason.
+     * @return a <code>ResponseEntity</code> of <code>CompanyUpdateResponse</code> containing the number of drivers
+     * dismissed or bad request if the validation was not successful.
+     */
+    public ResponseEntity<CompanyUpdateResponse> dismissCompany ( @RequestBody final DismissCompanyRequest dismissCompanyRequest ) {
+        if ( dismissCompanyRequest.getCompany() == null || dismissCompanyRequest.getReasonForDismissal() == null ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        CompanyUpdateResponse companyUpdateResponse = new CompanyUpdateResponse();
+        companyUpdateResponse.setDriversUpdated(driverService.dismissDriversForCompany(dismissCompanyRequest.getCompany(), dismissCompanyRequest.getReasonForDismissal()));
+        return new ResponseEntity<>(companyUpdateResponse, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Change the wage of all drivers of a company", notes="Method to change the hourly wage of all drivers of a company who have not been dismissed, e.g. when a pay agreement changes. Return the number of drivers whose wage was changed.")
+    @RequestMapping(method = RequestMethod.POST, produces="application/json", value="/changeCompanyWage")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully changed wages"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * Change the hourly wage of all drivers of a company based on the request supplied.
+     * @param changeCompanyWageRequest a <code>ChangeCompanyWageRequest</code> object containing the company and the new wage.
+     * @return a <code>ResponseEntity</code> of <code>CompanyUpdateResponse</code> containing the number of drivers
+     * whose wage was changed or bad request if the validation was not successful.
+     */
+    public ResponseEntity<CompanyUpdateResponse> changeCompanyWage ( @RequestBody final ChangeCompanyWageRequest changeCompanyWageRequest ) {
+        if ( changeCompanyWageRequest.getCompany() == null || !driverRequestValidator.validateHourlyWage(changeCompanyWageRequest.getHourlyWage()) ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        CompanyUpdateResponse companyUpdateResponse = new CompanyUpdateResponse();
+        companyUpdateResponse.setDriversUpdated(driverService.changeHourlyWageForCompany(changeCompanyWageRequest.getCompany(), new BigDecimal(changeCompanyWageRequest.getHourlyWage())));
+        return new ResponseEntity<>(companyUpdateResponse, HttpStatus.OK);
+    }
+
     @ApiOperation(value = "Track hours for drivers", notes="Method to track hours for drivers by incrementing hours for the current date.")
     @RequestMapping(method = RequestMethod.POST, produces="text/plain", value="/trackHours")
     @ResponseBody
@@ -175,9 +426,9 @@ public class DriverOperationsRestController {
         if ( !validateRetrieveDriverRequest(driverHoursRequest) ) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } else {
-            Driver driver = driverService.findDriverByDateOfBirthAndNameAndCompany(convertStringToDate(driverHoursRequest.getDateOfBirth()), driverHoursRequest.getName(), driverHoursRequest.getCompany());
-            if ( driver != null ) {
-                driverService.incrementDriverHours(driver, driverHoursRequest.getHours());
+            Long driverId = driverService.findDriverIdByDateOfBirthAndNameAndCompany(convertStringToDate(driverHoursRequest.getDateOfBirth()), driverHoursRequest.getName(), driverHoursRequest.getCompany());
+            if ( driverId != null ) {
+                driverService.incrementDriverHours(driverId, LocalDate.now(), driverHoursRequest.getHours());
                 return new ResponseEntity<>(HttpStatus.OK);
             } else {
                 return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -185,7 +436,94 @@ public class DriverOperationsRestController {
         }
     }
 
-    @ApiOperation(value = "Check hours for drivers", notes="Method to check hours worked by a driver. Returns true if and only if the driver has worked less today than the maximum hours permitted")
+    @ApiOperation(value = "Track hours for many drivers", notes="Method to track hours for many drivers at once by incrementing hours for the current date. Returns the result of each item.")
+    @RequestMapping(method = RequestMethod.POST, consumes="application/json", produces="application/json", value="/trackHoursBulk")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully processed all items"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * Track the amount of hours that many drivers work by adding the hours for the current date. The drivers are
+     * resolved and the hours are written in chunks with one transaction per chunk.
+     * @param driverHoursRequests a <code>List</code> of <code>DriverHoursRequest</code> objects containing the hours to add.
+     * @return a <code>ResponseEntity</code> of <code>TrackHoursBulkResponse</code> containing the result of each item.
+     */
+    public ResponseEntity<TrackHoursBulkResponse> trackHoursBulk ( @RequestBody final List<DriverHoursRequest> driverHoursRequests ) {
+        TrackHoursBulkResponse trackHoursBulkResponse = createTrackHoursBulkResponse();
+        for ( int i = 0; i < driverHoursRequests.size(); i += bulkHoursChunkSize ) {
+            trackHoursChunk(driverHoursRequests.subList(i, Math.min(i + bulkHoursChunkSize, driverHoursRequests.size())), i, trackHoursBulkResponse);
+        }
+        return new ResponseEntity<>(trackHoursBulkResponse, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Track hours for many drivers from a stream", notes="Method to track hours for many drivers sent as newline delimited JSON by incrementing hours for the current date. Returns the result of each item. Reading stops at the first line which is not valid JSON, which is returned as INVALID and is the last item of the response.")
+    @RequestMapping(method = RequestMethod.POST, consumes="application/x-ndjson", produces="application/json", value="/trackHoursBulk")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully processed the items up to the end of the stream or the first invalid line"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * Track the amount of hours that many drivers work by adding the hours for the current date. The items are read
+     * from the stream one chunk at a time so that the whole request never needs to be held in memory. If the stream
+     * contains invalid JSON then the items before the invalid line are tracked and returned, the invalid line is
+     * returned as INVALID and the rest of the stream is not read. The items before the invalid line are not rolled
+     * back, so a client must only send the items after it again.
+     * @param inputStream a <code>InputStream</code> containing one <code>DriverHoursRequest</code> per line.
+     * @return a <code>ResponseEntity</code> of <code>TrackHoursBulkResponse</code> containing the result of each item read.
+     * @throws IOException if the stream could not be read.
+     */
+    public ResponseEntity<TrackHoursBulkResponse> trackHoursBulkStream ( final InputStream inputStream ) throws IOException {
+        TrackHoursBulkResponse trackHoursBulkResponse = createTrackHoursBulkResponse();
+        List<DriverHoursRequest> chunk = new ArrayList<>(bulkHoursChunkSize);
+        int firstIndex = 0;
+        try ( MappingIterator<DriverHoursRequest> driverHoursRequests = objectMapper.readerFor(DriverHoursRequest.class).readValues(inputStream) ) {
+            while ( driverHoursRequests.hasNextValue() ) {
+                chunk.add(driverHoursRequests.nextValue());
+                if ( chunk.size() == bulkHoursChunkSize ) {
+                    trackHoursChunk(chunk, firstIndex, trackHoursBulkResponse);
+                    firstIndex += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } catch ( JsonProcessingException jsonProcessingException ) {
+            //The stream cannot be read beyond invalid JSON so track the items before it and report where it stopped.
+            trackHoursChunk(chunk, firstIndex, trackHoursBulkResponse);
+            TrackHoursItemResponse trackHoursItemResponse = new TrackHoursItemResponse();
+            trackHoursItemResponse.setIndex(firstIndex + chunk.size());
+            trackHoursItemResponse.setResult("INVALID");
+            trackHoursBulkResponse.getItemResponseList().add(trackHoursItemResponse);
+            return new ResponseEntity<>(trackHoursBulkResponse, HttpStatus.OK);
+        }
+        trackHoursChunk(chunk, firstIndex, trackHoursBulkResponse);
+        return new ResponseEntity<>(trackHoursBulkResponse, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Track hours for drivers within the working time rules", notes="Method to add hours for the current date only if the driver would not break the working time rules of their company. Returns whether the hours were tracked together with the total and remaining hours.")
+    @RequestMapping(method = RequestMethod.POST, produces="application/json", value="/trackHoursWithinLimit")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully tracked or rejected hours"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * Add the hours a driver works for the current date if and only if the driver may legally work them. The working
+     * time rules are turned into a maximum total for today, which is checked and added in one atomic operation so
+     * concurrent requests cannot exceed it.
+     * @param driverHoursRequest a <code>DriverHoursRequest</code> containing the hours to add.
+     * @return a <code>ResponseEntity</code> of <code>TrackHoursResponse</code> if the operation was performed
+     * successfully or a bad request if the request was not valid or an internal server error if database is not available.
+     */
+    public ResponseEntity<TrackHoursResponse> trackHoursWithinLimit ( @RequestBody final DriverHoursRequest driverHoursRequest ) {
+        if ( !validateRetrieveDriverRequest(driverHoursRequest) || driverHoursRequest.getHours() < 1 ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } else {
+            Long driverId = driverService.findDriverIdByDateOfBirthAndNameAndCompany(convertStringToDate(driverHoursRequest.getDateOfBirth()), driverHoursRequest.getName(), driverHoursRequest.getCompany());
+            if ( driverId != null ) {
+                WorkingTimeCheck workingTimeCheck = workingTimeService.checkWorkingTime(driverId, driverHoursRequest.getCompany());
+                DriverHoursUpdate driverHoursUpdate = driverService.incrementDriverHoursWithinLimit(driverId, LocalDate.now(), driverHoursRequest.getHours(),
+                        workingTimeCheck.getHoursToday() + workingTimeCheck.getRemainingHours());
+                TrackHoursResponse trackHoursResponse = new TrackHoursResponse();
+                trackHoursResponse.setHoursTracked(driverHoursUpdate.isAccepted());
+                trackHoursResponse.setTotalHours(driverHoursUpdate.getTotalHours());
+                trackHoursResponse.setRemainingHours(workingTimeService.checkWorkingTime(driverId, driverHoursRequest.getCompany()).getRemainingHours());
+                return new ResponseEntity<>(trackHoursResponse, HttpStatus.OK);
+            } else {
+                return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        }
+    }
+
+    @ApiOperation(value = "Check hours for drivers", notes="Method to check hours worked by a driver. Returns true if and only if the driver may work further hours today under the daily, weekly, fortnightly and rest day rules of their company")
     @RequestMapping(method = RequestMethod.POST, produces="application/json", value="/checkHours")
     @ApiResponses(value = {@ApiResponse(code=200,message="Successfully checked hours"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
     /**
@@ -199,17 +537,11 @@ public class DriverOperationsRestController {
         if ( !validateRetrieveDriverRequest(retrieveDriverRequest) ) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } else {
-            Driver driver = driverService.findDriverByDateOfBirthAndNameAndCompany(convertStringToDate(retrieveDriverRequest.getDateOfBirth()), retrieveDriverRequest.getName(), retrieveDriverRequest.getCompany());
-            if ( driver != null ) {
-                if ( driver.getHoursWorkedForDate(LocalDate.now()) != null ) {
-                    CheckDriverHoursResponse checkDriverHoursResponse = new CheckDriverHoursResponse();
-                    checkDriverHoursResponse.setFurtherHoursAllowed(driver.getHoursWorkedForDate(LocalDate.now()) < maxDriverHours);
-                    checkDriverHoursResponse.setRemainingHours(maxDriverHours - driver.getHoursWorkedForDate(LocalDate.now()));
-                    return new ResponseEntity<>(checkDriverHoursResponse, HttpStatus.OK);
-                }
+            Long driverId = driverService.findDriverIdByDateOfBirthAndNameAndCompany(convertStringToDate(retrieveDriverRequest.getDateOfBirth()), retrieveDriverRequest.getName(), retrieveDriverRequest.getCompany());
+            if ( driverId != null ) {
+                WorkingTimeCheck workingTimeCheck = workingTimeService.checkWorkingTime(driverId, retrieveDriverRequest.getCompany());
                 CheckDriverHoursResponse checkDriverHoursResponse = new CheckDriverHoursResponse();
-                checkDriverHoursResponse.setFurtherHoursAllowed(true);
-                checkDriverHoursResponse.setRemainingHours(maxDriverHours);
+                setWorkingTimeCheck(checkDriverHoursResponse, workingTimeCheck);
                 return new ResponseEntity<>(checkDriverHoursResponse, HttpStatus.OK);
             } else {
                 return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -217,26 +549,375 @@ public class DriverOperationsRestController {
         }
     }
 
+    @ApiOperation(value = "Check hours for many drivers", notes="Method to check hours worked today by a list of drivers or by all drivers of a company optionally assigned to a route schedule.")
+    @RequestMapping(method = RequestMethod.POST, produces="application/json", value="/checkHoursBulk")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully checked hours"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * Check whether many drivers can legally work additional hours. Drivers are either listed individually or selected
+     * by company and optionally route schedule. All drivers are found with one query and their hours are served from
+     * memory. Listed drivers which could not be found are not included in the response.
+     * @param checkHoursBulkRequest a <code>CheckHoursBulkRequest</code> object containing the drivers to check hours for.
+     * @return a <code>ResponseEntity</code> of <code>CheckHoursBulkResponse</code> if the operation was performed
+     * successfully or a bad request if neither drivers nor a company were supplied or a listed driver was not valid.
+     */
+    public ResponseEntity<CheckHoursBulkResponse> checkHoursBulk ( @RequestBody final CheckHoursBulkRequest checkHoursBulkRequest ) {
+        List<CheckDriverHoursItemResponse> driverHoursResponseList = new ArrayList<>();
+        Map<Long, CheckDriverHoursItemResponse> responsesByDriverId = new LinkedHashMap<>();
+        if ( checkHoursBulkRequest.getDriverList() != null && !checkHoursBulkRequest.getDriverList().isEmpty() ) {
+            Map<String, RetrieveDriverRequest> driversByNaturalKeyHash = new LinkedHashMap<>();
+            for ( RetrieveDriverRequest retrieveDriverRequest : checkHoursBulkRequest.getDriverList() ) {
+                if ( retrieveDriverRequest == null || retrieveDriverRequest.getDateOfBirth() == null || !validateRetrieveDriverRequest(retrieveDriverRequest) ) {
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+                driversByNaturalKeyHash.put(DriverNaturalKey.hash(convertStringToDate(retrieveDriverRequest.getDateOfBirth()),
+                        retrieveDriverRequest.getName(), retrieveDriverRequest.getCompany()), retrieveDriverRequest);
+            }
+            Map<String, Long> driverIds = driverService.findDriverIdsByNaturalKeyHashes(driversByNaturalKeyHash.keySet());
+            for ( Map.Entry<String, RetrieveDriverRequest> driverByNaturalKeyHash : driversByNaturalKeyHash.entrySet() ) {
+                Long driverId = driverIds.get(driverByNaturalKeyHash.getKey());
+                if ( driverId != null ) {
+                    RetrieveDriverRequest retrieveDriverRequest = driverByNaturalKeyHash.getValue();
+                    responsesByDriverId.put(driverId, createCheckDriverHoursItemResponse(retrieveDriverRequest.getName(),
+                            retrieveDriverRequest.getDateOfBirth(), retrieveDriverRequest.getCompany()));
+                }
+            }
+        } else if ( checkHoursBulkRequest.getCompany() != null ) {
+            for ( DriverSummary driverSummary : driverService.getRoster(checkHoursBulkRequest.getCompany(), checkHoursBulkRequest.getAssignedRouteSchedule()) ) {
+                responsesByDriverId.put(driverSummary.getId(), createCheckDriverHoursItemResponse(driverSummary.getName(),
+                        convertDateToString(driverSummary.getDateOfBirth()), driverSummary.getCompany()));
+            }
+        } else {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Map<Long, String> companiesByDriverId = new HashMap<>();
+        for ( Map.Entry<Long, CheckDriverHoursItemResponse> responseByDriverId : responsesByDriverId.entrySet() ) {
+            companiesByDriverId.put(responseByDriverId.getKey(), responseByDriverId.getValue().getCompany());
+        }
+        Map<Long, WorkingTimeCheck> workingTimeChecks = workingTimeService.checkWorkingTime(companiesByDriverId);
+        for ( Map.Entry<Long, CheckDriverHoursItemResponse> responseByDriverId : responsesByDriverId.entrySet() ) {
+            setWorkingTimeCheck(responseByDriverId.getValue(), workingTimeChecks.get(responseByDriverId.getKey()));
+            driverHoursResponseList.add(responseByDriverId.getValue());
+        }
+        CheckHoursBulkResponse checkHoursBulkResponse = new CheckHoursBulkResponse();
+        checkHoursBulkResponse.setDriverHoursResponseList(driverHoursResponseList);
+        return new ResponseEntity<>(checkHoursBulkResponse, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Get available drivers", notes="Method to get the drivers of a company who may still work at least a number of hours today together with the number of drivers for each number of remaining hours.")
+    @RequestMapping(method = RequestMethod.GET, produces="application/json", value="/availableDrivers")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully retrieved available drivers"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * List the drivers of a company who may still work at least the supplied number of hours today. The drivers are
+     * served from the in-memory availability index which is only loaded from the database the first time that a
+     * company is requested each day.
+     * @param company a <code>String</code> containing the company.
+     * @param minHours a <code>int</code> containing the number of hours that the drivers must still be able to work which defaults to 1.
+     * @return a <code>ResponseEntity</code> of <code>AvailableDriversResponse</code> containing the available drivers
+     * or bad request if the minimum hours are less than 1.
+     */
+    public ResponseEntity<AvailableDriversResponse> getAvailableDrivers ( @RequestParam("company") final String company,
+                                                                          @RequestParam(value="minHours", defaultValue="1") final int minHours ) {
+        if ( minHours < 1 ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        DriverAvailability driverAvailability = driverAvailabilityService.getAvailableDrivers(company, minHours);
+        List<CheckDriverHoursItemResponse> availableDriverResponseList = new ArrayList<>(driverAvailability.getAvailableDrivers().size());
+        for ( AvailableDriver availableDriver : driverAvailability.getAvailableDrivers() ) {
+            DriverSummary driverSummary = availableDriver.getDriverSummary();
+            CheckDriverHoursItemResponse checkDriverHoursItemResponse = createCheckDriverHoursItemResponse(driverSummary.getName(),
+                    convertDateToString(driverSummary.getDateOfBirth()), driverSummary.getCompany());
+            setWorkingTimeCheck(checkDriverHoursItemResponse, availableDriver.getWorkingTimeCheck());
+            availableDriverResponseList.add(checkDriverHoursItemResponse);
+        }
+        List<RemainingHoursCountResponse> remainingHoursCountResponseList = new ArrayList<>();
+        int[] numDriversByRemainingHours = driverAvailability.getNumDriversByRemainingHours();
+        for ( int remainingHours = 0; remainingHours < numDriversByRemainingHours.length; remainingHours++ ) {
+            if ( numDriversByRemainingHours[remainingHours] > 0 ) {
+                RemainingHoursCountResponse remainingHoursCountResponse = new RemainingHoursCountResponse();
+                remainingHoursCountResponse.setRemainingHours(remainingHours);
+                remainingHoursCountResponse.setNumDrivers(numDriversByRemainingHours[remainingHours]);
+                remainingHoursCountResponseList.add(remainingHoursCountResponse);
+            }
+        }
+        AvailableDriversResponse availableDriversResponse = new AvailableDriversResponse();
+        availableDriversResponse.setCompany(company);
+        availableDriversResponse.setDate(convertDateToString(driverAvailability.getDate()));
+        availableDriversResponse.setNumAvailableDrivers(availableDriverResponseList.size());
+        availableDriversResponse.setAvailableDriverResponseList(availableDriverResponseList);
+        availableDriversResponse.setRemainingHoursCountResponseList(remainingHoursCountResponseList);
+        return new ResponseEntity<>(availableDriversResponse, HttpStatus.OK);
+    }
+
     @ApiOperation(value = "Pay drivers", notes="Method to pay drivers from a particular company for a particular period of time. Return amount paid out.")
     @RequestMapping(method = RequestMethod.POST, produces="application/json", value="/payDrivers")
-    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully paid drivers"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully paid drivers"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=409,message="Drivers are already being paid"), @ApiResponse(code=500,message="Database not available")})
     /**
      * Pay Drivers according to the specified request and return a response containing the amount used to pay the drivers.
+     * Hours which have already been paid are not paid again.
      * @param payDriversRequest a <code>PayDriversRequest</code> containing the drivers to pay.
      * @return a <code>ResponseEntity</code> of <code>PayDriversResponse</code> containing the amount paid or
-     * a bad request if the validation was not successful.
+     * a bad request if the validation was not successful or conflict if another payroll run for the company is
+     * paying the same hours.
      */
     public ResponseEntity<PayDriversResponse> payDrivers ( @RequestBody final PayDriversRequest payDriversRequest ) {
         if ( payDriversRequest.getCompany() == null || payDriversRequest.getFromDate() == null || payDriversRequest.getToDate() == null ) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } else {
-            BigDecimal totalPaid = driverService.payDrivers(payDriversRequest.getCompany(), convertStringToDate(payDriversRequest.getFromDate()), convertStringToDate(payDriversRequest.getToDate()));
+            Money totalPaid;
+            try {
+                totalPaid = driverService.payDrivers(payDriversRequest.getCompany(), convertStringToDate(payDriversRequest.getFromDate()), convertStringToDate(payDriversRequest.getToDate()));
+            } catch ( ConcurrencyFailureException concurrencyFailureException ) {
+                return new ResponseEntity<>(HttpStatus.CONFLICT);
+            }
             PayDriversResponse payDriversResponse = new PayDriversResponse();
-            payDriversResponse.setTotalPayout(totalPaid.toString());
+            payDriversResponse.setTotalPayout(totalPaid.toBigDecimal().toString());
             return new ResponseEntity<>(payDriversResponse, HttpStatus.OK);
         }
     }
 
+    @ApiOperation(value = "Pay drivers of several companies", notes="Method to pay the drivers of several or all companies for a particular period of time in parallel. Return the amount paid out by each company.")
+    @RequestMapping(method = RequestMethod.POST, produces="application/json", value="/payCompanies")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully paid drivers"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=409,message="Drivers are already being paid"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * Pay the drivers of the companies in the specified request, or of all companies if no companies are specified,
+     * and return a response containing the amount paid by each company. Hours which have already been paid are not
+     * paid again, so the request can be repeated if it fails part way through.
+     * @param payCompaniesRequest a <code>PayCompaniesRequest</code> containing the companies and the period to pay.
+     * @return a <code>ResponseEntity</code> of <code>PayCompaniesResponse</code> containing the amounts paid or
+     * a bad request if the validation was not successful or conflict if another payroll run is paying the same hours.
+     */
+    public ResponseEntity<PayCompaniesResponse> payCompanies ( @RequestBody final PayCompaniesRequest payCompaniesRequest ) {
+        if ( !driverRequestValidator.validateDate(payCompaniesRequest.getFromDate()) || !driverRequestValidator.validateDate(payCompaniesRequest.getToDate()) ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<CompanyPayrollTotal> companyTotals;
+        try {
+            companyTotals = parallelPayrollService.payCompanies(payCompaniesRequest.getCompanies(), convertStringToDate(payCompaniesRequest.getFromDate()), convertStringToDate(payCompaniesRequest.getToDate()));
+        } catch ( ConcurrencyFailureException concurrencyFailureException ) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        long totalPayoutMinorUnits = 0;
+        long driversPaid = 0;
+        List<CompanyPayoutResponse> companyPayoutResponses = new ArrayList<>(companyTotals.size());
+        for ( CompanyPayrollTotal companyTotal : companyTotals ) {
+            CompanyPayoutResponse companyPayoutResponse = new CompanyPayoutResponse();
+            companyPayoutResponse.setCompany(companyTotal.getCompany());
+            companyPayoutResponse.setDriversProcessed(companyTotal.getDriversProcessed());
+            companyPayoutResponse.setDriversPaid(companyTotal.getDriversPaid());
+            companyPayoutResponse.setTotalPayout(Money.ofMinorUnits(companyTotal.getTotalPayoutMinorUnits()).toBigDecimal().toString());
+            companyPayoutResponses.add(companyPayoutResponse);
+            totalPayoutMinorUnits = Money.add(totalPayoutMinorUnits, companyTotal.getTotalPayoutMinorUnits());
+            driversPaid += companyTotal.getDriversPaid();
+        }
+        PayCompaniesResponse payCompaniesResponse = new PayCompaniesResponse();
+        payCompaniesResponse.setTotalPayout(Money.ofMinorUnits(totalPayoutMinorUnits).toBigDecimal().toString());
+        payCompaniesResponse.setDriversPaid(driversPaid);
+        payCompaniesResponse.setCompanyPayoutResponses(companyPayoutResponses);
+        return new ResponseEntity<>(payCompaniesResponse, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Get driver payout total", notes="Method to get the amount paid to a driver for the hours worked within a date range.")
+    @RequestMapping(method = RequestMethod.GET, produces="application/json", value="/driverPayoutTotal")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully retrieved payout total"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * Sum the payments to a driver for the hours worked within a date range.
+     * @param name a <code>String</code> containing the name of the driver.
+     * @param dateOfBirth a <code>String</code> containing the date of the birth for the driver.
+     * @param company a <code>String</code> containing the company of the driver.
+     * @param fromDate a <code>String</code> containing the first work date to include in format dd-MM-yyyy.
+     * @param toDate a <code>String</code> containing the last work date to include in format dd-MM-yyyy.
+     * @return a <code>ResponseEntity</code> of <code>PayoutTotalResponse</code> containing the total or bad request if
+     * the parameters are invalid or an internal server error if the driver could not be found.
+     */
+    public ResponseEntity<PayoutTotalResponse> getDriverPayoutTotal ( @RequestParam("name") final String name, @RequestParam("dateOfBirth") final String dateOfBirth,
+                                                                    @RequestParam("company") final String company, @RequestParam("fromDate") final String fromDate,
+                                                                    @RequestParam("toDate") final String toDate ) {
+        if ( !driverRequestValidator.validateDate(dateOfBirth) || !driverRequestValidator.validateDate(fromDate) || !driverRequestValidator.validateDate(toDate) ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Long driverId = driverService.findDriverIdByDateOfBirthAndNameAndCompany(convertStringToDate(dateOfBirth), name, company);
+        if ( driverId == null ) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        PayoutTotal payoutTotal = driverService.getPayoutTotalForDriver(driverId, convertStringToDate(fromDate), convertStringToDate(toDate));
+        return new ResponseEntity<>(convertPayoutTotal(payoutTotal, fromDate, toDate), HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Get company payout total", notes="Method to get the amount paid by a company to all drivers for the hours worked within a date range.")
+    @RequestMapping(method = RequestMethod.GET, produces="application/json", value="/companyPayoutTotal")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully retrieved payout total"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * Sum the payments of a company for the hours worked within a date range.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDate a <code>String</code> containing the first work date to include in format dd-MM-yyyy.
+     * @param toDate a <code>String</code> containing the last work date to include in format dd-MM-yyyy.
+     * @return a <code>ResponseEntity</code> of <code>PayoutTotalResponse</code> containing the total or bad request if
+     * the parameters are invalid.
+     */
+    public ResponseEntity<PayoutTotalResponse> getCompanyPayoutTotal ( @RequestParam("company") final String company, @RequestParam("fromDate") final String fromDate,
+                                                                     @RequestParam("toDate") final String toDate ) {
+        if ( !driverRequestValidator.validateDate(fromDate) || !driverRequestValidator.validateDate(toDate) ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        PayoutTotal payoutTotal = driverService.getPayoutTotalForCompany(company, convertStringToDate(fromDate), convertStringToDate(toDate));
+        return new ResponseEntity<>(convertPayoutTotal(payoutTotal, fromDate, toDate), HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Get weekly hours", notes="Method to get the hours of each driver of a company for each ISO week within a date range to compare them with the contracted hours.")
+    @RequestMapping(method = RequestMethod.GET, produces="application/json", value="/weeklyHours")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully retrieved weekly hours"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * List the hours of each driver of a company for each ISO week which overlaps a date range.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDate a <code>String</code> containing the first date of the range in format dd-MM-yyyy.
+     * @param toDate a <code>String</code> containing the last date of the range in format dd-MM-yyyy.
+     * @return a <code>ResponseEntity</code> of <code>DriverHoursRollupsResponse</code> containing the weekly hours or
+     * bad request if the parameters are invalid.
+     */
+    public ResponseEntity<DriverHoursRollupsResponse> getWeeklyHours ( @RequestParam("company") final String company, @RequestParam("fromDate") final String fromDate,
+                                                                       @RequestParam("toDate") final String toDate ) {
+        if ( !driverRequestValidator.validateDate(fromDate) || !driverRequestValidator.validateDate(toDate) ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<DriverHoursRollup> driverHoursRollups = hoursRollupService.getWeeklyHours(company, convertStringToDate(fromDate), convertStringToDate(toDate));
+        List<DriverHoursRollupResponse> driverHoursRollupResponseList = new ArrayList<>(driverHoursRollups.size());
+        for ( DriverHoursRollup driverHoursRollup : driverHoursRollups ) {
+            LocalDate weekStart = driverHoursRollup.getPeriodStart();
+            driverHoursRollupResponseList.add(convertDriverHoursRollup(driverHoursRollup, String.format("%d-W%02d",
+                    weekStart.get(IsoFields.WEEK_BASED_YEAR), weekStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR))));
+        }
+        return new ResponseEntity<>(convertDriverHoursRollups(company, fromDate, toDate, driverHoursRollupResponseList), HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Get monthly hours", notes="Method to get the hours of each driver of a company for each month within a date range.")
+    @RequestMapping(method = RequestMethod.GET, produces="application/json", value="/monthlyHours")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully retrieved monthly hours"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * List the hours of each driver of a company for each month which overlaps a date range.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDate a <code>String</code> containing the first date of the range in format dd-MM-yyyy.
+     * @param toDate a <code>String</code> containing the last date of the range in format dd-MM-yyyy.
+     * @return a <code>ResponseEntity</code> of <code>DriverHoursRollupsResponse</code> containing the monthly hours or
+     * bad request if the parameters are invalid.
+     */
+    public ResponseEntity<DriverHoursRollupsResponse> getMonthlyHours ( @RequestParam("company") final String company, @RequestParam("fromDate") final String fromDate,
+                                                                        @RequestParam("toDate") final String toDate ) {
+        if ( !driverRequestValidator.validateDate(fromDate) || !driverRequestValidator.validateDate(toDate) ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<DriverHoursRollup> driverHoursRollups = hoursRollupService.getMonthlyHours(company, convertStringToDate(fromDate), convertStringToDate(toDate));
+        List<DriverHoursRollupResponse> driverHoursRollupResponseList = new ArrayList<>(driverHoursRollups.size());
+        for ( DriverHoursRollup driverHoursRollup : driverHoursRollups ) {
+            LocalDate monthStart = driverHoursRollup.getPeriodStart();
+            driverHoursRollupResponseList.add(convertDriverHoursRollup(driverHoursRollup, String.format("%d-%02d", monthStart.getYear(), monthStart.getMonthValue())));
+        }
+        return new ResponseEntity<>(convertDriverHoursRollups(company, fromDate, toDate, driverHoursRollupResponseList), HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Get company daily hours", notes="Method to get the hours worked by all drivers of a company on each day within a date range.")
+    @RequestMapping(method = RequestMethod.GET, produces="application/json", value="/companyDailyHours")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully retrieved company daily hours"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=500,message="Database not available")})
+    /**
+     * List the hours worked by all drivers of a company on each day within a date range.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDate a <code>String</code> containing the first date to include in format dd-MM-yyyy.
+     * @param toDate a <code>String</code> containing the last date to include in format dd-MM-yyyy.
+     * @return a <code>ResponseEntity</code> of <code>CompanyDailyHoursResponse</code> containing the daily hours or
+     * bad request if the parameters are invalid.
+     */
+    public ResponseEntity<CompanyDailyHoursResponse> getCompanyDailyHours ( @RequestParam("company") final String company, @RequestParam("fromDate") final String fromDate,
+                                                                            @RequestParam("toDate") final String toDate ) {
+        if ( !driverRequestValidator.validateDate(fromDate) || !driverRequestValidator.validateDate(toDate) ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<CompanyDailyHours> companyDailyHoursList = hoursRollupService.getCompanyDailyHours(company, convertStringToDate(fromDate), convertStringToDate(toDate));
+        List<DailyHoursResponse> dailyHoursResponseList = new ArrayList<>(companyDailyHoursList.size());
+        long totalHours = 0;
+        for ( CompanyDailyHours companyDailyHours : companyDailyHoursList ) {
+            DailyHoursResponse dailyHoursResponse = new DailyHoursResponse();
+            dailyHoursResponse.setDate(convertDateToString(companyDailyHours.getWorkDate()));
+            dailyHoursResponse.setHours(companyDailyHours.getHours());
+            dailyHoursResponseList.add(dailyHoursResponse);
+            totalHours += companyDailyHours.getHours();
+        }
+        CompanyDailyHoursResponse companyDailyHoursResponse = new CompanyDailyHoursResponse();
+        companyDailyHoursResponse.setCompany(company);
+        companyDailyHoursResponse.setFromDate(fromDate);
+        companyDailyHoursResponse.setToDate(toDate);
+        companyDailyHoursResponse.setTotalHours(totalHours);
+        companyDailyHoursResponse.setDailyHoursResponseList(dailyHoursResponseList);
+        return new ResponseEntity<>(companyDailyHoursResponse, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Submit a payroll job", notes="Method to pay drivers from a particular company for a particular period of time in the background. Return the job which can be polled for its progress and the amount paid out.")
+    @RequestMapping(method = RequestMethod.POST, produces="application/json", value="/submitPayrollJob")
+    @ApiResponses(value = {@ApiResponse(code=202,message="Successfully submitted payroll job"), @ApiResponse(code=400,message="Input was not valid"), @ApiResponse(code=409,message="A payroll job for the company is already active"), @ApiResponse(code=503,message="Too many payroll jobs are waiting")})
+    /**
+     * Submit a payroll job according to the specified request and return the queued job.
+     * @param payDriversRequest a <code>PayDriversRequest</code> containing the drivers to pay.
+     * @return a <code>ResponseEntity</code> of <code>PayrollJobResponse</code> containing the queued job or a bad
+     * request if the validation was not successful or conflict if a job for the company is already active or service
+     * unavailable if too many jobs are waiting.
+     */
+    public ResponseEntity<PayrollJobResponse> submitPayrollJob ( @RequestBody final PayDriversRequest payDriversRequest ) {
+        if ( payDriversRequest.getCompany() == null || !driverRequestValidator.validateDate(payDriversRequest.getFromDate()) || !driverRequestValidator.validateDate(payDriversRequest.getToDate()) ) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        PayrollJob payrollJob;
+        try {
+            payrollJob = payrollJobService.submitJob(payDriversRequest.getCompany(), convertStringToDate(payDriversRequest.getFromDate()), convertStringToDate(payDriversRequest.getToDate()));
+        } catch ( TaskRejectedException taskRejectedException ) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if ( payrollJob == null ) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        return new ResponseEntity<>(convertPayrollJob(payrollJob), HttpStatus.ACCEPTED);
+    }
+
+    @ApiOperation(value = "Get a payroll job", notes="Method to get the status and progress of a payroll job and the amount paid out once it has completed.")
+    @RequestMapping(method = RequestMethod.GET, produces="application/json", value="/payrollJob")
+    @ApiResponses(value = {@ApiResponse(code=200,message="Successfully found payroll job"), @ApiResponse(code=404,message="Payroll job not found")})
+    /**
+     * Get the status and progress of a payroll job.
+     * @param jobId a <code>long</code> containing the identifier of the job.
+     * @return a <code>ResponseEntity</code> of <code>PayrollJobResponse</code> containing the job or not found if
+     * there is no job with the identifier.
+     */
+    public ResponseEntity<PayrollJobResponse> getPayrollJob ( @RequestParam("jobId") final long jobId ) {
+        PayrollJob payrollJob = payrollJobService.getJob(jobId);
+        if ( payrollJob == null ) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(convertPayrollJob(payrollJob), HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Resume a payroll job", notes="Method to resume a failed payroll job after the last chunk of drivers which was paid.")
+    @RequestMapping(method = RequestMethod.POST, produces="application/json", value="/resumePayrollJob")
+    @ApiResponses(value = {@ApiResponse(code=202,message="Successfully resumed payroll job"), @ApiResponse(code=404,message="Payroll job not found"), @ApiResponse(code=409,message="Payroll job has not failed or another job for the company is active"), @ApiResponse(code=503,message="Too many payroll jobs are waiting")})
+    /**
+     * Resume a failed payroll job.
+     * @param jobId a <code>long</code> containing the identifier of the job.
+     * @return a <code>ResponseEntity</code> of <code>PayrollJobResponse</code> containing the queued job or not found
+     * if there is no job with the identifier or conflict if the job has not failed or service unavailable if too many
+     * jobs are waiting.
+     */
+    public ResponseEntity<PayrollJobResponse> resumePayrollJob ( @RequestParam("jobId") final long jobId ) {
+        if ( payrollJobService.getJob(jobId) == null ) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        PayrollJob payrollJob;
+        try {
+            payrollJob = payrollJobService.resumeJob(jobId);
+        } catch ( TaskRejectedException taskRejectedException ) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if ( payrollJob == null ) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        return new ResponseEntity<>(convertPayrollJob(payrollJob), HttpStatus.ACCEPTED);
+    }
+
     @ApiOperation(value = "Assign route duty for driver", notes="Method to assign route duty for driver.")
     @RequestMapping(method = RequestMethod.POST, produces="text/plain", value="/assignRoute")
     @ResponseBody
@@ -262,6 +943,82 @@ public class DriverOperationsRestController {
         }
     }
 
+    /**
+     * Create a check driver hours response for one driver of a bulk request without the hours.
+     * @param name a <code>String</code> containing the name of the driver.
+     * @param dateOfBirth a <code>String</code> containing the date of birth of the driver in format dd-MM-yyyy.
+     * @param company a <code>String</code> containing the company of the driver.
+     * @return a <code>CheckDriverHoursItemResponse</code> object identifying the driver.
+     */
+    private CheckDriverHoursItemResponse createCheckDriverHoursItemResponse ( final String name, final String dateOfBirth, final String company ) {
+        CheckDriverHoursItemResponse checkDriverHoursItemResponse = new CheckDriverHoursItemResponse();
+        checkDriverHoursItemResponse.setName(name);
+        checkDriverHoursItemResponse.setDateOfBirth(dateOfBirth);
+        checkDriverHoursItemResponse.setCompany(company);
+        return checkDriverHoursItemResponse;
+    }
+
+    /**
+     * Copy the result of a working time check into a response of the Rest API.
+     * @param checkDriverHoursResponse a <code>CheckDriverHoursResponse</code> object to fill.
+     * @param workingTimeCheck a <code>WorkingTimeCheck</code> object containing the result of the check.
+     */
+    private void setWorkingTimeCheck ( final CheckDriverHoursResponse checkDriverHoursResponse, final WorkingTimeCheck workingTimeCheck ) {
+        checkDriverHoursResponse.setFurtherHoursAllowed(workingTimeCheck.isFurtherHoursAllowed());
+        checkDriverHoursResponse.setRemainingHours(workingTimeCheck.getRemainingHours());
+        checkDriverHoursResponse.setLimitingRule(workingTimeCheck.getLimitingRule().getText());
+    }
+
+    /**
+     * Create an empty response for a bulk request to track hours.
+     * @return a <code>TrackHoursBulkResponse</code> object without any items.
+     */
+    private TrackHoursBulkResponse createTrackHoursBulkResponse ( ) {
+        TrackHoursBulkResponse trackHoursBulkResponse = new TrackHoursBulkResponse();
+        trackHoursBulkResponse.setItemResponseList(new ArrayList<>());
+        return trackHoursBulkResponse;
+    }
+
+    /**
+     * Track the hours of one chunk of a bulk request. All drivers of the chunk are resolved with one query and all
+     * hours are written in one transaction. The result of each item is added to the supplied response.
+     * @param chunk a <code>List</code> of <code>DriverHoursRequest</code> objects containing the hours to add.
+     * @param firstIndex a <code>int</code> containing the position of the first item of the chunk in the bulk request.
+     * @param trackHoursBulkResponse a <code>TrackHoursBulkResponse</code> object to add the results to.
+     */
+    private void trackHoursChunk ( final List<DriverHoursRequest> chunk, final int firstIndex, final TrackHoursBulkResponse trackHoursBulkResponse ) {
+        String[] naturalKeyHashes = new String[chunk.size()];
+        for ( int i = 0; i < chunk.size(); i++ ) {
+            DriverHoursRequest driverHoursRequest = chunk.get(i);
+            if ( driverHoursRequest != null && driverHoursRequest.getDateOfBirth() != null && validateRetrieveDriverRequest(driverHoursRequest) && driverHoursRequest.getHours() > 0 ) {
+                naturalKeyHashes[i] = DriverNaturalKey.hash(convertStringToDate(driverHoursRequest.getDateOfBirth()), driverHoursRequest.getName(), driverHoursRequest.getCompany());
+            }
+        }
+        Set<String> validNaturalKeyHashes = new HashSet<>(Arrays.asList(naturalKeyHashes));
+        validNaturalKeyHashes.remove(null);
+        Map<String, Long> driverIds = validNaturalKeyHashes.isEmpty() ? Collections.emptyMap() : driverService.findDriverIdsByNaturalKeyHashes(validNaturalKeyHashes);
+        //Sum the hours of drivers who appear more than once so that each driver is only written once.
+        Map<Long, Integer> hoursByDriverId = new HashMap<>();
+        for ( int i = 0; i < chunk.size(); i++ ) {
+            TrackHoursItemResponse trackHoursItemResponse = new TrackHoursItemResponse();
+            trackHoursItemResponse.setIndex(firstIndex + i);
+            Long driverId = naturalKeyHashes[i] != null ? driverIds.get(naturalKeyHashes[i]) : null;
+            if ( naturalKeyHashes[i] == null ) {
+                trackHoursItemResponse.setResult("INVALID");
+            } else if ( driverId == null ) {
+                trackHoursItemResponse.setResult("UNKNOWN_DRIVER");
+            } else {
+                hoursByDriverId.merge(driverId, chunk.get(i).getHours(), Integer::sum);
+                trackHoursItemResponse.setResult("TRACKED");
+                trackHoursBulkResponse.setTrackedCount(trackHoursBulkResponse.getTrackedCount() + 1);
+            }
+            trackHoursBulkResponse.getItemResponseList().add(trackHoursItemResponse);
+        }
+        if ( !hoursByDriverId.isEmpty() ) {
+            driverService.incrementDriverHours(LocalDate.now(), hoursByDriverId);
+        }
+    }
+
     /**
      * Validation rules:
      * all fields are required.
@@ -269,20 +1026,123 @@ public class DriverOperationsRestController {
      * @return true iff the input is correct.
      */
     public boolean validateInput ( final DriverRequest driverRequest ) {
-        if ( driverRequest.getContractedHours() < minContractedHours || driverRequest.getContractedHours() > maxContractedHours ) {
-            return false;
-        } else if ( !validateDate(driverRequest.getDateOfBirth()) ) {
-            return false;
-        } else if ( driverRequest.getName() == null ) {
-            return false;
-        } else if ( !validateHourlyWage(driverRequest.getHourlyWage())) {
-            return false;
-        } else if ( driverRequest.getSkills() == null ) {
-            return false;
-        } else if ( !validateDate(driverRequest.getStartDate())) {
-            return false;
+        return driverRequestValidator.validateInput(driverRequest);
+    }
+
+    /**
+     * Convert a driver to the driver response returned by the Rest API without any history.
+     * @param driver a <code>Driver</code> object to convert.
+     * @return a <code>DriverResponse</code> object containing the details of the driver.
+     */
+    private DriverResponse convertDriver ( final Driver driver ) {
+        DriverResponse driverResponse = new DriverResponse();
+        driverResponse.setContractedHours(driver.getContractedHours());
+        driverResponse.setDateOfBirth(convertDateToString(driver.getDateOfBirth()));
+        driverResponse.setName(driver.getName());
+        driverResponse.setHourlyWage(driver.getHourlyWage().toString());
+        driverResponse.setSkills(driver.getSkills());
+        driverResponse.setStartDate(convertDateToString(driver.getStartDate()));
+        driverResponse.setCompany(driver.getCompany());
+        driverResponse.setAssignedRouteSchedule(driver.getAssignedRouteSchedule());
+        driverResponse.setStatus(driver.getStatus().getText());
+        return driverResponse;
+    }
+
+    /**
+     * Convert a payroll job to the payroll job response returned by the Rest API.
+     * @param payrollJob a <code>PayrollJob</code> object to convert.
+     * @return a <code>PayrollJobResponse</code> object containing the status and progress of the job.
+     */
+    private PayrollJobResponse convertPayrollJob ( final PayrollJob payrollJob ) {
+        PayrollJobResponse payrollJobResponse = new PayrollJobResponse();
+        payrollJobResponse.setJobId(payrollJob.getId());
+        payrollJobResponse.setCompany(payrollJob.getCompany());
+        payrollJobResponse.setFromDate(convertDateToString(payrollJob.getFromDate()));
+        payrollJobResponse.setToDate(convertDateToString(payrollJob.getToDate()));
+        payrollJobResponse.setStatus(payrollJob.getStatus().getText());
+        payrollJobResponse.setTotalDrivers(payrollJob.getTotalDrivers());
+        payrollJobResponse.setDriversProcessed(payrollJob.getDriversProcessed());
+        payrollJobResponse.setDriversPaid(payrollJob.getDriversPaid());
+        if ( payrollJob.getStatus() == PayrollJobStatus.COMPLETED ) {
+            payrollJobResponse.setPercentComplete(100);
+            PayDriversResponse payDriversResponse = new PayDriversResponse();
+            payDriversResponse.setTotalPayout(payrollJob.getTotalPayout().toBigDecimal().toString());
+            payrollJobResponse.setPayDriversResponse(payDriversResponse);
+        } else if ( payrollJob.getTotalDrivers() > 0 ) {
+            //Drivers hired while the job runs can take the processed drivers past the total.
+            payrollJobResponse.setPercentComplete((int) Math.min(99, payrollJob.getDriversProcessed() * 100 / payrollJob.getTotalDrivers()));
+        }
+        payrollJobResponse.setErrorMessage(payrollJob.getErrorMessage());
+        return payrollJobResponse;
+    }
+
+    /**
+     * Convert a payout total to the response returned by the Rest API.
+     * @param payoutTotal a <code>PayoutTotal</code> object to convert.
+     * @param fromDate a <code>String</code> containing the first work date which is included in the total.
+     * @param toDate a <code>String</code> containing the last work date which is included in the total.
+     * @return a <code>PayoutTotalResponse</code> object containing the total.
+     */
+    private PayoutTotalResponse convertPayoutTotal ( final PayoutTotal payoutTotal, final String fromDate, final String toDate ) {
+        PayoutTotalResponse payoutTotalResponse = new PayoutTotalResponse();
+        payoutTotalResponse.setFromDate(fromDate);
+        payoutTotalResponse.setToDate(toDate);
+        payoutTotalResponse.setNumPayments(payoutTotal.getNumPayments());
+        payoutTotalResponse.setHoursPaid(payoutTotal.getHoursPaid());
+        payoutTotalResponse.setTotalPayout(payoutTotal.getTotalPayout().toBigDecimal().toString());
+        return payoutTotalResponse;
+    }
+
+    /**
+     * Convert the hours of a driver in a week or a month to the response returned by the Rest API.
+     * @param driverHoursRollup a <code>DriverHoursRollup</code> object to convert.
+     * @param period a <code>String</code> containing the label of the week or month.
+     * @return a <code>DriverHoursRollupResponse</code> object containing the hours.
+     */
+    private DriverHoursRollupResponse convertDriverHoursRollup ( final DriverHoursRollup driverHoursRollup, final String period ) {
+        DriverHoursRollupResponse driverHoursRollupResponse = new DriverHoursRollupResponse();
+        driverHoursRollupResponse.setName(driverHoursRollup.getName());
+        driverHoursRollupResponse.setDateOfBirth(convertDateToString(driverHoursRollup.getDateOfBirth()));
+        driverHoursRollupResponse.setPeriod(period);
+        driverHoursRollupResponse.setPeriodStart(convertDateToString(driverHoursRollup.getPeriodStart()));
+        driverHoursRollupResponse.setHours(driverHoursRollup.getHours());
+        driverHoursRollupResponse.setContractedHours(driverHoursRollup.getContractedHours());
+        return driverHoursRollupResponse;
+    }
+
+    /**
+     * Create the response containing the weekly or monthly hours of the drivers of a company.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDate a <code>String</code> containing the first date of the requested range.
+     * @param toDate a <code>String</code> containing the last date of the requested range.
+     * @param driverHoursRollupResponseList a <code>List</code> of <code>DriverHoursRollupResponse</code> objects containing the hours.
+     * @return a <code>DriverHoursRollupsResponse</code> object containing the hours.
+     */
+    private DriverHoursRollupsResponse convertDriverHoursRollups ( final String company, final String fromDate, final String toDate,
+                                                                   final List<DriverHoursRollupResponse> driverHoursRollupResponseList ) {
+        DriverHoursRollupsResponse driverHoursRollupsResponse = new DriverHoursRollupsResponse();
+        driverHoursRollupsResponse.setCompany(company);
+        driverHoursRollupsResponse.setFromDate(fromDate);
+        driverHoursRollupsResponse.setToDate(toDate);
+        driverHoursRollupsResponse.setDriverHoursRollupResponseList(driverHoursRollupResponseList);
+        return driverHoursRollupsResponse;
+    }
+
+    /**
+     * Convert driver history entries to the driver history responses returned by the Rest API.
+     * @param driverHistoryList a <code>List</code> of <code>DriverHistory</code> objects to convert.
+     * @return a <code>List</code> of <code>DriverHistoryResponse</code> objects in the same order.
+     */
+    private List<DriverHistoryResponse> convertDriverHistory ( final List<DriverHistory> driverHistoryList ) {
+        List<DriverHistoryResponse> driverHistoryResponseList = new ArrayList<>(driverHistoryList.size());
+        for ( DriverHistory driverHistory : driverHistoryList ) {
+            DriverHistoryResponse driverHistoryResponse = new DriverHistoryResponse();
+            driverHistoryResponse.setComment(driverHistory.getComment());
+            driverHistoryResponse.setDate(convertDateToString(driverHistory.getDate()));
+            driverHistoryResponse.setStatus(driverHistory.getStatus().getText());
+            driverHistoryResponseList.add(driverHistoryResponse);
         }
-        return true;
+        return driverHistoryResponseList;
     }
 
     /**
@@ -304,42 +1164,13 @@ public class DriverOperationsRestController {
         return localDate.getDayOfMonth() + "-" + localDate.getMonthValue() + "-" + localDate.getYear();
     }
 
-    /**
-     * Validate date to ensure it exists as a valid date!
-     * @param date a <code>String</code> containing the date to validate in format dd-MM-yyyy.
-     * @return a <code>boolean</code> which is true iff the date is valid.
-     */
-    private boolean validateDate ( final String date ) {
-        SimpleDateFormat format = new SimpleDateFormat("dd-MM-yyyy");
-        format.setLenient(false);
-        try {
-            format.parse(date);
-            return true;
-        } catch (ParseException e) {
-            return false;
-        }
-    }
-
-    /**
-     * Validate hourly wage to ensure it is between min and max parameters.
-     * @param hourlyWage a <code>String</code> containing the hourly wage to validate.
-     * @return a <code>boolean</code> which is true iff the hourly wage is valid.
-     */
-    private boolean validateHourlyWage ( final String hourlyWage ) {
-        BigDecimal bigDecimalHourlyWage = new BigDecimal(hourlyWage);
-        if ( bigDecimalHourlyWage.compareTo(BigDecimal.valueOf(minHourlyWage)) < 0 || bigDecimalHourlyWage.compareTo(BigDecimal.valueOf(maxHourlyWage)) > 0 ) {
-            return false;
-        }
-        return true;
-    }
-
     /**
      * Validate request to ensure name, date of birth and company are not null.
      * @param retrieveDriverRequest a <code>RetrieveDriverRequest</code> object to validate.
      * @return a <code>boolean</code> which is true iff the request is valid.
      */
     private boolean validateRetrieveDriverRequest ( final RetrieveDriverRequest retrieveDriverRequest ) {
-        return retrieveDriverRequest.getName() != null && retrieveDriverRequest.getCompany() != null && validateDate(retrieveDriverRequest.getDateOfBirth());
+        return retrieveDriverRequest.getName() != null && retrieveDriverRequest.getCompany() != null && driverRequestValidator.validateDate(retrieveDriverRequest.getDateOfBirth());
     }
 
 
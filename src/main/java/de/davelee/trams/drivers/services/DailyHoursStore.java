@@ -0,0 +1,259 @@
+package de.davelee.trams.drivers.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class holds the hours that each driver has worked today in memory so that hours can be checked without
+ * querying the database. Hours are stored in primitive arrays split into independently locked stripes, so no
+ * objects are created per driver. All hours are discarded when the first access after midnight rolls the store over
+ * to the new day. The store only holds totals confirmed by the database. Because hours can also be corrected
+ * downwards, every total carries the version taken before it was read and a total is only replaced by one which was
+ * read later. Totals expire after a configured time so that hours tracked by other instances are read again.
+ * @author Dave Lee
+ */
+@Component
+public class DailyHoursStore {
+
+    /**
+     * The value returned if the hours of a driver are not known.
+     */
+    public static final int UNKNOWN = -1;
+
+    private static final int NUM_STRIPES = 16;
+
+    private final Clock clock;
+    private final long expireAfterWriteMillis;
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile Day currentDay;
+
+    @Autowired
+    /**
+     * Create a new store which uses the system clock to decide when to roll over.
+     * @param expireAfterWriteSeconds a <code>long</code> containing the number of seconds after which the hours of a driver are read again.
+     */
+    public DailyHoursStore(@Value("${driver.hours.store.expireAfterWriteSeconds}") final long expireAfterWriteSeconds) {
+        this(Clock.systemDefaultZone(), expireAfterWriteSeconds);
+    }
+
+    /**
+     * Create a new store which uses the supplied clock to decide when to roll over and when hours expire.
+     * @param clock a <code>Clock</code> object which supplies the current date and time.
+     * @param expireAfterWriteSeconds a <code>long</code> containing the number of seconds after which the hours of a driver are read again.
+     */
+    public DailyHoursStore(final Clock clock, final long expireAfterWriteSeconds) {
+        this.clock = clock;
+        this.expireAfterWriteMillis = TimeUnit.SECONDS.toMillis(expireAfterWriteSeconds);
+        this.currentDay = new Day(LocalDate.now(clock));
+    }
+
+    /**
+     * Return the current date of the store, rolling the store over if the date has changed.
+     * @return a <code>LocalDate</code> containing the current date.
+     */
+    public LocalDate getToday() {
+        return getCurrentDay().date;
+    }
+
+    /**
+     * Return the hours that a driver has worked today.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @return a <code>int</code> containing the hours worked today or <code>UNKNOWN</code> if the hours are not stored or have expired.
+     */
+    public int get(final long driverId) {
+        return getCurrentDay().stripeFor(driverId).get(driverId, clock.millis() - expireAfterWriteMillis);
+    }
+
+    /**
+     * Return a version which must be taken before the total hours of a driver are read from the database and supplied
+     * when the total is stored.
+     * @return a <code>long</code> containing the version.
+     */
+    public long nextVersion() {
+        return versions.incrementAndGet();
+    }
+
+    /**
+     * Store the total hours that a driver has worked on a date confirmed by the database. The total is ignored if the
+     * date is not today or if a total which was read later has already been stored.
+     * @param version a <code>long</code> containing the version taken before the total was read.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param totalHours a <code>int</code> containing the total hours worked on the date.
+     */
+    public void put(final long version, final long driverId, final LocalDate workDate, final int totalHours) {
+        Day day = getCurrentDay();
+        if ( day.date.equals(workDate) ) {
+            day.stripeFor(driverId).put(version, driverId, totalHours, clock.millis());
+        }
+    }
+
+    /**
+     * Return the hours of the current day, replacing them with empty hours if the date has changed.
+     * @return a <code>Day</code> object containing the hours of the current day.
+     */
+    private Day getCurrentDay() {
+        Day day = currentDay;
+        LocalDate today = LocalDate.now(clock);
+        if ( !day.date.equals(today) ) {
+            synchronized (this) {
+                day = currentDay;
+                if ( day.date.isBefore(today) ) {
+                    day = new Day(today);
+                    currentDay = day;
+                }
+            }
+        }
+        return day;
+    }
+
+    /**
+     * This class holds the hours of all drivers for one day.
+     */
+    private static class Day {
+
+        private final LocalDate date;
+        private final Stripe[] stripes = new Stripe[NUM_STRIPES];
+
+        /**
+         * Create empty hours for the supplied date.
+         * @param date a <code>LocalDate</code> containing the date.
+         */
+        Day(final LocalDate date) {
+            this.date = date;
+            for ( int i = 0; i < stripes.length; i++ ) {
+                stripes[i] = new Stripe();
+            }
+        }
+
+        /**
+         * Return the stripe holding the hours of the supplied driver.
+         * @param driverId a <code>long</code> containing the identifier of the driver.
+         * @return a <code>Stripe</code> object holding the hours of the driver.
+         */
+        Stripe stripeFor(final long driverId) {
+            return stripes[(int) (mix(driverId) >>> 60) & (NUM_STRIPES - 1)];
+        }
+    }
+
+    /**
+     * This class is an open addressing hash map from driver identifiers to hours using linear probing.
+     */
+    private static class Stripe {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long[] driverIds = newDriverIds(INITIAL_CAPACITY);
+        private int[] hours = new int[INITIAL_CAPACITY];
+        private long[] versions = new long[INITIAL_CAPACITY];
+        private long[] writeTimes = new long[INITIAL_CAPACITY];
+        private int size;
+
+        /**
+         * Return the hours stored for a driver.
+         * @param driverId a <code>long</code> containing the identifier of the driver.
+         * @param expiryTime a <code>long</code> containing the time in milliseconds before which stored hours have expired.
+         * @return a <code>int</code> containing the hours or <code>UNKNOWN</code> if none are stored or they have expired.
+         */
+        synchronized int get(final long driverId, final long expiryTime) {
+            int slot = findSlot(driverIds, driverId);
+            return driverIds[slot] == driverId && writeTimes[slot] >= expiryTime ? hours[slot] : UNKNOWN;
+        }
+
+        /**
+         * Store the hours for a driver unless hours with a later version are already stored.
+         * @param version a <code>long</code> containing the version taken before the hours were read.
+         * @param driverId a <code>long</code> containing the identifier of the driver.
+         * @param totalHours a <code>int</code> containing the hours to store.
+         * @param writeTime a <code>long</code> containing the current time in milliseconds.
+         */
+        synchronized void put(final long version, final long driverId, final int totalHours, final long writeTime) {
+            int slot = findSlot(driverIds, driverId);
+            if ( driverIds[slot] == driverId ) {
+                if ( version > versions[slot] ) {
+                    hours[slot] = totalHours;
+                    versions[slot] = version;
+                    writeTimes[slot] = writeTime;
+                }
+                return;
+            }
+            driverIds[slot] = driverId;
+            hours[slot] = totalHours;
+            versions[slot] = version;
+            writeTimes[slot] = writeTime;
+            //Keep the map at most half full so that probe sequences stay short.
+            if ( ++size * 2 > driverIds.length ) {
+                resize();
+            }
+        }
+
+        /**
+         * Double the capacity of the map and reinsert all entries.
+         */
+        private void resize() {
+            long[] oldDriverIds = driverIds;
+            int[] oldHours = hours;
+            long[] oldVersions = versions;
+            long[] oldWriteTimes = writeTimes;
+            driverIds = newDriverIds(oldDriverIds.length * 2);
+            hours = new int[oldHours.length * 2];
+            versions = new long[oldVersions.length * 2];
+            writeTimes = new long[oldWriteTimes.length * 2];
+            for ( int i = 0; i < oldDriverIds.length; i++ ) {
+                if ( oldDriverIds[i] != EMPTY ) {
+                    int slot = findSlot(driverIds, oldDriverIds[i]);
+                    driverIds[slot] = oldDriverIds[i];
+                    hours[slot] = oldHours[i];
+                    versions[slot] = oldVersions[i];
+                    writeTimes[slot] = oldWriteTimes[i];
+                }
+            }
+        }
+
+        /**
+         * Find the slot which either holds the supplied driver or is the empty slot where it should be inserted.
+         * @param driverIds a <code>long</code> array containing the driver identifiers of the map.
+         * @param driverId a <code>long</code> containing the identifier of the driver.
+         * @return a <code>int</code> containing the index of the slot.
+         */
+        private static int findSlot(final long[] driverIds, final long driverId) {
+            int mask = driverIds.length - 1;
+            int slot = (int) mix(driverId) & mask;
+            while ( driverIds[slot] != EMPTY && driverIds[slot] != driverId ) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Create an array of driver identifiers where every slot is empty.
+         * @param capacity a <code>int</code> containing the number of slots which must be a power of two.
+         * @return a <code>long</code> array containing empty slots.
+         */
+        private static long[] newDriverIds(final int capacity) {
+            long[] driverIds = new long[capacity];
+            Arrays.fill(driverIds, EMPTY);
+            return driverIds;
+        }
+    }
+
+    /**
+     * Spread the bits of a driver identifier so that consecutive identifiers are distributed evenly.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @return a <code>long</code> containing the mixed bits.
+     */
+    private static long mix(final long driverId) {
+        long mixed = driverId * 0x9E3779B97F4A7C15L;
+        return mixed ^ (mixed >>> 32);
+    }
+
+}
@@ -0,0 +1,335 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.data.AvailableDriver;
+import de.davelee.trams.drivers.data.DriverAvailability;
+import de.davelee.trams.drivers.data.DriverSummary;
+import de.davelee.trams.drivers.data.WorkingTimeCheck;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class holds for each company the drivers who may still work today in memory so that dispatch can find them
+ * without checking every driver. Each driver of a company is given a position when the company is indexed and the
+ * positions of the drivers with remaining hours are kept in a bitmap, together with the number of drivers for each
+ * number of remaining hours. The index of a company is only valid for the date on which it was loaded and must be
+ * loaded again on the next day. The index of a company also expires after the same time as the stored hours so that
+ * hours tracked by other instances are seen when the company is loaded again. Like the stores of hours every result carries the version taken before the working
+ * time was checked and a result only replaces one which was checked earlier, so a driver whose hours were corrected
+ * downwards becomes available again but a late update can never bring back an out of date result.
+ * @author Dave Lee
+ */
+@Component
+public class DriverAvailabilityIndex {
+
+    /**
+     * The highest number of remaining hours which is counted separately. Drivers with more remaining hours are counted
+     * together with the drivers who have exactly this many.
+     */
+    public static final int MAX_REMAINING_HOURS = 24;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Clock clock;
+    private final long expireAfterLoadMillis;
+
+    private final ConcurrentMap<String, CompanyIndex> companyIndexesByCompany = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, CompanyIndex> companyIndexesByDriverId = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    @Autowired
+    /**
+     * Create a new index which uses the system clock to decide which day is today.
+     * @param expireAfterLoadSeconds a <code>long</code> containing the number of seconds after which a company is loaded again.
+     */
+    public DriverAvailabilityIndex(@Value("${driver.hours.store.expireAfterWriteSeconds}") final long expireAfterLoadSeconds) {
+        this(Clock.systemDefaultZone(), expireAfterLoadSeconds);
+    }
+
+    /**
+     * Create a new index which uses the supplied clock to decide which day is today and when a company expires.
+     * @param clock a <code>Clock</code> object which supplies the current date and time.
+     * @param expireAfterLoadSeconds a <code>long</code> containing the number of seconds after which a company is loaded again.
+     */
+    public DriverAvailabilityIndex(final Clock clock, final long expireAfterLoadSeconds) {
+        this.clock = clock;
+        this.expireAfterLoadMillis = TimeUnit.SECONDS.toMillis(expireAfterLoadSeconds);
+    }
+
+    /**
+     * Return the current date of the index.
+     * @return a <code>LocalDate</code> containing the current date.
+     */
+    public LocalDate getToday() {
+        return LocalDate.now(clock);
+    }
+
+    /**
+     * Return a version which must be taken before the working time of drivers is checked and supplied when the results
+     * are stored in the index.
+     * @return a <code>long</code> containing the version.
+     */
+    public long nextVersion() {
+        return versions.incrementAndGet();
+    }
+
+    /**
+     * Check whether the drivers of a company have been indexed today and the index has not expired.
+     * @param company a <code>String</code> containing the company.
+     * @return a <code>boolean</code> which is true iff the company has been indexed today and the index has not expired.
+     */
+    public boolean isLoaded(final String company) {
+        return getCurrentIndex(company) != null;
+    }
+
+    /**
+     * Index all current drivers of a company for today, replacing any earlier index of the company.
+     * @param version a <code>long</code> containing the version taken before the working time of the drivers was checked.
+     * @param company a <code>String</code> containing the company.
+     * @param driverSummaries a <code>Collection</code> of <code>DriverSummary</code> objects containing the drivers of the company who have not been dismissed.
+     * @param workingTimeChecks a <code>Map</code> from the identifier of each driver to the result of checking their working time today.
+     */
+    public void load(final long version, final String company, final Collection<DriverSummary> driverSummaries, final Map<Long, WorkingTimeCheck> workingTimeChecks) {
+        CompanyIndex companyIndex = new CompanyIndex(company, getToday(), clock.millis());
+        for ( DriverSummary driverSummary : driverSummaries ) {
+            companyIndex.put(version, driverSummary, workingTimeChecks.get(driverSummary.getId()));
+            companyIndexesByDriverId.put(driverSummary.getId(), companyIndex);
+        }
+        companyIndexesByCompany.put(company, companyIndex);
+    }
+
+    /**
+     * Find the drivers of a company who may work at least the supplied number of further hours today.
+     * @param company a <code>String</code> containing the company.
+     * @param minHours a <code>int</code> containing the number of hours that the drivers must still be able to work which must be at least 1.
+     * @return a <code>DriverAvailability</code> object containing the drivers or null if the company has not been indexed today.
+     */
+    public DriverAvailability find(final String company, final int minHours) {
+        CompanyIndex companyIndex = getCurrentIndex(company);
+        return companyIndex != null ? companyIndex.find(minHours) : null;
+    }
+
+    /**
+     * Return the company of a driver if the company has been indexed today.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @return a <code>String</code> containing the company or null if the driver is not indexed today.
+     */
+    public String getCompany(final long driverId) {
+        CompanyIndex companyIndex = getCurrentIndex(driverId);
+        return companyIndex != null ? companyIndex.company : null;
+    }
+
+    /**
+     * Add a driver to the index of their company or replace the indexed values of the driver. The driver is ignored if
+     * their company has not been indexed today.
+     * @param version a <code>long</code> containing the version taken before the working time of the driver was checked.
+     * @param driverSummary a <code>DriverSummary</code> object containing the current values of the driver.
+     * @param workingTimeCheck a <code>WorkingTimeCheck</code> object containing the result of checking their working time today.
+     */
+    public void put(final long version, final DriverSummary driverSummary, final WorkingTimeCheck workingTimeCheck) {
+        CompanyIndex companyIndex = getCurrentIndex(driverSummary.getCompany());
+        if ( companyIndex != null ) {
+            companyIndex.put(version, driverSummary, workingTimeCheck);
+            companyIndexesByDriverId.put(driverSummary.getId(), companyIndex);
+        }
+    }
+
+    /**
+     * Store a new result of checking the working time of an indexed driver after their hours have changed. The result
+     * is ignored if the driver is not indexed today or if the indexed result was checked later.
+     * @param version a <code>long</code> containing the version taken before the working time of the driver was checked.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @param workingTimeCheck a <code>WorkingTimeCheck</code> object containing the result of checking their working time today.
+     */
+    public void merge(final long version, final long driverId, final WorkingTimeCheck workingTimeCheck) {
+        CompanyIndex companyIndex = getCurrentIndex(driverId);
+        if ( companyIndex != null ) {
+            companyIndex.merge(version, driverId, workingTimeCheck);
+        }
+    }
+
+    /**
+     * Remove a driver from the index of their company.
+     * @param driverId a <code>long</code> containing the identifier of the driver to remove.
+     */
+    public void remove(final long driverId) {
+        CompanyIndex companyIndex = companyIndexesByDriverId.remove(driverId);
+        if ( companyIndex != null ) {
+            companyIndex.remove(driverId);
+        }
+    }
+
+    /**
+     * Remove the index of a company so that it is loaded again when it is next needed.
+     * @param company a <code>String</code> containing the company.
+     */
+    public void removeCompany(final String company) {
+        companyIndexesByCompany.remove(company);
+    }
+
+    /**
+     * Return the index of a company if it was loaded today and has not expired.
+     * @param company a <code>String</code> containing the company.
+     * @return a <code>CompanyIndex</code> object or null if the company has not been indexed today or the index has expired.
+     */
+    private CompanyIndex getCurrentIndex(final String company) {
+        CompanyIndex companyIndex = company != null ? companyIndexesByCompany.get(company) : null;
+        return companyIndex != null && companyIndex.date.equals(getToday())
+                && clock.millis() - companyIndex.loadedMillis < expireAfterLoadMillis ? companyIndex : null;
+    }
+
+    /**
+     * Return the index containing a driver if it is still the index of their company for today.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @return a <code>CompanyIndex</code> object or null if the driver is not indexed today.
+     */
+    private CompanyIndex getCurrentIndex(final long driverId) {
+        CompanyIndex companyIndex = companyIndexesByDriverId.get(driverId);
+        return companyIndex != null && companyIndex == getCurrentIndex(companyIndex.company) ? companyIndex : null;
+    }
+
+    /**
+     * Return the bucket in which a number of remaining hours is counted.
+     * @param remainingHours a <code>int</code> containing the remaining hours which may be 0 or less.
+     * @return a <code>int</code> containing the bucket between 0 and the highest number of remaining hours counted separately.
+     */
+    private static int bucketFor(final int remainingHours) {
+        return Math.max(0, Math.min(remainingHours, MAX_REMAINING_HOURS));
+    }
+
+    /**
+     * This class is the index of the drivers of one company on one date.
+     */
+    private static class CompanyIndex {
+
+        private final String company;
+        private final LocalDate date;
+        private final long loadedMillis;
+        private final Map<Long, Integer> positionsByDriverId = new HashMap<>();
+        private final BitSet availablePositions = new BitSet();
+        private final int[] numDriversByRemainingHours = new int[MAX_REMAINING_HOURS + 1];
+        private DriverSummary[] driverSummaries = new DriverSummary[INITIAL_CAPACITY];
+        private WorkingTimeCheck[] workingTimeChecks = new WorkingTimeCheck[INITIAL_CAPACITY];
+        private long[] versions = new long[INITIAL_CAPACITY];
+        private int numPositions;
+
+        /**
+         * Create an empty index of a company.
+         * @param company a <code>String</code> containing the company.
+         * @param date a <code>LocalDate</code> containing the date for which the index is valid.
+         * @param loadedMillis a <code>long</code> containing the time in milliseconds at which the company was loaded.
+         */
+        CompanyIndex(final String company, final LocalDate date, final long loadedMillis) {
+            this.company = company;
+            this.date = date;
+            this.loadedMillis = loadedMillis;
+        }
+
+        /**
+         * Add a driver or replace the indexed values of the driver.
+         * @param version a <code>long</code> containing the version taken before the working time of the driver was checked.
+         * @param driverSummary a <code>DriverSummary</code> object containing the current values of the driver.
+         * @param workingTimeCheck a <code>WorkingTimeCheck</code> object containing the result of checking their working time.
+         */
+        synchronized void put(final long version, final DriverSummary driverSummary, final WorkingTimeCheck workingTimeCheck) {
+            Integer position = positionsByDriverId.get(driverSummary.getId());
+            if ( position == null ) {
+                if ( numPositions == driverSummaries.length ) {
+                    driverSummaries = Arrays.copyOf(driverSummaries, numPositions * 2);
+                    workingTimeChecks = Arrays.copyOf(workingTimeChecks, numPositions * 2);
+                    versions = Arrays.copyOf(versions, numPositions * 2);
+                }
+                position = numPositions++;
+                positionsByDriverId.put(driverSummary.getId(), position);
+            } else {
+                uncount(position);
+            }
+            driverSummaries[position] = driverSummary;
+            versions[position] = version;
+            count(position, workingTimeCheck);
+        }
+
+        /**
+         * Replace the result of checking the working time of a driver unless the indexed result was checked later.
+         * @param version a <code>long</code> containing the version taken before the working time of the driver was checked.
+         * @param driverId a <code>long</code> containing the identifier of the driver.
+         * @param workingTimeCheck a <code>WorkingTimeCheck</code> object containing the result of checking their working time.
+         */
+        synchronized void merge(final long version, final long driverId, final WorkingTimeCheck workingTimeCheck) {
+            Integer position = positionsByDriverId.get(driverId);
+            if ( position == null || version < versions[position] ) {
+                return;
+            }
+            versions[position] = version;
+            uncount(position);
+            count(position, workingTimeCheck);
+        }
+
+        /**
+         * Remove a driver. The position of the driver is not used again on the same date.
+         * @param driverId a <code>long</code> containing the identifier of the driver.
+         */
+        synchronized void remove(final long driverId) {
+            Integer position = positionsByDriverId.remove(driverId);
+            if ( position != null ) {
+                uncount(position);
+                driverSummaries[position] = null;
+                workingTimeChecks[position] = null;
+            }
+        }
+
+        /**
+         * Find the drivers who may work at least the supplied number of further hours by visiting the set bits only.
+         * @param minHours a <code>int</code> containing the number of hours that the drivers must still be able to work.
+         * @return a <code>DriverAvailability</code> object containing the drivers.
+         */
+        synchronized DriverAvailability find(final int minHours) {
+            int numAvailableDrivers = 0;
+            for ( int bucket = bucketFor(minHours); bucket <= MAX_REMAINING_HOURS; bucket++ ) {
+                numAvailableDrivers += numDriversByRemainingHours[bucket];
+            }
+            List<AvailableDriver> availableDrivers = new ArrayList<>(numAvailableDrivers);
+            for ( int position = availablePositions.nextSetBit(0); position >= 0; position = availablePositions.nextSetBit(position + 1) ) {
+                if ( workingTimeChecks[position].getRemainingHours() >= minHours ) {
+                    availableDrivers.add(new AvailableDriver(driverSummaries[position], workingTimeChecks[position]));
+                }
+            }
+            return new DriverAvailability(company, date, availableDrivers, numDriversByRemainingHours.clone());
+        }
+
+        /**
+         * Store the result of checking the working time of the driver at a position and count it.
+         * @param position a <code>int</code> containing the position of the driver.
+         * @param workingTimeCheck a <code>WorkingTimeCheck</code> object containing the result of checking their working time.
+         */
+        private void count(final int position, final WorkingTimeCheck workingTimeCheck) {
+            workingTimeChecks[position] = workingTimeCheck;
+            numDriversByRemainingHours[bucketFor(workingTimeCheck.getRemainingHours())]++;
+            availablePositions.set(position, workingTimeCheck.isFurtherHoursAllowed());
+        }
+
+        /**
+         * Stop counting the result of checking the working time of the driver at a position.
+         * @param position a <code>int</code> containing the position of the driver.
+         */
+        private void uncount(final int position) {
+            numDriversByRemainingHours[bucketFor(workingTimeChecks[position].getRemainingHours())]--;
+            availablePositions.clear(position);
+        }
+    }
+
+}
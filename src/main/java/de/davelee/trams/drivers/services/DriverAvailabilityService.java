@@ -0,0 +1,150 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.data.DriverAvailability;
+import de.davelee.trams.drivers.data.DriverSummary;
+import de.davelee.trams.drivers.data.WorkingTimeCheck;
+import de.davelee.trams.drivers.repository.DriverRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class answers which drivers of a company may still work today from the in-memory availability index and keeps
+ * the index up to date when hours are tracked and drivers are hired or dismissed. A company is indexed with one roster
+ * query and one query for the hours of its drivers the first time that it is requested each day. Loading a company
+ * excludes all updates so that no update can be lost between reading the roster and indexing it.
+ * @author Dave Lee
+ */
+@Service
+public class DriverAvailabilityService {
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private WorkingTimeService workingTimeService;
+
+    @Autowired
+    private DriverAvailabilityIndex driverAvailabilityIndex;
+
+    private final ReadWriteLock loadLock = new ReentrantReadWriteLock();
+
+    /**
+     * Find the drivers of a company who may work at least the supplied number of further hours today.
+     * @param company a <code>String</code> containing the company.
+     * @param minHours a <code>int</code> containing the number of hours that the drivers must still be able to work which must be at least 1.
+     * @return a <code>DriverAvailability</code> object containing the drivers and the number of drivers for each number of remaining hours.
+     */
+    public DriverAvailability getAvailableDrivers ( final String company, final int minHours ) {
+        DriverAvailability driverAvailability = driverAvailabilityIndex.find(company, minHours);
+        if ( driverAvailability != null ) {
+            return driverAvailability;
+        }
+        loadLock.writeLock().lock();
+        try {
+            //Another request may have indexed the company while this request was waiting.
+            if ( !driverAvailabilityIndex.isLoaded(company) ) {
+                long version = driverAvailabilityIndex.nextVersion();
+                List<DriverSummary> driverSummaries = driverRepository.findRosterByCompany(company);
+                driverAvailabilityIndex.load(version, company, driverSummaries, checkWorkingTime(driverSummaries));
+            }
+            return driverAvailabilityIndex.find(company, minHours);
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Check the working time of drivers whose hours have changed again and store their remaining hours in the index.
+     * This method must be called after the hours have been written through to the store of recent hours.
+     * @param driverIds a <code>Collection</code> containing the identifiers of the drivers whose hours changed.
+     */
+    public void updateHours ( final Collection<Long> driverIds ) {
+        loadLock.readLock().lock();
+        try {
+            for ( Long driverId : driverIds ) {
+                String company = driverAvailabilityIndex.getCompany(driverId);
+                if ( company != null ) {
+                    long version = driverAvailabilityIndex.nextVersion();
+                    driverAvailabilityIndex.merge(version, driverId, workingTimeService.checkWorkingTime(driverId, company));
+                }
+            }
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add newly hired or changed drivers to the index of their company if the company has been indexed today. This
+     * method must be called after the drivers have been committed.
+     * @param driverSummaries a <code>Collection</code> of <code>DriverSummary</code> objects containing the current values of the drivers.
+     */
+    public void addDrivers ( final Collection<DriverSummary> driverSummaries ) {
+        loadLock.readLock().lock();
+        try {
+            List<DriverSummary> indexedDriverSummaries = new ArrayList<>();
+            for ( DriverSummary driverSummary : driverSummaries ) {
+                if ( driverAvailabilityIndex.isLoaded(driverSummary.getCompany()) ) {
+                    indexedDriverSummaries.add(driverSummary);
+                }
+            }
+            if ( !indexedDriverSummaries.isEmpty() ) {
+                long version = driverAvailabilityIndex.nextVersion();
+                Map<Long, WorkingTimeCheck> workingTimeChecks = checkWorkingTime(indexedDriverSummaries);
+                for ( DriverSummary driverSummary : indexedDriverSummaries ) {
+                    driverAvailabilityIndex.put(version, driverSummary, workingTimeChecks.get(driverSummary.getId()));
+                }
+            }
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a dismissed or deleted driver from the index. This method must be called after the change has been committed.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     */
+    public void removeDriver ( final long driverId ) {
+        loadLock.readLock().lock();
+        try {
+            driverAvailabilityIndex.remove(driverId);
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the index of a company whose drivers have all been dismissed so that it is loaded again when it is next
+     * requested. This method must be called after the dismissals have been committed.
+     * @param company a <code>String</code> containing the company.
+     */
+    public void removeCompany ( final String company ) {
+        loadLock.readLock().lock();
+        try {
+            driverAvailabilityIndex.removeCompany(company);
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Check the working time of several drivers against the rules of their companies.
+     * @param driverSummaries a <code>Collection</code> of <code>DriverSummary</code> objects containing the drivers to check.
+     * @return a <code>Map</code> from the identifier of each driver to the result of the check.
+     */
+    private Map<Long, WorkingTimeCheck> checkWorkingTime ( final Collection<DriverSummary> driverSummaries ) {
+        Map<Long, String> companiesByDriverId = new HashMap<>();
+        for ( DriverSummary driverSummary : driverSummaries ) {
+            companiesByDriverId.put(driverSummary.getId(), driverSummary.getCompany());
+        }
+        return workingTimeService.checkWorkingTime(companiesByDriverId);
+    }
+
+}
@@ -0,0 +1,129 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.data.DriverImportReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class imports CSV files of drivers which are dropped into the configured import directory. Each file is moved
+ * to the processing directory before it is imported so that it is only imported once, and then to the processed
+ * directory together with a report or to the failed directory if it could not be imported. No directory is polled
+ * if the import directory is not configured.
+ * @author Dave Lee
+ */
+@Component
+public class DriverImportDirectoryPoller {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriverImportDirectoryPoller.class);
+
+    @Autowired
+    private DriverImportService driverImportService;
+
+    @Value("${driver.import.directory}")
+    private String importDirectory;
+
+    @Scheduled(fixedDelayString = "${driver.import.pollIntervalMillis}")
+    /**
+     * Import all CSV files which are currently in the import directory.
+     */
+    public void poll() {
+        if ( importDirectory == null || importDirectory.isEmpty() ) {
+            return;
+        }
+        Path directory = Paths.get(importDirectory);
+        try {
+            for ( Path file : findCsvFiles(directory) ) {
+                importFile(directory, file);
+            }
+        } catch ( IOException ioException ) {
+            LOG.error("Could not poll import directory {}", directory, ioException);
+        }
+    }
+
+    /**
+     * Find all CSV files in the supplied directory.
+     * @param directory a <code>Path</code> to the directory to search.
+     * @return a <code>List</code> of <code>Path</code> objects to the CSV files.
+     * @throws IOException if the directory could not be read.
+     */
+    private List<Path> findCsvFiles ( final Path directory ) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try ( DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory, "*.csv") ) {
+            for ( Path file : directoryStream ) {
+                if ( Files.isRegularFile(file) ) {
+                    files.add(file);
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Import a single CSV file and move it to the processed or failed directory.
+     * @param directory a <code>Path</code> to the import directory.
+     * @param file a <code>Path</code> to the CSV file in the import directory.
+     * @throws IOException if the file could not be moved.
+     */
+    private void importFile ( final Path directory, final Path file ) throws IOException {
+        Path processingFile = moveTo(file, directory.resolve("processing"));
+        try {
+            DriverImportReport driverImportReport;
+            try ( Reader reader = Files.newBufferedReader(processingFile, StandardCharsets.UTF_8) ) {
+                driverImportReport = driverImportService.importDrivers(reader);
+            }
+            Path processedFile = moveTo(processingFile, directory.resolve("processed"));
+            Files.write(processedFile.resolveSibling(processedFile.getFileName() + ".report"), createReport(driverImportReport), StandardCharsets.UTF_8);
+            LOG.info("Imported {}: {} rows read, {} drivers hired, {} rows rejected in {} ms", file.getFileName(),
+                    driverImportReport.getRowsRead(), driverImportReport.getDriversHired(), driverImportReport.getRejectedRowCount(), driverImportReport.getDurationMillis());
+        } catch ( IOException | RuntimeException exception ) {
+            LOG.error("Could not import {}", file.getFileName(), exception);
+            moveTo(processingFile, directory.resolve("failed"));
+        }
+    }
+
+    /**
+     * Move a file into the supplied directory, creating the directory if necessary and replacing a file with the same name.
+     * @param file a <code>Path</code> to the file to move.
+     * @param targetDirectory a <code>Path</code> to the directory to move the file into.
+     * @return a <code>Path</code> to the moved file.
+     * @throws IOException if the file could not be moved.
+     */
+    private Path moveTo ( final Path file, final Path targetDirectory ) throws IOException {
+        Files.createDirectories(targetDirectory);
+        return Files.move(file, targetDirectory.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Create the lines of the report which is written next to a processed file.
+     * @param driverImportReport a <code>DriverImportReport</code> object containing the outcome of the import.
+     * @return a <code>List</code> of <code>String</code> objects containing the lines of the report.
+     */
+    private List<String> createReport ( final DriverImportReport driverImportReport ) {
+        List<String> lines = new ArrayList<>();
+        lines.add("rowsRead=" + driverImportReport.getRowsRead());
+        lines.add("driversHired=" + driverImportReport.getDriversHired());
+        lines.add("rejectedRowCount=" + driverImportReport.getRejectedRowCount());
+        lines.add("durationMillis=" + driverImportReport.getDurationMillis());
+        lines.add("rowsPerSecond=" + driverImportReport.getRowsPerSecond());
+        for ( DriverImportReport.RejectedRow rejectedRow : driverImportReport.getRejectedRows() ) {
+            lines.add("row " + rejectedRow.getRowNumber() + ": " + rejectedRow.getReason());
+        }
+        return lines;
+    }
+
+}
@@ -0,0 +1,213 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.api.DriverRequest;
+import de.davelee.trams.drivers.data.Driver;
+import de.davelee.trams.drivers.data.DriverImportReport;
+import de.davelee.trams.drivers.data.DriverStatus;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class imports drivers in bulk from CSV data. The data is parsed one row at a time so files of any size can be
+ * imported without loading them into memory. Valid rows are hired in chunks with one transaction per chunk. The CSV
+ * data must start with a header containing the columns name, dateOfBirth, company, contractedHours, hourlyWage,
+ * skills and startDate in any order. Dates must be in the format dd-MM-yyyy.
+ * @author Dave Lee
+ */
+@Service
+public class DriverImportService {
+
+    private static final int MAX_HIRE_ATTEMPTS = 5;
+
+    private static final String[] COLUMNS = { "name", "dateOfBirth", "company", "contractedHours", "hourlyWage", "skills", "startDate" };
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.withFirstRecordAsHeader().withIgnoreSurroundingSpaces().withIgnoreEmptyLines();
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private DriverRequestValidator driverRequestValidator;
+
+    @Value("${driver.import.chunkSize}")
+    private int chunkSize;
+
+    @Value("${driver.import.rejectedRows.max}")
+    private int maxRejectedRows;
+
+    /**
+     * Import all drivers from the supplied CSV data. Chunks which have been hired remain hired even if a later row
+     * cannot be parsed.
+     * @param reader a <code>Reader</code> supplying the CSV data which is not closed by this method.
+     * @return a <code>DriverImportReport</code> object containing the number of drivers hired and the rejected rows.
+     * @throws IOException if the data could not be read.
+     * @throws IllegalArgumentException if the header does not contain all required columns.
+     * @throws IllegalStateException if a row is not valid CSV.
+     */
+    public DriverImportReport importDrivers ( final Reader reader ) throws IOException {
+        long startTime = System.currentTimeMillis();
+        DriverImportReport driverImportReport = new DriverImportReport(maxRejectedRows);
+        CSVParser csvParser = CSV_FORMAT.parse(reader);
+        for ( String column : COLUMNS ) {
+            if ( !csvParser.getHeaderMap().containsKey(column) ) {
+                throw new IllegalArgumentException("The header must contain the column " + column);
+            }
+        }
+        List<DriverRequest> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkRowNumbers = new ArrayList<>(chunkSize);
+        for ( CSVRecord csvRecord : csvParser ) {
+            driverImportReport.addRowRead();
+            //The parser does not count the header so add it to report the row number in the file.
+            long rowNumber = csvRecord.getRecordNumber() + 1;
+            DriverRequest driverRequest = new DriverRequest();
+            String validationError = readDriverRequest(csvRecord, driverRequest);
+            if ( validationError != null ) {
+                driverImportReport.addRejectedRow(rowNumber, validationError);
+                continue;
+            }
+            chunk.add(driverRequest);
+            chunkRowNumbers.add(rowNumber);
+            if ( chunk.size() == chunkSize ) {
+                hireChunk(chunk, chunkRowNumbers, driverImportReport);
+            }
+        }
+        hireChunk(chunk, chunkRowNumbers, driverImportReport);
+        driverImportReport.setDurationMillis(System.currentTimeMillis() - startTime);
+        return driverImportReport;
+    }
+
+    /**
+     * Read a row into a request to hire a driver and validate it with the same rules as drivers hired individually.
+     * @param csvRecord a <code>CSVRecord</code> containing the row.
+     * @param driverRequest a <code>DriverRequest</code> object to fill with the values of the row.
+     * @return a <code>String</code> describing why the row is not valid or null if the row is valid.
+     */
+    private String readDriverRequest ( final CSVRecord csvRecord, final DriverRequest driverRequest ) {
+        if ( !csvRecord.isConsistent() ) {
+            return "Row must contain as many columns as the header";
+        }
+        try {
+            driverRequest.setContractedHours(Integer.parseInt(csvRecord.get("contractedHours")));
+        } catch ( NumberFormatException numberFormatException ) {
+            return "Contracted hours must be a whole number";
+        }
+        driverRequest.setName(emptyToNull(csvRecord.get("name")));
+        driverRequest.setDateOfBirth(csvRecord.get("dateOfBirth"));
+        driverRequest.setCompany(emptyToNull(csvRecord.get("company")));
+        driverRequest.setHourlyWage(csvRecord.get("hourlyWage"));
+        driverRequest.setSkills(csvRecord.get("skills"));
+        driverRequest.setStartDate(csvRecord.get("startDate"));
+        if ( driverRequest.getCompany() == null ) {
+            return "Company is required";
+        }
+        return driverRequestValidator.getValidationError(driverRequest);
+    }
+
+    /**
+     * Hire the drivers of a chunk in one transaction and clear the chunk. If another request hires one of the drivers
+     * at the same time then the transaction is rolled back and the chunk is hired again without that driver. If the
+     * chunk still cannot be hired after several attempts then all of its rows are rejected so that the import carries
+     * on and the report is always returned.
+     * @param chunk a <code>List</code> of valid <code>DriverRequest</code> objects to hire.
+     * @param chunkRowNumbers a <code>List</code> containing the row number of each request in the chunk.
+     * @param driverImportReport a <code>DriverImportReport</code> object to record the outcome in.
+     */
+    private void hireChunk ( final List<DriverRequest> chunk, final List<Long> chunkRowNumbers, final DriverImportReport driverImportReport ) {
+        if ( chunk.isEmpty() ) {
+            return;
+        }
+        List<Driver> drivers = hireDrivers(chunk);
+        if ( drivers == null ) {
+            for ( Long rowNumber : chunkRowNumbers ) {
+                driverImportReport.addRejectedRow(rowNumber, "Driver could not be hired because the same drivers were hired at the same time");
+            }
+        } else {
+            int driversHired = 0;
+            for ( int i = 0; i < drivers.size(); i++ ) {
+                //Drivers which were skipped as duplicates have not been assigned an identifier.
+                if ( drivers.get(i).getId() != null ) {
+                    driversHired++;
+                } else {
+                    driverImportReport.addRejectedRow(chunkRowNumbers.get(i), "Driver already exists");
+                }
+            }
+            driverImportReport.addDriversHired(driversHired);
+        }
+        chunk.clear();
+        chunkRowNumbers.clear();
+    }
+
+    /**
+     * Hire new drivers from validated requests in one transaction. If another request hires one of the drivers at the
+     * same time then the transaction is rolled back and retried, so the drivers which now exist are skipped.
+     * @param driverRequests a <code>List</code> of valid <code>DriverRequest</code> objects.
+     * @return a <code>List</code> of <code>Driver</code> objects in the same order where only hired drivers have an
+     * identifier or null if the drivers could still not be hired after the last attempt.
+     */
+    private List<Driver> hireDrivers ( final List<DriverRequest> driverRequests ) {
+        for ( int attempt = 1; attempt <= MAX_HIRE_ATTEMPTS; attempt++ ) {
+            List<Driver> drivers = createDrivers(driverRequests);
+            try {
+                driverService.addDrivers(drivers);
+                return drivers;
+            } catch ( DataIntegrityViolationException dataIntegrityViolationException ) {
+                //Another request hired one of the drivers in the meantime so the transaction was rolled back - hire them again.
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Create new drivers from validated requests.
+     * @param driverRequests a <code>List</code> of valid <code>DriverRequest</code> objects.
+     * @return a <code>List</code> of <code>Driver</code> objects in the same order.
+     */
+    private List<Driver> createDrivers ( final List<DriverRequest> driverRequests ) {
+        List<Driver> drivers = new ArrayList<>(driverRequests.size());
+        for ( DriverRequest driverRequest : driverRequests ) {
+            Driver driver = new Driver();
+            driver.setContractedHours(driverRequest.getContractedHours());
+            driver.setDateOfBirth(convertStringToDate(driverRequest.getDateOfBirth()));
+            driver.setName(driverRequest.getName());
+            driver.setHourlyWage(new BigDecimal(driverRequest.getHourlyWage()));
+            driver.setSkills(driverRequest.getSkills());
+            driver.setStartDate(convertStringToDate(driverRequest.getStartDate()));
+            driver.setCompany(driverRequest.getCompany());
+            driver.setStatus(DriverStatus.HIRED);
+            drivers.add(driver);
+        }
+        return drivers;
+    }
+
+    /**
+     * Convert dates from string format: dd-MM-yyyy to localdate.
+     * @param dateStr a <code>String</code> containing the date to convert in the format dd-MM-yyyy.
+     * @return a <code>LocalDate</code> object representing the converted date.
+     */
+    private LocalDate convertStringToDate ( final String dateStr ) {
+        String[] dateArray = dateStr.split("-");
+        return LocalDate.of(Integer.parseInt(dateArray[2]), Integer.parseInt(dateArray[1]), Integer.parseInt(dateArray[0]));
+    }
+
+    /**
+     * Treat empty values as missing values.
+     * @param value a <code>String</code> containing the value of a column.
+     * @return a <code>String</code> containing the value or null if the value is empty.
+     */
+    private String emptyToNull ( final String value ) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+}
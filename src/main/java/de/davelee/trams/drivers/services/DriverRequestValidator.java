@@ -0,0 +1,103 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.api.DriverRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+
+/**
+ * This class validates requests to hire drivers against the configured limits so that drivers hired individually
+ * and drivers imported in bulk follow the same rules.
+ * @author Dave Lee
+ */
+@Component
+public class DriverRequestValidator {
+
+    @Value("${driver.hourlyWage.min}")
+    private int minHourlyWage;
+
+    @Value("${driver.hourlyWage.max}")
+    private int maxHourlyWage;
+
+    @Value("${driver.contractedHours.min}")
+    private int minContractedHours;
+
+    @Value("${driver.contractedHours.max}")
+    private int maxContractedHours;
+
+    /**
+     * Validation rules:
+     * all fields are required.
+     * @param driverRequest the object to validate.
+     * @return true iff the input is correct.
+     */
+    public boolean validateInput ( final DriverRequest driverRequest ) {
+        return getValidationError(driverRequest) == null;
+    }
+
+    /**
+     * Validate a request to hire a driver and describe the first rule which is broken.
+     * @param driverRequest a <code>DriverRequest</code> object to validate.
+     * @return a <code>String</code> describing the first rule which is broken or null if the request is valid.
+     */
+    public String getValidationError ( final DriverRequest driverRequest ) {
+        if ( driverRequest.getContractedHours() < minContractedHours || driverRequest.getContractedHours() > maxContractedHours ) {
+            return "Contracted hours must be between " + minContractedHours + " and " + maxContractedHours;
+        } else if ( !validateDate(driverRequest.getDateOfBirth()) ) {
+            return "Date of birth must be a valid date in format dd-MM-yyyy";
+        } else if ( driverRequest.getName() == null ) {
+            return "Name is required";
+        } else if ( !validateHourlyWage(driverRequest.getHourlyWage())) {
+            return "Hourly wage must be between " + minHourlyWage + " and " + maxHourlyWage;
+        } else if ( driverRequest.getSkills() == null ) {
+            return "Skills are required";
+        } else if ( !validateDate(driverRequest.getStartDate())) {
+            return "Start date must be a valid date in format dd-MM-yyyy";
+        }
+        return null;
+    }
+
+    /**
+     * Validate date to ensure it exists as a valid date!
+     * @param date a <code>String</code> containing the date to validate in format dd-MM-yyyy.
+     * @return a <code>boolean</code> which is true iff the date is valid.
+     */
+    public boolean validateDate ( final String date ) {
+        if ( date == null ) {
+            return false;
+        }
+        SimpleDateFormat format = new SimpleDateFormat("dd-MM-yyyy");
+        format.setLenient(false);
+        try {
+            format.parse(date);
+            return true;
+        } catch (ParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Validate hourly wage to ensure it is a number between min and max parameters.
+     * @param hourlyWage a <code>String</code> containing the hourly wage to validate.
+     * @return a <code>boolean</code> which is true iff the hourly wage is valid.
+     */
+    public boolean validateHourlyWage ( final String hourlyWage ) {
+        if ( hourlyWage == null ) {
+            return false;
+        }
+        BigDecimal bigDecimalHourlyWage;
+        try {
+            bigDecimalHourlyWage = new BigDecimal(hourlyWage);
+        } catch ( NumberFormatException numberFormatException ) {
+            return false;
+        }
+        if ( bigDecimalHourlyWage.compareTo(BigDecimal.valueOf(minHourlyWage)) < 0 || bigDecimalHourlyWage.compareTo(BigDecimal.valueOf(maxHourlyWage)) > 0 ) {
+            return false;
+        }
+        return true;
+    }
+
+}
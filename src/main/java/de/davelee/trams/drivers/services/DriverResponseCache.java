@@ -0,0 +1,197 @@
+package de.davelee.trams.drivers.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import de.davelee.trams.drivers.api.DriverResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class caches driver responses by the hash of the natural key of the driver so that frequently requested
+ * drivers do not have to be loaded from the database each time. The cache is bounded by size and by the time since
+ * an entry was written. Every operation which changes a driver must invalidate the driver by its identifier.
+ * Invalidations are counted in stripes by driver identifier, so a change of one driver only prevents the caching of
+ * responses for the few other drivers in the same stripe which are being loaded at the same time.
+ * @author Dave Lee
+ */
+@Component
+public class DriverResponseCache {
+
+    private static final int NUM_STRIPES = 1024;
+
+    private final Cache<String, CachedDriverResponse> cache;
+    private final ConcurrentMap<Long, String> naturalKeyHashesByDriverId = new ConcurrentHashMap<>();
+    private final AtomicLongArray invalidationCounts = new AtomicLongArray(NUM_STRIPES);
+
+    @Autowired
+    /**
+     * Create a new cache with the configured bounds.
+     * @param maximumSize a <code>long</code> containing the maximum number of drivers to cache.
+     * @param expireAfterWriteSeconds a <code>long</code> containing the number of seconds after which a cached driver is reloaded.
+     */
+    public DriverResponseCache(@Value("${driver.cache.maximumSize}") final long maximumSize,
+                               @Value("${driver.cache.expireAfterWriteSeconds}") final long expireAfterWriteSeconds) {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    /**
+     * Return the cached response for a driver.
+     * @param naturalKeyHash a <code>String</code> containing the hash of the natural key of the driver.
+     * @return a <code>DriverResponse</code> object or null if the driver is not cached.
+     */
+    public DriverResponse get(final String naturalKeyHash) {
+        CachedDriverResponse cachedDriverResponse = cache.getIfPresent(naturalKeyHash);
+        return cachedDriverResponse != null ? cachedDriverResponse.driverResponse : null;
+    }
+
+    /**
+     * Return a stamp which must be taken before the driver is loaded from the database and supplied when the loaded
+     * driver is put into the cache.
+     * @param driverId a <code>Long</code> containing the identifier of the driver which will be loaded.
+     * @return a <code>long</code> containing the stamp.
+     */
+    public long getStamp(final Long driverId) {
+        return invalidationCounts.get(stripeFor(driverId));
+    }
+
+    /**
+     * Cache the response for a driver unless a driver in the same stripe was invalidated since the supplied stamp was
+     * taken, in which case the response may already be out of date.
+     * @param stamp a <code>long</code> containing the stamp taken before the driver was loaded.
+     * @param naturalKeyHash a <code>String</code> containing the hash of the natural key of the driver.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param driverResponse a <code>DriverResponse</code> object to cache.
+     */
+    public void put(final long stamp, final String naturalKeyHash, final Long driverId, final DriverResponse driverResponse) {
+        if ( stamp != getStamp(driverId) ) {
+            return;
+        }
+        naturalKeyHashesByDriverId.put(driverId, naturalKeyHash);
+        cache.put(naturalKeyHash, new CachedDriverResponse(driverId, driverResponse));
+        //Remove the entry again if the driver was invalidated while it was being added.
+        if ( stamp != getStamp(driverId) ) {
+            cache.invalidate(naturalKeyHash);
+        }
+    }
+
+    /**
+     * Remove a driver from the cache. If a transaction is active then the driver is removed again after the
+     * transaction commits so that it is not cached with the data from before the change.
+     * @param driverId a <code>Long</code> containing the identifier of the driver which was changed.
+     */
+    public void invalidate(final Long driverId) {
+        invalidateNow(driverId);
+        if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(driverId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Remove several drivers from the cache. If a transaction is active then the drivers are removed again after the
+     * transaction commits so that they are not cached with the data from before the change.
+     * @param driverIds a <code>Collection</code> containing the identifiers of the drivers which were changed.
+     */
+    public void invalidate(final Collection<Long> driverIds) {
+        driverIds.forEach(this::invalidateNow);
+        if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+            List<Long> committedDriverIds = new ArrayList<>(driverIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    committedDriverIds.forEach(DriverResponseCache.this::invalidateNow);
+                }
+            });
+        }
+    }
+
+    /**
+     * Return the hit, miss and eviction statistics of the cache.
+     * @return a <code>CacheStats</code> object containing the statistics since the application started.
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Return the number of drivers which are currently cached.
+     * @return a <code>long</code> containing the number of cached drivers.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Remove a driver from the cache immediately.
+     * @param driverId a <code>Long</code> containing the identifier of the driver which was changed.
+     */
+    private void invalidateNow(final Long driverId) {
+        invalidationCounts.incrementAndGet(stripeFor(driverId));
+        String naturalKeyHash = naturalKeyHashesByDriverId.get(driverId);
+        if ( naturalKeyHash != null ) {
+            cache.invalidate(naturalKeyHash);
+        }
+    }
+
+    /**
+     * Return the stripe of the invalidation counters which is used for the supplied driver.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @return a <code>int</code> containing the index of the stripe.
+     */
+    private static int stripeFor(final Long driverId) {
+        return (int) (driverId & (NUM_STRIPES - 1));
+    }
+
+    /**
+     * Forget the natural key of a driver once its response has been removed from the cache rather than replaced.
+     * @param removalNotification a <code>RemovalNotification</code> object describing the removed entry.
+     */
+    private void onRemoval(final RemovalNotification<String, CachedDriverResponse> removalNotification) {
+        if ( removalNotification.getCause() != RemovalCause.REPLACED && removalNotification.getValue() != null ) {
+            naturalKeyHashesByDriverId.remove(removalNotification.getValue().driverId, removalNotification.getKey());
+        }
+    }
+
+    /**
+     * This class holds a cached driver response together with the identifier of the driver.
+     */
+    private static class CachedDriverResponse {
+
+        private final Long driverId;
+        private final DriverResponse driverResponse;
+
+        /**
+         * Create a new cached driver response.
+         * @param driverId a <code>Long</code> containing the identifier of the driver.
+         * @param driverResponse a <code>DriverResponse</code> object to cache.
+         */
+        CachedDriverResponse(final Long driverId, final DriverResponse driverResponse) {
+            this.driverId = driverId;
+            this.driverResponse = driverResponse;
+        }
+    }
+
+}
@@ -0,0 +1,281 @@
+package de.davelee.trams.drivers.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import de.davelee.trams.drivers.data.DriverSummary;
+import de.davelee.trams.drivers.repository.DriverRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.support.MutableSortDefinition;
+import org.springframework.beans.support.PropertyComparator;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class holds an in-memory prefix index over the names and companies of all drivers so that drivers can be
+ * searched while the user types without querying the database. Every name and company is indexed as a whole and
+ * word by word in lower case, so that "bus" finds "Lee Buses" and "lee b" finds it as well.
+ * The sorted results of recent searches are cached until the index next changes, so paging through a result does not
+ * sort it again and typing another character only filters the result of the shorter prefix instead of sorting again.
+ * The index is loaded once at startup and must be updated by every operation which adds, changes or removes drivers.
+ * @author Dave Lee
+ */
+@Component
+public class DriverSearchIndex {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final int MAX_CACHED_RESULTS = 64;
+
+    private static final Map<String, Function<DriverSummary, Comparable>> SORT_PROPERTIES = new HashMap<>();
+
+    static {
+        SORT_PROPERTIES.put("id", DriverSummary::getId);
+        SORT_PROPERTIES.put("name", driverSummary -> normalise(driverSummary.getName()));
+        SORT_PROPERTIES.put("company", driverSummary -> normalise(driverSummary.getCompany()));
+        SORT_PROPERTIES.put("dateOfBirth", DriverSummary::getDateOfBirth);
+        SORT_PROPERTIES.put("hourlyWage", DriverSummary::getHourlyWage);
+        SORT_PROPERTIES.put("startDate", DriverSummary::getStartDate);
+    }
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    private final NavigableMap<String, Set<Long>> driverIdsByToken = new TreeMap<>();
+    private final Map<Long, DriverSummary> driverSummariesById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Cache<String, List<DriverSummary>> resultsBySearchKey = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_RESULTS).build();
+
+    @PostConstruct
+    /**
+     * Load the summaries of all drivers from the database page by page and index them.
+     */
+    public void load() {
+        int page = 0;
+        List<DriverSummary> driverSummaries;
+        do {
+            driverSummaries = driverRepository.findAllSummaries(new PageRequest(page++, LOAD_PAGE_SIZE, Sort.Direction.ASC, "id"));
+            driverSummaries.forEach(this::put);
+        } while ( driverSummaries.size() == LOAD_PAGE_SIZE );
+    }
+
+    /**
+     * Add a driver to the index or replace the indexed values of the driver if it is already indexed.
+     * @param driverSummary a <code>DriverSummary</code> object containing the current values of the driver.
+     */
+    public void put(final DriverSummary driverSummary) {
+        lock.writeLock().lock();
+        try {
+            resultsBySearchKey.invalidateAll();
+            removeTokens(driverSummariesById.put(driverSummary.getId(), driverSummary));
+            for ( String token : tokenize(driverSummary) ) {
+                driverIdsByToken.computeIfAbsent(token, key -> new HashSet<>()).add(driverSummary.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the hourly wage of several indexed drivers. The name and company are unchanged so no tokens change.
+     * @param driverIds a <code>Collection</code> containing the identifiers of the drivers whose wage changed.
+     * @param hourlyWage a <code>BigDecimal</code> containing the new hourly wage of the drivers.
+     */
+    public void updateHourlyWage(final Collection<Long> driverIds, final BigDecimal hourlyWage) {
+        lock.writeLock().lock();
+        try {
+            resultsBySearchKey.invalidateAll();
+            for ( Long driverId : driverIds ) {
+                DriverSummary driverSummary = driverSummariesById.get(driverId);
+                if ( driverSummary != null ) {
+                    driverSummariesById.put(driverId, new DriverSummary(driverId, driverSummary.getName(), driverSummary.getCompany(),
+                            driverSummary.getDateOfBirth(), hourlyWage, driverSummary.getStartDate()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a driver from the index.
+     * @param driverId a <code>Long</code> containing the identifier of the driver to remove.
+     */
+    public void remove(final Long driverId) {
+        lock.writeLock().lock();
+        try {
+            resultsBySearchKey.invalidateAll();
+            removeTokens(driverSummariesById.remove(driverId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find all drivers whose name or company, or a word in them, starts with the supplied prefix ignoring case. The
+     * result is served from the cache if the same search was made since the index last changed. Otherwise the cached
+     * result of the longest shorter prefix with the same sort order is filtered, which keeps its order, and only if
+     * there is none are the matching drivers collected from the index and sorted.
+     * @param prefix a <code>String</code> containing the prefix to search for.
+     * @param sort a <code>Sort</code> object containing the properties of <code>DriverSummary</code> to sort by or null for no particular order.
+     * @return a read-only <code>List</code> of <code>DriverSummary</code> objects matching the prefix.
+     */
+    public List<DriverSummary> search(final String prefix, final Sort sort) {
+        String normalisedPrefix = normalise(prefix);
+        String sortKey = sort != null ? sort.toString() : "";
+        lock.readLock().lock();
+        try {
+            List<DriverSummary> driverSummaries = resultsBySearchKey.getIfPresent(createSearchKey(normalisedPrefix, sortKey));
+            if ( driverSummaries != null ) {
+                return driverSummaries;
+            }
+            for ( int length = normalisedPrefix.length() - 1; length >= 0 && driverSummaries == null; length-- ) {
+                List<DriverSummary> shorterPrefixSummaries = resultsBySearchKey.getIfPresent(createSearchKey(normalisedPrefix.substring(0, length), sortKey));
+                if ( shorterPrefixSummaries != null ) {
+                    driverSummaries = new ArrayList<>();
+                    for ( DriverSummary driverSummary : shorterPrefixSummaries ) {
+                        if ( matches(driverSummary, normalisedPrefix) ) {
+                            driverSummaries.add(driverSummary);
+                        }
+                    }
+                }
+            }
+            if ( driverSummaries == null ) {
+                driverSummaries = new ArrayList<>();
+                for ( Long driverId : findDriverIds(normalisedPrefix) ) {
+                    driverSummaries.add(driverSummariesById.get(driverId));
+                }
+                if ( sort != null ) {
+                    driverSummaries.sort(createComparator(sort));
+                }
+            }
+            driverSummaries = Collections.unmodifiableList(driverSummaries);
+            //The result is cached while the read lock is held so that no change of the index can be missed.
+            resultsBySearchKey.put(createSearchKey(normalisedPrefix, sortKey), driverSummaries);
+            return driverSummaries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count all drivers whose name or company, or a word in them, starts with the supplied prefix ignoring case.
+     * @param prefix a <code>String</code> containing the prefix to search for.
+     * @return a <code>int</code> containing the number of drivers matching the prefix.
+     */
+    public int count(final String prefix) {
+        return search(prefix, null).size();
+    }
+
+    /**
+     * Collect the identifiers of all drivers with a token starting with the supplied prefix. The read lock must be held.
+     * @param normalisedPrefix a <code>String</code> containing the normalised prefix to search for.
+     * @return a <code>Set</code> containing the identifiers of the matching drivers.
+     */
+    private Set<Long> findDriverIds(final String normalisedPrefix) {
+        Set<Long> driverIds = new HashSet<>();
+        for ( Set<Long> tokenDriverIds : driverIdsByToken.subMap(normalisedPrefix, true, normalisedPrefix + Character.MAX_VALUE, false).values() ) {
+            driverIds.addAll(tokenDriverIds);
+        }
+        return driverIds;
+    }
+
+    /**
+     * Remove the tokens of a previously indexed driver. The write lock must be held.
+     * @param driverSummary a <code>DriverSummary</code> object containing the indexed values or null if the driver was not indexed.
+     */
+    private void removeTokens(final DriverSummary driverSummary) {
+        if ( driverSummary == null ) {
+            return;
+        }
+        for ( String token : tokenize(driverSummary) ) {
+            Set<Long> driverIds = driverIdsByToken.get(token);
+            if ( driverIds != null ) {
+                driverIds.remove(driverSummary.getId());
+                if ( driverIds.isEmpty() ) {
+                    driverIdsByToken.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * Split the name and company of a driver into the tokens which are indexed.
+     * @param driverSummary a <code>DriverSummary</code> object containing the values to split.
+     * @return a <code>Set</code> containing the whole normalised name and company and each of their words.
+     */
+    private static Set<String> tokenize(final DriverSummary driverSummary) {
+        Set<String> tokens = new HashSet<>();
+        for ( String value : new String[] { driverSummary.getName(), driverSummary.getCompany() } ) {
+            String normalisedValue = normalise(value);
+            if ( !normalisedValue.isEmpty() ) {
+                tokens.add(normalisedValue);
+                tokens.addAll(Arrays.asList(normalisedValue.split(" ")));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Normalise a value so that searches ignore case and surrounding or repeated whitespace.
+     * @param value a <code>String</code> containing the value to normalise which may be null.
+     * @return a <code>String</code> containing the normalised value.
+     */
+    private static String normalise(final String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Check whether the name or company of a driver, or a word in them, starts with the supplied prefix.
+     * @param driverSummary a <code>DriverSummary</code> object containing the values to check.
+     * @param normalisedPrefix a <code>String</code> containing the normalised prefix.
+     * @return a <code>boolean</code> which is true iff one of the tokens of the driver starts with the prefix.
+     */
+    private static boolean matches(final DriverSummary driverSummary, final String normalisedPrefix) {
+        for ( String token : tokenize(driverSummary) ) {
+            if ( token.startsWith(normalisedPrefix) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create the key under which the result of a search is cached.
+     * @param normalisedPrefix a <code>String</code> containing the normalised prefix.
+     * @param sortKey a <code>String</code> describing the sort order which is empty for no particular order.
+     * @return a <code>String</code> containing the key.
+     */
+    private static String createSearchKey(final String normalisedPrefix, final String sortKey) {
+        return normalisedPrefix + '\u0000' + sortKey;
+    }
+
+    /**
+     * Create a comparator for driver summaries which sorts by the properties in the supplied sort order. The known
+     * properties are read directly and strings are compared ignoring case. Other properties are read by reflection.
+     * Missing values are sorted last.
+     * @param sort a <code>Sort</code> object containing the properties to sort by.
+     * @return a <code>Comparator</code> for <code>DriverSummary</code> objects.
+     */
+    @SuppressWarnings("unchecked")
+    private static Comparator<DriverSummary> createComparator(final Sort sort) {
+        Comparator<DriverSummary> comparator = (first, second) -> 0;
+        for ( Sort.Order order : sort ) {
+            Function<DriverSummary, Comparable> sortProperty = SORT_PROPERTIES.get(order.getProperty());
+            if ( sortProperty == null ) {
+                comparator = comparator.thenComparing(new PropertyComparator<>(new MutableSortDefinition(order.getProperty(), true, order.isAscending())));
+            } else {
+                Comparator<DriverSummary> propertyComparator = Comparator.comparing(sortProperty, Comparator.nullsLast(Comparator.naturalOrder()));
+                comparator = comparator.thenComparing(order.isAscending() ? propertyComparator : propertyComparator.reversed());
+            }
+        }
+        return comparator;
+    }
+
+}
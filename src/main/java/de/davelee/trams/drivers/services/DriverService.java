@@ -1,16 +1,55 @@
 package de.davelee.trams.drivers.services;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import de.davelee.trams.drivers.data.Driver;
 import de.davelee.trams.drivers.data.DriverHistory;
+import de.davelee.trams.drivers.data.DriverHours;
+import de.davelee.trams.drivers.data.DriverHoursUpdate;
+import de.davelee.trams.drivers.data.DriverNaturalKey;
+import de.davelee.trams.drivers.data.DriverPayrollTotal;
 import de.davelee.trams.drivers.data.DriverStatus;
+import de.davelee.trams.drivers.data.DriverSummary;
+import de.davelee.trams.drivers.data.Money;
+import de.davelee.trams.drivers.data.PayoutTotal;
+import de.davelee.trams.drivers.data.PayrollRun;
+import de.davelee.trams.drivers.data.UnpaidDriverHours;
+import de.davelee.trams.drivers.repository.DriverHistoryRepository;
+import de.davelee.trams.drivers.repository.DriverHoursRepository;
+import de.davelee.trams.drivers.repository.DriverPaymentRepository;
 import de.davelee.trams.drivers.repository.DriverRepository;
+import de.davelee.trams.drivers.repository.PayrollRunRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * This class controls access to the driver database and calls appropriate operations.
@@ -19,17 +58,196 @@ import java.util.List;
 @Service
 public class DriverService {
 
+    private static final LocalDate EARLIEST_HISTORY_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LATEST_HISTORY_DATE = LocalDate.of(9999, 12, 31);
+    private static final int MAX_CACHED_DRIVER_IDS = 100000;
+    private static final int MAX_HOURS_WRITE_ATTEMPTS = 5;
+
+    private static final String INCREMENT_HOURS_SQL = "update driver_hours set hours = hours + ? where driver_id = ? and work_date = ?";
+    private static final String INSERT_HOURS_SQL = "insert into driver_hours (driver_id, work_date, hours, paid_hours) values (?, ?, ?, 0)";
+    private static final String MARK_HOURS_PAID_SQL = "update driver_hours set paid_hours = ? where id = ? and paid_hours = ?";
+    private static final String ADVANCE_PAID_THROUGH_DATE_SQL = "update driver set paid_through_date = ? where id = ? and (paid_through_date is null or paid_through_date < ?)";
+    private static final String REOPEN_PAID_THROUGH_DATE_SQL = "update driver set paid_through_date = ? where id = ? and paid_through_date >= ?";
+    private static final String INSERT_PAYMENT_SQL = "insert into driver_payment (driver_id, company, work_date, hours, amount_minor_units, payroll_run_id) values (?, ?, ?, ?, ?, ?)";
+
     @Autowired
     private DriverRepository driverRepository;
 
+    @Autowired
+    private DriverHoursRepository driverHoursRepository;
+
+    @Autowired
+    private DriverPaymentRepository driverPaymentRepository;
+
+    @Autowired
+    private PayrollRunRepository payrollRunRepository;
+
+    @Autowired
+    private DriverSearchIndex driverSearchIndex;
+
+    @Autowired
+    private DriverResponseCache driverResponseCache;
+
+    @Autowired
+    private DailyHoursStore dailyHoursStore;
+
+    @Autowired
+    private HoursRollupService hoursRollupService;
+
+    @Autowired
+    private WorkingTimeStore workingTimeStore;
+
+    @Autowired
+    private DriverAvailabilityService driverAvailabilityService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Cache<String, Long> driverIdsByNaturalKeyHash = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_DRIVER_IDS).build();
+
+    @Autowired
+    private DriverHistoryRepository driverHistoryRepository;
+
     @Transactional
     /**
-     * Add a new driver to the database.
+     * Add a new driver to the database and record that they were hired in their history.
      * @param driver a <code>Driver</code> object to add to the database.
      * @return a <code>Driver</code> object which was added to the database or null if the database is not available.
+     * @throws DataIntegrityViolationException if a driver with the same date of birth, name and company already exists.
      */
     public Driver addDriver ( final Driver driver ) {
-        return driverRepository.save(driver);
+        //Check the unique natural key index first so that duplicates are reported consistently on every database.
+        if ( driverRepository.findIdByNaturalKeyHash(DriverNaturalKey.hash(driver.getDateOfBirth(), driver.getName(), driver.getCompany())) != null ) {
+            throw new DataIntegrityViolationException("Driver " + driver.getName() + " already exists for company " + driver.getCompany());
+        }
+        Driver savedDriver = driverRepository.save(driver);
+        appendHistory(savedDriver.getId(), DriverStatus.HIRED, "Hired!");
+        DriverSummary driverSummary = createDriverSummary(savedDriver);
+        //Only make the driver searchable and available once they have been committed.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                driverSearchIndex.put(driverSummary);
+                driverAvailabilityService.addDrivers(Collections.singletonList(driverSummary));
+            }
+        });
+        return savedDriver;
+    }
+
+    @Transactional
+    /**
+     * Add several drivers to the database at once and record that they were hired. Drivers which already exist or
+     * appear more than once are skipped. The drivers and their history are inserted in JDBC batches and the
+     * persistence context is cleared afterwards so that memory does not grow with the number of drivers imported.
+     * @param drivers a <code>List</code> of <code>Driver</code> objects representing the drivers to add.
+     * @return a <code>List</code> of <code>Driver</code> objects representing the drivers which were added.
+     */
+    public List<Driver> addDrivers ( final List<Driver> drivers ) {
+        Map<String, Driver> driversByNaturalKeyHash = new LinkedHashMap<>();
+        for ( Driver driver : drivers ) {
+            driver.updateNaturalKeyHash();
+            driversByNaturalKeyHash.putIfAbsent(driver.getNaturalKeyHash(), driver);
+        }
+        //Check the unique natural key index for all drivers with one query.
+        for ( Object[] naturalKeyHashAndId : driverRepository.findIdsByNaturalKeyHashIn(driversByNaturalKeyHash.keySet()) ) {
+            driversByNaturalKeyHash.remove(naturalKeyHashAndId[0]);
+        }
+        List<Driver> savedDrivers = driverRepository.save(driversByNaturalKeyHash.values());
+        List<DriverHistory> hiredHistory = new ArrayList<>(savedDrivers.size());
+        for ( Driver savedDriver : savedDrivers ) {
+            hiredHistory.add(new DriverHistory(savedDriver.getId(), LocalDate.now(), DriverStatus.HIRED, "Hired!"));
+        }
+        appendHistory(hiredHistory);
+        driverRepository.flush();
+        entityManager.clear();
+        //Only make the drivers searchable once they have been committed.
+        List<DriverSummary> driverSummaries = new ArrayList<>(savedDrivers.size());
+        savedDrivers.forEach(savedDriver -> driverSummaries.add(createDriverSummary(savedDriver)));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                driverSummaries.forEach(driverSearchIndex::put);
+                driverAvailabilityService.addDrivers(driverSummaries);
+            }
+        });
+        return savedDrivers;
+    }
+
+    /**
+     * Get a driver from the database.
+     * @param driverId a <code>Long</code> containing the identifier of the driver to retrieve.
+     * @return a <code>Driver</code> object representing the driver or null if none found.
+     */
+    public Driver getDriver ( final Long driverId ) {
+        return driverRepository.findOne(driverId);
+    }
+
+    @Transactional
+    /**
+     * Save a new or changed driver to the database without adding any history. If the driver moves to another company
+     * then their hours are moved from the company totals of the previous company to the new company in the same
+     * transaction.
+     * @param driver a <code>Driver</code> object representing the driver to save.
+     * @return a <code>Driver</code> object representing the saved driver.
+     */
+    public Driver saveDriver ( final Driver driver ) {
+        if ( driver.getId() != null ) {
+            List<Object[]> driverIdAndCompany = driverRepository.findCompaniesByIdIn(Collections.singleton(driver.getId()));
+            String previousCompany = driverIdAndCompany.isEmpty() ? null : (String) driverIdAndCompany.get(0)[1];
+            if ( !driverIdAndCompany.isEmpty() && !Objects.equals(previousCompany, driver.getCompany()) ) {
+                hoursRollupService.moveHours(driver.getId(), previousCompany, driver.getCompany());
+            }
+        }
+        Driver savedDriver = driverRepository.save(driver);
+        DriverSummary driverSummary = createDriverSummary(savedDriver);
+        //The company or status may have changed so index the driver again if they are still employed once committed.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                driverSearchIndex.put(driverSummary);
+                driverAvailabilityService.removeDriver(driverSummary.getId());
+                if ( savedDriver.getStatus() != DriverStatus.DISMISSED ) {
+                    driverAvailabilityService.addDrivers(Collections.singletonList(driverSummary));
+                }
+            }
+        });
+        driverResponseCache.invalidate(savedDriver.getId());
+        //The natural key may have changed so forget all cached identifiers.
+        driverIdsByNaturalKeyHash.invalidateAll();
+        return savedDriver;
+    }
+
+    @Transactional
+    /**
+     * Delete a driver from the database together with their history, their hours and their share of the weekly,
+     * monthly and company totals, so that a deleted driver is no longer counted anywhere. Payments which have already
+     * been recorded are kept.
+     * @param driver a <code>Driver</code> object representing the driver to delete.
+     */
+    public void deleteDriver ( final Driver driver ) {
+        Long driverId = driver.getId();
+        List<Object[]> driverIdAndCompany = driverRepository.findCompaniesByIdIn(Collections.singleton(driverId));
+        hoursRollupService.removeHours(driverId, driverIdAndCompany.isEmpty() ? driver.getCompany() : (String) driverIdAndCompany.get(0)[1]);
+        driverHoursRepository.deleteByDriverId(driverId);
+        driverHistoryRepository.deleteByDriverId(driverId);
+        driverRepository.delete(driverId);
+        driverResponseCache.invalidate(driverId);
+        driverIdsByNaturalKeyHash.invalidateAll();
+        //Only forget the driver in memory once the deletion has been committed.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                driverSearchIndex.remove(driverId);
+                driverAvailabilityService.removeDriver(driverId);
+                workingTimeStore.remove(driverId);
+            }
+        });
     }
 
     /**
@@ -48,6 +266,23 @@ public class DriverService {
         return driverRepository.findAll();
     }
 
+    /**
+     * Pass every driver in the database, or every driver of a particular company, to the supplied consumer one at a
+     * time in order of identifier. Drivers are read from the database in blocks and detached once they have been
+     * consumed, so memory use does not grow with the number of drivers. The history of the drivers is not loaded.
+     * @param company a <code>String</code> containing the company to export drivers for or null to export all drivers.
+     * @param consumer a <code>Consumer</code> which is called with each <code>Driver</code> object.
+     */
+    @Transactional
+    public void exportDrivers ( final String company, final Consumer<Driver> consumer ) {
+        try ( Stream<Driver> drivers = company != null ? driverRepository.streamByCompany(company) : driverRepository.streamAll() ) {
+            drivers.forEach(driver -> {
+                consumer.accept(driver);
+                entityManager.detach(driver);
+            });
+        }
+    }
+
     /**
      * Get all drivers in the database for a particular company.
      * @param company a <code>String</code> containing the name of the company to find drivers for.
@@ -57,6 +292,57 @@ public class DriverService {
         return driverRepository.findByCompany(company);
     }
 
+    /**
+     * Get one page of the summaries of all drivers in the database for listings. Only the listed columns are read so no
+     * history or hours are loaded.
+     * @param pageable a <code>Pageable</code> object containing the page to load and the sort order.
+     * @return a <code>List</code> of <code>DriverSummary</code> objects representing the drivers on the page.
+     */
+    public List<DriverSummary> getAllDriverSummaries ( final Pageable pageable ) {
+        return driverRepository.findAllSummaries(pageable);
+    }
+
+    /**
+     * Get one page of the summaries of all drivers in the database for a particular company for listings.
+     * @param company a <code>String</code> containing the name of the company to find drivers for.
+     * @param pageable a <code>Pageable</code> object containing the page to load and the sort order.
+     * @return a <code>List</code> of <code>DriverSummary</code> objects representing the drivers for a particular company on the page.
+     */
+    public List<DriverSummary> getDriverSummariesForCompany ( final String company, final Pageable pageable ) {
+        return driverRepository.findSummariesByCompany(company, pageable);
+    }
+
+    /**
+     * Get the number of drivers in the database for a particular company.
+     * @param company a <code>String</code> containing the name of the company to count drivers for.
+     * @return a <code>long</code> containing the number of drivers for a particular company.
+     */
+    public long getNumDriversForCompany ( final String company ) {
+        return driverRepository.countByCompany(company);
+    }
+
+    /**
+     * Get one page of the summaries of all drivers whose name or company, or a word in them, starts with the supplied
+     * prefix ignoring case. The summaries are found in the search index so the database is not queried.
+     * @param prefix a <code>String</code> containing the prefix to search for.
+     * @param pageable a <code>Pageable</code> object containing the page to return and the sort order.
+     * @return a <code>List</code> of <code>DriverSummary</code> objects representing the matching drivers on the page.
+     */
+    public List<DriverSummary> searchDriverSummaries ( final String prefix, final Pageable pageable ) {
+        List<DriverSummary> driverSummaries = driverSearchIndex.search(prefix, pageable.getSort());
+        int fromIndex = Math.min(pageable.getOffset(), driverSummaries.size());
+        return driverSummaries.subList(fromIndex, Math.min(fromIndex + pageable.getPageSize(), driverSummaries.size()));
+    }
+
+    /**
+     * Get the number of drivers whose name or company, or a word in them, starts with the supplied prefix ignoring case.
+     * @param prefix a <code>String</code> containing the prefix to search for.
+     * @return a <code>long</code> containing the number of matching drivers.
+     */
+    public long getNumDriversMatching ( final String prefix ) {
+        return driverSearchIndex.count(prefix);
+    }
+
     @Transactional
     /**
      * Find a driver based on their date of birth, name and company.
@@ -66,63 +352,614 @@ public class DriverService {
      * @return a <code>Driver</code> object representing the driver matching the criteria or null if none can be found.
      */
     public Driver findDriverByDateOfBirthAndNameAndCompany ( final LocalDate dateOfBirth, final String name, final String company ) {
-        return driverRepository.findByDateOfBirthAndNameAndCompany(dateOfBirth, name, company);
+        return driverRepository.findByNaturalKeyHash(DriverNaturalKey.hash(dateOfBirth, name, company));
     }
 
-    @Transactional
     /**
-     * Increment the hours for a particular driver.
-     * @param driver a <code>Driver</code> object representing the driver who's hours should increase.
+     * Find the identifier of a driver based on their date of birth, name and company without loading the driver.
+     * @param dateOfBirth a <code>LocalDate</code> object containing the date of birth of the driver to retrieve.
+     * @param name a <code>String</code> containing the name of the driver to retrieve.
+     * @param company a <code>String</code> containing the company of the driver to retrieve.
+     * @return a <code>Long</code> containing the identifier of the driver or null if none can be found.
+     */
+    public Long findDriverIdByDateOfBirthAndNameAndCompany ( final LocalDate dateOfBirth, final String name, final String company ) {
+        //Identifiers never change so they can be cached until the driver is edited or deleted.
+        String naturalKeyHash = DriverNaturalKey.hash(dateOfBirth, name, company);
+        Long driverId = driverIdsByNaturalKeyHash.getIfPresent(naturalKeyHash);
+        if ( driverId == null ) {
+            driverId = driverRepository.findIdByNaturalKeyHash(naturalKeyHash);
+            if ( driverId != null ) {
+                driverIdsByNaturalKeyHash.put(naturalKeyHash, driverId);
+            }
+        }
+        return driverId;
+    }
+
+    /**
+     * Find the identifiers of several drivers by the hashes of their natural keys. Identifiers which are not cached
+     * are loaded in a single query.
+     * @param naturalKeyHashes a <code>Collection</code> containing the hashes of the natural keys of the drivers.
+     * @return a <code>Map</code> from the hash of the natural key to the identifier of each driver which was found.
+     */
+    public Map<String, Long> findDriverIdsByNaturalKeyHashes ( final Collection<String> naturalKeyHashes ) {
+        Map<String, Long> driverIds = new HashMap<>(driverIdsByNaturalKeyHash.getAllPresent(naturalKeyHashes));
+        List<String> missingNaturalKeyHashes = new ArrayList<>();
+        for ( String naturalKeyHash : naturalKeyHashes ) {
+            if ( !driverIds.containsKey(naturalKeyHash) ) {
+                missingNaturalKeyHashes.add(naturalKeyHash);
+            }
+        }
+        if ( !missingNaturalKeyHashes.isEmpty() ) {
+            for ( Object[] naturalKeyHashAndId : driverRepository.findIdsByNaturalKeyHashIn(missingNaturalKeyHashes) ) {
+                driverIds.put((String) naturalKeyHashAndId[0], (Long) naturalKeyHashAndId[1]);
+                driverIdsByNaturalKeyHash.put((String) naturalKeyHashAndId[0], (Long) naturalKeyHashAndId[1]);
+            }
+        }
+        return driverIds;
+    }
+
+    /**
+     * Atomically increment the hours for a particular driver and date together with the weekly, monthly and company
+     * totals in one transaction. The hours are added by the database so concurrent increments for the same driver are
+     * never lost and the driver does not need to be loaded. If a concurrent request inserts the first entry for the
+     * same driver and date or the same total then the transaction is rolled back and applied again as an increment.
+     * @param driverId a <code>long</code> containing the identifier of the driver whose hours should increase.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
      * @param hours a <code>int</code> containing the number of hours that should be added to this driver.
      */
-    public void incrementDriverHours (final Driver driver, final int hours ) {
-        driver.incrementDriverHours(LocalDate.now(), hours);
-        driverRepository.saveAndFlush(driver);
+    public void incrementDriverHours ( final long driverId, final LocalDate workDate, final int hours ) {
+        Map<Long, Integer> hoursByDriverId = Collections.singletonMap(driverId, hours);
+        executeHoursTransaction(status -> applyDriverHours(workDate, hoursByDriverId));
+        //Write the confirmed total through to the stores of today's and recent hours.
+        if ( workingTimeStore.isWithinWindow(workDate) ) {
+            confirmHours(driverId, workDate);
+            driverAvailabilityService.updateHours(Collections.singleton(driverId));
+        }
+        driverResponseCache.invalidate(driverId);
+    }
+
+    /**
+     * Add the number of hours that several drivers have worked on a particular date in one transaction. The existing
+     * entries are incremented with one JDBC batch and the missing entries are inserted with a second batch instead of
+     * one statement round trip per driver. The weekly, monthly and company totals are updated in the same transaction.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param hoursByDriverId a <code>Map</code> from the identifier of each driver to the number of hours to add.
+     */
+    public void incrementDriverHours ( final LocalDate workDate, final Map<Long, Integer> hoursByDriverId ) {
+        executeHoursTransaction(status -> applyDriverHours(workDate, hoursByDriverId));
+        //Write the confirmed totals through to the stores of today's and recent hours.
+        if ( workingTimeStore.isWithinWindow(workDate) ) {
+            long version = dailyHoursStore.nextVersion();
+            long workingTimeVersion = workingTimeStore.nextVersion();
+            for ( DriverHours driverHours : driverHoursRepository.findByDriverIdInAndWorkDateBetweenOrderByWorkDateAsc(hoursByDriverId.keySet(), workDate, workDate) ) {
+                dailyHoursStore.put(version, driverHours.getDriverId(), workDate, driverHours.getHours());
+                workingTimeStore.merge(workingTimeVersion, driverHours.getDriverId(), workDate, driverHours.getHours());
+            }
+            driverAvailabilityService.updateHours(hoursByDriverId.keySet());
+        }
+        hoursByDriverId.keySet().forEach(driverResponseCache::invalidate);
+    }
+
+    /**
+     * Run a transaction which adds hours and retry it if a concurrent request inserted one of the same entries or
+     * totals first. Each retry finds more of the entries and totals, so the retries are bounded and the last failure
+     * is thrown to the caller.
+     * @param transactionCallback a <code>TransactionCallback</code> which adds the hours.
+     * @param <T> the type of the result of the transaction.
+     * @return a <code>T</code> containing the result of the transaction.
+     */
+    private <T> T executeHoursTransaction ( final TransactionCallback<T> transactionCallback ) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for ( int attempt = 1; ; attempt++ ) {
+            try {
+                return transactionTemplate.execute(transactionCallback);
+            } catch ( DataIntegrityViolationException dataIntegrityViolationException ) {
+                //Another request created an entry in the meantime so the transaction was rolled back - apply it again.
+                if ( attempt >= MAX_HOURS_WRITE_ATTEMPTS ) {
+                    throw dataIntegrityViolationException;
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the number of hours that several drivers have worked on a particular date and to their totals using JDBC
+     * batches. This method must be called within a transaction.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param hoursByDriverId a <code>Map</code> from the identifier of each driver to the number of hours to add.
+     * @return a <code>int</code> containing the number of entries which were inserted.
+     */
+    private int applyDriverHours ( final LocalDate workDate, final Map<Long, Integer> hoursByDriverId ) {
+        Date sqlWorkDate = Date.valueOf(workDate);
+        List<Long> driverIds = new ArrayList<>(hoursByDriverId.keySet());
+        List<Object[]> incrementArgs = new ArrayList<>(driverIds.size());
+        for ( Long driverId : driverIds ) {
+            incrementArgs.add(new Object[] { hoursByDriverId.get(driverId), driverId, sqlWorkDate });
+        }
+        int[] updateCounts = jdbcTemplate.batchUpdate(INCREMENT_HOURS_SQL, incrementArgs);
+        List<Object[]> insertArgs = new ArrayList<>();
+        for ( int i = 0; i < updateCounts.length; i++ ) {
+            if ( updateCounts[i] == 0 ) {
+                insertArgs.add(new Object[] { driverIds.get(i), sqlWorkDate, hoursByDriverId.get(driverIds.get(i)) });
+            }
+        }
+        if ( !insertArgs.isEmpty() ) {
+            jdbcTemplate.batchUpdate(INSERT_HOURS_SQL, insertArgs);
+        }
+        reopenPaidDates(workDate, driverIds);
+        hoursRollupService.addHours(workDate, hoursByDriverId);
+        return insertArgs.size();
+    }
+
+    /**
+     * Add the number of hours that a driver has worked on a particular date only if the new total does not exceed the
+     * supplied maximum. The check and the increment are a single atomic database operation, which runs in one
+     * transaction with the update of the weekly, monthly and company totals.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param hours a <code>int</code> containing the number of hours that should be added to this driver.
+     * @param maxHours a <code>int</code> containing the maximum total hours permitted on the date.
+     * @return a <code>DriverHoursUpdate</code> object indicating whether the hours were added and the total hours afterwards.
+     */
+    public DriverHoursUpdate incrementDriverHoursWithinLimit ( final long driverId, final LocalDate workDate, final int hours, final int maxHours ) {
+        boolean accepted = executeHoursTransaction(status -> applyDriverHoursWithinLimit(driverId, workDate, hours, maxHours));
+        int totalHours = confirmHours(driverId, workDate);
+        if ( accepted ) {
+            if ( workingTimeStore.isWithinWindow(workDate) ) {
+                driverAvailabilityService.updateHours(Collections.singleton(driverId));
+            }
+            driverResponseCache.invalidate(driverId);
+        }
+        return new DriverHoursUpdate(accepted, totalHours);
+    }
+
+    /**
+     * Add the number of hours that a driver has worked on a particular date and to their totals only if the new total
+     * does not exceed the supplied maximum. This method must be called within a transaction.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param hours a <code>int</code> containing the number of hours that should be added to this driver.
+     * @param maxHours a <code>int</code> containing the maximum total hours permitted on the date.
+     * @return a <code>boolean</code> which is true iff the hours were added.
+     */
+    private boolean applyDriverHoursWithinLimit ( final long driverId, final LocalDate workDate, final int hours, final int maxHours ) {
+        if ( hours > maxHours ) {
+            return false;
+        }
+        if ( driverHoursRepository.incrementHoursWithinLimit(driverId, workDate, hours, maxHours) == 0 ) {
+            if ( driverHoursRepository.findHoursByDriverIdAndWorkDate(driverId, workDate) != null ) {
+                return false;
+            }
+            jdbcTemplate.update(INSERT_HOURS_SQL, driverId, Date.valueOf(workDate), hours);
+        }
+        reopenPaidDates(workDate, Collections.singletonList(driverId));
+        hoursRollupService.addHours(workDate, Collections.singletonMap(driverId, hours));
+        return true;
+    }
+
+    /**
+     * Move the paid through date of drivers back before a date whose hours have just changed, so that the next payroll
+     * run reads the changed hours even if the date had already been paid completely. Hours for today or later are
+     * never within a paid through date so nothing is updated for them. This method must be called within a transaction.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param driverIds a <code>List</code> containing the identifiers of the drivers whose hours changed.
+     */
+    private void reopenPaidDates ( final LocalDate workDate, final List<Long> driverIds ) {
+        if ( !workDate.isBefore(LocalDate.now()) ) {
+            return;
+        }
+        Date dayBeforeWorkDate = Date.valueOf(workDate.minusDays(1));
+        Date sqlWorkDate = Date.valueOf(workDate);
+        List<Object[]> reopenArgs = new ArrayList<>(driverIds.size());
+        for ( Long driverId : driverIds ) {
+            reopenArgs.add(new Object[] { dayBeforeWorkDate, driverId, sqlWorkDate });
+        }
+        jdbcTemplate.batchUpdate(REOPEN_PAID_THROUGH_DATE_SQL, reopenArgs);
+    }
+
+    /**
+     * Read the total hours of a driver on a date from the database and write them through to the stores of today's and
+     * recent hours.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @return a <code>int</code> containing the total hours which is 0 if the driver has not worked on the date.
+     */
+    private int confirmHours ( final long driverId, final LocalDate workDate ) {
+        long version = dailyHoursStore.nextVersion();
+        long workingTimeVersion = workingTimeStore.nextVersion();
+        Integer totalHours = driverHoursRepository.findHoursByDriverIdAndWorkDate(driverId, workDate);
+        int confirmedHours = totalHours != null ? totalHours : 0;
+        dailyHoursStore.put(version, driverId, workDate, confirmedHours);
+        workingTimeStore.merge(workingTimeVersion, driverId, workDate, confirmedHours);
+        return confirmedHours;
+    }
+
+    /**
+     * Retrieve the number of hours worked by a particular driver today. The hours are served from memory and are only
+     * loaded from the database when they are requested for a driver for the first time each day or have expired.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @return a <code>int</code> with the number of hours worked today which is 0 if the driver has not worked today.
+     */
+    public int getHoursWorkedToday ( final long driverId ) {
+        int hoursWorked = dailyHoursStore.get(driverId);
+        if ( hoursWorked == DailyHoursStore.UNKNOWN ) {
+            LocalDate today = dailyHoursStore.getToday();
+            long version = dailyHoursStore.nextVersion();
+            Integer totalHours = driverHoursRepository.findHoursByDriverIdAndWorkDate(driverId, today);
+            hoursWorked = totalHours != null ? totalHours : 0;
+            dailyHoursStore.put(version, driverId, today, hoursWorked);
+        }
+        return hoursWorked;
+    }
+
+    /**
+     * Retrieve the number of hours worked by several drivers today. The hours are served from memory and the hours
+     * which are not yet in memory are loaded from the database with a single query.
+     * @param driverIds a <code>Collection</code> containing the identifiers of the drivers.
+     * @return a <code>Map</code> from the identifier of each driver to the hours worked today which is 0 if the driver has not worked today.
+     */
+    public Map<Long, Integer> getHoursWorkedToday ( final Collection<Long> driverIds ) {
+        Map<Long, Integer> hoursWorked = new HashMap<>();
+        List<Long> unknownDriverIds = new ArrayList<>();
+        for ( Long driverId : driverIds ) {
+            int hours = dailyHoursStore.get(driverId);
+            if ( hours == DailyHoursStore.UNKNOWN ) {
+                unknownDriverIds.add(driverId);
+            } else {
+                hoursWorked.put(driverId, hours);
+            }
+        }
+        if ( !unknownDriverIds.isEmpty() ) {
+            LocalDate today = dailyHoursStore.getToday();
+            long version = dailyHoursStore.nextVersion();
+            for ( DriverHours driverHours : driverHoursRepository.findByDriverIdInAndWorkDateBetweenOrderByWorkDateAsc(unknownDriverIds, today, today) ) {
+                hoursWorked.put(driverHours.getDriverId(), driverHours.getHours());
+            }
+            for ( Long driverId : unknownDriverIds ) {
+                int hours = hoursWorked.computeIfAbsent(driverId, id -> 0);
+                dailyHoursStore.put(version, driverId, today, hours);
+            }
+        }
+        return hoursWorked;
+    }
+
+    /**
+     * Get the summaries of the drivers of a particular company who have not been dismissed for roster planning.
+     * @param company a <code>String</code> containing the name of the company.
+     * @param assignedRouteSchedule a <code>String</code> containing the route schedule that the drivers must be assigned to or null for all drivers of the company.
+     * @return a <code>List</code> of <code>DriverSummary</code> objects representing the matching drivers.
+     */
+    public List<DriverSummary> getRoster ( final String company, final String assignedRouteSchedule ) {
+        if ( assignedRouteSchedule == null ) {
+            return driverRepository.findRosterByCompany(company);
+        }
+        return driverRepository.findRosterByCompanyAndAssignedRouteSchedule(company, assignedRouteSchedule);
+    }
+
+    /**
+     * Retrieve the number of hours worked by a particular driver for the specified date.
+     * @param driver a <code>Driver</code> object representing the driver to retrieve the hours for.
+     * @param date a <code>LocalDate</code> object with the date to retrieve the hours worked for.
+     * @return a <code>Integer</code> with the number of hours worked or null if the driver did not work on that date.
+     */
+    public Integer getHoursWorkedForDate ( final Driver driver, final LocalDate date ) {
+        DriverHours driverHours = driverHoursRepository.findByDriverIdAndWorkDate(driver.getId(), date);
+        return driverHours != null ? driverHours.getHours() : null;
+    }
+
+    /**
+     * Retrieve the most recent history entries of a driver without loading the full history.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param maxEntries a <code>int</code> containing the maximum number of entries to return.
+     * @return a <code>List</code> of <code>DriverHistory</code> objects in chronological order.
+     */
+    public List<DriverHistory> getRecentDriverHistory ( final Long driverId, final int maxEntries ) {
+        List<DriverHistory> recentHistory = new ArrayList<>(driverHistoryRepository.findByDriverIdOrderByIdDesc(driverId, new PageRequest(0, maxEntries)));
+        Collections.reverse(recentHistory);
+        return recentHistory;
+    }
+
+    /**
+     * Retrieve a page of the history of a driver, newest first. The next page can be retrieved by supplying the
+     * identifier of the last entry of this page as the cursor.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param status a <code>DriverStatus</code> to only return entries with this status or null for all entries.
+     * @param fromDate a <code>LocalDate</code> containing the first date to include or null for no lower limit.
+     * @param toDate a <code>LocalDate</code> containing the last date to include or null for no upper limit.
+     * @param beforeId a <code>Long</code> containing the cursor or null to start with the newest entry.
+     * @param maxEntries a <code>int</code> containing the maximum number of entries to return.
+     * @return a <code>List</code> of <code>DriverHistory</code> objects matching the criteria.
+     */
+    public List<DriverHistory> getDriverHistory ( final Long driverId, final DriverStatus status, final LocalDate fromDate,
+                                                  final LocalDate toDate, final Long beforeId, final int maxEntries ) {
+        LocalDate from = fromDate != null ? fromDate : EARLIEST_HISTORY_DATE;
+        LocalDate to = toDate != null ? toDate : LATEST_HISTORY_DATE;
+        long cursor = beforeId != null ? beforeId : Long.MAX_VALUE;
+        if ( status == null ) {
+            return driverHistoryRepository.findByDriverIdAndIdLessThanAndDateBetweenOrderByIdDesc(driverId, cursor, from, to, new PageRequest(0, maxEntries));
+        }
+        return driverHistoryRepository.findByDriverIdAndStatusAndIdLessThanAndDateBetweenOrderByIdDesc(driverId, status, cursor, from, to, new PageRequest(0, maxEntries));
     }
 
     @Transactional
     /**
-     * Dismiss a driver for a particular reason.
-     * @param driver a <code>Driver</code> object representing the driver who should be dismissed.
+     * Dismiss a driver for a particular reason. Only the status is updated and a history entry is inserted so the
+     * driver does not need to be loaded or saved again.
+     * @param driverId a <code>Long</code> containing the identifier of the driver who should be dismissed.
      * @param reason a <code>String</code> with the reason for dismissal.
      */
-    public void dismissDriver (final Driver driver, final String reason) {
-        driver.setStatus(DriverStatus.DISMISSED);
-        DriverHistory driverHistory = new DriverHistory();
-        driverHistory.setComment("Dismissed. Reason: " + reason);
-        driverHistory.setDate(LocalDate.now());
-        driverHistory.setStatus(DriverStatus.DISMISSED);
-        driver.addHistory(driverHistory);
-        driverRepository.saveAndFlush(driver);
+    public void dismissDriver (final Long driverId, final String reason) {
+        driverRepository.updateStatus(driverId, DriverStatus.DISMISSED);
+        driverResponseCache.invalidate(driverId);
+        appendHistory(driverId, DriverStatus.DISMISSED, "Dismissed. Reason: " + reason);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                driverAvailabilityService.removeDriver(driverId);
+                workingTimeStore.remove(driverId);
+            }
+        });
+    }
+
+    @Transactional
+    /**
+     * Dismiss all drivers of a particular company who have not already been dismissed, for example when a franchise
+     * contract ends. The drivers are dismissed with a single update and their history entries are inserted in JDBC
+     * batches, so no driver needs to be loaded.
+     * @param company a <code>String</code> containing the company whose drivers should be dismissed.
+     * @param reason a <code>String</code> with the reason for dismissal.
+     * @return a <code>int</code> containing the number of drivers dismissed.
+     */
+    public int dismissDriversForCompany ( final String company, final String reason ) {
+        List<Long> driverIds = driverRepository.findCurrentDriverIdsByCompany(company);
+        if ( driverIds.isEmpty() ) {
+            return 0;
+        }
+        int numDismissed = driverRepository.updateStatusOfCurrentDriversByCompany(company, DriverStatus.DISMISSED);
+        List<DriverHistory> dismissals = new ArrayList<>(driverIds.size());
+        for ( Long driverId : driverIds ) {
+            dismissals.add(new DriverHistory(driverId, LocalDate.now(), DriverStatus.DISMISSED, "Dismissed. Reason: " + reason));
+        }
+        appendHistory(dismissals);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                driverAvailabilityService.removeCompany(company);
+                driverIds.forEach(workingTimeStore::remove);
+            }
+        });
+        return numDismissed;
+    }
+
+    @Transactional
+    /**
+     * Change the hourly wage of all drivers of a particular company who have not been dismissed, for example when a
+     * pay agreement changes. The wages are changed with a single update and a history entry recording the previous
+     * wage of each driver is inserted in JDBC batches, so no driver needs to be loaded.
+     * @param company a <code>String</code> containing the company whose drivers should be paid the new wage.
+     * @param hourlyWage a <code>BigDecimal</code> containing the new hourly wage.
+     * @return a <code>int</code> containing the number of drivers whose wage was changed.
+     */
+    public int changeHourlyWageForCompany ( final String company, final BigDecimal hourlyWage ) {
+        List<Object[]> driverWages = driverRepository.findCurrentDriverWagesByCompany(company);
+        if ( driverWages.isEmpty() ) {
+            return 0;
+        }
+        int numChanged = driverRepository.updateHourlyWageOfCurrentDriversByCompany(company, hourlyWage);
+        List<Long> driverIds = new ArrayList<>(driverWages.size());
+        List<DriverHistory> wageChanges = new ArrayList<>(driverWages.size());
+        for ( Object[] driverWage : driverWages ) {
+            Long driverId = (Long) driverWage[0];
+            driverIds.add(driverId);
+            wageChanges.add(new DriverHistory(driverId, LocalDate.now(), DriverStatus.WAGE_CHANGED, "Hourly wage changed from " + driverWage[1] + " to " + hourlyWage));
+        }
+        appendHistory(wageChanges);
+        //Only show the new wage in searches once it has been committed.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                driverSearchIndex.updateHourlyWage(driverIds, hourlyWage);
+            }
+        });
+        return numChanged;
+    }
+
+    @Transactional
+    /**
+     * Append an entry for today to the history of a driver with a single insert.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param status a <code>DriverStatus</code> containing the status of the new entry.
+     * @param comment a <code>String</code> containing the comment of the new entry.
+     * @return a <code>DriverHistory</code> object representing the entry which was added.
+     */
+    public DriverHistory appendHistory ( final Long driverId, final DriverStatus status, final String comment ) {
+        driverResponseCache.invalidate(driverId);
+        return driverHistoryRepository.save(new DriverHistory(driverId, LocalDate.now(), status, comment));
     }
 
     @Transactional
     /**
-     * Pay all drivers for a particular company for a particular date range.
+     * Append several entries to the history of one or more drivers. The entries are inserted in JDBC batches.
+     * @param driverHistoryList a <code>List</code> of <code>DriverHistory</code> objects which must contain the driver id.
+     */
+    public void appendHistory ( final List<DriverHistory> driverHistoryList ) {
+        Set<Long> driverIds = new HashSet<>();
+        driverHistoryList.forEach(driverHistory -> driverIds.add(driverHistory.getDriverId()));
+        driverResponseCache.invalidate(driverIds);
+        driverHistoryRepository.save(driverHistoryList);
+    }
+
+    @Transactional
+    /**
+     * Pay all drivers for a particular company for a particular date range. Only hours which have not been paid yet
+     * are paid, so running the payroll again for an overlapping range does not pay any hours twice. Dates on or
+     * before the paid through date of a driver are not read at all, so each run only reads the work added since the
+     * previous run. The paid through date never passes yesterday because hours can still be added today. Large
+     * companies should be paid with a payroll job instead, which commits the drivers in chunks.
      * @param company a <code>String</code> containing the company that should pay their drivers.
      * @param fromDate a <code>LocalDate</code> containing the start date that should be paid from.
      * @param toDate a <code>LocalDate</code> containing the end date that should be paid to.
-     * @return a <code>BigDecimal</code> object representing the total amount paid to all drivers.
+     * @return a <code>Money</code> object representing the total amount paid to all drivers.
+     * @throws ConcurrencyFailureException if another payroll run paid some of the same hours at the same time.
      */
-    public BigDecimal payDrivers ( final String company, final LocalDate fromDate, final LocalDate toDate ) {
-        //Find all drivers for the company who could be eligable to be paid.
-        List<Driver> driversToBePaid = driverRepository.findByCompany(company);
-        //Count money paid out.
-        BigDecimal paidOut = new BigDecimal(0);
-        //Go through the dates.
-        LocalDate currentDate = fromDate;
-        do {
-            //Check to see if any drivers worked that day.
-            for ( Driver driver : driversToBePaid ) {
-                if ( driver.getHoursWorkedForDate(currentDate) != null && driver.getHoursWorkedForDate(currentDate) > 0 ) {
-                    //Pay them if they did.
-                    paidOut = paidOut.add(payDriver(driver, currentDate));
+    public Money payDrivers ( final String company, final LocalDate fromDate, final LocalDate toDate ) {
+        Long payrollRunId = startPayrollRun(company, fromDate, toDate);
+        //Read only the unpaid hours of the drivers who worked for the company during the period in one query.
+        Collection<DriverPayrollTotal> payrollTotals = markHoursPaid(company, payrollRunId, driverHoursRepository.findUnpaidHoursForCompany(company, fromDate, toDate));
+        LocalDate paidThroughDate = getPaidThroughDate(toDate);
+        driverRepository.advancePaidThroughDate(company, paidThroughDate);
+        advancePaidThroughDates(driverHoursRepository.findEarliestUnpaidWorkDatesForCompany(company, paidThroughDate));
+        return Money.ofMinorUnits(recordPayments(payrollTotals, fromDate, toDate));
+    }
+
+    @Transactional
+    /**
+     * Start a payroll run which pays drivers in chunks. The payments of all chunks refer to the same run.
+     * @param company a <code>String</code> containing the company that is paying their drivers or null if several companies are paid.
+     * @param fromDate a <code>LocalDate</code> containing the start date that is paid from.
+     * @param toDate a <code>LocalDate</code> containing the end date that is paid to.
+     * @return a <code>Long</code> containing the identifier of the payroll run.
+     */
+    public Long startPayrollRun ( final String company, final LocalDate fromDate, final LocalDate toDate ) {
+        return payrollRunRepository.save(new PayrollRun(company, fromDate, toDate)).getId();
+    }
+
+    @Transactional
+    /**
+     * Pay a chunk of the drivers of a company for a particular date range following the same rules as
+     * <code>payDrivers</code>. The caller decides which drivers belong to the chunk.
+     * @param payrollRunId a <code>Long</code> containing the identifier of the payroll run which the chunk belongs to.
+     * @param company a <code>String</code> containing the company that should pay their drivers.
+     * @param driverIds a <code>Collection</code> containing the identifiers of the drivers in the chunk.
+     * @param fromDate a <code>LocalDate</code> containing the start date that should be paid from.
+     * @param toDate a <code>LocalDate</code> containing the end date that should be paid to.
+     * @return a <code>Collection</code> of <code>DriverPayrollTotal</code> objects with one entry per driver who was paid.
+     * @throws ConcurrencyFailureException if another payroll run paid some of the same hours at the same time.
+     */
+    public Collection<DriverPayrollTotal> payDriverChunk ( final Long payrollRunId, final String company, final Collection<Long> driverIds, final LocalDate fromDate, final LocalDate toDate ) {
+        Collection<DriverPayrollTotal> payrollTotals = markHoursPaid(company, payrollRunId, driverHoursRepository.findUnpaidHoursForDrivers(driverIds, fromDate, toDate));
+        LocalDate paidThroughDate = getPaidThroughDate(toDate);
+        driverRepository.advancePaidThroughDateForDrivers(driverIds, paidThroughDate);
+        advancePaidThroughDates(driverHoursRepository.findEarliestUnpaidWorkDatesForDrivers(driverIds, paidThroughDate));
+        recordPayments(payrollTotals, fromDate, toDate);
+        return payrollTotals;
+    }
+
+    /**
+     * Sum the unpaid hours of each driver, mark exactly the hours which were read as paid and append one payment per
+     * entry to the payment ledger. The hourly wage of each driver is converted to minor units once so that the totals
+     * are summed without creating any objects per entry.
+     * @param company a <code>String</code> containing the company that is paying their drivers.
+     * @param payrollRunId a <code>Long</code> containing the identifier of the payroll run which makes the payments.
+     * @param unpaidHoursList a <code>List</code> of <code>UnpaidDriverHours</code> objects ordered by driver.
+     * @return a <code>Collection</code> of <code>DriverPayrollTotal</code> objects with one entry per driver to pay.
+     * @throws ConcurrencyFailureException if another payroll run has already marked some of the hours as paid.
+     */
+    private Collection<DriverPayrollTotal> markHoursPaid ( final String company, final Long payrollRunId, final List<UnpaidDriverHours> unpaidHoursList ) {
+        List<DriverPayrollTotal> payrollTotals = new ArrayList<>();
+        List<Object[]> paidHoursArgs = new ArrayList<>(unpaidHoursList.size());
+        List<Object[]> paymentArgs = new ArrayList<>(unpaidHoursList.size());
+        Long driverId = null;
+        long hourlyWageMinorUnits = 0;
+        long totalHours = 0;
+        for ( UnpaidDriverHours unpaidHours : unpaidHoursList ) {
+            //The entries are ordered by driver so the total of a driver is complete once the next driver starts.
+            if ( !unpaidHours.getDriverId().equals(driverId) ) {
+                if ( driverId != null ) {
+                    payrollTotals.add(new DriverPayrollTotal(driverId, hourlyWageMinorUnits, totalHours));
                 }
+                driverId = unpaidHours.getDriverId();
+                hourlyWageMinorUnits = Money.toMinorUnits(unpaidHours.getHourlyWage());
+                totalHours = 0;
             }
-            currentDate = currentDate.plusDays(1);
-        } while ( currentDate.isEqual(toDate) );
+            totalHours += unpaidHours.getUnpaidHours();
+            paidHoursArgs.add(new Object[] { unpaidHours.getHours(), unpaidHours.getDriverHoursId(), unpaidHours.getPaidHours() });
+            paymentArgs.add(new Object[] { driverId, company, Date.valueOf(unpaidHours.getWorkDate()), unpaidHours.getUnpaidHours(),
+                    Money.multiply(hourlyWageMinorUnits, unpaidHours.getUnpaidHours()), payrollRunId });
+        }
+        if ( driverId != null ) {
+            payrollTotals.add(new DriverPayrollTotal(driverId, hourlyWageMinorUnits, totalHours));
+        }
+        if ( !paidHoursArgs.isEmpty() ) {
+            for ( int updateCount : jdbcTemplate.batchUpdate(MARK_HOURS_PAID_SQL, paidHoursArgs) ) {
+                if ( updateCount == 0 ) {
+                    throw new ConcurrencyFailureException("The hours of " + company + " are already being paid by another payroll run");
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_PAYMENT_SQL, paymentArgs);
+        }
+        return payrollTotals;
+    }
+
+    /**
+     * Write the payment history of each paid driver.
+     * @param payrollTotals a <code>Collection</code> of <code>DriverPayrollTotal</code> objects with one entry per driver to pay.
+     * @param fromDate a <code>LocalDate</code> containing the start date that was paid from.
+     * @param toDate a <code>LocalDate</code> containing the end date that was paid to.
+     * @return a <code>long</code> containing the total amount paid to all drivers in minor units.
+     */
+    private long recordPayments ( final Collection<DriverPayrollTotal> payrollTotals, final LocalDate fromDate, final LocalDate toDate ) {
+        //Count money paid out.
+        long paidOutMinorUnits = 0;
+        List<DriverHistory> payments = new ArrayList<>(payrollTotals.size());
+        for ( DriverPayrollTotal payrollTotal : payrollTotals ) {
+            long toBePaidMinorUnits = payrollTotal.getAmountToPayMinorUnits();
+            payments.add(createPaymentHistory(payrollTotal.getDriverId(), toBePaidMinorUnits, fromDate, toDate));
+            paidOutMinorUnits = Money.add(paidOutMinorUnits, toBePaidMinorUnits);
+        }
+        //Write all payment records together so that they can be sent to the database in batches.
+        appendHistory(payments);
         //Return amount paid out.
-        return paidOut;
+        return paidOutMinorUnits;
+    }
+
+    /**
+     * Advance the paid through date of drivers who still have unpaid hours to the day before their earliest unpaid
+     * hours, so that later payroll runs do not read the dates before which have been paid completely. This includes
+     * drivers who have never been paid.
+     * @param earliestUnpaidWorkDates a <code>List</code> of arrays containing the identifier of each driver and their earliest unpaid work date.
+     */
+    private void advancePaidThroughDates ( final List<Object[]> earliestUnpaidWorkDates ) {
+        List<Object[]> advanceArgs = new ArrayList<>(earliestUnpaidWorkDates.size());
+        for ( Object[] earliestUnpaidWorkDate : earliestUnpaidWorkDates ) {
+            Date dayBeforeWorkDate = Date.valueOf(((LocalDate) earliestUnpaidWorkDate[1]).minusDays(1));
+            advanceArgs.add(new Object[] { dayBeforeWorkDate, earliestUnpaidWorkDate[0], dayBeforeWorkDate });
+        }
+        if ( !advanceArgs.isEmpty() ) {
+            jdbcTemplate.batchUpdate(ADVANCE_PAID_THROUGH_DATE_SQL, advanceArgs);
+        }
+    }
+
+    /**
+     * Return the last date which is paid completely by a payroll run ending on the supplied date.
+     * @param toDate a <code>LocalDate</code> containing the end date of the payroll run.
+     * @return a <code>LocalDate</code> containing the end date or yesterday if the end date is later.
+     */
+    private LocalDate getPaidThroughDate ( final LocalDate toDate ) {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        return toDate.isBefore(yesterday) ? toDate : yesterday;
+    }
+
+    /**
+     * Sum the payments to a driver for hours worked within a date range.
+     * @param driverId a <code>Long</code> containing the identifier of the driver.
+     * @param fromDate a <code>LocalDate</code> containing the first work date to include.
+     * @param toDate a <code>LocalDate</code> containing the last work date to include.
+     * @return a <code>PayoutTotal</code> object containing the number of payments, the hours and the amount paid.
+     */
+    public PayoutTotal getPayoutTotalForDriver ( final Long driverId, final LocalDate fromDate, final LocalDate toDate ) {
+        return driverPaymentRepository.sumByDriver(driverId, fromDate, toDate);
+    }
+
+    /**
+     * Sum the payments of a company for hours worked within a date range.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDate a <code>LocalDate</code> containing the first work date to include.
+     * @param toDate a <code>LocalDate</code> containing the last work date to include.
+     * @return a <code>PayoutTotal</code> object containing the number of payments, the hours and the amount paid.
+     */
+    public PayoutTotal getPayoutTotalForCompany ( final String company, final LocalDate fromDate, final LocalDate toDate ) {
+        return driverPaymentRepository.sumByCompany(company, fromDate, toDate);
     }
 
     @Transactional
@@ -134,23 +971,31 @@ public class DriverService {
     public void assignRouteSchedule ( final Driver driver, final String routeSchedule ) {
         driver.setAssignedRouteSchedule(routeSchedule);
         driverRepository.saveAndFlush(driver);
+        driverResponseCache.invalidate(driver.getId());
     }
 
     /**
-     * Pay a driver for a particular date.
-     * @param driver a <code>Driver</code> object containing the driver who should be paid.
-     * @param currentDate a <code>LocalDate</code> object containing the date to pay the driver.
-     * @return a <code>BigDecimal</code> object containing the amount paid to the driver.
+     * Create the history entry recording the payment of a driver for a particular period.
+     * @param driverId a <code>Long</code> containing the identifier of the driver who was paid.
+     * @param amountPaidMinorUnits a <code>long</code> containing the amount paid to the driver in minor units.
+     * @param fromDate a <code>LocalDate</code> containing the start date that was paid from.
+     * @param toDate a <code>LocalDate</code> containing the end date that was paid to.
+     * @return a <code>DriverHistory</code> object representing the payment.
      */
-    private BigDecimal payDriver ( final Driver driver, final LocalDate currentDate ) {
-        BigDecimal toBePaid = new BigDecimal(driver.getHoursWorkedForDate(currentDate)).multiply(driver.getHourlyWage());
-        DriverHistory driverHistory = new DriverHistory();
-        driverHistory.setComment("Paid " + toBePaid.toString() + " for working on " + currentDate.getDayOfMonth() + "-" + currentDate.getMonth() + "-" + currentDate.getYear());
-        driverHistory.setDate(LocalDate.now());
-        driverHistory.setStatus(DriverStatus.PAID);
-        driver.addHistory(driverHistory);
-        driverRepository.saveAndFlush(driver);
-        return toBePaid;
+    private DriverHistory createPaymentHistory ( final Long driverId, final long amountPaidMinorUnits, final LocalDate fromDate, final LocalDate toDate ) {
+        return new DriverHistory(driverId, LocalDate.now(), DriverStatus.PAID, "Paid " + Money.format(amountPaidMinorUnits) + " for working from "
+                + fromDate.getDayOfMonth() + "-" + fromDate.getMonthValue() + "-" + fromDate.getYear()
+                + " to " + toDate.getDayOfMonth() + "-" + toDate.getMonthValue() + "-" + toDate.getYear());
+    }
+
+    /**
+     * Create a summary of the supplied driver for the search index.
+     * @param driver a <code>Driver</code> object to summarise.
+     * @return a <code>DriverSummary</code> object containing the listed values of the driver.
+     */
+    private DriverSummary createDriverSummary ( final Driver driver ) {
+        return new DriverSummary(driver.getId(), driver.getName(), driver.getCompany(), driver.getDateOfBirth(),
+                driver.getHourlyWage(), driver.getStartDate());
     }
 
 }
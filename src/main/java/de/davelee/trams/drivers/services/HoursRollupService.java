@@ -0,0 +1,357 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.data.CompanyDailyHours;
+import de.davelee.trams.drivers.data.DriverHoursRollup;
+import de.davelee.trams.drivers.repository.CompanyDailyHoursRepository;
+import de.davelee.trams.drivers.repository.DriverHoursRepository;
+import de.davelee.trams.drivers.repository.DriverMonthlyHoursRepository;
+import de.davelee.trams.drivers.repository.DriverRepository;
+import de.davelee.trams.drivers.repository.DriverWeeklyHoursRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * This class maintains the totals of the hours worked per driver and week, per driver and month and per company and
+ * day, so that reports comparing hours with contracts read a few pre-aggregated rows instead of the hours of every day.
+ * The totals must be added in the same transaction as the driver hours so that both are always consistent. Totals are
+ * upserted with JDBC batches in the order of their keys, so a concurrent first insert of the same total fails with a
+ * unique index violation and the caller can retry the whole transaction as it already does for the driver hours. The
+ * company totals are split into stripes by driver so that the drivers of one company do not all wait for the same row.
+ * @author Dave Lee
+ */
+@Service
+public class HoursRollupService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int COMPANY_DAILY_STRIPES = 16;
+    private static final long REBUILD_LOCK_ID = 1;
+
+    private static final String INCREMENT_WEEKLY_SQL = "update driver_weekly_hours set hours = hours + ? where driver_id = ? and week_start = ?";
+    private static final String INSERT_WEEKLY_SQL = "insert into driver_weekly_hours (hours, driver_id, week_start) values (?, ?, ?)";
+    private static final String INCREMENT_MONTHLY_SQL = "update driver_monthly_hours set hours = hours + ? where driver_id = ? and month_start = ?";
+    private static final String INSERT_MONTHLY_SQL = "insert into driver_monthly_hours (hours, driver_id, month_start) values (?, ?, ?)";
+    private static final String INCREMENT_COMPANY_DAILY_SQL = "update company_daily_hours set hours = hours + ? where company = ? and work_date = ? and stripe = ?";
+    private static final String INSERT_COMPANY_DAILY_SQL = "insert into company_daily_hours (hours, company, work_date, stripe) values (?, ?, ?, ?)";
+    private static final String REBUILD_COMPANY_DAILY_SQL = "insert into company_daily_hours (company, work_date, stripe, hours) "
+            + "select d.company, h.work_date, mod(h.driver_id, " + COMPANY_DAILY_STRIPES + "), sum(h.hours) from driver_hours h, driver d "
+            + "where h.driver_id = d.id group by d.company, h.work_date, mod(h.driver_id, " + COMPANY_DAILY_STRIPES + ")";
+    private static final String SELECT_HOURS_SQL = "select driver_id, work_date, hours from driver_hours order by driver_id";
+    private static final String SELECT_DRIVER_HOURS_SQL = "select work_date, hours from driver_hours where driver_id = ? order by work_date";
+    private static final String DECREMENT_COMPANY_DAILY_SQL = "update company_daily_hours set hours = hours - ? where company = ? and work_date = ? and stripe = ?";
+    private static final String INSERT_REBUILD_LOCK_SQL = "insert into hours_rollup_lock (id) values (?)";
+    private static final String DELETE_REBUILD_LOCK_SQL = "delete from hours_rollup_lock where id = ?";
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private DriverHoursRepository driverHoursRepository;
+
+    @Autowired
+    private DriverWeeklyHoursRepository driverWeeklyHoursRepository;
+
+    @Autowired
+    private DriverMonthlyHoursRepository driverMonthlyHoursRepository;
+
+    @Autowired
+    private CompanyDailyHoursRepository companyDailyHoursRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    /**
+     * Build the totals from the driver hours at startup if the database contains hours but no totals yet, for example
+     * because the hours were recorded before the totals were introduced. If several instances start at the same time
+     * then only the first one builds the totals and the others find them once they have acquired the rebuild lock.
+     */
+    public void load() {
+        if ( isMissingTotals() ) {
+            rebuild(true);
+        }
+    }
+
+    /**
+     * Replace all totals with totals calculated from the driver hours in one transaction. The hours are read once in
+     * the order of the drivers and the totals are inserted in batches so memory does not grow with the number of hours.
+     */
+    public void rebuild() {
+        rebuild(false);
+    }
+
+    /**
+     * Replace all totals with totals calculated from the driver hours in one transaction which holds the rebuild lock,
+     * so that rebuilds of several instances run one after another instead of deleting each other's totals.
+     * @param onlyIfMissing a <code>boolean</code> which is true iff the totals should only be built if they are still missing once the lock is held.
+     */
+    private void rebuild ( final boolean onlyIfMissing ) {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            //The insert waits until a concurrent rebuild has deleted the lock row and committed.
+            jdbcTemplate.update(INSERT_REBUILD_LOCK_SQL, REBUILD_LOCK_ID);
+            if ( onlyIfMissing && !isMissingTotals() ) {
+                return jdbcTemplate.update(DELETE_REBUILD_LOCK_SQL, REBUILD_LOCK_ID);
+            }
+            jdbcTemplate.update("delete from driver_weekly_hours");
+            jdbcTemplate.update("delete from driver_monthly_hours");
+            jdbcTemplate.update("delete from company_daily_hours");
+            List<Object[]> weeklyArgs = new ArrayList<>();
+            List<Object[]> monthlyArgs = new ArrayList<>();
+            SortedMap<LocalDate, Integer> weeklyHours = new TreeMap<>();
+            SortedMap<LocalDate, Integer> monthlyHours = new TreeMap<>();
+            long[] currentDriverId = { -1 };
+            jdbcTemplate.query(SELECT_HOURS_SQL, resultSet -> {
+                long driverId = resultSet.getLong(1);
+                if ( driverId != currentDriverId[0] ) {
+                    addArgs(currentDriverId[0], weeklyHours, weeklyArgs);
+                    addArgs(currentDriverId[0], monthlyHours, monthlyArgs);
+                    currentDriverId[0] = driverId;
+                    if ( weeklyArgs.size() >= REBUILD_BATCH_SIZE ) {
+                        insertAndClear(weeklyArgs, monthlyArgs);
+                    }
+                }
+                LocalDate workDate = resultSet.getDate(2).toLocalDate();
+                weeklyHours.merge(getWeekStart(workDate), resultSet.getInt(3), Integer::sum);
+                monthlyHours.merge(getMonthStart(workDate), resultSet.getInt(3), Integer::sum);
+            });
+            addArgs(currentDriverId[0], weeklyHours, weeklyArgs);
+            addArgs(currentDriverId[0], monthlyHours, monthlyArgs);
+            insertAndClear(weeklyArgs, monthlyArgs);
+            jdbcTemplate.update(REBUILD_COMPANY_DAILY_SQL);
+            return jdbcTemplate.update(DELETE_REBUILD_LOCK_SQL, REBUILD_LOCK_ID);
+        });
+    }
+
+    /**
+     * Check whether the database contains driver hours but no totals.
+     * @return a <code>boolean</code> which is true iff the totals need to be built from the driver hours.
+     */
+    private boolean isMissingTotals() {
+        return driverWeeklyHoursRepository.count() == 0 && driverHoursRepository.count() > 0;
+    }
+
+    /**
+     * Add the hours that several drivers have worked on a particular date to the weekly, monthly and company totals.
+     * This method must be called within the transaction which adds the hours.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param hoursByDriverId a <code>Map</code> from the identifier of each driver to the number of hours added.
+     */
+    public void addHours ( final LocalDate workDate, final Map<Long, Integer> hoursByDriverId ) {
+        if ( hoursByDriverId.isEmpty() ) {
+            return;
+        }
+        Date sqlWeekStart = Date.valueOf(getWeekStart(workDate));
+        Date sqlMonthStart = Date.valueOf(getMonthStart(workDate));
+        //Write the totals in the order of their keys so that concurrent transactions lock rows in the same order.
+        SortedMap<Long, Integer> sortedHoursByDriverId = new TreeMap<>(hoursByDriverId);
+        List<Object[]> weeklyArgs = new ArrayList<>(sortedHoursByDriverId.size());
+        List<Object[]> monthlyArgs = new ArrayList<>(sortedHoursByDriverId.size());
+        for ( Map.Entry<Long, Integer> driverHours : sortedHoursByDriverId.entrySet() ) {
+            weeklyArgs.add(new Object[] { driverHours.getValue(), driverHours.getKey(), sqlWeekStart });
+            monthlyArgs.add(new Object[] { driverHours.getValue(), driverHours.getKey(), sqlMonthStart });
+        }
+        upsert(INCREMENT_WEEKLY_SQL, INSERT_WEEKLY_SQL, weeklyArgs);
+        upsert(INCREMENT_MONTHLY_SQL, INSERT_MONTHLY_SQL, monthlyArgs);
+        SortedMap<String, SortedMap<Integer, Integer>> hoursByCompanyAndStripe = new TreeMap<>();
+        for ( Object[] driverIdAndCompany : driverRepository.findCompaniesByIdIn(sortedHoursByDriverId.keySet()) ) {
+            if ( driverIdAndCompany[1] != null ) {
+                long driverId = (Long) driverIdAndCompany[0];
+                hoursByCompanyAndStripe.computeIfAbsent((String) driverIdAndCompany[1], company -> new TreeMap<>())
+                        .merge(getStripe(driverId), sortedHoursByDriverId.get(driverId), Integer::sum);
+            }
+        }
+        Date sqlWorkDate = Date.valueOf(workDate);
+        List<Object[]> companyArgs = new ArrayList<>();
+        for ( Map.Entry<String, SortedMap<Integer, Integer>> companyHours : hoursByCompanyAndStripe.entrySet() ) {
+            for ( Map.Entry<Integer, Integer> stripeHours : companyHours.getValue().entrySet() ) {
+                companyArgs.add(new Object[] { stripeHours.getValue(), companyHours.getKey(), sqlWorkDate, stripeHours.getKey() });
+            }
+        }
+        upsert(INCREMENT_COMPANY_DAILY_SQL, INSERT_COMPANY_DAILY_SQL, companyArgs);
+    }
+
+    /**
+     * Remove all hours of a driver from the weekly, monthly and company totals before the driver and their hours are
+     * deleted. This method must be called within the transaction which deletes the hours.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @param company a <code>String</code> containing the company whose totals contain the hours of the driver.
+     */
+    public void removeHours ( final long driverId, final String company ) {
+        jdbcTemplate.update("delete from driver_weekly_hours where driver_id = ?", driverId);
+        jdbcTemplate.update("delete from driver_monthly_hours where driver_id = ?", driverId);
+        if ( company == null ) {
+            return;
+        }
+        List<Object[]> companyArgs = getCompanyArgs(driverId, company);
+        if ( !companyArgs.isEmpty() ) {
+            jdbcTemplate.batchUpdate(DECREMENT_COMPANY_DAILY_SQL, companyArgs);
+        }
+    }
+
+    /**
+     * Move all hours of a driver from the company totals of their previous company to the totals of their new company
+     * when the driver changes company. The weekly and monthly totals belong to the driver so they are not changed.
+     * This method must be called within the transaction which changes the company of the driver.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @param previousCompany a <code>String</code> containing the company whose totals contain the hours of the driver.
+     * @param company a <code>String</code> containing the company whose totals should contain the hours from now on.
+     */
+    public void moveHours ( final long driverId, final String previousCompany, final String company ) {
+        List<Object[]> previousCompanyArgs = getCompanyArgs(driverId, previousCompany);
+        if ( previousCompanyArgs.isEmpty() ) {
+            return;
+        }
+        if ( previousCompany != null ) {
+            jdbcTemplate.batchUpdate(DECREMENT_COMPANY_DAILY_SQL, previousCompanyArgs);
+        }
+        if ( company != null ) {
+            List<Object[]> companyArgs = new ArrayList<>(previousCompanyArgs.size());
+            for ( Object[] previousArgs : previousCompanyArgs ) {
+                companyArgs.add(new Object[] { previousArgs[0], company, previousArgs[2], previousArgs[3] });
+            }
+            upsert(INCREMENT_COMPANY_DAILY_SQL, INSERT_COMPANY_DAILY_SQL, companyArgs);
+        }
+    }
+
+    /**
+     * List the hours of the drivers of a company for each ISO week which overlaps a date range.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDate a <code>LocalDate</code> containing the first date of the range.
+     * @param toDate a <code>LocalDate</code> containing the last date of the range.
+     * @return a <code>List</code> of <code>DriverHoursRollup</code> objects ordered by week and driver.
+     */
+    public List<DriverHoursRollup> getWeeklyHours ( final String company, final LocalDate fromDate, final LocalDate toDate ) {
+        return driverWeeklyHoursRepository.findByCompany(company, getWeekStart(fromDate), getWeekStart(toDate));
+    }
+
+    /**
+     * List the hours of the drivers of a company for each month which overlaps a date range.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDate a <code>LocalDate</code> containing the first date of the range.
+     * @param toDate a <code>LocalDate</code> containing the last date of the range.
+     * @return a <code>List</code> of <code>DriverHoursRollup</code> objects ordered by month and driver.
+     */
+    public List<DriverHoursRollup> getMonthlyHours ( final String company, final LocalDate fromDate, final LocalDate toDate ) {
+        return driverMonthlyHoursRepository.findByCompany(company, getMonthStart(fromDate), getMonthStart(toDate));
+    }
+
+    /**
+     * List the hours of all drivers of a company for each day between two dates (inclusive) on which they worked.
+     * @param company a <code>String</code> containing the company.
+     * @param fromDate a <code>LocalDate</code> containing the first date to include.
+     * @param toDate a <code>LocalDate</code> containing the last date to include.
+     * @return a <code>List</code> of <code>CompanyDailyHours</code> objects ordered by work date.
+     */
+    public List<CompanyDailyHours> getCompanyDailyHours ( final String company, final LocalDate fromDate, final LocalDate toDate ) {
+        return companyDailyHoursRepository.findTotalsByCompany(company, fromDate, toDate);
+    }
+
+    /**
+     * Return the Monday which starts the ISO week of a date.
+     * @param date a <code>LocalDate</code> containing the date.
+     * @return a <code>LocalDate</code> containing the first date of the week.
+     */
+    public static LocalDate getWeekStart ( final LocalDate date ) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Return the first day of the month of a date.
+     * @param date a <code>LocalDate</code> containing the date.
+     * @return a <code>LocalDate</code> containing the first date of the month.
+     */
+    public static LocalDate getMonthStart ( final LocalDate date ) {
+        return date.withDayOfMonth(1);
+    }
+
+    /**
+     * Read the hours of a driver for each date as arguments of the statements which change the totals of a company.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @param company a <code>String</code> containing the company whose totals should be changed.
+     * @return a <code>List</code> containing the hours followed by the key of the total for each date in date order.
+     */
+    private List<Object[]> getCompanyArgs ( final long driverId, final String company ) {
+        int stripe = getStripe(driverId);
+        List<Object[]> companyArgs = new ArrayList<>();
+        jdbcTemplate.query(SELECT_DRIVER_HOURS_SQL, resultSet -> {
+            companyArgs.add(new Object[] { resultSet.getInt(2), company, resultSet.getDate(1), stripe });
+        }, driverId);
+        return companyArgs;
+    }
+
+    /**
+     * Return the stripe of the company totals which contains the hours of a driver. The stripe matches the
+     * <code>mod</code> of the driver identifier which is used when the totals are rebuilt.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @return a <code>int</code> containing the stripe.
+     */
+    private static int getStripe ( final long driverId ) {
+        return (int) (driverId % COMPANY_DAILY_STRIPES);
+    }
+
+    /**
+     * Increment the existing totals with one JDBC batch and insert the missing totals with a second batch.
+     * @param incrementSql a <code>String</code> containing the statement which increments a total.
+     * @param insertSql a <code>String</code> containing the statement which inserts a total with the same arguments.
+     * @param args a <code>List</code> containing the hours followed by the key of each total.
+     */
+    private void upsert ( final String incrementSql, final String insertSql, final List<Object[]> args ) {
+        if ( args.isEmpty() ) {
+            return;
+        }
+        int[] updateCounts = jdbcTemplate.batchUpdate(incrementSql, args);
+        List<Object[]> insertArgs = new ArrayList<>();
+        for ( int i = 0; i < updateCounts.length; i++ ) {
+            if ( updateCounts[i] == 0 ) {
+                insertArgs.add(args.get(i));
+            }
+        }
+        if ( !insertArgs.isEmpty() ) {
+            jdbcTemplate.batchUpdate(insertSql, insertArgs);
+        }
+    }
+
+    /**
+     * Insert the weekly and monthly totals collected by a rebuild and clear them.
+     * @param weeklyArgs a <code>List</code> containing the arguments of the weekly totals.
+     * @param monthlyArgs a <code>List</code> containing the arguments of the monthly totals.
+     */
+    private void insertAndClear ( final List<Object[]> weeklyArgs, final List<Object[]> monthlyArgs ) {
+        if ( !weeklyArgs.isEmpty() ) {
+            jdbcTemplate.batchUpdate(INSERT_WEEKLY_SQL, weeklyArgs);
+            jdbcTemplate.batchUpdate(INSERT_MONTHLY_SQL, monthlyArgs);
+            weeklyArgs.clear();
+            monthlyArgs.clear();
+        }
+    }
+
+    /**
+     * Add the totals of one driver to the arguments of an insert batch and clear them.
+     * @param driverId a <code>long</code> containing the identifier of the driver or -1 if no driver has been read yet.
+     * @param hoursByPeriodStart a <code>Map</code> from the first date of each period to the hours of the driver.
+     * @param args a <code>List</code> containing the arguments of the insert batch.
+     */
+    private static void addArgs ( final long driverId, final Map<LocalDate, Integer> hoursByPeriodStart, final List<Object[]> args ) {
+        for ( Map.Entry<LocalDate, Integer> periodHours : hoursByPeriodStart.entrySet() ) {
+            args.add(new Object[] { periodHours.getValue(), driverId, Date.valueOf(periodHours.getKey()) });
+        }
+        hoursByPeriodStart.clear();
+    }
+
+}
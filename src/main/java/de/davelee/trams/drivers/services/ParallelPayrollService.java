@@ -0,0 +1,230 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.data.CompanyPayrollTotal;
+import de.davelee.trams.drivers.data.DriverPayrollTotal;
+import de.davelee.trams.drivers.data.Money;
+import de.davelee.trams.drivers.repository.DriverRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class pays the drivers of several companies at once on the payroll fork/join pool. The work is split by
+ * company and the drivers of each company are split into ranges of identifiers until a range holds no more drivers
+ * than the configured partition size. Each range is paid in its own transaction on its own pool thread and therefore
+ * with its own database connection, so the pool should have fewer threads than the connection pool has connections.
+ * The totals of all ranges are merged into one total per company. Ranges which were paid stay paid if another range
+ * fails, and because hours are only ever paid once the payroll can simply be run again to pay the remaining ranges.
+ * @author Dave Lee
+ */
+@Service
+public class ParallelPayrollService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelPayrollService.class);
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    @Qualifier("payrollForkJoinPool")
+    private ForkJoinPool payrollForkJoinPool;
+
+    @Value("${driver.payroll.chunkSize}")
+    private int partitionSize;
+
+    /**
+     * Pay all drivers of the supplied companies for a particular period in parallel.
+     * @param companies a <code>Collection</code> containing the companies that should pay their drivers or null for all companies.
+     * @param fromDate a <code>LocalDate</code> containing the start date that should be paid from.
+     * @param toDate a <code>LocalDate</code> containing the end date that should be paid to.
+     * @return a <code>List</code> of <code>CompanyPayrollTotal</code> objects with one total per company in the order of the companies.
+     * @throws org.springframework.dao.ConcurrencyFailureException if another payroll run paid some of the same hours at the same time.
+     */
+    public List<CompanyPayrollTotal> payCompanies ( final Collection<String> companies, final LocalDate fromDate, final LocalDate toDate ) {
+        long startTime = System.currentTimeMillis();
+        List<String> companiesToPay = companies != null ? new ArrayList<>(companies) : driverRepository.findCompanies();
+        Long payrollRunId = driverService.startPayrollRun(companiesToPay.size() == 1 ? companiesToPay.get(0) : null, fromDate, toDate);
+        List<CompanyPayrollTotal> companyTotals = payrollForkJoinPool.invoke(new CompaniesTask(payrollRunId, companiesToPay, fromDate, toDate));
+        LOG.info("Paid drivers of {} companies in {} ms", companyTotals.size(), System.currentTimeMillis() - startTime);
+        return companyTotals;
+    }
+
+    /**
+     * Pay the drivers of a company within a range of identifiers in chunks of at most the partition size, each in
+     * its own transaction.
+     * @param payrollRunId a <code>Long</code> containing the identifier of the payroll run.
+     * @param company a <code>String</code> containing the company that should pay their drivers.
+     * @param fromDriverId a <code>long</code> containing the first identifier of the range.
+     * @param toDriverId a <code>long</code> containing the last identifier of the range.
+     * @param fromDate a <code>LocalDate</code> containing the start date that should be paid from.
+     * @param toDate a <code>LocalDate</code> containing the end date that should be paid to.
+     * @return a <code>CompanyPayrollTotal</code> object containing the total of the range.
+     */
+    private CompanyPayrollTotal payDriverRange ( final Long payrollRunId, final String company, final long fromDriverId, final long toDriverId, final LocalDate fromDate, final LocalDate toDate ) {
+        List<Long> driverIds = driverRepository.findDriverIdsByCompanyBetween(company, fromDriverId, toDriverId);
+        long driversPaid = 0;
+        long totalPayoutMinorUnits = 0;
+        //Ranges are split by estimate so a range can hold more drivers than the partition size if identifiers are uneven.
+        for ( int i = 0; i < driverIds.size(); i += partitionSize ) {
+            List<Long> chunk = driverIds.subList(i, Math.min(i + partitionSize, driverIds.size()));
+            Collection<DriverPayrollTotal> payrollTotals = driverService.payDriverChunk(payrollRunId, company, chunk, fromDate, toDate);
+            for ( DriverPayrollTotal payrollTotal : payrollTotals ) {
+                totalPayoutMinorUnits = Money.add(totalPayoutMinorUnits, payrollTotal.getAmountToPayMinorUnits());
+            }
+            driversPaid += payrollTotals.size();
+        }
+        return new CompanyPayrollTotal(company, driverIds.size(), driversPaid, totalPayoutMinorUnits);
+    }
+
+    /**
+     * This class pays all drivers of several companies by paying each company in a separate task.
+     */
+    private class CompaniesTask extends RecursiveTask<List<CompanyPayrollTotal>> {
+
+        private final Long payrollRunId;
+        private final List<String> companies;
+        private final LocalDate fromDate;
+        private final LocalDate toDate;
+
+        /**
+         * Create a new task to pay the supplied companies.
+         * @param payrollRunId a <code>Long</code> containing the identifier of the payroll run.
+         * @param companies a <code>List</code> containing the companies that should pay their drivers.
+         * @param fromDate a <code>LocalDate</code> containing the start date that should be paid from.
+         * @param toDate a <code>LocalDate</code> containing the end date that should be paid to.
+         */
+        CompaniesTask(final Long payrollRunId, final List<String> companies, final LocalDate fromDate, final LocalDate toDate) {
+            this.payrollRunId = payrollRunId;
+            this.companies = companies;
+            this.fromDate = fromDate;
+            this.toDate = toDate;
+        }
+
+        @Override
+        /**
+         * Pay all companies in parallel and collect their totals.
+         * @return a <code>List</code> of <code>CompanyPayrollTotal</code> objects in the order of the companies.
+         */
+        protected List<CompanyPayrollTotal> compute() {
+            List<CompanyTask> companyTasks = new ArrayList<>(companies.size());
+            for ( String company : companies ) {
+                companyTasks.add(new CompanyTask(payrollRunId, company, fromDate, toDate));
+            }
+            List<CompanyPayrollTotal> companyTotals = new ArrayList<>(companyTasks.size());
+            for ( CompanyTask companyTask : ForkJoinTask.invokeAll(companyTasks) ) {
+                companyTotals.add(companyTask.join());
+            }
+            return companyTotals;
+        }
+    }
+
+    /**
+     * This class pays all drivers of one company by splitting them into ranges of identifiers.
+     */
+    private class CompanyTask extends RecursiveTask<CompanyPayrollTotal> {
+
+        private final Long payrollRunId;
+        private final String company;
+        private final LocalDate fromDate;
+        private final LocalDate toDate;
+
+        /**
+         * Create a new task to pay the drivers of a company.
+         * @param payrollRunId a <code>Long</code> containing the identifier of the payroll run.
+         * @param company a <code>String</code> containing the company that should pay their drivers.
+         * @param fromDate a <code>LocalDate</code> containing the start date that should be paid from.
+         * @param toDate a <code>LocalDate</code> containing the end date that should be paid to.
+         */
+        CompanyTask(final Long payrollRunId, final String company, final LocalDate fromDate, final LocalDate toDate) {
+            this.payrollRunId = payrollRunId;
+            this.company = company;
+            this.fromDate = fromDate;
+            this.toDate = toDate;
+        }
+
+        @Override
+        /**
+         * Look up the range of identifiers of the drivers of the company and pay the whole range.
+         * @return a <code>CompanyPayrollTotal</code> object containing the total of the company.
+         */
+        protected CompanyPayrollTotal compute() {
+            Object[] driverIdRange = driverRepository.findDriverIdRangeByCompany(company).get(0);
+            long numDrivers = ((Number) driverIdRange[2]).longValue();
+            if ( numDrivers == 0 ) {
+                return new CompanyPayrollTotal(company, 0, 0, 0);
+            }
+            return new DriverRangeTask(payrollRunId, company, ((Number) driverIdRange[0]).longValue(), ((Number) driverIdRange[1]).longValue(),
+                    numDrivers, fromDate, toDate).invoke();
+        }
+    }
+
+    /**
+     * This class pays the drivers of a company within a range of identifiers, splitting the range in half until the
+     * estimated number of drivers in a range is no more than the partition size. Only the leaf ranges open
+     * transactions, so a thread which helps with other tasks while it waits for a join never holds a transaction.
+     */
+    private class DriverRangeTask extends RecursiveTask<CompanyPayrollTotal> {
+
+        private final Long payrollRunId;
+        private final String company;
+        private final long fromDriverId;
+        private final long toDriverId;
+        private final long estimatedDrivers;
+        private final LocalDate fromDate;
+        private final LocalDate toDate;
+
+        /**
+         * Create a new task to pay the drivers of a company within a range of identifiers.
+         * @param payrollRunId a <code>Long</code> containing the identifier of the payroll run.
+         * @param company a <code>String</code> containing the company that should pay their drivers.
+         * @param fromDriverId a <code>long</code> containing the first identifier of the range.
+         * @param toDriverId a <code>long</code> containing the last identifier of the range.
+         * @param estimatedDrivers a <code>long</code> containing the estimated number of drivers in the range.
+         * @param fromDate a <code>LocalDate</code> containing the start date that should be paid from.
+         * @param toDate a <code>LocalDate</code> containing the end date that should be paid to.
+         */
+        DriverRangeTask(final Long payrollRunId, final String company, final long fromDriverId, final long toDriverId, final long estimatedDrivers,
+                        final LocalDate fromDate, final LocalDate toDate) {
+            this.payrollRunId = payrollRunId;
+            this.company = company;
+            this.fromDriverId = fromDriverId;
+            this.toDriverId = toDriverId;
+            this.estimatedDrivers = estimatedDrivers;
+            this.fromDate = fromDate;
+            this.toDate = toDate;
+        }
+
+        @Override
+        /**
+         * Pay the range directly if it is small enough or otherwise pay both halves in parallel and merge their totals.
+         * @return a <code>CompanyPayrollTotal</code> object containing the total of the range.
+         */
+        protected CompanyPayrollTotal compute() {
+            if ( estimatedDrivers <= partitionSize || fromDriverId == toDriverId ) {
+                return payDriverRange(payrollRunId, company, fromDriverId, toDriverId, fromDate, toDate);
+            }
+            //Assume that the identifiers of the drivers of a company are spread evenly over the range.
+            long middleDriverId = fromDriverId + (toDriverId - fromDriverId) / 2;
+            DriverRangeTask lowerTask = new DriverRangeTask(payrollRunId, company, fromDriverId, middleDriverId, estimatedDrivers / 2, fromDate, toDate);
+            DriverRangeTask upperTask = new DriverRangeTask(payrollRunId, company, middleDriverId + 1, toDriverId, estimatedDrivers - estimatedDrivers / 2, fromDate, toDate);
+            lowerTask.fork();
+            CompanyPayrollTotal upperTotal = upperTask.compute();
+            return lowerTask.join().merge(upperTotal);
+        }
+    }
+
+}
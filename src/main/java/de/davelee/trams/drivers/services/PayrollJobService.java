@@ -0,0 +1,238 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.data.DriverPayrollTotal;
+import de.davelee.trams.drivers.data.Money;
+import de.davelee.trams.drivers.data.PayrollJob;
+import de.davelee.trams.drivers.data.PayrollJobStatus;
+import de.davelee.trams.drivers.repository.ActivePayrollJobRepository;
+import de.davelee.trams.drivers.repository.DriverRepository;
+import de.davelee.trams.drivers.repository.PayrollJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This class runs payroll jobs in the background on the bounded payroll executor. A job pays the drivers of a company
+ * in chunks ordered by identifier and commits each chunk together with the progress of the job, so a job which
+ * failed or was interrupted by a restart resumes after the last committed chunk. Because hours are only ever paid
+ * once, a chunk which was paid but not recorded can never be paid twice. Only one job per company may be active,
+ * which is enforced by a row per company of active jobs so that concurrent submissions cannot both succeed.
+ * @author Dave Lee
+ */
+@Service
+public class PayrollJobService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PayrollJobService.class);
+
+    private static final String INSERT_ACTIVE_JOB_SQL = "insert into active_payroll_job (company, payroll_job_id) values (?, ?)";
+
+    private static final Collection<PayrollJobStatus> ACTIVE_STATUSES = Arrays.asList(PayrollJobStatus.QUEUED, PayrollJobStatus.RUNNING);
+
+    @Autowired
+    private PayrollJobRepository payrollJobRepository;
+
+    @Autowired
+    private ActivePayrollJobRepository activePayrollJobRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("payrollExecutor")
+    private TaskExecutor payrollExecutor;
+
+    @Value("${driver.payroll.chunkSize}")
+    private int chunkSize;
+
+    /**
+     * Submit a new payroll job which pays all drivers of a company for a particular period in the background.
+     * @param company a <code>String</code> containing the company that should pay their drivers.
+     * @param fromDate a <code>LocalDate</code> containing the start date that should be paid from.
+     * @param toDate a <code>LocalDate</code> containing the end date that should be paid to.
+     * @return a <code>PayrollJob</code> object representing the queued job or null if a job for the company is already active.
+     * @throws TaskRejectedException if too many jobs are already waiting, in which case the job is marked as failed.
+     */
+    public PayrollJob submitJob ( final String company, final LocalDate fromDate, final LocalDate toDate ) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        PayrollJob payrollJob;
+        try {
+            payrollJob = transactionTemplate.execute(status -> {
+                PayrollJob newJob = new PayrollJob(company, fromDate, toDate);
+                newJob.setPayrollRunId(driverService.startPayrollRun(company, fromDate, toDate));
+                PayrollJob savedJob = payrollJobRepository.saveAndFlush(newJob);
+                jdbcTemplate.update(INSERT_ACTIVE_JOB_SQL, company, savedJob.getId());
+                return savedJob;
+            });
+        } catch ( DataIntegrityViolationException dataIntegrityViolationException ) {
+            //Another job for the company is already active so the transaction was rolled back.
+            return null;
+        }
+        execute(payrollJob.getId());
+        return payrollJob;
+    }
+
+    /**
+     * Resume a failed payroll job after the last committed chunk.
+     * @param jobId a <code>Long</code> containing the identifier of the job.
+     * @return a <code>PayrollJob</code> object representing the queued job or null if the job does not exist or has not failed.
+     * @throws TaskRejectedException if too many jobs are already waiting, in which case the job is marked as failed again.
+     */
+    public PayrollJob resumeJob ( final Long jobId ) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        PayrollJob payrollJob;
+        try {
+            payrollJob = transactionTemplate.execute(status -> {
+                PayrollJob failedJob = payrollJobRepository.findOne(jobId);
+                if ( failedJob == null || failedJob.getStatus() != PayrollJobStatus.FAILED ) {
+                    return null;
+                }
+                failedJob.setStatus(PayrollJobStatus.QUEUED);
+                failedJob.setErrorMessage(null);
+                jdbcTemplate.update(INSERT_ACTIVE_JOB_SQL, failedJob.getCompany(), jobId);
+                return payrollJobRepository.save(failedJob);
+            });
+        } catch ( DataIntegrityViolationException dataIntegrityViolationException ) {
+            //Another job for the company became active in the meantime so the transaction was rolled back.
+            return null;
+        }
+        if ( payrollJob != null ) {
+            execute(payrollJob.getId());
+        }
+        return payrollJob;
+    }
+
+    /**
+     * Get a payroll job to check its status and progress.
+     * @param jobId a <code>Long</code> containing the identifier of the job.
+     * @return a <code>PayrollJob</code> object representing the job or null if none found.
+     */
+    public PayrollJob getJob ( final Long jobId ) {
+        return payrollJobRepository.findOne(jobId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    /**
+     * Resume all jobs which were queued or running when the application stopped.
+     */
+    public void resumeInterruptedJobs ( ) {
+        for ( PayrollJob payrollJob : payrollJobRepository.findByStatusInOrderByIdAsc(ACTIVE_STATUSES) ) {
+            LOG.info("Resuming payroll job {} for {} after driver {}", payrollJob.getId(), payrollJob.getCompany(), payrollJob.getLastDriverId());
+            try {
+                execute(payrollJob.getId());
+            } catch ( TaskRejectedException taskRejectedException ) {
+                LOG.error("Could not resume payroll job {}", payrollJob.getId());
+            }
+        }
+    }
+
+    /**
+     * Run a job on the payroll executor, marking it as failed if the executor is full.
+     * @param jobId a <code>Long</code> containing the identifier of the job.
+     * @throws TaskRejectedException if too many jobs are already waiting.
+     */
+    private void execute ( final Long jobId ) {
+        try {
+            payrollExecutor.execute(() -> runJob(jobId));
+        } catch ( TaskRejectedException taskRejectedException ) {
+            failJob(jobId, "Too many payroll jobs are waiting");
+            throw taskRejectedException;
+        }
+    }
+
+    /**
+     * Pay the drivers of a job chunk by chunk, starting after the last committed chunk. Each chunk is paid and
+     * recorded in its own transaction so that no transaction is held for the whole job.
+     * @param jobId a <code>Long</code> containing the identifier of the job.
+     */
+    private void runJob ( final Long jobId ) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            PayrollJob startedJob = transactionTemplate.execute(status -> {
+                PayrollJob payrollJob = payrollJobRepository.findOne(jobId);
+                if ( payrollJob.getStatus() == PayrollJobStatus.QUEUED && payrollJob.getDriversProcessed() == 0 ) {
+                    payrollJob.setTotalDrivers(driverRepository.countByCompany(payrollJob.getCompany()));
+                }
+                payrollJob.setStatus(PayrollJobStatus.RUNNING);
+                return payrollJobRepository.save(payrollJob);
+            });
+            boolean moreDrivers = true;
+            while ( moreDrivers ) {
+                moreDrivers = transactionTemplate.execute(status -> payNextChunk(payrollJobRepository.findOne(jobId)));
+            }
+            transactionTemplate.execute(status -> {
+                PayrollJob payrollJob = payrollJobRepository.findOne(jobId);
+                payrollJob.setStatus(PayrollJobStatus.COMPLETED);
+                payrollJob.setCompletedAt(LocalDateTime.now());
+                activePayrollJobRepository.deleteByPayrollJobId(jobId);
+                return payrollJobRepository.save(payrollJob);
+            });
+            LOG.info("Payroll job {} for {} completed", jobId, startedJob.getCompany());
+        } catch ( RuntimeException exception ) {
+            LOG.error("Payroll job {} failed", jobId, exception);
+            failJob(jobId, exception.getMessage() != null ? exception.getMessage() : exception.getClass().getName());
+        }
+    }
+
+    /**
+     * Pay the next chunk of drivers of a job and record the chunk in the job. Must be called within a transaction.
+     * @param payrollJob a <code>PayrollJob</code> object representing the job.
+     * @return a <code>boolean</code> which is true iff a chunk was paid and there may be further drivers to pay.
+     */
+    private boolean payNextChunk ( final PayrollJob payrollJob ) {
+        List<Long> driverIds = driverRepository.findDriverIdsByCompanyAfter(payrollJob.getCompany(), payrollJob.getLastDriverId(), new PageRequest(0, chunkSize));
+        if ( driverIds.isEmpty() ) {
+            return false;
+        }
+        Collection<DriverPayrollTotal> payrollTotals = driverService.payDriverChunk(payrollJob.getPayrollRunId(), payrollJob.getCompany(), driverIds, payrollJob.getFromDate(), payrollJob.getToDate());
+        long payoutMinorUnits = 0;
+        for ( DriverPayrollTotal payrollTotal : payrollTotals ) {
+            payoutMinorUnits = Money.add(payoutMinorUnits, payrollTotal.getAmountToPayMinorUnits());
+        }
+        payrollJob.addChunk(driverIds.get(driverIds.size() - 1), driverIds.size(), payrollTotals.size(), payoutMinorUnits);
+        payrollJobRepository.save(payrollJob);
+        return driverIds.size() == chunkSize;
+    }
+
+    /**
+     * Mark a job as failed so that it can be resumed.
+     * @param jobId a <code>Long</code> containing the identifier of the job.
+     * @param errorMessage a <code>String</code> describing why the job failed.
+     */
+    private void failJob ( final Long jobId, final String errorMessage ) {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            PayrollJob payrollJob = payrollJobRepository.findOne(jobId);
+            payrollJob.setStatus(PayrollJobStatus.FAILED);
+            payrollJob.setErrorMessage(errorMessage);
+            activePayrollJobRepository.deleteByPayrollJobId(jobId);
+            return payrollJobRepository.save(payrollJob);
+        });
+    }
+
+}
@@ -0,0 +1,91 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.config.WorkingTimeRulesProperties;
+import de.davelee.trams.drivers.data.DriverHours;
+import de.davelee.trams.drivers.data.WorkingTimeCheck;
+import de.davelee.trams.drivers.repository.DriverHoursRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class checks the working time of drivers against the rules of their company. The hours of the last 14 days
+ * are served from memory and are only loaded from the database the first time that a driver is checked.
+ * @author Dave Lee
+ */
+@Service
+public class WorkingTimeService {
+
+    @Autowired
+    private DriverHoursRepository driverHoursRepository;
+
+    @Autowired
+    private WorkingTimeStore workingTimeStore;
+
+    @Autowired
+    private WorkingTimeRulesProperties workingTimeRulesProperties;
+
+    /**
+     * Check how many further hours a driver may work today under the rules of their company.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @param company a <code>String</code> containing the company of the driver.
+     * @return a <code>WorkingTimeCheck</code> object containing the remaining hours and the rule which limits them.
+     */
+    public WorkingTimeCheck checkWorkingTime ( final long driverId, final String company ) {
+        WorkingTimeCheck workingTimeCheck = workingTimeStore.check(driverId, workingTimeRulesProperties.getRules(company));
+        if ( workingTimeCheck == null ) {
+            long version = workingTimeStore.nextVersion();
+            LocalDate today = workingTimeStore.getToday();
+            workingTimeCheck = workingTimeStore.load(version, driverId, driverHoursRepository.findByDriverIdAndWorkDateBetweenOrderByWorkDateAsc(driverId,
+                    getWindowStart(today), today), workingTimeRulesProperties.getRules(company));
+        }
+        return workingTimeCheck;
+    }
+
+    /**
+     * Check how many further hours several drivers may work today under the rules of their companies. The hours of the
+     * drivers which are not yet in memory are loaded from the database with a single query.
+     * @param companiesByDriverId a <code>Map</code> from the identifier of each driver to their company.
+     * @return a <code>Map</code> from the identifier of each driver to the result of the check.
+     */
+    public Map<Long, WorkingTimeCheck> checkWorkingTime ( final Map<Long, String> companiesByDriverId ) {
+        Map<Long, WorkingTimeCheck> workingTimeChecks = new HashMap<>();
+        List<Long> unknownDriverIds = new ArrayList<>();
+        for ( Map.Entry<Long, String> companyByDriverId : companiesByDriverId.entrySet() ) {
+            WorkingTimeCheck workingTimeCheck = workingTimeStore.check(companyByDriverId.getKey(), workingTimeRulesProperties.getRules(companyByDriverId.getValue()));
+            if ( workingTimeCheck == null ) {
+                unknownDriverIds.add(companyByDriverId.getKey());
+            } else {
+                workingTimeChecks.put(companyByDriverId.getKey(), workingTimeCheck);
+            }
+        }
+        if ( !unknownDriverIds.isEmpty() ) {
+            long version = workingTimeStore.nextVersion();
+            LocalDate today = workingTimeStore.getToday();
+            Map<Long, List<DriverHours>> recentHoursByDriverId = new HashMap<>();
+            for ( DriverHours driverHours : driverHoursRepository.findByDriverIdInAndWorkDateBetweenOrderByWorkDateAsc(unknownDriverIds, getWindowStart(today), today) ) {
+                recentHoursByDriverId.computeIfAbsent(driverHours.getDriverId(), driverId -> new ArrayList<>()).add(driverHours);
+            }
+            for ( Long driverId : unknownDriverIds ) {
+                workingTimeChecks.put(driverId, workingTimeStore.load(version, driverId, recentHoursByDriverId.getOrDefault(driverId, new ArrayList<>()),
+                        workingTimeRulesProperties.getRules(companiesByDriverId.get(driverId))));
+            }
+        }
+        return workingTimeChecks;
+    }
+
+    /**
+     * Return the first date whose hours are held for each driver.
+     * @param today a <code>LocalDate</code> containing the current date.
+     * @return a <code>LocalDate</code> containing the first date of the last 14 days.
+     */
+    private LocalDate getWindowStart ( final LocalDate today ) {
+        return today.minusDays(WorkingTimeStore.WINDOW_DAYS - 1);
+    }
+
+}
@@ -0,0 +1,289 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.data.DriverHours;
+import de.davelee.trams.drivers.data.WorkingTimeCheck;
+import de.davelee.trams.drivers.data.WorkingTimeRule;
+import de.davelee.trams.drivers.data.WorkingTimeRules;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class holds the hours that each driver has worked in the last 14 days in memory so that working time rules can
+ * be checked without querying the database. The hours of each driver are kept in a ring buffer with one slot per day
+ * together with running sums for the last 7 and 14 days and the number of consecutive working days, so every check
+ * and every update takes constant time regardless of how long the driver has worked. Like the store of today's hours
+ * it only holds totals confirmed by the database and a total only replaces one which was read earlier, so a total
+ * which was corrected downwards lowers the running sums again. The number of drivers held is bounded and the hours of
+ * a driver are loaded again after a configured time so that hours tracked by other instances are seen.
+ * @author Dave Lee
+ */
+@Component
+public class WorkingTimeStore {
+
+    /**
+     * The number of days including today whose hours are held for each driver.
+     */
+    public static final int WINDOW_DAYS = 14;
+
+    private static final int WEEK_DAYS = 7;
+    private static final int NUM_STRIPES = 64;
+
+    private final Clock clock;
+
+    private final Cache<Long, Window> windowsByDriverId;
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLongArray mergeVersions = new AtomicLongArray(NUM_STRIPES);
+
+    @Autowired
+    /**
+     * Create a new store which uses the system clock to decide which day is today.
+     * @param maximumSize a <code>long</code> containing the maximum number of drivers whose hours are held.
+     * @param expireAfterWriteSeconds a <code>long</code> containing the number of seconds after which the hours of a driver are loaded again.
+     */
+    public WorkingTimeStore(@Value("${driver.hours.window.maximumSize}") final long maximumSize,
+                            @Value("${driver.hours.window.expireAfterWriteSeconds}") final long expireAfterWriteSeconds) {
+        this(Clock.systemDefaultZone(), maximumSize, expireAfterWriteSeconds);
+    }
+
+    /**
+     * Create a new store which uses the supplied clock to decide which day is today.
+     * @param clock a <code>Clock</code> object which supplies the current date.
+     * @param maximumSize a <code>long</code> containing the maximum number of drivers whose hours are held.
+     * @param expireAfterWriteSeconds a <code>long</code> containing the number of seconds after which the hours of a driver are loaded again.
+     */
+    public WorkingTimeStore(final Clock clock, final long maximumSize, final long expireAfterWriteSeconds) {
+        this.clock = clock;
+        this.windowsByDriverId = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Return the current date of the store.
+     * @return a <code>LocalDate</code> containing the current date.
+     */
+    public LocalDate getToday() {
+        return LocalDate.now(clock);
+    }
+
+    /**
+     * Check whether hours worked on a date are held by the store.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @return a <code>boolean</code> which is true iff the date is within the last 14 days or later.
+     */
+    public boolean isWithinWindow(final LocalDate workDate) {
+        return workDate.toEpochDay() > getToday().toEpochDay() - WINDOW_DAYS;
+    }
+
+    /**
+     * Check the working time of a driver whose hours are held in the store.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @param workingTimeRules a <code>WorkingTimeRules</code> object containing the rules to check in which every limit is set.
+     * @return a <code>WorkingTimeCheck</code> object containing the result or null if the hours of the driver are not held.
+     */
+    public WorkingTimeCheck check(final long driverId, final WorkingTimeRules workingTimeRules) {
+        Window window = windowsByDriverId.getIfPresent(driverId);
+        return window != null ? window.check(getToday().toEpochDay(), workingTimeRules) : null;
+    }
+
+    /**
+     * Return a version which must be taken before hours are read from the database and supplied when the hours are
+     * loaded or merged into the store.
+     * @return a <code>long</code> containing the version.
+     */
+    public long nextVersion() {
+        return versions.incrementAndGet();
+    }
+
+    /**
+     * Hold the hours of a driver loaded from the database and check them. The hours are only held if no hours of a
+     * driver in the same stripe which were read later have been merged, because the loaded hours may then be out of date.
+     * @param version a <code>long</code> containing the version taken before the hours were loaded.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @param recentHours a <code>Collection</code> of <code>DriverHours</code> objects containing the hours of the driver in the last 14 days.
+     * @param workingTimeRules a <code>WorkingTimeRules</code> object containing the rules to check in which every limit is set.
+     * @return a <code>WorkingTimeCheck</code> object containing the result.
+     */
+    public WorkingTimeCheck load(final long version, final long driverId, final Collection<DriverHours> recentHours, final WorkingTimeRules workingTimeRules) {
+        long today = getToday().toEpochDay();
+        Window window = new Window(today);
+        for ( DriverHours driverHours : recentHours ) {
+            window.merge(version, driverHours.getWorkDate().toEpochDay(), driverHours.getHours());
+        }
+        if ( mergeVersions.get(stripeFor(driverId)) < version ) {
+            windowsByDriverId.asMap().putIfAbsent(driverId, window);
+            //Remove the window again if hours which were read later were merged while it was being added.
+            if ( mergeVersions.get(stripeFor(driverId)) > version ) {
+                windowsByDriverId.asMap().remove(driverId, window);
+            }
+        }
+        return window.check(today, workingTimeRules);
+    }
+
+    /**
+     * Store the total hours that a driver has worked on a date confirmed by the database. The total is ignored if the
+     * hours of the driver are not held, if the date is older than 14 days or if a total which was read later has
+     * already been stored.
+     * @param version a <code>long</code> containing the version taken before the total was read.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @param workDate a <code>LocalDate</code> containing the date that the hours were worked.
+     * @param totalHours a <code>int</code> containing the total hours worked on the date.
+     */
+    public void merge(final long version, final long driverId, final LocalDate workDate, final int totalHours) {
+        mergeVersions.accumulateAndGet(stripeFor(driverId), version, Math::max);
+        Window window = windowsByDriverId.getIfPresent(driverId);
+        if ( window != null ) {
+            window.merge(version, workDate.toEpochDay(), totalHours);
+        }
+    }
+
+    /**
+     * Stop holding the hours of a driver who has been dismissed or deleted.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     */
+    public void remove(final long driverId) {
+        windowsByDriverId.invalidate(driverId);
+    }
+
+    /**
+     * Return the stripe of the merge versions which is used for the supplied driver.
+     * @param driverId a <code>long</code> containing the identifier of the driver.
+     * @return a <code>int</code> containing the index of the stripe.
+     */
+    private static int stripeFor(final long driverId) {
+        return (int) (driverId & (NUM_STRIPES - 1));
+    }
+
+    /**
+     * This class is the ring buffer holding the hours of one driver for the last 14 days.
+     */
+    private static class Window {
+
+        private final int[] hours = new int[WINDOW_DAYS];
+        private final long[] versions = new long[WINDOW_DAYS];
+        private long lastDay;
+        private int weeklyHours;
+        private int fortnightlyHours;
+        private int consecutiveDaysBeforeLastDay;
+
+        /**
+         * Create an empty window ending on the supplied day.
+         * @param lastDay a <code>long</code> containing the epoch day of the most recent day.
+         */
+        Window(final long lastDay) {
+            this.lastDay = lastDay;
+        }
+
+        /**
+         * Store the total hours of a day unless a total which was read later is already stored and apply the
+         * difference to the running sums.
+         * @param version a <code>long</code> containing the version taken before the total was read.
+         * @param day a <code>long</code> containing the epoch day that the hours were worked.
+         * @param totalHours a <code>int</code> containing the total hours of the day.
+         */
+        synchronized void merge(final long version, final long day, final int totalHours) {
+            advanceTo(day);
+            if ( day <= lastDay - WINDOW_DAYS ) {
+                return;
+            }
+            int slot = slotFor(day);
+            if ( version < versions[slot] ) {
+                return;
+            }
+            versions[slot] = version;
+            int addedHours = totalHours - hours[slot];
+            if ( addedHours == 0 ) {
+                return;
+            }
+            boolean workingDayChanged = (hours[slot] > 0) != (totalHours > 0);
+            hours[slot] = totalHours;
+            fortnightlyHours += addedHours;
+            if ( day > lastDay - WEEK_DAYS ) {
+                weeklyHours += addedHours;
+            }
+            if ( workingDayChanged && day < lastDay ) {
+                //A day before the most recent day became a working day or a rest day so count the working days in a row again.
+                consecutiveDaysBeforeLastDay = 0;
+                for ( long previousDay = lastDay - 1; previousDay > lastDay - WINDOW_DAYS && hours[slotFor(previousDay)] > 0; previousDay-- ) {
+                    consecutiveDaysBeforeLastDay++;
+                }
+            }
+        }
+
+        /**
+         * Check the hours of today against the supplied rules.
+         * @param today a <code>long</code> containing the epoch day of today.
+         * @param workingTimeRules a <code>WorkingTimeRules</code> object containing the rules in which every limit is set.
+         * @return a <code>WorkingTimeCheck</code> object containing the result.
+         */
+        synchronized WorkingTimeCheck check(final long today, final WorkingTimeRules workingTimeRules) {
+            advanceTo(today);
+            int hoursToday = hours[slotFor(today)];
+            if ( hoursToday == 0 && consecutiveDaysBeforeLastDay >= workingTimeRules.getMaxConsecutiveWorkingDays() ) {
+                return new WorkingTimeCheck(hoursToday, 0, WorkingTimeRule.REST_DAY);
+            }
+            int remainingHours = workingTimeRules.getMaxDailyHours() - hoursToday;
+            WorkingTimeRule limitingRule = WorkingTimeRule.DAILY_HOURS;
+            if ( workingTimeRules.getMaxWeeklyHours() - weeklyHours < remainingHours ) {
+                remainingHours = workingTimeRules.getMaxWeeklyHours() - weeklyHours;
+                limitingRule = WorkingTimeRule.WEEKLY_HOURS;
+            }
+            if ( workingTimeRules.getMaxFortnightlyHours() - fortnightlyHours < remainingHours ) {
+                remainingHours = workingTimeRules.getMaxFortnightlyHours() - fortnightlyHours;
+                limitingRule = WorkingTimeRule.FORTNIGHTLY_HOURS;
+            }
+            return new WorkingTimeCheck(hoursToday, remainingHours, limitingRule);
+        }
+
+        /**
+         * Move the window forward so that it ends on the supplied day, dropping the hours of the days which leave the
+         * window from the running sums. At most 14 days are visited however long the window was not used.
+         * @param day a <code>long</code> containing the epoch day which should be the most recent day.
+         */
+        private void advanceTo(final long day) {
+            if ( day <= lastDay ) {
+                return;
+            }
+            if ( day - lastDay >= WINDOW_DAYS ) {
+                Arrays.fill(hours, 0);
+                Arrays.fill(versions, 0);
+                weeklyHours = 0;
+                fortnightlyHours = 0;
+                consecutiveDaysBeforeLastDay = 0;
+                lastDay = day;
+                return;
+            }
+            while ( lastDay < day ) {
+                consecutiveDaysBeforeLastDay = hours[slotFor(lastDay)] > 0 ? consecutiveDaysBeforeLastDay + 1 : 0;
+                lastDay++;
+                weeklyHours -= hours[slotFor(lastDay - WEEK_DAYS)];
+                //The slot of the new day still holds the day which has just left the fortnight.
+                fortnightlyHours -= hours[slotFor(lastDay)];
+                hours[slotFor(lastDay)] = 0;
+                versions[slotFor(lastDay)] = 0;
+            }
+        }
+
+        /**
+         * Return the slot of the ring buffer which holds the supplied day.
+         * @param day a <code>long</code> containing the epoch day.
+         * @return a <code>int</code> containing the index of the slot.
+         */
+        private static int slotFor(final long day) {
+            return (int) Math.floorMod(day, (long) WINDOW_DAYS);
+        }
+    }
+
+}
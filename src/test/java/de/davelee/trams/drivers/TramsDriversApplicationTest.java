@@ -1,22 +1,40 @@
 package de.davelee.trams.drivers;
 
 import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.config.EncoderConfig;
+import com.jayway.restassured.http.ContentType;
 import de.davelee.trams.drivers.api.*;
+import de.davelee.trams.drivers.data.ActivePayrollJob;
+import de.davelee.trams.drivers.data.Driver;
+import de.davelee.trams.drivers.repository.ActivePayrollJobRepository;
+import de.davelee.trams.drivers.services.DriverService;
 import org.apache.http.HttpStatus;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.embedded.LocalServerPort;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
 
 import static com.jayway.restassured.RestAssured.given;
 import static com.jayway.restassured.RestAssured.when;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.hamcrest.core.IsCollectionContaining.hasItems;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(SpringJUnit4ClassRunner.class)
-@SpringBootTest(classes=TramsDriversApplication.class, webEnvironment= SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(classes=TramsDriversApplication.class, webEnvironment= SpringBootTest.WebEnvironment.RANDOM_PORT, properties={"driver.payroll.chunkSize=2", "driver.hours.bulk.chunkSize=2", "driver.rules.companies[0].company=Reiher Bus", "driver.rules.companies[0].maxWeeklyHours=6"})
 /**
  * Test the Spring Boot application to make sure it starts and swagger can be called.
  * @author Dave Lee
@@ -26,6 +44,12 @@ public class TramsDriversApplicationTest {
     @LocalServerPort
     private int port;
 
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private ActivePayrollJobRepository activePayrollJobRepository;
+
     @Before
     /**
      * Set up the test by setting the port correctly.
@@ -70,6 +94,61 @@ public class TramsDriversApplicationTest {
                 statusCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
     }
 
+    @Test
+    /**
+     * Test case: Hire two drivers for a company, track hours for both and then delete one of them.
+     * Expected result: the hours, history and totals of the deleted driver are removed and the other driver still counts.
+     */
+    public void testDeleteDriver() {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Ida Taube,01-09-1984,Taube Bus,40,14.0,Driving,01-10-2016\n"
+                        + "Ole Taube,02-09-1984,Taube Bus,40,14.0,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(2));
+        given()
+                .contentType("application/json")
+                .body("[{\"name\":\"Ida Taube\",\"dateOfBirth\":\"01-09-1984\",\"company\":\"Taube Bus\",\"hours\":3},"
+                        + "{\"name\":\"Ole Taube\",\"dateOfBirth\":\"02-09-1984\",\"company\":\"Taube Bus\",\"hours\":4}]")
+                .when()
+                .post("/driver/trackHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        LocalDate currentDate = LocalDate.now();
+        String today = currentDate.getDayOfMonth() + "-" + currentDate.getMonthValue() + "-" + currentDate.getYear();
+        Driver driver = driverService.findDriverByDateOfBirthAndNameAndCompany(LocalDate.of(1984, 9, 2), "Ole Taube", "Taube Bus");
+        assertEquals(driverService.getHoursWorkedForDate(driver, currentDate), Integer.valueOf(4));
+        driverService.deleteDriver(driver);
+        assertEquals(driverService.getRecentDriverHistory(driver.getId(), 10).size(), 0);
+        assertNull(driverService.getHoursWorkedForDate(driver, currentDate));
+        given()
+                .param("company", "Taube Bus")
+                .param("fromDate", today)
+                .param("toDate", today)
+                .when()
+                .get("/driver/companyDailyHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalHours", equalTo(3));
+        given()
+                .param("company", "Taube Bus")
+                .param("fromDate", today)
+                .param("toDate", today)
+                .when()
+                .get("/driver/weeklyHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driverHoursRollupResponseList.name", contains("Ida Taube"));
+        when().
+                get("/driver/getDriver?name=Ole Taube&dateOfBirth=02-09-1984&company=Taube Bus").
+                then().
+                statusCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+    }
+
     @Test
     /**
      * Test case: Hire a permanent driver then retrieve the driver, pay him and assign him a duty.
@@ -92,6 +171,14 @@ public class TramsDriversApplicationTest {
                 .post("/driver/hirePermanent")
                 .then()
                 .statusCode(HttpStatus.SC_CREATED);
+        //Hiring the same driver again should be rejected as a duplicate.
+        given()
+                .contentType("application/json")
+                .body(driverRequest)
+                .when()
+                .post("/driver/hirePermanent")
+                .then()
+                .statusCode(HttpStatus.SC_CONFLICT);
         //Now test retrieve driver.
         when().
                 get("/driver/getDriver?name=Max Mustermann&dateOfBirth=20-09-1996&company=Lee Buses").
@@ -194,6 +281,17 @@ public class TramsDriversApplicationTest {
                 .statusCode(HttpStatus.SC_OK)
                 .body("furtherHoursAllowed", equalTo(false))
                 .body("remainingHours", equalTo(0));
+        //Adding further hours within the limit should be rejected without changing the hours.
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHoursWithinLimit")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("hoursTracked", equalTo(false))
+                .body("totalHours", equalTo(10))
+                .body("remainingHours", equalTo(0));
         //Now pay the driver.
         given()
                 .contentType("application/json")
@@ -203,6 +301,23 @@ public class TramsDriversApplicationTest {
                 .then()
                 .statusCode(HttpStatus.SC_OK)
                 .body("totalPayout", equalTo("200.00"));
+        //Now check that the payment was recorded in the driver history.
+        when().
+                get("/driver/getDriver?name=Max Mustermann&dateOfBirth=20-09-1996&company=Lee Buses").
+                then().
+                statusCode(HttpStatus.SC_OK)
+                .body("driverHistoryResponseList.status", hasItems("Hired", "Paid"));
+        //Now check that the history can be filtered by status.
+        when().
+                get("/driver/history?name=Max Mustermann&dateOfBirth=20-09-1996&company=Lee Buses&status=PAID&limit=5").
+                then().
+                statusCode(HttpStatus.SC_OK)
+                .body("driverHistoryResponseList.size()", equalTo(1))
+                .body("driverHistoryResponseList[0].status", equalTo("Paid"));
+        when().
+                get("/driver/history?name=Max Mustermann&dateOfBirth=20-09-1996&company=Lee Buses&status=UNKNOWN").
+                then().
+                statusCode(HttpStatus.SC_BAD_REQUEST);
         //Now dismiss the driver.
         DismissDriverRequest dismissDriverRequest = new DismissDriverRequest();
         dismissDriverRequest.setCompany("Lee Buses");
@@ -216,6 +331,1108 @@ public class TramsDriversApplicationTest {
                 .post("/driver/dismiss")
                 .then()
                 .statusCode(HttpStatus.SC_OK);
+        when().
+                get("/driver/getDriver?name=Max Mustermann&dateOfBirth=20-09-1996&company=Lee Buses").
+                then().
+                statusCode(HttpStatus.SC_OK)
+                .body("status", equalTo("Dismissed"))
+                .body("driverHistoryResponseList.status", hasItems("Hired", "Paid", "Dismissed"));
+        //Requesting the unchanged driver again should be answered from the cache.
+        when().
+                get("/driver/getDriver?name=Max Mustermann&dateOfBirth=20-09-1996&company=Lee Buses").
+                then().
+                statusCode(HttpStatus.SC_OK)
+                .body("status", equalTo("Dismissed"));
+        when().
+                get("/driver/cacheStats").
+                then().
+                statusCode(HttpStatus.SC_OK)
+                .body("hitCount", greaterThan(0));
+    }
+
+    @Test
+    /**
+     * Test case: Hire a permanent driver and track hours within the daily maximum until the maximum would be exceeded.
+     * Expected result: hours are tracked until the maximum would be exceeded and the totals are returned each time.
+     */
+    public void testTrackHoursWithinLimit() {
+        DriverRequest driverRequest = new DriverRequest();
+        driverRequest.setContractedHours(20);
+        driverRequest.setDateOfBirth("01-01-1990");
+        driverRequest.setName("Erika Mustermann");
+        driverRequest.setHourlyWage("20.0");
+        driverRequest.setSkills("Driving");
+        driverRequest.setStartDate("01-10-2016");
+        driverRequest.setCompany("Mustermann Trams");
+        given()
+                .contentType("application/json")
+                .body(driverRequest)
+                .when()
+                .post("/driver/hirePermanent")
+                .then()
+                .statusCode(HttpStatus.SC_CREATED);
+        DriverHoursRequest driverHoursRequest = new DriverHoursRequest();
+        driverHoursRequest.setCompany("Mustermann Trams");
+        driverHoursRequest.setDateOfBirth("01-01-1990");
+        driverHoursRequest.setName("Erika Mustermann");
+        driverHoursRequest.setHours(6);
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHoursWithinLimit")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("hoursTracked", equalTo(true))
+                .body("totalHours", equalTo(6))
+                .body("remainingHours", equalTo(4));
+        //A second block of 6 hours would exceed the maximum of 10 hours.
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHoursWithinLimit")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("hoursTracked", equalTo(false))
+                .body("totalHours", equalTo(6))
+                .body("remainingHours", equalTo(4));
+        driverHoursRequest.setHours(4);
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHoursWithinLimit")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("hoursTracked", equalTo(true))
+                .body("totalHours", equalTo(10))
+                .body("remainingHours", equalTo(0));
+    }
+
+    @Test
+    /**
+     * Test case: Hire a permanent driver and track hours for several items at once both as a JSON array and as a stream.
+     * Expected result: the hours of valid items for known drivers are tracked and every item has a result.
+     */
+    public void testTrackHoursBulk() {
+        DriverRequest driverRequest = new DriverRequest();
+        driverRequest.setContractedHours(20);
+        driverRequest.setDateOfBirth("02-02-1985");
+        driverRequest.setName("John Smith");
+        driverRequest.setHourlyWage("20.0");
+        driverRequest.setSkills("Driving");
+        driverRequest.setStartDate("01-10-2016");
+        driverRequest.setCompany("Smith Coaches");
+        given()
+                .contentType("application/json")
+                .body(driverRequest)
+                .when()
+                .post("/driver/hirePermanent")
+                .then()
+                .statusCode(HttpStatus.SC_CREATED);
+        given()
+                .contentType("application/json")
+                .body("[{\"name\":\"John Smith\",\"dateOfBirth\":\"02-02-1985\",\"company\":\"Smith Coaches\",\"hours\":3},"
+                        + "{\"name\":\"John Smith\",\"dateOfBirth\":\"02-02-1985\",\"company\":\"Smith Coaches\",\"hours\":2},"
+                        + "{\"name\":\"Jane Smith\",\"dateOfBirth\":\"02-02-1985\",\"company\":\"Smith Coaches\",\"hours\":2},"
+                        + "{\"name\":\"John Smith\",\"dateOfBirth\":\"02-02-1985\",\"company\":\"Smith Coaches\",\"hours\":0}]")
+                .when()
+                .post("/driver/trackHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("trackedCount", equalTo(2))
+                .body("itemResponseList.result", hasItems("TRACKED", "UNKNOWN_DRIVER", "INVALID"));
+        given()
+                .config(RestAssured.config().encoderConfig(EncoderConfig.encoderConfig().encodeContentTypeAs("application/x-ndjson", ContentType.TEXT)))
+                .contentType("application/x-ndjson")
+                .body("{\"name\":\"John Smith\",\"dateOfBirth\":\"02-02-1985\",\"company\":\"Smith Coaches\",\"hours\":1}\n"
+                        + "{\"name\":\"John Smith\",\"dateOfBirth\":\"02-02-1985\",\"company\":\"Smith Coaches\",\"hours\":1}\n")
+                .when()
+                .post("/driver/trackHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("trackedCount", equalTo(2));
+        RetrieveDriverRequest retrieveDriverRequest = new RetrieveDriverRequest();
+        retrieveDriverRequest.setCompany("Smith Coaches");
+        retrieveDriverRequest.setDateOfBirth("02-02-1985");
+        retrieveDriverRequest.setName("John Smith");
+        given()
+                .contentType("application/json")
+                .body(retrieveDriverRequest)
+                .when()
+                .post("/driver/checkHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("remainingHours", equalTo(3));
+        //Check the hours of the whole company and of a list of drivers including an unknown driver at once.
+        given()
+                .contentType("application/json")
+                .body("{\"company\":\"Smith Coaches\"}")
+                .when()
+                .post("/driver/checkHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driverHoursResponseList.name", hasItems("John Smith"))
+                .body("driverHoursResponseList.remainingHours", hasItems(3));
+        given()
+                .contentType("application/json")
+                .body("{\"driverList\":[{\"name\":\"John Smith\",\"dateOfBirth\":\"02-02-1985\",\"company\":\"Smith Coaches\"},"
+                        + "{\"name\":\"Jane Smith\",\"dateOfBirth\":\"02-02-1985\",\"company\":\"Smith Coaches\"}]}")
+                .when()
+                .post("/driver/checkHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driverHoursResponseList.size()", equalTo(1))
+                .body("driverHoursResponseList[0].furtherHoursAllowed", equalTo(true));
+        given()
+                .contentType("application/json")
+                .body("{}")
+                .when()
+                .post("/driver/checkHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    /**
+     * Test case: Import drivers from CSV data containing valid, invalid and duplicate rows and then import it again.
+     * Expected result: the valid rows are hired, every other row is rejected with its row number and an incomplete
+     * header is a bad request.
+     */
+    public void testImportDrivers() {
+        String csv = "name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                + "Anna Schmidt,03-03-1980,Schmidt Busse,30,15.0,Driving,01-10-2016\n"
+                + "Ben Schmidt,04-04-1981,Schmidt Busse,30,500.0,Driving,01-10-2016\n"
+                + "Anna Schmidt,03-03-1980,Schmidt Busse,30,15.0,Driving,01-10-2016\n"
+                + "Carla Schmidt,05-05-1982,Schmidt Busse,25,12.5,\"Driving, Ticketing\",01-11-2016\n"
+                + "Dirk Schmidt,06-06-1983,Schmidt Busse\n"
+                + "Eva Schmidt,07-07-1984,Schmidt Busse,many,12.5,Driving,01-11-2016\n";
+        given()
+                .contentType("text/csv")
+                .body(csv)
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("rowsRead", equalTo(6))
+                .body("driversHired", equalTo(2))
+                .body("rejectedRowCount", equalTo(4))
+                .body("rejectedRowList.rowNumber", hasItems(3, 4, 6, 7));
+        given()
+                .contentType("text/csv")
+                .body(csv)
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(0))
+                .body("rejectedRowCount", equalTo(6));
+        given()
+                .contentType("application/json")
+                .body("{\"company\":\"Schmidt Busse\"}")
+                .when()
+                .post("/driver/checkHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driverHoursResponseList.name", hasItems("Anna Schmidt", "Carla Schmidt"));
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company\nAnna Schmidt,03-03-1980,Schmidt Busse\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    /**
+     * Test case: Import drivers for a company and export the drivers of the company as newline delimited JSON and as CSV.
+     * Expected result: every driver of the company is exported once in each format and an unknown format is a bad request.
+     */
+    public void testExportDrivers() {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Jan Meier,08-08-1986,Meier Reisen,35,18.5,Driving,01-10-2016\n"
+                        + "Lena Meier,09-09-1987,Meier Reisen,20,14.0,Ticketing,01-12-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(2));
+        String ndjson = given()
+                .param("company", "Meier Reisen")
+                .when()
+                .get("/driver/export")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+        assertEquals(2, ndjson.split("\n").length);
+        assertTrue(ndjson.contains("\"name\":\"Jan Meier\""));
+        assertTrue(ndjson.contains("\"hourlyWage\":\"14.00\""));
+        String csv = given()
+                .param("company", "Meier Reisen")
+                .param("format", "csv")
+                .when()
+                .get("/driver/export")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .contentType("text/csv")
+                .extract().asString();
+        String[] csvLines = csv.split("\r\n");
+        assertEquals(3, csvLines.length);
+        assertEquals("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate,assignedRouteSchedule,status", csvLines[0]);
+        assertEquals("Jan Meier,8-8-1986,Meier Reisen,35,18.50,Driving,1-10-2016,,Hired", csvLines[1]);
+        given()
+                .param("format", "xml")
+                .when()
+                .get("/driver/export")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    /**
+     * Test case: Import drivers for a company, change the wage of all drivers of the company and then dismiss them all.
+     * Expected result: every driver of the company is updated, a history entry is written for each change and
+     * drivers who have already been dismissed are not dismissed again.
+     */
+    public void testCompanyWageChangeAndDismissal() {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Olaf Wagner,10-10-1975,Wagner Verkehr,40,16.0,Driving,01-10-2016\n"
+                        + "Paula Wagner,11-11-1976,Wagner Verkehr,40,17.0,Driving,01-10-2016\n"
+                        + "Rolf Wagner,12-12-1977,Wagner Verkehr,40,18.0,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(3));
+        given()
+                .contentType("application/json")
+                .body("{\"company\":\"Wagner Verkehr\",\"hourlyWage\":\"19.5\"}")
+                .when()
+                .post("/driver/changeCompanyWage")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversUpdated", equalTo(3));
+        given()
+                .param("name", "Paula Wagner")
+                .param("dateOfBirth", "11-11-1976")
+                .param("company", "Wagner Verkehr")
+                .when()
+                .get("/driver/getDriver")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("hourlyWage", equalTo("19.50"))
+                .body("driverHistoryResponseList.status", hasItems("Wage Changed"));
+        given()
+                .contentType("application/json")
+                .body("{\"company\":\"Wagner Verkehr\",\"hourlyWage\":\"1000\"}")
+                .when()
+                .post("/driver/changeCompanyWage")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+        DismissDriverRequest dismissDriverRequest = new DismissDriverRequest();
+        dismissDriverRequest.setName("Rolf Wagner");
+        dismissDriverRequest.setDateOfBirth("12-12-1977");
+        dismissDriverRequest.setCompany("Wagner Verkehr");
+        dismissDriverRequest.setReasonForDismissal("Retired");
+        given()
+                .contentType("application/json")
+                .body(dismissDriverRequest)
+                .when()
+                .post("/driver/dismiss")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        given()
+                .contentType("application/json")
+                .body("{\"company\":\"Wagner Verkehr\",\"reasonForDismissal\":\"Franchise ended\"}")
+                .when()
+                .post("/driver/dismissCompany")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversUpdated", equalTo(2));
+        given()
+                .param("name", "Olaf Wagner")
+                .param("dateOfBirth", "10-10-1975")
+                .param("company", "Wagner Verkehr")
+                .when()
+                .get("/driver/getDriver")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("status", equalTo("Dismissed"));
+    }
+
+    @Test
+    /**
+     * Test case: Track hours for a driver and run the payroll several times for the same period with more hours tracked in between.
+     * Expected result: each run only pays the hours which have not been paid by an earlier run.
+     */
+    public void testPayDriversIsIncremental() {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Sven Becker,01-02-1988,Becker Linien,40,20.0,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(1));
+        DriverHoursRequest driverHoursRequest = new DriverHoursRequest();
+        driverHoursRequest.setCompany("Becker Linien");
+        driverHoursRequest.setDateOfBirth("01-02-1988");
+        driverHoursRequest.setName("Sven Becker");
+        driverHoursRequest.setHours(3);
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        LocalDate currentDate = LocalDate.now();
+        PayDriversRequest payDriversRequest = new PayDriversRequest();
+        payDriversRequest.setCompany("Becker Linien");
+        payDriversRequest.setFromDate(currentDate.minusDays(7).getDayOfMonth() + "-" + currentDate.minusDays(7).getMonthValue() + "-" + currentDate.minusDays(7).getYear());
+        payDriversRequest.setToDate(currentDate.getDayOfMonth() + "-" + currentDate.getMonthValue() + "-" + currentDate.getYear());
+        given()
+                .contentType("application/json")
+                .body(payDriversRequest)
+                .when()
+                .post("/driver/payDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalPayout", equalTo("60.00"));
+        //Running the payroll again for the same period should not pay anything.
+        given()
+                .contentType("application/json")
+                .body(payDriversRequest)
+                .when()
+                .post("/driver/payDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalPayout", equalTo("0.00"));
+        //Hours added later on the same day should be paid by the next run.
+        driverHoursRequest.setHours(2);
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        given()
+                .contentType("application/json")
+                .body(payDriversRequest)
+                .when()
+                .post("/driver/payDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalPayout", equalTo("40.00"));
+    }
+
+    @Test
+    /**
+     * Test case: Track hours for several drivers of a company and pay them with a payroll job which is polled until it completes.
+     * Expected result: the job pays all drivers in chunks and reports the total payout, and unknown or completed jobs cannot be resumed.
+     */
+    public void testPayrollJob() throws InterruptedException {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Tina Vogel,01-03-1989,Vogel Bus,40,10.0,Driving,01-10-2016\n"
+                        + "Uwe Vogel,02-03-1989,Vogel Bus,40,10.0,Driving,01-10-2016\n"
+                        + "Vera Vogel,03-03-1989,Vogel Bus,40,10.0,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(3));
+        given()
+                .contentType("application/json")
+                .body("[{\"name\":\"Tina Vogel\",\"dateOfBirth\":\"01-03-1989\",\"company\":\"Vogel Bus\",\"hours\":4},"
+                        + "{\"name\":\"Vera Vogel\",\"dateOfBirth\":\"03-03-1989\",\"company\":\"Vogel Bus\",\"hours\":5}]")
+                .when()
+                .post("/driver/trackHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("trackedCount", equalTo(2));
+        LocalDate currentDate = LocalDate.now();
+        PayDriversRequest payDriversRequest = new PayDriversRequest();
+        payDriversRequest.setCompany("Vogel Bus");
+        payDriversRequest.setFromDate(currentDate.getDayOfMonth() + "-" + currentDate.getMonthValue() + "-" + currentDate.getYear());
+        payDriversRequest.setToDate(currentDate.getDayOfMonth() + "-" + currentDate.getMonthValue() + "-" + currentDate.getYear());
+        int jobId = given()
+                .contentType("application/json")
+                .body(payDriversRequest)
+                .when()
+                .post("/driver/submitPayrollJob")
+                .then()
+                .statusCode(HttpStatus.SC_ACCEPTED)
+                .body("company", equalTo("Vogel Bus"))
+                .extract().path("jobId");
+        String status = null;
+        for ( int i = 0; i < 100 && !"Completed".equals(status); i++ ) {
+            Thread.sleep(100);
+            status = given().param("jobId", jobId).when().get("/driver/payrollJob").then().statusCode(HttpStatus.SC_OK).extract().path("status");
+        }
+        given()
+                .param("jobId", jobId)
+                .when()
+                .get("/driver/payrollJob")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("status", equalTo("Completed"))
+                .body("totalDrivers", equalTo(3))
+                .body("driversProcessed", equalTo(3))
+                .body("driversPaid", equalTo(2))
+                .body("percentComplete", equalTo(100))
+                .body("payDriversResponse.totalPayout", equalTo("90.00"));
+        given()
+                .param("jobId", jobId)
+                .when()
+                .post("/driver/resumePayrollJob")
+                .then()
+                .statusCode(HttpStatus.SC_CONFLICT);
+        //A job which is already queued for the company, for example by another instance, blocks a new job.
+        activePayrollJobRepository.save(new ActivePayrollJob("Vogel Bus", -1L));
+        given()
+                .contentType("application/json")
+                .body(payDriversRequest)
+                .when()
+                .post("/driver/submitPayrollJob")
+                .then()
+                .statusCode(HttpStatus.SC_CONFLICT);
+        activePayrollJobRepository.delete("Vogel Bus");
+        given()
+                .contentType("application/json")
+                .body(payDriversRequest)
+                .when()
+                .post("/driver/submitPayrollJob")
+                .then()
+                .statusCode(HttpStatus.SC_ACCEPTED);
+        given()
+                .param("jobId", -1)
+                .when()
+                .get("/driver/payrollJob")
+                .then()
+                .statusCode(HttpStatus.SC_NOT_FOUND);
+    }
+
+    @Test
+    /**
+     * Test case: Track hours for drivers of two companies and pay both companies at once.
+     * Expected result: the drivers of both companies are paid once and the payout of each company is reported.
+     */
+    public void testPayCompanies() {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Anna Falke,01-04-1985,Falke Bus,40,10.0,Driving,01-10-2016\n"
+                        + "Bernd Falke,02-04-1985,Falke Bus,40,10.0,Driving,01-10-2016\n"
+                        + "Carla Falke,03-04-1985,Falke Bus,40,10.0,Driving,01-10-2016\n"
+                        + "Dirk Falke,04-04-1985,Falke Bus,40,10.0,Driving,01-10-2016\n"
+                        + "Emil Falke,05-04-1985,Falke Bus,40,10.0,Driving,01-10-2016\n"
+                        + "Frida Adler,06-04-1985,Adler Tram,40,20.0,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(6));
+        given()
+                .contentType("application/json")
+                .body("[{\"name\":\"Anna Falke\",\"dateOfBirth\":\"01-04-1985\",\"company\":\"Falke Bus\",\"hours\":2},"
+                        + "{\"name\":\"Dirk Falke\",\"dateOfBirth\":\"04-04-1985\",\"company\":\"Falke Bus\",\"hours\":3},"
+                        + "{\"name\":\"Emil Falke\",\"dateOfBirth\":\"05-04-1985\",\"company\":\"Falke Bus\",\"hours\":1},"
+                        + "{\"name\":\"Frida Adler\",\"dateOfBirth\":\"06-04-1985\",\"company\":\"Adler Tram\",\"hours\":5}]")
+                .when()
+                .post("/driver/trackHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("trackedCount", equalTo(4));
+        LocalDate currentDate = LocalDate.now();
+        String today = currentDate.getDayOfMonth() + "-" + currentDate.getMonthValue() + "-" + currentDate.getYear();
+        PayCompaniesRequest payCompaniesRequest = new PayCompaniesRequest();
+        payCompaniesRequest.setCompanies(Arrays.asList("Adler Tram", "Falke Bus"));
+        payCompaniesRequest.setFromDate(today);
+        payCompaniesRequest.setToDate(today);
+        given()
+                .contentType("application/json")
+                .body(payCompaniesRequest)
+                .when()
+                .post("/driver/payCompanies")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalPayout", equalTo("160.00"))
+                .body("driversPaid", equalTo(4))
+                .body("companyPayoutResponses.company", contains("Adler Tram", "Falke Bus"))
+                .body("companyPayoutResponses.driversProcessed", contains(1, 5))
+                .body("companyPayoutResponses.driversPaid", contains(1, 3))
+                .body("companyPayoutResponses.totalPayout", contains("100.00", "60.00"));
+        given()
+                .contentType("application/json")
+                .body(payCompaniesRequest)
+                .when()
+                .post("/driver/payCompanies")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalPayout", equalTo("0.00"))
+                .body("driversPaid", equalTo(0));
+        payCompaniesRequest.setFromDate("not a date");
+        given()
+                .contentType("application/json")
+                .body(payCompaniesRequest)
+                .when()
+                .post("/driver/payCompanies")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    /**
+     * Test case: Pay a driver twice for hours worked on the same day and ask for the payout totals.
+     * Expected result: each payroll run appends a payment to the ledger and the totals of the driver and the company add them up.
+     */
+    public void testPayoutTotals() {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Gerd Kranich,01-05-1980,Kranich Bus,40,12.5,Driving,01-10-2016\n"
+                        + "Hanna Kranich,02-05-1980,Kranich Bus,40,10.0,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(2));
+        LocalDate currentDate = LocalDate.now();
+        String today = currentDate.getDayOfMonth() + "-" + currentDate.getMonthValue() + "-" + currentDate.getYear();
+        PayDriversRequest payDriversRequest = new PayDriversRequest();
+        payDriversRequest.setCompany("Kranich Bus");
+        payDriversRequest.setFromDate(today);
+        payDriversRequest.setToDate(today);
+        given()
+                .contentType("application/json")
+                .body("[{\"name\":\"Gerd Kranich\",\"dateOfBirth\":\"01-05-1980\",\"company\":\"Kranich Bus\",\"hours\":4},"
+                        + "{\"name\":\"Hanna Kranich\",\"dateOfBirth\":\"02-05-1980\",\"company\":\"Kranich Bus\",\"hours\":3}]")
+                .when()
+                .post("/driver/trackHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        given()
+                .contentType("application/json")
+                .body(payDriversRequest)
+                .when()
+                .post("/driver/payDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalPayout", equalTo("80.00"));
+        given()
+                .contentType("application/json")
+                .body("[{\"name\":\"Gerd Kranich\",\"dateOfBirth\":\"01-05-1980\",\"company\":\"Kranich Bus\",\"hours\":2}]")
+                .when()
+                .post("/driver/trackHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        given()
+                .contentType("application/json")
+                .body(payDriversRequest)
+                .when()
+                .post("/driver/payDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalPayout", equalTo("25.00"));
+        given()
+                .param("name", "Gerd Kranich")
+                .param("dateOfBirth", "01-05-1980")
+                .param("company", "Kranich Bus")
+                .param("fromDate", today)
+                .param("toDate", today)
+                .when()
+                .get("/driver/driverPayoutTotal")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("numPayments", equalTo(2))
+                .body("hoursPaid", equalTo(6))
+                .body("totalPayout", equalTo("75.00"));
+        given()
+                .param("company", "Kranich Bus")
+                .param("fromDate", today)
+                .param("toDate", today)
+                .when()
+                .get("/driver/companyPayoutTotal")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("numPayments", equalTo(3))
+                .body("hoursPaid", equalTo(9))
+                .body("totalPayout", equalTo("105.00"));
+        LocalDate yesterday = currentDate.minusDays(1);
+        given()
+                .param("company", "Kranich Bus")
+                .param("fromDate", "01-01-2016")
+                .param("toDate", yesterday.getDayOfMonth() + "-" + yesterday.getMonthValue() + "-" + yesterday.getYear())
+                .when()
+                .get("/driver/companyPayoutTotal")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("numPayments", equalTo(0))
+                .body("totalPayout", equalTo("0.00"));
+        given()
+                .param("company", "Kranich Bus")
+                .param("fromDate", "not a date")
+                .param("toDate", today)
+                .when()
+                .get("/driver/companyPayoutTotal")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    /**
+     * Track hours for two drivers with every kind of hours request and retrieve the weekly, monthly and company totals.
+     * Expected result: the totals contain the sum of all tracked hours.
+     */
+    public void testHoursRollups() {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Ida Storch,01-06-1985,Storch Tram,40,12.5,Driving,01-10-2016\n"
+                        + "Jan Storch,02-06-1985,Storch Tram,20,10.0,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(2));
+        DriverHoursRequest driverHoursRequest = new DriverHoursRequest();
+        driverHoursRequest.setCompany("Storch Tram");
+        driverHoursRequest.setDateOfBirth("01-06-1985");
+        driverHoursRequest.setName("Ida Storch");
+        driverHoursRequest.setHours(5);
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        driverHoursRequest.setHours(2);
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHoursWithinLimit")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("hoursTracked", equalTo(true));
+        //Hours which exceed the limit must not be added to the totals.
+        driverHoursRequest.setHours(4);
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHoursWithinLimit")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("hoursTracked", equalTo(false));
+        given()
+                .contentType("application/json")
+                .body("[{\"name\":\"Ida Storch\",\"dateOfBirth\":\"01-06-1985\",\"company\":\"Storch Tram\",\"hours\":1},"
+                        + "{\"name\":\"Jan Storch\",\"dateOfBirth\":\"02-06-1985\",\"company\":\"Storch Tram\",\"hours\":3}]")
+                .when()
+                .post("/driver/trackHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        LocalDate currentDate = LocalDate.now();
+        String today = currentDate.getDayOfMonth() + "-" + currentDate.getMonthValue() + "-" + currentDate.getYear();
+        LocalDate weekStart = currentDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        given()
+                .param("company", "Storch Tram")
+                .param("fromDate", today)
+                .param("toDate", today)
+                .when()
+                .get("/driver/weeklyHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driverHoursRollupResponseList.name", contains("Ida Storch", "Jan Storch"))
+                .body("driverHoursRollupResponseList.period", contains(
+                        String.format("%d-W%02d", weekStart.get(IsoFields.WEEK_BASED_YEAR), weekStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)),
+                        String.format("%d-W%02d", weekStart.get(IsoFields.WEEK_BASED_YEAR), weekStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR))))
+                .body("driverHoursRollupResponseList.periodStart", contains(
+                        weekStart.getDayOfMonth() + "-" + weekStart.getMonthValue() + "-" + weekStart.getYear(),
+                        weekStart.getDayOfMonth() + "-" + weekStart.getMonthValue() + "-" + weekStart.getYear()))
+                .body("driverHoursRollupResponseList.hours", contains(8, 3))
+                .body("driverHoursRollupResponseList.contractedHours", contains(40, 20));
+        given()
+                .param("company", "Storch Tram")
+                .param("fromDate", today)
+                .param("toDate", today)
+                .when()
+                .get("/driver/monthlyHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driverHoursRollupResponseList.period", contains(
+                        String.format("%d-%02d", currentDate.getYear(), currentDate.getMonthValue()),
+                        String.format("%d-%02d", currentDate.getYear(), currentDate.getMonthValue())))
+                .body("driverHoursRollupResponseList.hours", contains(8, 3));
+        given()
+                .param("company", "Storch Tram")
+                .param("fromDate", today)
+                .param("toDate", today)
+                .when()
+                .get("/driver/companyDailyHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalHours", equalTo(11))
+                .body("dailyHoursResponseList.date", contains(today))
+                .body("dailyHoursResponseList.hours", contains(11));
+        LocalDate yesterday = currentDate.minusDays(1);
+        given()
+                .param("company", "Storch Tram")
+                .param("fromDate", "01-01-2016")
+                .param("toDate", yesterday.getDayOfMonth() + "-" + yesterday.getMonthValue() + "-" + yesterday.getYear())
+                .when()
+                .get("/driver/companyDailyHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalHours", equalTo(0));
+        given()
+                .param("company", "Storch Tram")
+                .param("fromDate", "not a date")
+                .param("toDate", today)
+                .when()
+                .get("/driver/weeklyHours")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    /**
+     * Track hours for a driver of a company whose weekly hours are limited to less than the daily hours.
+     * Expected result: the weekly rule of the company limits the remaining hours and rejects hours beyond it.
+     */
+    public void testWorkingTimeRules() {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Karl Reiher,01-07-1975,Reiher Bus,40,12.5,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(1));
+        RetrieveDriverRequest retrieveDriverRequest = new RetrieveDriverRequest();
+        retrieveDriverRequest.setCompany("Reiher Bus");
+        retrieveDriverRequest.setDateOfBirth("01-07-1975");
+        retrieveDriverRequest.setName("Karl Reiher");
+        given()
+                .contentType("application/json")
+                .body(retrieveDriverRequest)
+                .when()
+                .post("/driver/checkHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("furtherHoursAllowed", equalTo(true))
+                .body("remainingHours", equalTo(6))
+                .body("limitingRule", equalTo("Weekly Hours"));
+        DriverHoursRequest driverHoursRequest = new DriverHoursRequest();
+        driverHoursRequest.setCompany("Reiher Bus");
+        driverHoursRequest.setDateOfBirth("01-07-1975");
+        driverHoursRequest.setName("Karl Reiher");
+        driverHoursRequest.setHours(4);
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHoursWithinLimit")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("hoursTracked", equalTo(false))
+                .body("totalHours", equalTo(4))
+                .body("remainingHours", equalTo(2));
+        driverHoursRequest.setHours(2);
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHoursWithinLimit")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("hoursTracked", equalTo(true))
+                .body("totalHours", equalTo(6))
+                .body("remainingHours", equalTo(0));
+        given()
+                .contentType("application/json")
+                .body("{\"company\":\"Reiher Bus\"}")
+                .when()
+                .post("/driver/checkHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driverHoursResponseList.furtherHoursAllowed", contains(false))
+                .body("driverHoursResponseList.remainingHours", contains(0))
+                .body("driverHoursResponseList.limitingRule", contains("Weekly Hours"));
+    }
+
+    @Test
+    /**
+     * Test case: Hire drivers for a company, find the available drivers and then track hours, dismiss and hire again.
+     * Expected result: only drivers who may still work the requested hours are found and every change is reflected.
+     */
+    public void testAvailableDrivers() {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Paul Kranich,01-08-1981,Kranich Tram,40,14.0,Driving,01-10-2016\n"
+                        + "Pia Kranich,02-08-1982,Kranich Tram,40,14.0,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(2));
+        given()
+                .param("company", "Kranich Tram")
+                .when()
+                .get("/driver/availableDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("numAvailableDrivers", equalTo(2))
+                .body("availableDriverResponseList.name", contains("Paul Kranich", "Pia Kranich"))
+                .body("availableDriverResponseList.remainingHours", contains(10, 10))
+                .body("remainingHoursCountResponseList.remainingHours", contains(10))
+                .body("remainingHoursCountResponseList.numDrivers", contains(2));
+        DriverHoursRequest driverHoursRequest = new DriverHoursRequest();
+        driverHoursRequest.setCompany("Kranich Tram");
+        driverHoursRequest.setDateOfBirth("01-08-1981");
+        driverHoursRequest.setName("Paul Kranich");
+        driverHoursRequest.setHours(7);
+        given()
+                .contentType("application/json")
+                .body(driverHoursRequest)
+                .when()
+                .post("/driver/trackHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        given()
+                .param("company", "Kranich Tram")
+                .param("minHours", 4)
+                .when()
+                .get("/driver/availableDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("availableDriverResponseList.name", contains("Pia Kranich"))
+                .body("remainingHoursCountResponseList.remainingHours", contains(3, 10))
+                .body("remainingHoursCountResponseList.numDrivers", contains(1, 1));
+        DismissDriverRequest dismissDriverRequest = new DismissDriverRequest();
+        dismissDriverRequest.setName("Pia Kranich");
+        dismissDriverRequest.setDateOfBirth("02-08-1982");
+        dismissDriverRequest.setCompany("Kranich Tram");
+        dismissDriverRequest.setReasonForDismissal("Moved away");
+        given()
+                .contentType("application/json")
+                .body(dismissDriverRequest)
+                .when()
+                .post("/driver/dismiss")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Udo Kranich,03-08-1983,Kranich Tram,40,14.0,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(1));
+        given()
+                .param("company", "Kranich Tram")
+                .when()
+                .get("/driver/availableDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("availableDriverResponseList.name", contains("Paul Kranich", "Udo Kranich"))
+                .body("availableDriverResponseList.remainingHours", contains(3, 10))
+                .body("availableDriverResponseList.limitingRule", contains("Daily Hours", "Daily Hours"));
+        given()
+                .param("company", "Kranich Tram")
+                .param("minHours", 0)
+                .when()
+                .get("/driver/availableDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    /**
+     * Test case: Track hours for a driver on several past days, pay a later range before an earlier one and then add hours to a paid day.
+     * Expected result: every range pays its own hours and hours added to a day which has already been paid are paid by the next run.
+     */
+    public void testPayEarlierRangeAfterLaterRange() {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Eva Elster,01-11-1983,Elster Bus,40,10.0,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(1));
+        LocalDate currentDate = LocalDate.now();
+        Long driverId = driverService.findDriverIdByDateOfBirthAndNameAndCompany(LocalDate.of(1983, 11, 1), "Eva Elster", "Elster Bus");
+        driverService.incrementDriverHours(driverId, currentDate.minusDays(10), 3);
+        driverService.incrementDriverHours(driverId, currentDate.minusDays(3), 2);
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("d-M-yyyy");
+        PayDriversRequest laterRequest = new PayDriversRequest();
+        laterRequest.setCompany("Elster Bus");
+        laterRequest.setFromDate(currentDate.minusDays(5).format(dateFormatter));
+        laterRequest.setToDate(currentDate.minusDays(1).format(dateFormatter));
+        given()
+                .contentType("application/json")
+                .body(laterRequest)
+                .when()
+                .post("/driver/payDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalPayout", equalTo("20.00"));
+        //The earlier hours were not paid so the later run must not have passed over them.
+        PayDriversRequest earlierRequest = new PayDriversRequest();
+        earlierRequest.setCompany("Elster Bus");
+        earlierRequest.setFromDate(currentDate.minusDays(14).format(dateFormatter));
+        earlierRequest.setToDate(currentDate.minusDays(6).format(dateFormatter));
+        given()
+                .contentType("application/json")
+                .body(earlierRequest)
+                .when()
+                .post("/driver/payDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalPayout", equalTo("30.00"));
+        //Hours added to a day which has already been paid completely are paid by the next run.
+        driverService.incrementDriverHours(driverId, currentDate.minusDays(2), 1);
+        given()
+                .contentType("application/json")
+                .body(laterRequest)
+                .when()
+                .post("/driver/payDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalPayout", equalTo("10.00"));
+        assertEquals(driverService.getDriver(driverId).getPaidThroughDate(), currentDate.minusDays(1));
+    }
+
+    @Test
+    /**
+     * Test case: Hire two drivers for a company, track hours for both, move one of them to another company and then
+     * delete the moved driver.
+     * Expected result: the hours of the moved driver count for the new company only and are removed from it on deletion.
+     */
+    public void testChangeCompany() {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Eva Specht,03-04-1979,Specht Bus,40,14.0,Driving,01-10-2016\n"
+                        + "Jan Specht,04-04-1979,Specht Bus,40,14.0,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(2));
+        given()
+                .contentType("application/json")
+                .body("[{\"name\":\"Eva Specht\",\"dateOfBirth\":\"03-04-1979\",\"company\":\"Specht Bus\",\"hours\":3},"
+                        + "{\"name\":\"Jan Specht\",\"dateOfBirth\":\"04-04-1979\",\"company\":\"Specht Bus\",\"hours\":5}]")
+                .when()
+                .post("/driver/trackHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        LocalDate currentDate = LocalDate.now();
+        String today = currentDate.getDayOfMonth() + "-" + currentDate.getMonthValue() + "-" + currentDate.getYear();
+        Driver driver = driverService.findDriverByDateOfBirthAndNameAndCompany(LocalDate.of(1979, 4, 4), "Jan Specht", "Specht Bus");
+        driver.setCompany("Amsel Bus");
+        driverService.saveDriver(driver);
+        given()
+                .param("company", "Specht Bus")
+                .param("fromDate", today)
+                .param("toDate", today)
+                .when()
+                .get("/driver/companyDailyHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalHours", equalTo(3));
+        given()
+                .param("company", "Amsel Bus")
+                .param("fromDate", today)
+                .param("toDate", today)
+                .when()
+                .get("/driver/companyDailyHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalHours", equalTo(5));
+        driverService.deleteDriver(driverService.getDriver(driver.getId()));
+        given()
+                .param("company", "Amsel Bus")
+                .param("fromDate", today)
+                .param("toDate", today)
+                .when()
+                .get("/driver/companyDailyHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalHours", equalTo(0));
+        given()
+                .param("company", "Specht Bus")
+                .param("fromDate", today)
+                .param("toDate", today)
+                .when()
+                .get("/driver/companyDailyHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("totalHours", equalTo(3));
+    }
+
+    @Test
+    /**
+     * Test case: Stream the hours of a driver where an invalid line follows the first chunk and a further item.
+     * Expected result: the items before the invalid line are tracked and returned, the invalid line is returned as the
+     * last item and the item after it is not tracked.
+     */
+    public void testTrackHoursStreamWithInvalidLine() {
+        given()
+                .contentType("text/csv")
+                .body("name,dateOfBirth,company,contractedHours,hourlyWage,skills,startDate\n"
+                        + "Lars Fink,05-06-1990,Fink Bus,40,14.0,Driving,01-10-2016\n")
+                .when()
+                .post("/driver/importDrivers")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("driversHired", equalTo(1));
+        String item = "{\"name\":\"Lars Fink\",\"dateOfBirth\":\"05-06-1990\",\"company\":\"Fink Bus\",\"hours\":1}\n";
+        given()
+                .config(RestAssured.config().encoderConfig(EncoderConfig.encoderConfig().encodeContentTypeAs("application/x-ndjson", ContentType.TEXT)))
+                .contentType("application/x-ndjson")
+                .body(item + item + item + "{\"name\":\n" + item)
+                .when()
+                .post("/driver/trackHoursBulk")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("trackedCount", equalTo(3))
+                .body("itemResponseList.index", contains(0, 1, 2, 3))
+                .body("itemResponseList.result", contains("TRACKED", "TRACKED", "TRACKED", "INVALID"));
+        given()
+                .contentType("application/json")
+                .body("{\"name\":\"Lars Fink\",\"dateOfBirth\":\"05-06-1990\",\"company\":\"Fink Bus\"}")
+                .when()
+                .post("/driver/checkHours")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("remainingHours", equalTo(7));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package de.davelee.trams.drivers.admin.ui.containers;
+
+import de.davelee.trams.drivers.data.DriverSummary;
+import org.junit.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * This class tests the LazyDriverSummaryContainer class to make sure it works properly.
+ * @author Dave Lee
+ */
+public class LazyDriverSummaryContainerTest {
+
+    @Test
+    /**
+     * Test case: read rows from a container of 25 drivers with a page size of 10.
+     * Expected result: only the pages containing the read rows are loaded and rows outside the drivers return null.
+     */
+    public void testPagedLoading() {
+        List<Pageable> loadedPages = new ArrayList<>();
+        LazyDriverSummaryContainer container = new LazyDriverSummaryContainer(pageable -> {
+            loadedPages.add(pageable);
+            List<DriverSummary> driverSummaries = new ArrayList<>();
+            for ( int i = pageable.getOffset(); i < Math.min(pageable.getOffset() + pageable.getPageSize(), 25); i++ ) {
+                driverSummaries.add(new DriverSummary((long) i, "Driver " + i, "Lee Buses", LocalDate.of(1988, 2, 29),
+                        BigDecimal.valueOf(20.0), LocalDate.of(2016, 9, 1)));
+            }
+            return driverSummaries;
+        }, () -> 25, 10);
+        assertEquals(container.size(), 25);
+        assertEquals(container.getDriverSummary(12).getName(), "Driver 12");
+        assertEquals(container.getDriverSummary(15).getName(), "Driver 15");
+        assertEquals(container.getDriverSummary(24).getName(), "Driver 24");
+        assertEquals(loadedPages.size(), 2);
+        assertEquals(loadedPages.get(0).getPageNumber(), 1);
+        assertEquals(container.getItemIds(20, 10).size(), 5);
+        assertNull(container.getDriverSummary(25));
+        assertNull(container.getItem(-1));
+    }
+
+}
@@ -0,0 +1,30 @@
+package de.davelee.trams.drivers.data;
+
+import org.junit.Test;
+
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests the CompanyPayrollTotal class and ensures that its works correctly.
+ * @author Dave Lee
+ */
+public class CompanyPayrollTotalTest {
+
+    @Test
+    /**
+     * Test case: merge the totals of two ranges of drivers of a company.
+     * Expected result: the merged total adds up both totals and the original totals are unchanged.
+     */
+    public void testMerge() {
+        CompanyPayrollTotal lowerTotal = new CompanyPayrollTotal("Lee Buses", 3, 2, 12000);
+        CompanyPayrollTotal upperTotal = new CompanyPayrollTotal("Lee Buses", 4, 1, 8050);
+        CompanyPayrollTotal mergedTotal = lowerTotal.merge(upperTotal);
+        assertEquals(mergedTotal.getCompany(), "Lee Buses");
+        assertEquals(mergedTotal.getDriversProcessed(), 7);
+        assertEquals(mergedTotal.getDriversPaid(), 3);
+        assertEquals(mergedTotal.getTotalPayoutMinorUnits(), 20050);
+        assertEquals(lowerTotal.getDriversProcessed(), 3);
+    }
+
+}
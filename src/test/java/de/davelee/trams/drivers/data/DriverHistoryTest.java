@@ -25,6 +25,11 @@ public class DriverHistoryTest {
         assertEquals(driverHistory.getDate(), LocalDate.of(2016, 10, 1));
         assertEquals(driverHistory.getComment(), "Hired!");
         assertEquals(driverHistory.getStatus(), DriverStatus.HIRED);
+        DriverHistory dismissedHistory = new DriverHistory(1L, LocalDate.of(2016, 11, 1), DriverStatus.DISMISSED, "Dismissed");
+        assertEquals(dismissedHistory.getDriverId(), Long.valueOf(1L));
+        assertEquals(dismissedHistory.getDate(), LocalDate.of(2016, 11, 1));
+        assertEquals(dismissedHistory.getStatus(), DriverStatus.DISMISSED);
+        assertEquals(dismissedHistory.getComment(), "Dismissed");
     }
 
 }
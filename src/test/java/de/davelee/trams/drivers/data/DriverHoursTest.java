@@ -0,0 +1,36 @@
+package de.davelee.trams.drivers.data;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests the DriverHours class to make sure it works properly.
+ * @author Dave Lee
+ */
+public class DriverHoursTest {
+
+    @Test
+    /**
+     * Test case: check that the constructor, getters and setters work as expected.
+     * Expected result: the getters return the values given by the constructor and setters.
+     */
+    public void testGettersAndSetters() {
+        DriverHours driverHours = new DriverHours(1L, LocalDate.of(2016, 10, 4), 5);
+        assertEquals(driverHours.getDriverId(), Long.valueOf(1L));
+        assertEquals(driverHours.getWorkDate(), LocalDate.of(2016, 10, 4));
+        assertEquals(driverHours.getHours(), 5);
+        driverHours.setDriverId(2L);
+        assertEquals(driverHours.getDriverId(), Long.valueOf(2L));
+        driverHours.setWorkDate(LocalDate.of(2016, 10, 5));
+        assertEquals(driverHours.getWorkDate(), LocalDate.of(2016, 10, 5));
+        driverHours.setHours(8);
+        assertEquals(driverHours.getHours(), 8);
+        assertEquals(driverHours.getPaidHours(), 0);
+        driverHours.setPaidHours(5);
+        assertEquals(driverHours.getPaidHours(), 5);
+    }
+
+}
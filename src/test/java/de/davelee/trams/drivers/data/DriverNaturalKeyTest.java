@@ -0,0 +1,29 @@
+package de.davelee.trams.drivers.data;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * This class tests the DriverNaturalKey class to make sure it works properly.
+ * @author Dave Lee
+ */
+public class DriverNaturalKeyTest {
+
+    @Test
+    /**
+     * Test case: hash natural keys which only differ in case and spacing and natural keys which really differ.
+     * Expected result: equivalent keys have the same hash and different keys have different hashes.
+     */
+    public void testHash() {
+        String hash = DriverNaturalKey.hash(LocalDate.of(1996, 9, 20), "Max Mustermann", "Lee Buses");
+        assertEquals(hash.length(), 64);
+        assertEquals(hash, DriverNaturalKey.hash(LocalDate.of(1996, 9, 20), " max  MUSTERMANN ", "lee buses"));
+        assertNotEquals(hash, DriverNaturalKey.hash(LocalDate.of(1996, 9, 21), "Max Mustermann", "Lee Buses"));
+        assertNotEquals(hash, DriverNaturalKey.hash(LocalDate.of(1996, 9, 20), "Max Mustermann", "Lee Trams"));
+    }
+
+}
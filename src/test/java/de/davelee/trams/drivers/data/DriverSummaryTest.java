@@ -0,0 +1,32 @@
+package de.davelee.trams.drivers.data;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests the DriverSummary class to make sure it works properly.
+ * @author Dave Lee
+ */
+public class DriverSummaryTest {
+
+    @Test
+    /**
+     * Test case: check that the getters return the values supplied to the constructor.
+     * Expected result: the getters return the values given by the constructor.
+     */
+    public void testGetters() {
+        DriverSummary driverSummary = new DriverSummary(1L, "Joe Bloggs", "Lee Buses", LocalDate.of(1988, 2, 29),
+                BigDecimal.valueOf(20.0), LocalDate.of(2016, 9, 1));
+        assertEquals(driverSummary.getId(), Long.valueOf(1L));
+        assertEquals(driverSummary.getName(), "Joe Bloggs");
+        assertEquals(driverSummary.getCompany(), "Lee Buses");
+        assertEquals(driverSummary.getDateOfBirth(), LocalDate.of(1988, 2, 29));
+        assertEquals(driverSummary.getHourlyWage(), BigDecimal.valueOf(20.0));
+        assertEquals(driverSummary.getStartDate(), LocalDate.of(2016, 9, 1));
+    }
+
+}
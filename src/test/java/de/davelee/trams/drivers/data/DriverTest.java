@@ -37,15 +37,9 @@ public class DriverTest {
         assertEquals(driver.getCompany(), "Lee Buses");
         driver.setStatus(DriverStatus.HIRED);
         assertEquals(driver.getStatus().getText(), "Hired");
-        DriverHistory driverHistory = new DriverHistory();
-        driverHistory.setComment("Hired!");
-        driverHistory.setDate(LocalDate.of(2016,8,15));
-        driverHistory.setStatus(DriverStatus.HIRED);
-        driver.addHistory(driverHistory);
-        assertEquals(driver.getDriverHistoryList().size(), 1);
-        driver.incrementDriverHours(LocalDate.of(2016, 10, 4), 5);
-        assertEquals(driver.getHoursWorkedForDate(LocalDate.of(2016, 10, 4)), new Integer(5));
-        assertNull(driver.getHoursWorkedForDate(LocalDate.of(2016, 10, 3)));
+        assertNull(driver.getPaidThroughDate());
+        driver.setPaidThroughDate(LocalDate.of(2016, 9, 30));
+        assertEquals(driver.getPaidThroughDate(), LocalDate.of(2016, 9, 30));
     }
 
 }
@@ -0,0 +1,64 @@
+package de.davelee.trams.drivers.data;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests the Money class and ensures that its works correctly.
+ * @author Dave Lee
+ */
+public class MoneyTest {
+
+    @Test
+    /**
+     * Test case: convert decimal amounts with more than two decimal places.
+     * Expected result: the amounts are rounded half even to minor units.
+     */
+    public void testRounding() {
+        assertEquals(Money.toMinorUnits(new BigDecimal("14")), 1400);
+        assertEquals(Money.toMinorUnits(new BigDecimal("10.005")), 1000);
+        assertEquals(Money.toMinorUnits(new BigDecimal("10.015")), 1002);
+        assertEquals(Money.toMinorUnits(new BigDecimal("10.0151")), 1002);
+        assertEquals(Money.toMinorUnits(new BigDecimal("-10.005")), -1000);
+    }
+
+    @Test
+    /**
+     * Test case: multiply an hourly wage by hours and add the result to another amount.
+     * Expected result: the arithmetic is exact and the result converts to a decimal with two decimal places.
+     */
+    public void testArithmetic() {
+        Money amount = Money.of(new BigDecimal("18.5")).times(3).plus(Money.ofMinorUnits(5));
+        assertEquals(amount.getMinorUnits(), 5555);
+        assertEquals(amount.toBigDecimal(), new BigDecimal("55.55"));
+        assertEquals(amount.toString(), "55.55");
+        assertEquals(amount, Money.ofMinorUnits(5555));
+        assertEquals(Money.ZERO.toBigDecimal().toString(), "0.00");
+    }
+
+    @Test
+    /**
+     * Test case: format amounts in minor units.
+     * Expected result: the amounts are formatted like decimals with two decimal places.
+     */
+    public void testFormat() {
+        assertEquals(Money.format(0), "0.00");
+        assertEquals(Money.format(7), "0.07");
+        assertEquals(Money.format(123456), "1234.56");
+        assertEquals(Money.format(-5), "-0.05");
+        assertEquals(Money.format(Long.MIN_VALUE), BigDecimal.valueOf(Long.MIN_VALUE, 2).toString());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    /**
+     * Test case: multiply an amount so that the result does not fit into minor units.
+     * Expected result: an exception is thrown instead of the amount overflowing.
+     */
+    public void testOverflow() {
+        Money.multiply(Long.MAX_VALUE / 2, 3);
+    }
+
+}
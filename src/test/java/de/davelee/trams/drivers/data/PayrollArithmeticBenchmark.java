@@ -0,0 +1,95 @@
+package de.davelee.trams.drivers.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class compares the payroll arithmetic with <code>BigDecimal</code> objects to the arithmetic with
+ * <code>Money</code> minor units. Each invocation pays a batch of driver days: it multiplies the hours of each day by
+ * the hourly wage and sums the amounts. The benchmark is not run by the tests; run it after
+ * <code>mvn test-compile</code> with the main method of this class on the test classpath.
+ * @author Dave Lee
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayrollArithmeticBenchmark {
+
+    @Param({"1000", "100000"})
+    private int driverDays;
+
+    private Integer[] hours;
+    private BigDecimal[] hourlyWages;
+    private long[] hourlyWagesMinorUnits;
+
+    /**
+     * Main method to run the benchmark.
+     * @param args a <code>String</code> array of arguments which are not presently used.
+     * @throws RunnerException if the benchmark could not be run.
+     */
+    public static void main ( String[] args ) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PayrollArithmeticBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    /**
+     * Create random hours and hourly wages with two decimal places for each driver day.
+     */
+    public void setUp() {
+        Random random = new Random(42);
+        hours = new Integer[driverDays];
+        hourlyWages = new BigDecimal[driverDays];
+        hourlyWagesMinorUnits = new long[driverDays];
+        for ( int i = 0; i < driverDays; i++ ) {
+            hours[i] = 1 + random.nextInt(10);
+            hourlyWages[i] = BigDecimal.valueOf(800 + random.nextInt(9200), 2);
+            hourlyWagesMinorUnits[i] = Money.toMinorUnits(hourlyWages[i]);
+        }
+    }
+
+    @Benchmark
+    /**
+     * Sum the amounts of all driver days with <code>BigDecimal</code> objects.
+     * @return a <code>BigDecimal</code> containing the total amount.
+     */
+    public BigDecimal sumWithBigDecimal() {
+        BigDecimal total = new BigDecimal(0);
+        for ( int i = 0; i < driverDays; i++ ) {
+            total = total.add(new BigDecimal(hours[i]).multiply(hourlyWages[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    /**
+     * Sum the amounts of all driver days in minor units.
+     * @return a <code>long</code> containing the total amount in minor units.
+     */
+    public long sumWithMoney() {
+        long totalMinorUnits = 0;
+        for ( int i = 0; i < driverDays; i++ ) {
+            totalMinorUnits = Money.add(totalMinorUnits, Money.multiply(hourlyWagesMinorUnits[i], hours[i]));
+        }
+        return totalMinorUnits;
+    }
+
+}
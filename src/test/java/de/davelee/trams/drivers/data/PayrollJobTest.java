@@ -0,0 +1,34 @@
+package de.davelee.trams.drivers.data;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests the PayrollJob class and ensures that its works correctly.
+ * @author Dave Lee
+ */
+public class PayrollJobTest {
+
+    @Test
+    /**
+     * Test case: create a payroll job and record two chunks.
+     * Expected result: the job starts queued and the progress adds up the chunks.
+     */
+    public void testAddChunk() {
+        PayrollJob payrollJob = new PayrollJob("Lee Buses", LocalDate.of(2016, 10, 1), LocalDate.of(2016, 10, 31));
+        assertEquals(payrollJob.getStatus(), PayrollJobStatus.QUEUED);
+        assertEquals(payrollJob.getCompany(), "Lee Buses");
+        assertEquals(payrollJob.getLastDriverId(), 0);
+        payrollJob.addChunk(10L, 5, 3, 12000L);
+        payrollJob.addChunk(20L, 4, 4, 8050L);
+        assertEquals(payrollJob.getLastDriverId(), 20);
+        assertEquals(payrollJob.getDriversProcessed(), 9);
+        assertEquals(payrollJob.getDriversPaid(), 7);
+        assertEquals(payrollJob.getTotalPayout().toBigDecimal(), new BigDecimal("200.50"));
+    }
+
+}
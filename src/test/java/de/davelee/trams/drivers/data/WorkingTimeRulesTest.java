@@ -0,0 +1,32 @@
+package de.davelee.trams.drivers.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * This class tests the WorkingTimeRules class to make sure it works properly.
+ * @author Dave Lee
+ */
+public class WorkingTimeRulesTest {
+
+    @Test
+    /**
+     * Test case: combine rules of a company which only set some limits with the default rules.
+     * Expected result: the limits of the company are kept and the other limits are taken from the default rules.
+     */
+    public void testWithDefaults() {
+        WorkingTimeRules companyRules = new WorkingTimeRules();
+        companyRules.setCompany("Lee Buses");
+        companyRules.setMaxWeeklyHours(40);
+        assertNull(companyRules.getMaxDailyHours());
+        WorkingTimeRules combinedRules = companyRules.withDefaults(new WorkingTimeRules(10, 56, 90, 6));
+        assertEquals(combinedRules.getCompany(), "Lee Buses");
+        assertEquals(combinedRules.getMaxDailyHours(), Integer.valueOf(10));
+        assertEquals(combinedRules.getMaxWeeklyHours(), Integer.valueOf(40));
+        assertEquals(combinedRules.getMaxFortnightlyHours(), Integer.valueOf(90));
+        assertEquals(combinedRules.getMaxConsecutiveWorkingDays(), Integer.valueOf(6));
+    }
+
+}
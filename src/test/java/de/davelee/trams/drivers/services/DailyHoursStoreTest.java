@@ -0,0 +1,72 @@
+package de.davelee.trams.drivers.services;
+
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests the DailyHoursStore class to make sure it works properly.
+ * @author Dave Lee
+ */
+public class DailyHoursStoreTest {
+
+    private Instant now = Instant.parse("2017-03-01T23:00:00Z");
+
+    @Test
+    /**
+     * Test case: store hours for many drivers, store totals read earlier and later and then move the clock on.
+     * Expected result: the total read last is returned for each driver until it expires or the store rolls over to the next day.
+     */
+    public void testPutAndRollover() {
+        DailyHoursStore dailyHoursStore = new DailyHoursStore(new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(final ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        }, 60);
+        LocalDate today = LocalDate.of(2017, 3, 1);
+        assertEquals(dailyHoursStore.getToday(), today);
+        for ( long driverId = 0; driverId < 1000; driverId++ ) {
+            dailyHoursStore.put(dailyHoursStore.nextVersion(), driverId, today, (int) (driverId % 10));
+        }
+        assertEquals(dailyHoursStore.get(7), 7);
+        assertEquals(dailyHoursStore.get(999), 9);
+        assertEquals(dailyHoursStore.get(1000), DailyHoursStore.UNKNOWN);
+        //A lower total which was read later replaces the stored total but a total which was read earlier is ignored.
+        long earlierVersion = dailyHoursStore.nextVersion();
+        dailyHoursStore.put(dailyHoursStore.nextVersion(), 7, today, 3);
+        assertEquals(dailyHoursStore.get(7), 3);
+        dailyHoursStore.put(earlierVersion, 7, today, 8);
+        assertEquals(dailyHoursStore.get(7), 3);
+        //Hours for other dates are ignored.
+        dailyHoursStore.put(dailyHoursStore.nextVersion(), 1000, today.minusDays(1), 5);
+        assertEquals(dailyHoursStore.get(1000), DailyHoursStore.UNKNOWN);
+        //Hours expire after a minute.
+        now = now.plusSeconds(30);
+        dailyHoursStore.put(dailyHoursStore.nextVersion(), 8, today, 4);
+        now = now.plusSeconds(31);
+        assertEquals(dailyHoursStore.get(7), DailyHoursStore.UNKNOWN);
+        assertEquals(dailyHoursStore.get(8), 4);
+        //Move the clock past midnight.
+        now = Instant.parse("2017-03-02T01:00:00Z");
+        assertEquals(dailyHoursStore.get(8), DailyHoursStore.UNKNOWN);
+        assertEquals(dailyHoursStore.getToday(), today.plusDays(1));
+    }
+
+}
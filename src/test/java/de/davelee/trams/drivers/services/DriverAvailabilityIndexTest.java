@@ -0,0 +1,148 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.data.DriverAvailability;
+import de.davelee.trams.drivers.data.DriverSummary;
+import de.davelee.trams.drivers.data.WorkingTimeCheck;
+import de.davelee.trams.drivers.data.WorkingTimeRule;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests the DriverAvailabilityIndex class to make sure it works properly.
+ * @author Dave Lee
+ */
+public class DriverAvailabilityIndexTest {
+
+    private Instant now = Instant.parse("2017-03-14T12:00:00Z");
+
+    private final DriverAvailabilityIndex driverAvailabilityIndex = new DriverAvailabilityIndex(new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }, 60);
+
+    @Test
+    /**
+     * Test case: index three drivers of a company, find the available drivers and then track hours, hire and dismiss.
+     * Expected result: only drivers with enough remaining hours are found and the counts follow every change.
+     */
+    public void testFindAvailableDrivers() {
+        assertNull(driverAvailabilityIndex.find("Lee Buses", 1));
+        Map<Long, WorkingTimeCheck> workingTimeChecks = new HashMap<>();
+        workingTimeChecks.put(1L, new WorkingTimeCheck(0, 10, WorkingTimeRule.DAILY_HOURS));
+        workingTimeChecks.put(2L, new WorkingTimeCheck(6, 4, WorkingTimeRule.DAILY_HOURS));
+        workingTimeChecks.put(3L, new WorkingTimeCheck(0, 0, WorkingTimeRule.REST_DAY));
+        driverAvailabilityIndex.load(driverAvailabilityIndex.nextVersion(), "Lee Buses", Arrays.asList(createDriverSummary(1L, "Joe Bloggs"),
+                createDriverSummary(2L, "Max Mustermann"), createDriverSummary(3L, "Jane Doe")), workingTimeChecks);
+        DriverAvailability driverAvailability = driverAvailabilityIndex.find("Lee Buses", 1);
+        assertEquals(driverAvailability.getDate(), LocalDate.of(2017, 3, 14));
+        assertEquals(driverAvailability.getAvailableDrivers().size(), 2);
+        assertEquals(driverAvailability.getAvailableDrivers().get(0).getDriverSummary().getName(), "Joe Bloggs");
+        assertEquals(driverAvailability.getNumDriversByRemainingHours()[0], 1);
+        assertEquals(driverAvailability.getNumDriversByRemainingHours()[4], 1);
+        assertEquals(driverAvailability.getNumDriversByRemainingHours()[10], 1);
+        assertEquals(driverAvailabilityIndex.find("Lee Buses", 5).getAvailableDrivers().size(), 1);
+        assertEquals(driverAvailabilityIndex.getCompany(2L), "Lee Buses");
+        //Hours tracked by the first driver lower the remaining hours but a result which was checked earlier is ignored.
+        long earlierVersion = driverAvailabilityIndex.nextVersion();
+        driverAvailabilityIndex.merge(driverAvailabilityIndex.nextVersion(), 1L, new WorkingTimeCheck(8, 2, WorkingTimeRule.DAILY_HOURS));
+        driverAvailabilityIndex.merge(earlierVersion, 1L, new WorkingTimeCheck(5, 5, WorkingTimeRule.DAILY_HOURS));
+        driverAvailability = driverAvailabilityIndex.find("Lee Buses", 3);
+        assertEquals(driverAvailability.getAvailableDrivers().size(), 1);
+        assertEquals(driverAvailability.getAvailableDrivers().get(0).getDriverSummary().getName(), "Max Mustermann");
+        assertEquals(driverAvailability.getNumDriversByRemainingHours()[2], 1);
+        assertEquals(driverAvailability.getNumDriversByRemainingHours()[10], 0);
+        //Hours of the second driver are corrected downwards so they may work longer again.
+        driverAvailabilityIndex.merge(driverAvailabilityIndex.nextVersion(), 2L, new WorkingTimeCheck(4, 6, WorkingTimeRule.DAILY_HOURS));
+        assertEquals(driverAvailabilityIndex.find("Lee Buses", 5).getAvailableDrivers().size(), 1);
+        driverAvailabilityIndex.merge(driverAvailabilityIndex.nextVersion(), 2L, new WorkingTimeCheck(6, 4, WorkingTimeRule.DAILY_HOURS));
+        //Hire a new driver and dismiss the second driver.
+        driverAvailabilityIndex.put(driverAvailabilityIndex.nextVersion(), createDriverSummary(4L, "Anna Schmidt"), new WorkingTimeCheck(0, 10, WorkingTimeRule.DAILY_HOURS));
+        driverAvailabilityIndex.remove(2L);
+        driverAvailability = driverAvailabilityIndex.find("Lee Buses", 1);
+        assertEquals(driverAvailability.getAvailableDrivers().size(), 2);
+        assertEquals(driverAvailability.getAvailableDrivers().get(1).getDriverSummary().getName(), "Anna Schmidt");
+        assertEquals(driverAvailability.getNumDriversByRemainingHours()[4], 0);
+        assertNull(driverAvailabilityIndex.getCompany(2L));
+        //Drivers of companies which have not been indexed are ignored.
+        driverAvailabilityIndex.put(driverAvailabilityIndex.nextVersion(), new DriverSummary(5L, "Karl Reiher", "Reiher Bus", LocalDate.of(1975, 7, 1),
+                BigDecimal.valueOf(12.5), LocalDate.of(2016, 10, 1)), new WorkingTimeCheck(0, 10, WorkingTimeRule.DAILY_HOURS));
+        assertNull(driverAvailabilityIndex.find("Reiher Bus", 1));
+    }
+
+    @Test
+    /**
+     * Test case: index a company and move the clock to the next day.
+     * Expected result: the index of the company is no longer valid and updates of its drivers are ignored.
+     */
+    public void testNextDay() {
+        driverAvailabilityIndex.load(driverAvailabilityIndex.nextVersion(), "Lee Buses", Arrays.asList(createDriverSummary(1L, "Joe Bloggs")),
+                Collections.singletonMap(1L, new WorkingTimeCheck(10, 0, WorkingTimeRule.DAILY_HOURS)));
+        assertEquals(driverAvailabilityIndex.find("Lee Buses", 1).getAvailableDrivers().size(), 0);
+        now = now.plusSeconds(24 * 60 * 60);
+        assertNull(driverAvailabilityIndex.find("Lee Buses", 1));
+        assertNull(driverAvailabilityIndex.getCompany(1L));
+        driverAvailabilityIndex.load(driverAvailabilityIndex.nextVersion(), "Lee Buses", Arrays.asList(createDriverSummary(1L, "Joe Bloggs")),
+                Collections.singletonMap(1L, new WorkingTimeCheck(0, 10, WorkingTimeRule.DAILY_HOURS)));
+        assertEquals(driverAvailabilityIndex.find("Lee Buses", 1).getAvailableDrivers().size(), 1);
+    }
+
+    @Test
+    /**
+     * Test case: index a company, track hours elsewhere and move the clock past the expiry of the index.
+     * Expected result: the index of the company stays valid until it expires and must then be loaded again.
+     */
+    public void testExpireCompany() {
+        driverAvailabilityIndex.load(driverAvailabilityIndex.nextVersion(), "Lee Buses", Arrays.asList(createDriverSummary(1L, "Joe Bloggs")),
+                Collections.singletonMap(1L, new WorkingTimeCheck(0, 10, WorkingTimeRule.DAILY_HOURS)));
+        now = now.plusSeconds(59);
+        assertTrue(driverAvailabilityIndex.isLoaded("Lee Buses"));
+        assertEquals(driverAvailabilityIndex.find("Lee Buses", 1).getAvailableDrivers().size(), 1);
+        now = now.plusSeconds(1);
+        assertFalse(driverAvailabilityIndex.isLoaded("Lee Buses"));
+        assertNull(driverAvailabilityIndex.find("Lee Buses", 1));
+        assertNull(driverAvailabilityIndex.getCompany(1L));
+        //Loading the company again reads the hours which were tracked by another instance in the meantime.
+        driverAvailabilityIndex.load(driverAvailabilityIndex.nextVersion(), "Lee Buses", Arrays.asList(createDriverSummary(1L, "Joe Bloggs")),
+                Collections.singletonMap(1L, new WorkingTimeCheck(10, 0, WorkingTimeRule.DAILY_HOURS)));
+        assertEquals(driverAvailabilityIndex.find("Lee Buses", 1).getAvailableDrivers().size(), 0);
+        assertEquals(driverAvailabilityIndex.getCompany(1L), "Lee Buses");
+    }
+
+    /**
+     * Create a driver summary of Lee Buses with the supplied values and default values for everything else.
+     * @param id a <code>Long</code> containing the identifier of the driver.
+     * @param name a <code>String</code> containing the name of the driver.
+     * @return a <code>DriverSummary</code> object containing the supplied values.
+     */
+    private DriverSummary createDriverSummary(final Long id, final String name) {
+        return new DriverSummary(id, name, "Lee Buses", LocalDate.of(1988, 2, 29), BigDecimal.valueOf(20.0), LocalDate.of(2016, 9, 1));
+    }
+
+}
@@ -0,0 +1,53 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.api.DriverResponse;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * This class tests the DriverResponseCache class to make sure it works properly.
+ * @author Dave Lee
+ */
+public class DriverResponseCacheTest {
+
+    @Test
+    /**
+     * Test case: cache a driver response, invalidate the driver and try to cache a response loaded before the invalidation.
+     * Expected result: the response is cached until it is invalidated and the outdated response is not cached.
+     */
+    public void testInvalidate() {
+        DriverResponseCache driverResponseCache = new DriverResponseCache(10, 60);
+        DriverResponse driverResponse = new DriverResponse();
+        driverResponseCache.put(driverResponseCache.getStamp(1L), "hash", 1L, driverResponse);
+        assertEquals(driverResponseCache.get("hash"), driverResponse);
+        long stamp = driverResponseCache.getStamp(1L);
+        driverResponseCache.invalidate(1L);
+        assertNull(driverResponseCache.get("hash"));
+        driverResponseCache.put(stamp, "hash", 1L, driverResponse);
+        assertNull(driverResponseCache.get("hash"));
+        assertEquals(driverResponseCache.getStats().hitCount(), 1);
+        assertEquals(driverResponseCache.getStats().missCount(), 2);
+    }
+
+    @Test
+    /**
+     * Test case: load a driver while another driver is invalidated and then while the same driver is invalidated.
+     * Expected result: a change of another driver does not prevent caching the response but a change of the same driver does.
+     */
+    public void testInvalidateOtherDriver() {
+        DriverResponseCache driverResponseCache = new DriverResponseCache(10, 60);
+        DriverResponse driverResponse = new DriverResponse();
+        long stamp = driverResponseCache.getStamp(1L);
+        driverResponseCache.invalidate(2L);
+        driverResponseCache.put(stamp, "hash", 1L, driverResponse);
+        assertEquals(driverResponseCache.get("hash"), driverResponse);
+        stamp = driverResponseCache.getStamp(3L);
+        driverResponseCache.invalidate(3L);
+        driverResponseCache.put(stamp, "otherHash", 3L, driverResponse);
+        assertNull(driverResponseCache.get("otherHash"));
+        assertEquals(driverResponseCache.size(), 1);
+    }
+
+}
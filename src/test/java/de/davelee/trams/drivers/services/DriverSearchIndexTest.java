@@ -0,0 +1,86 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.data.DriverSummary;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * This class tests the DriverSearchIndex class to make sure it works properly.
+ * @author Dave Lee
+ */
+public class DriverSearchIndexTest {
+
+    @Test
+    /**
+     * Test case: index three drivers, search by prefixes of names and companies, then change and remove drivers.
+     * Expected result: the drivers whose name or company or a word in them start with the prefix are found.
+     */
+    public void testSearch() {
+        DriverSearchIndex driverSearchIndex = new DriverSearchIndex();
+        driverSearchIndex.put(createDriverSummary(1L, "Joe Bloggs", "Lee Buses"));
+        driverSearchIndex.put(createDriverSummary(2L, "Max Mustermann", "Lee Buses"));
+        driverSearchIndex.put(createDriverSummary(3L, "Jane Doe", "Mustermann Trams"));
+        assertEquals(driverSearchIndex.count("LEE"), 2);
+        assertEquals(driverSearchIndex.count("lee b"), 2);
+        assertEquals(driverSearchIndex.count("must"), 2);
+        assertEquals(driverSearchIndex.count("bloggs"), 1);
+        assertEquals(driverSearchIndex.count("x"), 0);
+        List<DriverSummary> driverSummaries = driverSearchIndex.search("j", new Sort(Sort.Direction.DESC, "name"));
+        assertEquals(driverSummaries.size(), 2);
+        assertEquals(driverSummaries.get(0).getName(), "Joe Bloggs");
+        //Rename the first driver and remove the second driver.
+        driverSearchIndex.put(createDriverSummary(1L, "Joe Smith", "Lee Buses"));
+        driverSearchIndex.remove(2L);
+        assertEquals(driverSearchIndex.count("bloggs"), 0);
+        assertEquals(driverSearchIndex.count("smith"), 1);
+        assertEquals(driverSearchIndex.count("lee"), 1);
+    }
+
+    @Test
+    /**
+     * Test case: search a sorted prefix, page through it, extend the prefix and then change a driver.
+     * Expected result: repeated and extended searches keep the sort order and a change is visible in the next search.
+     */
+    public void testCachedSearch() {
+        DriverSearchIndex driverSearchIndex = new DriverSearchIndex();
+        driverSearchIndex.put(createDriverSummary(1L, "Bert Bloggs", "Lee Buses"));
+        driverSearchIndex.put(createDriverSummary(2L, "anna Braun", "Lee Buses"));
+        driverSearchIndex.put(createDriverSummary(3L, "Carl Bauer", "Mustermann Trams"));
+        Sort sort = new Sort(Sort.Direction.ASC, "name");
+        List<DriverSummary> driverSummaries = driverSearchIndex.search("b", sort);
+        assertEquals(driverSummaries.size(), 3);
+        assertEquals(driverSummaries.get(0).getName(), "anna Braun");
+        assertEquals(driverSummaries.get(2).getName(), "Carl Bauer");
+        assertSame(driverSearchIndex.search("B ", sort), driverSummaries);
+        driverSummaries = driverSearchIndex.search("br", sort);
+        assertEquals(driverSummaries.size(), 1);
+        assertEquals(driverSummaries.get(0).getName(), "anna Braun");
+        driverSummaries = driverSearchIndex.search("b", new Sort(Sort.Direction.DESC, "name"));
+        assertEquals(driverSummaries.get(0).getName(), "Carl Bauer");
+        //A change of the index is visible in the next search.
+        driverSearchIndex.put(createDriverSummary(4L, "Britta Berg", "Lee Buses"));
+        driverSummaries = driverSearchIndex.search("br", sort);
+        assertEquals(driverSummaries.size(), 2);
+        assertEquals(driverSummaries.get(1).getName(), "Britta Berg");
+        assertEquals(driverSearchIndex.count("b"), 4);
+    }
+
+    /**
+     * Create a driver summary with the supplied values and default values for everything else.
+     * @param id a <code>Long</code> containing the identifier of the driver.
+     * @param name a <code>String</code> containing the name of the driver.
+     * @param company a <code>String</code> containing the company of the driver.
+     * @return a <code>DriverSummary</code> object containing the supplied values.
+     */
+    private DriverSummary createDriverSummary(final Long id, final String name, final String company) {
+        return new DriverSummary(id, name, company, LocalDate.of(1988, 2, 29), BigDecimal.valueOf(20.0), LocalDate.of(2016, 9, 1));
+    }
+
+}
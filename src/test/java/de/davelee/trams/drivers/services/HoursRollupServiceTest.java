@@ -0,0 +1,29 @@
+package de.davelee.trams.drivers.services;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests the HoursRollupService class to make sure that hours are added to the right week and month.
+ * @author Dave Lee
+ */
+public class HoursRollupServiceTest {
+
+    @Test
+    /**
+     * Test case: calculate the start of the week and month for dates within a week, on a Monday and across a year end.
+     * Expected result: weeks start on the Monday on or before the date and months on the first day of the month.
+     */
+    public void testPeriodStarts() {
+        assertEquals(LocalDate.of(2016, 10, 3), HoursRollupService.getWeekStart(LocalDate.of(2016, 10, 6)));
+        assertEquals(LocalDate.of(2016, 10, 3), HoursRollupService.getWeekStart(LocalDate.of(2016, 10, 3)));
+        assertEquals(LocalDate.of(2016, 10, 3), HoursRollupService.getWeekStart(LocalDate.of(2016, 10, 9)));
+        assertEquals(LocalDate.of(2015, 12, 28), HoursRollupService.getWeekStart(LocalDate.of(2016, 1, 1)));
+        assertEquals(LocalDate.of(2016, 10, 1), HoursRollupService.getMonthStart(LocalDate.of(2016, 10, 31)));
+        assertEquals(LocalDate.of(2016, 1, 1), HoursRollupService.getMonthStart(LocalDate.of(2016, 1, 1)));
+    }
+
+}
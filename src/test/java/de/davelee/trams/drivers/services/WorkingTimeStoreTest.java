@@ -0,0 +1,158 @@
+package de.davelee.trams.drivers.services;
+
+import de.davelee.trams.drivers.data.DriverHours;
+import de.davelee.trams.drivers.data.WorkingTimeCheck;
+import de.davelee.trams.drivers.data.WorkingTimeRule;
+import de.davelee.trams.drivers.data.WorkingTimeRules;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * This class tests the WorkingTimeStore class to make sure it works properly.
+ * @author Dave Lee
+ */
+public class WorkingTimeStoreTest {
+
+    private static final WorkingTimeRules RULES = new WorkingTimeRules(10, 40, 60, 6);
+
+    private Instant now = Instant.parse("2017-03-14T12:00:00Z");
+
+    private final WorkingTimeStore workingTimeStore = new WorkingTimeStore(new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }, 1000, 300);
+
+    @Test
+    /**
+     * Test case: load 8 hours per day for the last 5 days and then add hours today and move the clock forward.
+     * Expected result: the weekly and fortnightly limits are applied to the hours of the last 7 and 14 days.
+     */
+    public void testRollingSums() {
+        LocalDate today = LocalDate.of(2017, 3, 14);
+        assertNull(workingTimeStore.check(1, RULES));
+        List<DriverHours> recentHours = new ArrayList<>();
+        for ( int i = 5; i >= 1; i-- ) {
+            recentHours.add(new DriverHours(1L, today.minusDays(i), 8));
+        }
+        WorkingTimeCheck workingTimeCheck = workingTimeStore.load(workingTimeStore.nextVersion(), 1, recentHours, RULES);
+        assertEquals(0, workingTimeCheck.getHoursToday());
+        assertEquals(0, workingTimeCheck.getRemainingHours());
+        assertEquals(WorkingTimeRule.WEEKLY_HOURS, workingTimeCheck.getLimitingRule());
+        //Move the clock forward so that the oldest day leaves the week.
+        now = Instant.parse("2017-03-16T12:00:00Z");
+        workingTimeCheck = workingTimeStore.check(1, RULES);
+        assertEquals(8, workingTimeCheck.getRemainingHours());
+        assertEquals(WorkingTimeRule.WEEKLY_HOURS, workingTimeCheck.getLimitingRule());
+        //A total which was read before the last total is ignored.
+        long earlierVersion = workingTimeStore.nextVersion();
+        workingTimeStore.merge(workingTimeStore.nextVersion(), 1, today.plusDays(2), 3);
+        workingTimeStore.merge(earlierVersion, 1, today.plusDays(2), 2);
+        workingTimeCheck = workingTimeStore.check(1, RULES);
+        assertEquals(3, workingTimeCheck.getHoursToday());
+        assertEquals(5, workingTimeCheck.getRemainingHours());
+        //Hours older than the window are ignored.
+        workingTimeStore.merge(workingTimeStore.nextVersion(), 1, today.minusDays(20), 8);
+        assertEquals(5, workingTimeStore.check(1, RULES).getRemainingHours());
+        //Move the clock forward so that all hours have left the week but not the fortnight.
+        now = Instant.parse("2017-03-24T12:00:00Z");
+        workingTimeCheck = workingTimeStore.check(1, RULES);
+        assertEquals(10, workingTimeCheck.getRemainingHours());
+        assertEquals(WorkingTimeRule.DAILY_HOURS, workingTimeCheck.getLimitingRule());
+        workingTimeStore.merge(workingTimeStore.nextVersion(), 1, LocalDate.of(2017, 3, 24), 7);
+        workingTimeCheck = workingTimeStore.check(1, RULES);
+        assertEquals(3, workingTimeCheck.getRemainingHours());
+        assertEquals(WorkingTimeRule.DAILY_HOURS, workingTimeCheck.getLimitingRule());
+        //The fortnight contains 3 days of 8 hours, 3 hours and 7 hours.
+        workingTimeCheck = workingTimeStore.check(1, new WorkingTimeRules(10, 40, 30, 6));
+        assertEquals(30 - 34, workingTimeCheck.getRemainingHours());
+        assertEquals(WorkingTimeRule.FORTNIGHTLY_HOURS, workingTimeCheck.getLimitingRule());
+        //Move the clock forward by more than the window.
+        now = Instant.parse("2017-05-01T12:00:00Z");
+        assertEquals(10, workingTimeStore.check(1, RULES).getRemainingHours());
+    }
+
+    @Test
+    /**
+     * Test case: load one hour on each of the last 6 days, then check today and add a rest day in between.
+     * Expected result: a rest day is required until one of the days becomes a rest day.
+     */
+    public void testRestDay() {
+        LocalDate today = LocalDate.of(2017, 3, 14);
+        List<DriverHours> recentHours = new ArrayList<>();
+        for ( int i = 6; i >= 1; i-- ) {
+            recentHours.add(new DriverHours(2L, today.minusDays(i), i == 3 ? 0 : 1));
+        }
+        WorkingTimeCheck workingTimeCheck = workingTimeStore.load(workingTimeStore.nextVersion(), 2, recentHours, RULES);
+        assertEquals(10, workingTimeCheck.getRemainingHours());
+        //The day without hours becomes a working day so the driver has worked 6 days in a row.
+        workingTimeStore.merge(workingTimeStore.nextVersion(), 2, today.minusDays(3), 1);
+        workingTimeCheck = workingTimeStore.check(2, RULES);
+        assertFalse(workingTimeCheck.isFurtherHoursAllowed());
+        assertEquals(WorkingTimeRule.REST_DAY, workingTimeCheck.getLimitingRule());
+        //Today becomes a rest day so the driver may work again tomorrow.
+        now = Instant.parse("2017-03-15T12:00:00Z");
+        workingTimeCheck = workingTimeStore.check(2, RULES);
+        assertEquals(10, workingTimeCheck.getRemainingHours());
+        assertEquals(WorkingTimeRule.DAILY_HOURS, workingTimeCheck.getLimitingRule());
+    }
+
+    @Test
+    /**
+     * Test case: load 8 hours on each of the last 6 days and then correct the totals of two days downwards.
+     * Expected result: the weekly hours fall by the corrections and a day corrected to no hours ends the working days in a row.
+     */
+    public void testCorrection() {
+        LocalDate today = LocalDate.of(2017, 3, 14);
+        List<DriverHours> recentHours = new ArrayList<>();
+        for ( int i = 6; i >= 1; i-- ) {
+            recentHours.add(new DriverHours(4L, today.minusDays(i), 8));
+        }
+        WorkingTimeCheck workingTimeCheck = workingTimeStore.load(workingTimeStore.nextVersion(), 4, recentHours, RULES);
+        assertEquals(WorkingTimeRule.REST_DAY, workingTimeCheck.getLimitingRule());
+        workingTimeStore.merge(workingTimeStore.nextVersion(), 4, today.minusDays(2), 3);
+        workingTimeStore.merge(workingTimeStore.nextVersion(), 4, today.minusDays(3), 0);
+        workingTimeCheck = workingTimeStore.check(4, RULES);
+        assertEquals(40 - 35, workingTimeCheck.getRemainingHours());
+        assertEquals(WorkingTimeRule.WEEKLY_HOURS, workingTimeCheck.getLimitingRule());
+        //The driver is dismissed so their hours are no longer held.
+        workingTimeStore.remove(4);
+        assertNull(workingTimeStore.check(4, RULES));
+    }
+
+    @Test
+    /**
+     * Test case: merge hours of a driver which were read after the loaded hours but before the loaded hours are held.
+     * Expected result: the loaded hours are checked but not held because they may be out of date.
+     */
+    public void testLoadAfterMerge() {
+        long version = workingTimeStore.nextVersion();
+        workingTimeStore.merge(workingTimeStore.nextVersion(), 3, LocalDate.of(2017, 3, 14), 4);
+        assertEquals(10, workingTimeStore.load(version, 3, Collections.emptyList(), RULES).getRemainingHours());
+        assertNull(workingTimeStore.check(3, RULES));
+    }
+
+}